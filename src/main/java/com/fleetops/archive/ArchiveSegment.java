@@ -0,0 +1,315 @@
+package com.fleetops.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One immutable segment file of archived inspections, read through a read-only memory mapping.
+ * <p>
+ * Rows are stored column by column in history order, i.e. by vehicle id and then newest first. The layout,
+ * big-endian, is:
+ * <ol>
+ *   <li>header: magic, version, row count, vehicle count, min and max id, min and max epoch day, and the
+ *       status dictionary (count, then a length-prefixed UTF-8 string per status)</li>
+ *   <li>vehicle index: the distinct vehicle ids ascending ({@code long}) and the first row of each vehicle's
+ *       run ({@code int}, plus an end marker) - the vehicle column, run-length encoded</li>
+ *   <li>row columns: epoch day ({@code int}), id ({@code long}) and status as a dictionary code
+ *       ({@code short}, 0 for none)</li>
+ *   <li>id index: every id ascending ({@code long}) and the row holding it ({@code int})</li>
+ * </ol>
+ * Every column is fixed-width, so lookups binary-search the mapping in place without decoding the file.
+ */
+final class ArchiveSegment {
+
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x46494e53;
+    private static final int VERSION = 1;
+    private static final int FIXED_HEADER = 4 + 4 + 4 + 4 + 8 + 8 + 4 + 4 + 4;
+    /** Bytes per row across the day, id, status and id index columns. */
+    private static final int ROW_BYTES = 4 + 8 + 2 + 8 + 4;
+
+    /** Storage order: vehicle ascending, then the history order within each vehicle. */
+    private static final Comparator<ArchivedInspection> STORAGE_ORDER =
+            Comparator.comparingLong(ArchivedInspection::vehicleId).thenComparing(ArchivedInspection.NEWEST_FIRST);
+
+    private final ByteBuffer data;
+    private final int rows;
+    private final int vehicles;
+    private final long minId;
+    private final long maxId;
+    private final int minDay;
+    private final String[] statuses;
+    private final int vehicleIdsAt;
+    private final int runStartsAt;
+    private final int daysAt;
+    private final int idsAt;
+    private final int statusesAt;
+    private final int sortedIdsAt;
+    private final int sortedRowsAt;
+
+    private ArchiveSegment(Path path, ByteBuffer data) {
+        this.data = data;
+        if (data.capacity() < FIXED_HEADER || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not an inspection archive segment: " + path);
+        }
+        rows = data.getInt(8);
+        vehicles = data.getInt(12);
+        minId = data.getLong(16);
+        maxId = data.getLong(24);
+        minDay = data.getInt(32);
+        statuses = new String[data.getInt(40)];
+        int at = FIXED_HEADER;
+        for (int i = 0; i < statuses.length; i++) {
+            byte[] bytes = new byte[data.getShort(at)];
+            data.get(at + 2, bytes);
+            statuses[i] = new String(bytes, StandardCharsets.UTF_8);
+            at += 2 + bytes.length;
+        }
+        vehicleIdsAt = at;
+        runStartsAt = vehicleIdsAt + vehicles * 8;
+        daysAt = runStartsAt + (vehicles + 1) * 4;
+        idsAt = daysAt + rows * 4;
+        statusesAt = idsAt + rows * 8;
+        sortedIdsAt = statusesAt + rows * 2;
+        sortedRowsAt = sortedIdsAt + rows * 8;
+        if (sortedRowsAt + rows * 4 != data.capacity()) {
+            throw new IllegalStateException("Truncated inspection archive segment: " + path);
+        }
+    }
+
+    /** Map an existing segment file. */
+    static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ArchiveSegment(path, data);
+        }
+    }
+
+    /**
+     * Write {@code rows} to a new segment at {@code path} and map it. The file is written under a temporary
+     * name, forced to disk and then moved into place, so a crash never leaves a partial segment behind; the
+     * directory is forced too, so the segment is durable once this returns.
+     *
+     * @param rows at least one row
+     */
+    static ArchiveSegment write(Path path, List<ArchivedInspection> rows) throws IOException {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("A segment needs at least one row");
+        }
+        List<ArchivedInspection> sorted = new ArrayList<>(rows);
+        sorted.sort(STORAGE_ORDER);
+
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        List<Long> vehicleIds = new ArrayList<>();
+        List<Integer> runStarts = new ArrayList<>();
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        long minDay = Long.MAX_VALUE;
+        long maxDay = Long.MIN_VALUE;
+        for (int row = 0; row < sorted.size(); row++) {
+            ArchivedInspection r = sorted.get(row);
+            if (r.status() != null) {
+                codes.putIfAbsent(r.status(), codes.size() + 1);
+            }
+            if (vehicleIds.isEmpty() || vehicleIds.get(vehicleIds.size() - 1) != r.vehicleId()) {
+                vehicleIds.add(r.vehicleId());
+                runStarts.add(row);
+            }
+            minId = Math.min(minId, r.id());
+            maxId = Math.max(maxId, r.id());
+            minDay = Math.min(minDay, r.inspectionDate().toEpochDay());
+            maxDay = Math.max(maxDay, r.inspectionDate().toEpochDay());
+        }
+        runStarts.add(sorted.size());
+        if (codes.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct statuses for one segment: " + codes.size());
+        }
+
+        List<byte[]> dictionary = codes.keySet().stream().map(s -> s.getBytes(StandardCharsets.UTF_8)).toList();
+        long size = FIXED_HEADER + dictionary.stream().mapToLong(b -> 2L + b.length).sum()
+                    + vehicleIds.size() * 8L + runStarts.size() * 4L + (long) sorted.size() * ROW_BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment too large: " + sorted.size() + " rows");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) size);
+        out.putInt(MAGIC).putInt(VERSION).putInt(sorted.size()).putInt(vehicleIds.size())
+           .putLong(minId).putLong(maxId).putInt((int) minDay).putInt((int) maxDay).putInt(dictionary.size());
+        for (byte[] status : dictionary) {
+            out.putShort((short) status.length).put(status);
+        }
+        vehicleIds.forEach(out::putLong);
+        runStarts.forEach(out::putInt);
+        sorted.forEach(r -> out.putInt((int) r.inspectionDate().toEpochDay()));
+        sorted.forEach(r -> out.putLong(r.id()));
+        sorted.forEach(r -> out.putShort(r.status() == null ? 0 : codes.get(r.status()).shortValue()));
+        Integer[] byId = new Integer[sorted.size()];
+        for (int row = 0; row < byId.length; row++) {
+            byId[row] = row;
+        }
+        Arrays.sort(byId, Comparator.comparingLong(row -> sorted.get(row).id()));
+        for (int row : byId) {
+            out.putLong(sorted.get(row).id());
+        }
+        for (int row : byId) {
+            out.putInt(row);
+        }
+        out.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(path.toAbsolutePath().getParent());
+        return open(path);
+    }
+
+    /** Flush the directory entry of a renamed file; platforms that cannot open directories need no flush. */
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int minDay() {
+        return minDay;
+    }
+
+    /** The row at position {@code row} of the row columns. */
+    ArchivedInspection row(int row) {
+        return new ArchivedInspection(id(row), LocalDate.ofEpochDay(day(row)), status(row), vehicleOf(row));
+    }
+
+    /** Row holding {@code id}, or -1. */
+    int rowOfId(long id) {
+        if (id < minId || id > maxId) {
+            return -1;
+        }
+        int k = seekId(id);
+        return k < rows && sortedId(k) == id ? sortedRow(k) : -1;
+    }
+
+    /** Position in the id index of the first id that is at least {@code id}. */
+    int seekId(long id) {
+        int lo = 0;
+        int hi = rows;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedId(mid) < id) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Id at position {@code k} of the id index. */
+    long sortedId(int k) {
+        return data.getLong(sortedIdsAt + k * 8);
+    }
+
+    /** Row holding the id at position {@code k} of the id index. */
+    int sortedRow(int k) {
+        return data.getInt(sortedRowsAt + k * 4);
+    }
+
+    /** Slot of {@code vehicleId} in the vehicle index, or -1 when the segment has no rows of the vehicle. */
+    int vehicleSlot(long vehicleId) {
+        int lo = 0;
+        int hi = vehicles - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long found = data.getLong(vehicleIdsAt + mid * 8);
+            if (found < vehicleId) {
+                lo = mid + 1;
+            } else if (found > vehicleId) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /** First row of the vehicle in {@code slot}; its run ends at {@code runStart(slot + 1)}. */
+    int runStart(int slot) {
+        return data.getInt(runStartsAt + slot * 4);
+    }
+
+    /**
+     * First row in {@code [from, to)} - one vehicle's newest-first run - that sorts after the history key
+     * ({@code day}, {@code id}), i.e. is older than the key or on the same day with a lower id.
+     */
+    int seekBefore(int from, int to, int day, long id) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int midDay = day(mid);
+            if (midDay < day || (midDay == day && id(mid) < id)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    private int day(int row) {
+        return data.getInt(daysAt + row * 4);
+    }
+
+    private long id(int row) {
+        return data.getLong(idsAt + row * 8);
+    }
+
+    private String status(int row) {
+        int code = data.getShort(statusesAt + row * 2);
+        return code == 0 ? null : statuses[code - 1];
+    }
+
+    private long vehicleOf(int row) {
+        int lo = 0;
+        int hi = vehicles - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (runStart(mid) <= row) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return data.getLong(vehicleIdsAt + lo * 8);
+    }
+}
@@ -0,0 +1,21 @@
+package com.fleetops.archive;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * An inspection moved out of the database into the {@link InspectionArchive}.
+ *
+ * @param id             inspection id, unchanged from the database row
+ * @param inspectionDate date the inspection occurred
+ * @param status         normalized status code, or null
+ * @param vehicleId      id of the inspected vehicle
+ */
+public record ArchivedInspection(long id, LocalDate inspectionDate, String status, long vehicleId) {
+
+    /** Inspection history order: newest date first, ties broken by descending id. */
+    public static final Comparator<ArchivedInspection> NEWEST_FIRST =
+            Comparator.comparing(ArchivedInspection::inspectionDate)
+                      .thenComparingLong(ArchivedInspection::id)
+                      .reversed();
+}
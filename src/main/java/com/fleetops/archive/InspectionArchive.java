@@ -0,0 +1,238 @@
+package com.fleetops.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Cold tier for old inspections: append-only, columnar segment files on local disk.
+ * <p>
+ * {@link com.fleetops.service.InspectionArchiver} moves inspections past the retention age out of the
+ * database into a new segment per batch; segments are never modified afterwards. Every segment under
+ * {@code fleetops.archive.inspection.directory} is memory-mapped at startup, and reads binary-search the
+ * mappings by id or by vehicle, so an archived lookup touches a handful of pages instead of scanning files.
+ * <p>
+ * Reads are safe from any thread; appends are serialized.
+ */
+@Slf4j
+@Component
+public class InspectionArchive {
+
+    private final Path directory;
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+
+    public InspectionArchive(@Value("${fleetops.archive.inspection.directory:data/archive/inspection}") String directory) {
+        this(Path.of(directory));
+    }
+
+    InspectionArchive(Path directory) {
+        this.directory = directory;
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(ArchiveSegment.SUFFIX)).sorted().toList()) {
+                segments.add(ArchiveSegment.open(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open inspection archive " + directory, e);
+        }
+        log.info("Opened inspection archive {} with {} segments", directory, segments.size());
+    }
+
+    /** Whether nothing has been archived yet. */
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /** The archived inspection with {@code id}. */
+    public Optional<ArchivedInspection> findById(long id) {
+        for (ArchiveSegment segment : segments) {
+            int row = segment.rowOfId(id);
+            if (row >= 0) {
+                return Optional.of(segment.row(row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Whether an inspection with {@code id} has been archived. */
+    public boolean contains(long id) {
+        return segments.stream().anyMatch(s -> s.rowOfId(id) >= 0);
+    }
+
+    /** The archived inspections among {@code ids}, in no particular order. */
+    public List<ArchivedInspection> findAllById(Collection<Long> ids) {
+        List<ArchivedInspection> found = new ArrayList<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * Archived history of one vehicle in {@link ArchivedInspection#NEWEST_FIRST} order.
+     *
+     * @param vehicleId  vehicle id
+     * @param beforeDate together with {@code beforeId}, the key of the last row already seen; null to start
+     *                   from the newest archived inspection
+     * @param beforeId   id of the last row already seen; ignored when {@code beforeDate} is null
+     * @param limit      maximum number of rows
+     */
+    public List<ArchivedInspection> findHistory(long vehicleId, LocalDate beforeDate, long beforeId, int limit) {
+        int beforeDay = beforeDate == null ? Integer.MAX_VALUE : (int) beforeDate.toEpochDay();
+        PriorityQueue<Run> runs = new PriorityQueue<>(Comparator.comparing(Run::head, ArchivedInspection.NEWEST_FIRST));
+        for (ArchiveSegment segment : segments) {
+            int slot = segment.minDay() > beforeDay ? -1 : segment.vehicleSlot(vehicleId);
+            if (slot < 0) {
+                continue;
+            }
+            int end = segment.runStart(slot + 1);
+            int start = beforeDate == null ? segment.runStart(slot)
+                                           : segment.seekBefore(segment.runStart(slot), end, beforeDay, beforeId);
+            if (start < end) {
+                runs.add(new Run(segment, start, end));
+            }
+        }
+        List<ArchivedInspection> page = new ArrayList<>();
+        while (page.size() < limit && !runs.isEmpty()) {
+            Run run = runs.poll();
+            page.add(run.head());
+            if (run.advance()) {
+                runs.add(run);
+            }
+        }
+        return page;
+    }
+
+    /** Number of archived inspections of one vehicle. */
+    public long countByVehicleId(long vehicleId) {
+        long count = 0;
+        for (ArchiveSegment segment : segments) {
+            int slot = segment.vehicleSlot(vehicleId);
+            if (slot >= 0) {
+                count += segment.runStart(slot + 1) - segment.runStart(slot);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Every archived inspection in ascending id order, merged lazily across segments.
+     */
+    public Stream<ArchivedInspection> streamById() {
+        PriorityQueue<IdCursor> cursors = new PriorityQueue<>(Comparator.comparingLong(IdCursor::id));
+        for (ArchiveSegment segment : segments) {
+            cursors.add(new IdCursor(segment));
+        }
+        Iterator<ArchivedInspection> merged = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public ArchivedInspection next() {
+                IdCursor cursor = cursors.poll();
+                if (cursor == null) {
+                    throw new NoSuchElementException();
+                }
+                ArchivedInspection row = cursor.row();
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                return row;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                merged, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Write {@code rows} to a new segment and make them visible to reads. Does nothing for an empty list.
+     *
+     * @throws UncheckedIOException when the segment cannot be written; nothing becomes visible then
+     */
+    public synchronized void append(List<ArchivedInspection> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        long minId = rows.stream().mapToLong(ArchivedInspection::id).min().orElseThrow();
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(String.format("inspection-%013d-%019d%s",
+                    System.currentTimeMillis(), minId, ArchiveSegment.SUFFIX));
+            segments.add(ArchiveSegment.write(file, rows));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write inspection archive segment", e);
+        }
+    }
+
+    /** Newest-first cursor over one vehicle's run in one segment. */
+    private static final class Run {
+        private final ArchiveSegment segment;
+        private final int end;
+        private int row;
+        private ArchivedInspection head;
+
+        Run(ArchiveSegment segment, int row, int end) {
+            this.segment = segment;
+            this.row = row;
+            this.end = end;
+            this.head = segment.row(row);
+        }
+
+        ArchivedInspection head() {
+            return head;
+        }
+
+        boolean advance() {
+            if (++row >= end) {
+                return false;
+            }
+            head = segment.row(row);
+            return true;
+        }
+    }
+
+    /** Ascending-id cursor over the id index of one segment. */
+    private static final class IdCursor {
+        private final ArchiveSegment segment;
+        private int k;
+
+        IdCursor(ArchiveSegment segment) {
+            this.segment = segment;
+        }
+
+        long id() {
+            return segment.sortedId(k);
+        }
+
+        ArchivedInspection row() {
+            return segment.row(segment.sortedRow(k));
+        }
+
+        boolean advance() {
+            return ++k < segment.rows();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.fleetops.cache;
+
+import com.fleetops.shard.ShardingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the instance-local caches of all instances consistent: evictions made here are sent to the other
+ * instances with PostgreSQL {@code NOTIFY}, and evictions they send are applied to the local caches.
+ * <p>
+ * With {@code fleetops.cache.invalidation.enabled}, the evictions of one transaction are collected and sent as
+ * a single notification just before it commits, on its own connection; PostgreSQL delivers it only if the
+ * transaction commits, and after the rows are visible. Evictions outside a transaction are sent at once.
+ * <p>
+ * Each instance listens on a dedicated connection per database (every shard when sharding is enabled, the
+ * primary otherwise; replicas do not deliver notifications). Notifications that arrive together are merged, so
+ * a burst of writes evicts each cache at most once per id. Notifications sent while a listener was disconnected
+ * are lost, so every (re)connect clears all local caches before listening resumes.
+ * <p>
+ * When disabled, {@link #publish} does nothing and subscribers only ever see local evictions.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /** Applies evictions received from other instances to a local cache. */
+    @FunctionalInterface
+    public interface Subscriber {
+        /** @param ids ids to evict, or {@code null} to evict every entry */
+        void evict(Collection<Long> ids);
+    }
+
+    /** Connection settings of one database to listen on. */
+    record Target(String name, String url, String username, String password) {
+    }
+
+    private final CacheInvalidationProperties properties;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final List<Target> targets;
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final List<InvalidationListener> listeners = new ArrayList<>();
+
+    public CacheInvalidationBus(CacheInvalidationProperties properties, ObjectProvider<JdbcTemplate> jdbcTemplate,
+                                ObjectProvider<DataSourceProperties> dataSource, ShardingProperties sharding) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.targets = properties.isEnabled() ? targets(dataSource, sharding) : List.of();
+        if (properties.isEnabled() && !CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalStateException("fleetops.cache.invalidation.channel must be a lower-case SQL identifier: "
+                                            + properties.getChannel());
+        }
+    }
+
+    private static List<Target> targets(ObjectProvider<DataSourceProperties> dataSource, ShardingProperties sharding) {
+        List<Target> targets = new ArrayList<>();
+        if (sharding.isEnabled()) {
+            for (int i = 0; i < sharding.shardCount(); i++) {
+                ShardingProperties.Shard shard = sharding.getShards().get(i);
+                targets.add(new Target("shard " + i, shard.getUrl(), shard.getUsername(), shard.getPassword()));
+            }
+        } else {
+            DataSourceProperties primary = dataSource.getObject();
+            targets.add(new Target("primary", primary.determineUrl(), primary.determineUsername(),
+                                   primary.determinePassword()));
+        }
+        for (Target target : targets) {
+            if (target.url() == null || !target.url().startsWith("jdbc:postgresql:")) {
+                throw new IllegalStateException("fleetops.cache.invalidation requires PostgreSQL, but the "
+                                                + target.name() + " is " + target.url());
+            }
+        }
+        return targets;
+    }
+
+    /** Apply evictions of {@code cache} received from other instances through {@code subscriber}. */
+    public void subscribe(String cache, Subscriber subscriber) {
+        subscribers.computeIfAbsent(cache, c -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * Tell the other instances to evict {@code ids} from {@code cache}, once the current transaction commits, or
+     * now outside a transaction.
+     *
+     * @param ids ids to evict, or {@code null} to evict every entry
+     */
+    public void publish(String cache, Collection<Long> ids) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            InvalidationBatch batch = new InvalidationBatch();
+            batch.add(cache, ids);
+            send(batch);
+            return;
+        }
+        InvalidationBatch pending = (InvalidationBatch) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            InvalidationBatch batch = new InvalidationBatch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    send(batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(cache, ids);
+    }
+
+    private void send(InvalidationBatch batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.getObject().query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> {
+            }, properties.getChannel(), batch.encode(origin));
+        }
+    }
+
+    /** Apply the notifications a listener received in one poll, skipping those this instance sent. */
+    void receive(List<String> payloads) {
+        InvalidationBatch batch = new InvalidationBatch();
+        for (String payload : payloads) {
+            try {
+                if (!origin.equals(InvalidationBatch.originOf(payload))) {
+                    batch.merge(InvalidationBatch.decode(payload));
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Unreadable cache invalidation, clearing all local caches: {}", e.getMessage());
+                resync();
+                return;
+            }
+        }
+        batch.forEach(this::evictLocally);
+    }
+
+    /** Evict every entry of every subscribed cache; for listeners that may have missed notifications. */
+    void resync() {
+        subscribers.keySet().forEach(cache -> evictLocally(cache, null));
+    }
+
+    private void evictLocally(String cache, Collection<Long> ids) {
+        for (Subscriber subscriber : subscribers.getOrDefault(cache, List.of())) {
+            try {
+                subscriber.evict(ids);
+            } catch (RuntimeException e) {
+                log.warn("Could not apply invalidation of cache {}", cache, e);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        for (Target target : targets) {
+            InvalidationListener listener = new InvalidationListener(this, target, properties);
+            listeners.add(listener);
+            listener.start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        listeners.forEach(InvalidationListener::stop);
+        listeners.clear();
+    }
+}
@@ -0,0 +1,25 @@
+package com.fleetops.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "fleetops.cache.invalidation")
+public class CacheInvalidationProperties {
+    /** Broadcast cache evictions to the other instances through PostgreSQL LISTEN/NOTIFY. */
+    private boolean enabled = false;
+    /** Notification channel shared by all instances of one deployment; a lower-case SQL identifier. */
+    private String channel = "fleetops_cache_invalidation";
+    /** Longest wait for notifications before the listener checks its connection and shutdown. */
+    private Duration pollTimeout = Duration.ofMillis(500);
+    /** A listener connection idle for this long is probed with {@code SELECT 1} to detect a dead connection. */
+    private Duration keepaliveInterval = Duration.ofSeconds(10);
+    /** Wait before reconnecting a listener whose connection failed. */
+    private Duration reconnectDelay = Duration.ofSeconds(2);
+}
@@ -0,0 +1,29 @@
+package com.fleetops.cache;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions. Entity, natural-id and query regions are per entity so a
+ * JDBC write to one table only drops that table's cached data.
+ */
+public final class CacheRegions {
+
+    public static final String VEHICLE = "vehicle";
+    public static final String VEHICLE_NATURAL_ID = "vehicle-natural-id";
+    public static final String VEHICLE_QUERIES = "vehicle-queries";
+    public static final String DRIVER = "driver";
+    public static final String DRIVER_NATURAL_ID = "driver-natural-id";
+    public static final String DRIVER_QUERIES = "driver-queries";
+
+    /** Hibernate's region for queries cached without a named region. */
+    public static final String DEFAULT_QUERIES = "default-query-results-region";
+    /** Hibernate's last-update time per table, against which cached query results are validated. */
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    /** Regions bounded by {@code fleetops.cache.second-level}; the timestamps region must never drop entries. */
+    static final List<String> DATA = List.of(VEHICLE, VEHICLE_NATURAL_ID, VEHICLE_QUERIES,
+                                             DRIVER, DRIVER_NATURAL_ID, DRIVER_QUERIES, DEFAULT_QUERIES);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.fleetops.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Evictions collected from one transaction, or merged from several notifications, and their
+ * {@code NOTIFY} payload: {@code <origin>|vehicles:1,2;inspections:*}, where {@code *} stands for every entry.
+ */
+final class InvalidationBatch {
+
+    static final String ALL = "*";
+    /** PostgreSQL rejects payloads of 8000 bytes or more; larger batches degrade to evicting everything. */
+    static final int MAX_PAYLOAD = 7900;
+
+    /** Ids to evict per cache; a {@code null} set stands for every entry. */
+    private final Map<String, Set<Long>> evictions = new LinkedHashMap<>();
+
+    /** Add the eviction of {@code ids} from {@code cache}; {@code null} ids evict every entry. */
+    void add(String cache, Collection<Long> ids) {
+        if (ids == null) {
+            evictions.put(cache, null);
+            return;
+        }
+        Set<Long> pending = evictions.get(cache);
+        if (pending == null) {
+            if (evictions.containsKey(cache) || ids.isEmpty()) {
+                return;
+            }
+            pending = new LinkedHashSet<>();
+            evictions.put(cache, pending);
+        }
+        pending.addAll(ids);
+    }
+
+    void merge(InvalidationBatch other) {
+        other.evictions.forEach(this::add);
+    }
+
+    boolean isEmpty() {
+        return evictions.isEmpty();
+    }
+
+    /** Call {@code action} with each cache and its ids, {@code null} meaning every entry. */
+    void forEach(BiConsumer<String, Set<Long>> action) {
+        evictions.forEach(action);
+    }
+
+    String encode(String origin) {
+        String payload = origin + "|" + join(false);
+        return payload.length() < MAX_PAYLOAD ? payload : origin + "|" + join(true);
+    }
+
+    private String join(boolean allOnly) {
+        StringJoiner joiner = new StringJoiner(";");
+        evictions.forEach((cache, ids) -> joiner.add(cache + ":" + (ids == null || allOnly ? ALL
+                : ids.stream().map(String::valueOf).collect(Collectors.joining(",")))));
+        return joiner.toString();
+    }
+
+    /** @throws IllegalArgumentException if {@code payload} was not produced by {@link #encode} */
+    static String originOf(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0) {
+            throw new IllegalArgumentException("No origin in cache invalidation: " + payload);
+        }
+        return payload.substring(0, separator);
+    }
+
+    /** @throws IllegalArgumentException if {@code payload} was not produced by {@link #encode} */
+    static InvalidationBatch decode(String payload) {
+        InvalidationBatch batch = new InvalidationBatch();
+        String body = payload.substring(originOf(payload).length() + 1);
+        if (body.isEmpty()) {
+            return batch;
+        }
+        for (String entry : body.split(";")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed cache invalidation: " + payload);
+            }
+            String ids = entry.substring(separator + 1);
+            batch.add(entry.substring(0, separator), ids.equals(ALL) ? null
+                    : Arrays.stream(ids.split(",")).map(Long::valueOf).toList());
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,106 @@
+package com.fleetops.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Listens for cache invalidations on one database through a dedicated connection, outside the pool, and hands
+ * them to the {@link CacheInvalidationBus}; reconnects until stopped.
+ */
+@Slf4j
+final class InvalidationListener implements Runnable {
+
+    private final CacheInvalidationBus bus;
+    private final CacheInvalidationBus.Target target;
+    private final CacheInvalidationProperties properties;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    InvalidationListener(CacheInvalidationBus bus, CacheInvalidationBus.Target target,
+                         CacheInvalidationProperties properties) {
+        this.bus = bus;
+        this.target = target;
+        this.properties = properties;
+        this.thread = new Thread(this, "cache-invalidation-" + target.name().replace(' ', '-'));
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try (Connection connection = connect()) {
+                listen(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener on the {} lost its connection, reconnecting in {}: {}",
+                             target.name(), properties.getReconnectDelay(), e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        Properties info = new Properties();
+        if (target.username() != null) {
+            info.setProperty("user", target.username());
+        }
+        if (target.password() != null) {
+            info.setProperty("password", target.password());
+        }
+        info.setProperty("ApplicationName", "fleetops-cache-invalidation");
+        return DriverManager.getConnection(target.url(), info);
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + properties.getChannel());
+        }
+        // anything sent before LISTEN took effect was missed
+        bus.resync();
+        log.info("Listening for cache invalidations on the {}", target.name());
+
+        PGConnection notifications = connection.unwrap(PGConnection.class);
+        int timeout = (int) properties.getPollTimeout().toMillis();
+        long keepaliveNanos = properties.getKeepaliveInterval().toNanos();
+        long lastActivity = System.nanoTime();
+        while (running) {
+            PGNotification[] received = notifications.getNotifications(timeout);
+            if (received != null && received.length > 0) {
+                bus.receive(Arrays.stream(received).map(PGNotification::getParameter).toList());
+                lastActivity = System.nanoTime();
+            } else if (System.nanoTime() - lastActivity > keepaliveNanos) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                lastActivity = System.nanoTime();
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
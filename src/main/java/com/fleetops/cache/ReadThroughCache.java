@@ -0,0 +1,112 @@
+package com.fleetops.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A cache of values by id that reads through to a loader; created by {@link ReadThroughCaches}.
+ * <p>
+ * Only found values are cached: a new row is never hidden by a remembered miss, so creates have nothing
+ * to evict here. Writers evict after their transaction commits, so a reader that loaded the pre-commit row in
+ * the meantime does not keep it. Evictions are also published through the {@link CacheInvalidationBus}, which
+ * applies them to the same cache on the other instances and to any other subscriber there.
+ * <p>
+ * Loads go through a {@link SingleFlight}, so concurrent reads of one id share a query whether or not the
+ * cache is enabled: the cache already coalesces its own misses, the single flight also joins a miss with a
+ * background refresh of the same id, and serves uncached reads.
+ *
+ * @param <V> cached value, shared between callers and therefore not to be modified
+ */
+public final class ReadThroughCache<V> {
+
+    private final String name;
+    private final Function<Long, V> loader;
+    private final SingleFlight<Long, V> loads;
+    private final LoadingCache<Long, V> cache;
+    private final CacheInvalidationBus invalidations;
+
+    /**
+     * @param loader        reads through {@code loads}
+     * @param loads         single flight the loader goes through, for evictions to stop sharing loads
+     * @param cache         cache loading through {@code loader}, or {@code null} to call the loader every time
+     * @param invalidations bus publishing evictions to other instances, or {@code null} for none
+     */
+    ReadThroughCache(String name, Function<Long, V> loader, SingleFlight<Long, V> loads, LoadingCache<Long, V> cache,
+                     CacheInvalidationBus invalidations) {
+        this.name = name;
+        this.loader = loader;
+        this.loads = loads;
+        this.cache = cache;
+        this.invalidations = invalidations;
+    }
+
+    /**
+     * The value for {@code id}, loaded on a miss. Concurrent misses for one id share a single load; an entry
+     * past its refresh age is served while it is reloaded in the background.
+     *
+     * @return the value, or {@code null} when the loader found none
+     */
+    public V get(Long id) {
+        return cache == null ? loader.apply(id) : cache.get(id);
+    }
+
+    /** Drop the entry for {@code id} once the current transaction commits, or now outside a transaction. */
+    public void evictAfterCommit(Long id) {
+        evictAfterCommit(Collections.singletonList(id));
+    }
+
+    /** Drop the entries for {@code ids} once the current transaction commits, or now outside a transaction. */
+    public void evictAfterCommit(Collection<Long> ids) {
+        afterCommit(() -> evict(ids));
+        if (invalidations != null) {
+            invalidations.publish(name, ids);
+        }
+    }
+
+    /** Drop every entry once the current transaction commits, or now outside a transaction. */
+    public void evictAllAfterCommit() {
+        afterCommit(() -> evict(null));
+        if (invalidations != null) {
+            invalidations.publish(name, null);
+        }
+    }
+
+    /**
+     * Drop the entries for {@code ids}, or every entry when {@code null}, now; for evictions from other instances
+     * and local ones that have committed. Loads in flight for them are no longer shared.
+     */
+    void evict(Collection<Long> ids) {
+        if (ids == null) {
+            loads.forgetAll();
+        } else {
+            ids.stream().filter(Objects::nonNull).forEach(loads::forget);
+        }
+        if (cache == null) {
+            return;
+        }
+        if (ids == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateAll(ids);
+        }
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
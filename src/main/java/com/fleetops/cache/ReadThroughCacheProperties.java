@@ -0,0 +1,23 @@
+package com.fleetops.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "fleetops.cache.read-through")
+public class ReadThroughCacheProperties {
+    /** Serve vehicles, drivers and inspections by id from an in-process cache in front of the services. */
+    private boolean enabled = false;
+    /** Entries kept per cache; the least valuable beyond this are evicted. */
+    private long maxEntries = 10_000;
+    /** Entries are dropped this long after being loaded, bounding staleness towards other instances. */
+    private Duration timeToLive = Duration.ofMinutes(5);
+    /** An entry read this long after it was loaded is reloaded in the background while the cached value is served. */
+    private Duration refreshAfter = Duration.ofMinutes(1);
+}
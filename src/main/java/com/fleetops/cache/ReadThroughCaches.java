@@ -0,0 +1,135 @@
+package com.fleetops.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Creates the services' {@link ReadThroughCache}s: bounded Caffeine caches by id with refresh-ahead, and the
+ * {@link SingleFlight}s that coalesce concurrent identical reads, both of cache loads and of uncached reads such
+ * as list pages.
+ * <p>
+ * With {@code fleetops.cache.read-through.enabled}, each cache holds up to {@code max-entries} values for
+ * {@code time-to-live} after loading; a value read after {@code refresh-after} is reloaded in the background,
+ * in a read-only transaction of its own, so hot entries rarely expire under their readers. Misses load on the
+ * caller's thread, inside the caller's transaction. Each cache is bound to Micrometer as {@code cache.gets}
+ * (hit/miss, from which the hit ratio follows), {@code cache.load} and {@code cache.load.duration} (load
+ * latency) and {@code cache.evictions}, tagged {@code cache=<name>}.
+ * <p>
+ * Caches are local to the instance; with {@code fleetops.cache.invalidation.enabled} their evictions reach the
+ * other instances through the {@link CacheInvalidationBus}. When disabled, every read goes to the loader, but
+ * evictions are still published for the instances that cache.
+ */
+@Component
+public class ReadThroughCaches {
+
+    public static final String VEHICLES = "vehicles";
+    public static final String DRIVERS = "drivers";
+    public static final String INSPECTIONS = "inspections";
+
+    private final ReadThroughCacheProperties properties;
+    private final TransactionTemplate refreshes;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final CacheInvalidationBus invalidations;
+    private final Map<String, ReadThroughCache<?>> caches = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadThroughCaches(ReadThroughCacheProperties properties,
+                             ObjectProvider<PlatformTransactionManager> transactionManager,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             ObjectProvider<CacheInvalidationBus> invalidations) {
+        this.properties = properties.isEnabled() ? properties : null;
+        PlatformTransactionManager manager = transactionManager.getIfAvailable();
+        this.refreshes = manager == null ? null : new TransactionTemplate(manager);
+        if (refreshes != null) {
+            refreshes.setReadOnly(true);
+        }
+        this.meterRegistry = meterRegistry;
+        this.invalidations = invalidations.getIfAvailable();
+    }
+
+    private ReadThroughCaches() {
+        this.properties = null;
+        this.refreshes = null;
+        this.meterRegistry = null;
+        this.invalidations = null;
+    }
+
+    /** Caches that always call their loader; for tests and tools that run without a cache. */
+    public static ReadThroughCaches disabled() {
+        return new ReadThroughCaches();
+    }
+
+    /**
+     * Create the cache called {@code name}.
+     *
+     * @param loader reads the value for an id, or returns {@code null} when there is none; must bind any shard
+     *               itself, since refreshes run on another thread
+     */
+    public <V> ReadThroughCache<V> create(String name, Function<Long, V> loader) {
+        SingleFlight<Long, V> loads = singleFlight(name);
+        Function<Long, V> coalesced = id -> loads.load(id, () -> loader.apply(id));
+        ReadThroughCache<V> cache = new ReadThroughCache<>(name, coalesced, loads,
+                                                           properties == null ? null : build(name, coalesced),
+                                                           invalidations);
+        caches.put(name, cache);
+        if (invalidations != null) {
+            invalidations.subscribe(name, cache::evict);
+        }
+        return cache;
+    }
+
+    private <V> LoadingCache<Long, V> build(String name, Function<Long, V> loader) {
+        LoadingCache<Long, V> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTimeToLive())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .recordStats()
+                .build(new CacheLoader<Long, V>() {
+                    @Override
+                    public V load(Long id) {
+                        return loader.apply(id);
+                    }
+
+                    @Override
+                    public V reload(Long id, V oldValue) {
+                        return refreshes == null ? loader.apply(id) : refreshes.execute(status -> loader.apply(id));
+                    }
+                });
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, name);
+        }
+        return cache;
+    }
+
+    /**
+     * Create a single flight for reads that are not cached, e.g. list pages; its calls are counted under
+     * {@code name}.
+     */
+    public <K, V> SingleFlight<K, V> singleFlight(String name) {
+        return new SingleFlight<>(name, meterRegistry == null ? null : meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Drop every entry of the cache called {@code name} once the current transaction commits; for writes that
+     * change values another service caches, such as a vehicle shown inside its inspections.
+     */
+    public void evictAllAfterCommit(String name) {
+        ReadThroughCache<?> cache = caches.get(name);
+        if (cache != null) {
+            cache.evictAllAfterCommit();
+        }
+    }
+}
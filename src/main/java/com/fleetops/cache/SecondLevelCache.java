@@ -0,0 +1,72 @@
+package com.fleetops.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.Closeable;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Caffeine JCache caches backing Hibernate's second-level cache regions.
+ * <p>
+ * Every region in {@link CacheRegions} is created up front, bounded by entry count and time to live, so
+ * Hibernate never falls back to an unbounded default cache. The update-timestamps region is the exception:
+ * it holds one entry per table and must not lose any, or cached query results could outlive a write.
+ * <p>
+ * Each instance uses its own {@link CacheManager}, so application contexts sharing a JVM (test contexts on
+ * different databases, for one) never see each other's rows. Region statistics are bound to Micrometer as
+ * {@code cache.gets} (hit/miss), {@code cache.puts}, {@code cache.removals} and {@code cache.evictions},
+ * tagged {@code cache=<region>}, and are readable through {@code /actuator/metrics}.
+ */
+public class SecondLevelCache implements MeterBinder, Closeable {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final CacheManager cacheManager;
+    private final List<Cache<Object, Object>> regions = new ArrayList<>();
+
+    public SecondLevelCache(SecondLevelCacheProperties properties) {
+        this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(
+                URI.create("fleetops-second-level-" + INSTANCES.incrementAndGet()), getClass().getClassLoader());
+        for (String region : CacheRegions.DATA) {
+            regions.add(create(region, OptionalLong.of(properties.getMaxEntries()), properties.getTimeToLive()));
+        }
+        regions.add(create(CacheRegions.UPDATE_TIMESTAMPS, OptionalLong.empty(), null));
+    }
+
+    private Cache<Object, Object> create(String region, OptionalLong maxEntries, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(maxEntries);
+        configuration.setExpireAfterWrite(timeToLive == null ? OptionalLong.empty() : OptionalLong.of(timeToLive.toNanos()));
+        return cacheManager.createCache(region, configuration);
+    }
+
+    /** The manager Hibernate resolves the regions from. */
+    public CacheManager cacheManager() {
+        return cacheManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        regions.forEach(region -> JCacheMetrics.monitor(registry, region, Tags.empty()));
+    }
+
+    @Override
+    public void close() {
+        cacheManager.close();
+    }
+}
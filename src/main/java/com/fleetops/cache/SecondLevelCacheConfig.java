@@ -0,0 +1,73 @@
+package com.fleetops.cache;
+
+import com.fleetops.entity.Driver;
+import com.fleetops.entity.Vehicle;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+/**
+ * Switches Hibernate's second-level and query caches on {@code fleetops.cache.second-level.enabled}.
+ * <p>
+ * Hibernate would otherwise pick up {@code hibernate-jcache} from the classpath by itself, so the caches are
+ * switched off explicitly when the property is not set. Vehicle and driver evictions published by other
+ * instances through the {@link CacheInvalidationBus} are applied to the regions of those entities.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fleetops.cache.second-level", name = "enabled", havingValue = "true")
+    public SecondLevelCache secondLevelCache(SecondLevelCacheProperties properties) {
+        return new SecondLevelCache(properties);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheSettings(ObjectProvider<SecondLevelCache> secondLevelCache) {
+        return properties -> {
+            SecondLevelCache cache = secondLevelCache.getIfAvailable();
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cache != null);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, cache != null);
+            if (cache != null) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, cache.cacheManager());
+                // every region is created by SecondLevelCache; a missing one is a misnamed region, not a new one
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fleetops.cache.second-level", name = "enabled", havingValue = "true")
+    public SmartInitializingSingleton secondLevelCacheInvalidation(CacheInvalidationBus invalidations,
+                                                                   EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            invalidations.subscribe(ReadThroughCaches.VEHICLES,
+                                    ids -> evict(cache, Vehicle.class, CacheRegions.VEHICLE_QUERIES, ids));
+            invalidations.subscribe(ReadThroughCaches.DRIVERS,
+                                    ids -> evict(cache, Driver.class, CacheRegions.DRIVER_QUERIES, ids));
+        };
+    }
+
+    /** The evictions a JDBC write of the entity makes locally; a create elsewhere only stales the finder results. */
+    private static void evict(Cache cache, Class<?> entity, String queryRegion, Collection<Long> ids) {
+        if (ids == null) {
+            cache.evictEntityData(entity);
+        } else {
+            ids.forEach(id -> cache.evictEntityData(entity, id));
+        }
+        cache.evictNaturalIdData(entity);
+        cache.evictQueryRegion(queryRegion);
+    }
+}
@@ -0,0 +1,21 @@
+package com.fleetops.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "fleetops.cache.second-level")
+public class SecondLevelCacheProperties {
+    /** Cache vehicles and drivers, their natural ids and finder results in Hibernate's second-level cache. */
+    private boolean enabled = false;
+    /** Entries kept per region; the least recently used beyond this are evicted. */
+    private long maxEntries = 10_000;
+    /** Entries are dropped this long after being written, bounding staleness towards other instances. */
+    private Duration timeToLive = Duration.ofMinutes(10);
+}
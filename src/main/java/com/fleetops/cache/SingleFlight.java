@@ -0,0 +1,111 @@
+package com.fleetops.cache;
+
+import com.fleetops.replica.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a load for a key is in flight, callers asking for the same key
+ * wait for it and share its result, or its exception, instead of running the query again. Created by
+ * {@link ReadThroughCaches}.
+ * <p>
+ * Only reads that cannot tell the difference are coalesced. Callers in a read-write transaction, or pinned to
+ * the primary to read their own writes, always load for themselves, since a load started by another caller
+ * may predate their write. {@link #forget} makes callers arriving after an eviction start a fresh load.
+ * <p>
+ * Calls are counted in Micrometer as {@code singleflight.calls}, tagged {@code name} and
+ * {@code result=loaded|shared}; the share of {@code shared} calls is the coalescing ratio.
+ *
+ * @param <K> key identifying the read, e.g. an id or the parameters of a page
+ * @param <V> result, shared between callers and therefore not to be modified
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loaded;
+    private final Counter shared;
+
+    /** @param meterRegistry registry for the call counters, or {@code null} for none */
+    SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loaded = meterRegistry == null ? null : counter(meterRegistry, name, "loaded");
+        this.shared = meterRegistry == null ? null : counter(meterRegistry, name, "shared");
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder("singleflight.calls")
+                      .description("Reads that ran their own load or shared the load of a concurrent caller")
+                      .tags("name", name, "result", result)
+                      .register(registry);
+    }
+
+    /**
+     * The result of {@code loader}, or of the load already in flight for {@code key}.
+     *
+     * @param loader runs the read on the calling thread when no load for {@code key} is in flight
+     */
+    public V load(K key, Supplier<V> loader) {
+        if (!coalescible()) {
+            return loader.get();
+        }
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            increment(shared);
+            return await(running);
+        }
+        increment(loaded);
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Let callers for {@code key} arriving from now on start a new load; the one in flight still completes. */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** {@link #forget} every key. */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private static boolean coalescible() {
+        return (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+               && !ReadYourWrites.isPinned();
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.fleetops.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} maintenance jobs such as
+ * {@link com.fleetops.service.InspectionPartitionMaintenance}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -40,6 +40,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info", "/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/inspections/**", "/api/vehicles/**", "/api/drivers/**").hasAnyRole("ADMIN","USER")
+                        .requestMatchers("/api/import/**").hasRole("ADMIN")
                         .requestMatchers("/api/public/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .anyRequest().denyAll());
         if (oauth2Enabled) {
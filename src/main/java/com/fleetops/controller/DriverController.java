@@ -4,6 +4,8 @@ import com.fleetops.dto.*;
 import com.fleetops.entity.Driver;
 import com.fleetops.service.DriverService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +20,9 @@ import java.util.List;
  * Exposes CRUD endpoints under the base path {@code /api/drivers} and produces JSON responses.
  * Validation is applied to request payloads where applicable. Errors and constraint violations
  * are handled centrally by {@code GlobalControllerExceptionHandler}.
+ * <p>
+ * Single drivers carry their row version as {@code ETag}, which {@code If-None-Match} revalidates and
+ * {@code If-Match} makes updates conditional on.
  */
 @RestController
 @RequestMapping(value = "/api/drivers", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -34,21 +39,43 @@ public class DriverController {
      * Retrieve a driver by its unique identifier.
      *
      * @param id the driver identifier (Long)
-     * @return HTTP 200 with {@link DriverResponse} when found, otherwise mapped to HTTP 404
+     * @return HTTP 200 with {@link DriverResponse} and its {@code ETag} when found, HTTP 304 when the
+     *         {@code If-None-Match} tag is current, otherwise mapped to HTTP 404
      */
     @GetMapping("/{id}")
     public ResponseEntity<DriverResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(toResponse(service.getById(id)));
+        DriverResponse driver = service.getResponseById(id);
+        return ResponseEntity.ok().eTag(ETags.item(driver.getVersion())).body(driver);
+    }
+
+    /**
+     * Retrieve many drivers by id in one call.
+     *
+     * @param ids comma-separated driver identifiers, e.g. {@code ?ids=1,2,3}; at most
+     *            {@value LookupResult#MAX_IDS}
+     * @return HTTP 200 with one {@link LookupResult} per requested id, in request order; HTTP 400 for
+     *         more ids
+     */
+    @GetMapping(params = "ids")
+    public List<LookupResult<DriverResponse>> getByIds(
+            @RequestParam @Size(max = LookupResult.MAX_IDS, message = LookupResult.TOO_MANY_IDS) List<Long> ids) {
+        return service.getResponsesByIds(ids);
     }
 
     /**
-     * List all drivers.
+     * List drivers one keyset page at a time, ordered by id.
      *
-     * @return a JSON array of {@link DriverResponse}
+     * @param after opaque cursor returned as {@code nextCursor} by the previous page; omit for the first page
+     * @param limit maximum number of items to return (clamped to 1..{@value CursorPage#MAX_LIMIT})
+     * @param count {@code none} (default), {@code estimate} for a total from planner statistics,
+     *              or {@code exact} for a {@code COUNT(*)}
+     * @return a {@link CursorPage} of {@link DriverResponse}
      */
     @GetMapping("/list")
-    public List<DriverResponse> list() {
-        return service.getAll().stream().map(this::toResponse).toList();
+    public CursorPage<DriverResponse> list(@RequestParam(required = false) String after,
+                                           @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                           @RequestParam(required = false) String count) {
+        return service.getPage(after, limit, CountMode.parse(count));
     }
 
     /**
@@ -73,16 +100,31 @@ public class DriverController {
                              .body(toResponse(saved));
     }
 
+    /**
+     * Create many drivers in one request; items are validated and reported individually.
+     *
+     * @param requests drivers to create
+     * @return HTTP 200 with a {@link BatchResult} holding one result per request item
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BatchResult createBatch(@RequestBody List<DriverRequest> requests) {
+        return service.createBatch(requests);
+    }
+
     /**
      * Update an existing driver by applying non-null fields from the request.
      *
      * @param id      the identifier of the driver to update
      * @param request a partial update payload
-     * @return HTTP 200 with updated {@link DriverResponse}
+     * @param ifMatch optional {@code ETag} the driver must still have
+     * @return HTTP 200 with updated {@link DriverResponse} and its new {@code ETag}; HTTP 412 when the driver
+     *         has changed since {@code ifMatch} was read
      */
     @PutMapping("/{id}")
-    public ResponseEntity<DriverResponse> update(@PathVariable Long id, @Valid @RequestBody DriverUpdateRequest request) {
+    public ResponseEntity<DriverResponse> update(@PathVariable Long id, @Valid @RequestBody DriverUpdateRequest request,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Driver patch = new Driver();
+        patch.setVersion(ETags.expectedVersion(ifMatch));
         if (request.getName() != null) {
             patch.setName(request.getName());
         }
@@ -90,7 +132,7 @@ public class DriverController {
             patch.setLicenseNumber(request.getLicenseNumber());
         }
         Driver updated = service.update(id, patch);
-        return ResponseEntity.ok(toResponse(updated));
+        return ResponseEntity.ok().eTag(ETags.item(updated.getVersion())).body(toResponse(updated));
     }
 
     /**
@@ -115,6 +157,6 @@ public class DriverController {
         if (d == null) {
             return null;
         }
-        return new DriverResponse(d.getId(), d.getName(), d.getLicenseNumber());
+        return new DriverResponse(d.getId(), d.getName(), d.getLicenseNumber(), d.getVersion());
     }
 }
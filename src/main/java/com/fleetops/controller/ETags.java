@@ -0,0 +1,74 @@
+package com.fleetops.controller;
+
+import com.fleetops.dto.InspectionResponse;
+import com.fleetops.exception.PreconditionFailedException;
+import com.fleetops.repository.TableStamps;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Entity tags of the API's resources and the checks of the conditional request headers that carry them.
+ * <p>
+ * Items are tagged with their row version, strongly, since the version changes with every write; an
+ * inspection's tag also carries the version of the vehicle it embeds. Lists are tagged weakly with the
+ * modification stamp of their table, which covers every page and query of the list at once.
+ */
+final class ETags {
+
+    /** {@code "<version>"}, or {@code "<version>.<vehicle version>"} for inspections. */
+    private static final Pattern ITEM = Pattern.compile("\"(\\d{1,18})(?:\\.\\d{1,18})?\"");
+
+    private ETags() {
+    }
+
+    /** Strong tag of a row, or null when its version was not read. */
+    static String item(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /** Strong tag of an inspection, which changes with the inspection and with the vehicle it embeds. */
+    static String item(InspectionResponse inspection) {
+        if (inspection.getVersion() == null) {
+            return null;
+        }
+        Long vehicleVersion = inspection.getVehicle() == null ? null : inspection.getVehicle().getVersion();
+        return "\"" + inspection.getVersion() + (vehicleVersion == null ? "" : "." + vehicleVersion) + "\"";
+    }
+
+    /** Weak tag of a whole list. */
+    static String list(TableStamps.Stamp stamp) {
+        return "W/\"" + stamp.version() + "-" + stamp.modifiedAt().toEpochMilli() + "\"";
+    }
+
+    /**
+     * Check {@code If-None-Match} against the stamp of a list before it is read, adding its {@code ETag} header to
+     * the response. No {@code Last-Modified} is sent: its one-second resolution would answer 304 to a client
+     * that read the list before another write within the same second.
+     *
+     * @return whether the client's copy is current, in which case the response is already a 304
+     */
+    static boolean listNotModified(WebRequest request, Optional<TableStamps.Stamp> stamp) {
+        return stamp.isPresent()
+               && request.checkNotModified(list(stamp.get()));
+    }
+
+    /**
+     * The row version an {@code If-Match} header requires.
+     *
+     * @return the version, or null when the header is absent or {@code *}
+     * @throws PreconditionFailedException when the header is not a single tag this API issued for an item
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Matcher tag = ITEM.matcher(ifMatch.trim());
+        if (!tag.matches()) {
+            throw new PreconditionFailedException("If-Match must be a single strong ETag of the resource: " + ifMatch);
+        }
+        return Long.valueOf(tag.group(1));
+    }
+}
@@ -5,23 +5,31 @@ package com.fleetops.controller;
  * <p>
  * Typical mappings include:
  * <ul>
- *   <li>Constraint/validation violations -> 400 Bad Request</li>
+ *   <li>Constraint/validation violations, including those of request parameters -> 400 Bad Request</li>
  *   <li>Not found exceptions -> 404 Not Found</li>
- *   <li>Conflicts such as duplicate resources -> 409 Conflict</li>
+ *   <li>Conflicts such as duplicate resources or moves to another shard -> 409 Conflict</li>
+ *   <li>Stale {@code If-Match} versions -> 412 Precondition Failed</li>
  *   <li>Unhandled errors -> 500 Internal Server Error</li>
  * </ul>
  * The corresponding response bodies follow a simple error format (see ErrorResponse in OpenAPI).
  */
 
+import com.fleetops.exception.CrossShardMoveException;
+import com.fleetops.exception.InvalidCountModeException;
+import com.fleetops.exception.InvalidCsvException;
+import com.fleetops.exception.InvalidCursorException;
 import com.fleetops.exception.LicensePlateAlreadyExistsException;
 import com.fleetops.exception.NotFoundExceptionBase;
+import com.fleetops.exception.PreconditionFailedException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -64,6 +72,58 @@ public class GlobalControllerExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
 
+    @ExceptionHandler(CrossShardMoveException.class)
+    public ResponseEntity<Map<String, Object>> handleCrossShardMove(CrossShardMoveException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        body.put("error", "Precondition Failed");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCursor(InvalidCursorException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(InvalidCountModeException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCountMode(InvalidCountModeException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    @ExceptionHandler(InvalidCsvException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidCsv(InvalidCsvException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -80,7 +140,8 @@ public class GlobalControllerExceptionHandler {
         body.put("timestamp", LocalDateTime.now());
         body.put("status", HttpStatus.BAD_REQUEST.value());
         body.put("error", "Bad Request");
-        body.put("message", "Constraint violation");
+        body.put("message", ex.getConstraintViolations().isEmpty() && ex.getMessage() != null
+                            ? ex.getMessage() : "Constraint violation");
         body.put("violations", ex.getConstraintViolations().stream()
                                  .collect(Collectors.toMap(
                                          v -> v.getPropertyPath().toString(),
@@ -90,6 +151,24 @@ public class GlobalControllerExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleParameterValidation(HandlerMethodValidationException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", "Constraint violation");
+        body.put("violations", ex.getParameterValidationResults().stream()
+                                 .collect(Collectors.toMap(
+                                         r -> r.getMethodParameter().getParameterName(),
+                                         r -> r.getResolvableErrors().stream()
+                                               .map(MessageSourceResolvable::getDefaultMessage)
+                                               .collect(Collectors.joining("; ")),
+                                         (a, b) -> a
+                                                          )));
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, Object>> handleBadJson(HttpMessageNotReadableException ex) {
         Map<String, Object> body = new HashMap<>();
@@ -0,0 +1,52 @@
+package com.fleetops.controller;
+
+import com.fleetops.dto.ImportResult;
+import com.fleetops.service.ImportService;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for bulk CSV imports.
+ * <p>
+ * Provides admin-only endpoints under {@code /api/import}. The request body is CSV with a header row and is
+ * streamed straight into the import, so uploads are not limited by heap size. Responses are JSON.
+ */
+@RestController
+@RequestMapping(value = "/api/import", produces = MediaType.APPLICATION_JSON_VALUE)
+@PreAuthorize("hasRole('ADMIN')")
+public class ImportController {
+
+    static final String TEXT_CSV = "text/csv";
+
+    private final ImportService service;
+
+    public ImportController(ImportService service) {
+        this.service = service;
+    }
+
+    /**
+     * Create or update vehicles by license plate.
+     *
+     * @param csv CSV with the columns {@code license_plate}, {@code make} and {@code model}
+     * @return HTTP 200 with an {@link ImportResult}; HTTP 400 when the header or CSV syntax is invalid
+     */
+    @PostMapping(value = "/vehicles", consumes = {TEXT_CSV, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ImportResult importVehicles(InputStream csv) {
+        return service.importVehicles(csv);
+    }
+
+    /**
+     * Create inspections for existing vehicles.
+     *
+     * @param csv CSV with the columns {@code inspection_date} ({@code yyyy-MM-dd}), {@code status} and
+     *            {@code vehicle_id}
+     * @return HTTP 200 with an {@link ImportResult}; HTTP 400 when the header or CSV syntax is invalid
+     */
+    @PostMapping(value = "/inspections", consumes = {TEXT_CSV, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ImportResult importInspections(InputStream csv) {
+        return service.importInspections(csv);
+    }
+}
@@ -1,15 +1,25 @@
 package com.fleetops.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fleetops.dto.*;
 import com.fleetops.entity.Inspection;
 import com.fleetops.entity.Vehicle;
 import com.fleetops.service.InspectionService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 
@@ -18,6 +28,10 @@ import java.util.List;
  * <p>
  * Exposes CRUD endpoints under {@code /api/inspections}. Requests are validated and
  * responses are JSON. Errors/violations are handled centrally by the global exception handler.
+ * <p>
+ * Single inspections carry their row version, and that of their vehicle, as {@code ETag}, which
+ * {@code If-None-Match} revalidates and {@code If-Match} makes updates conditional on; the list is revalidated
+ * against the inspection table's stamp before it is read.
  */
 @RestController
 @RequestMapping(value = "/api/inspections", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -25,37 +39,108 @@ import java.util.List;
 public class InspectionController {
 
     private final InspectionService service;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Constructs an instance with the required service dependency.
+     * Constructs an instance with the required dependencies.
      *
-     * @param service inspection service instance
+     * @param service      inspection service instance
+     * @param objectMapper mapper used to serialize streamed export rows
      */
-    public InspectionController(InspectionService service) {
+    public InspectionController(InspectionService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Retrieve an inspection by id.
      *
      * @param id inspection identifier
-     * @return HTTP 200 with {@link InspectionResponse} or mapped to HTTP 404 if not found
+     * @return HTTP 200 with {@link InspectionResponse} and its {@code ETag}, HTTP 304 when the
+     *         {@code If-None-Match} tag is current, or mapped to HTTP 404 if not found
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     public ResponseEntity<InspectionResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(toResponse(service.getById(id)));
+        InspectionResponse inspection = service.getResponseById(id);
+        return ResponseEntity.ok().eTag(ETags.item(inspection)).body(inspection);
     }
 
     /**
-     * List all inspections.
+     * Retrieve many inspections by id in one call.
      *
-     * @return a JSON array of {@link InspectionResponse}
+     * @param ids comma-separated inspection identifiers, e.g. {@code ?ids=1,2,3}; at most
+     *            {@value LookupResult#MAX_IDS}
+     * @return HTTP 200 with one {@link LookupResult} per requested id, in request order; HTTP 400 for
+     *         more ids
+     */
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public List<LookupResult<InspectionResponse>> getByIds(
+            @RequestParam @Size(max = LookupResult.MAX_IDS, message = LookupResult.TOO_MANY_IDS) List<Long> ids) {
+        return service.getResponsesByIds(ids);
+    }
+
+    /**
+     * List inspections one keyset page at a time, ordered by id.
+     *
+     * @param after opaque cursor returned as {@code nextCursor} by the previous page; omit for the first page
+     * @param limit maximum number of items to return (clamped to 1..{@value CursorPage#MAX_LIMIT})
+     * @param count {@code none} (default), {@code estimate} for a total from planner statistics,
+     *              or {@code exact} for a {@code COUNT(*)}
+     * @return a {@link CursorPage} of {@link InspectionResponse}, or HTTP 304 without reading the page when the
+     *         {@code If-None-Match} header matches the inspection table's stamp
      */
     @GetMapping("/list")
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
-    public List<InspectionResponse> list() {
-        return service.getAll().stream().map(this::toResponse).toList();
+    public CursorPage<InspectionResponse> list(@RequestParam(required = false) String after,
+                                               @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                               @RequestParam(required = false) String count,
+                                               WebRequest request) {
+        if (ETags.listNotModified(request, service.getListStamp())) {
+            return null;
+        }
+        return service.getPage(after, limit, CountMode.parse(count));
+    }
+
+    /**
+     * Latest inspection of every vehicle, for fleet dashboards that would otherwise query vehicle by vehicle.
+     *
+     * @return HTTP 200 with one {@link InspectionResponse} per inspected vehicle, ordered by vehicle id
+     */
+    @GetMapping("/latest")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public List<InspectionResponse> latestPerVehicle() {
+        return service.getLatestPerVehicle();
+    }
+
+    /**
+     * Export every inspection as newline-delimited JSON, one {@link InspectionResponse} per line.
+     * <p>
+     * The body is streamed from a database cursor while it is written, so the response starts
+     * immediately and memory use does not grow with the number of inspections.
+     *
+     * @return HTTP 200 with an {@code application/x-ndjson} body
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public ResponseEntity<StreamingResponseBody> export() {
+        // Per-row flushing would turn every line into its own chunk; let the buffers fill instead
+        ObjectWriter rowWriter = objectMapper.writerFor(InspectionResponse.class)
+                                             .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                service.exportAll(inspection -> {
+                    try {
+                        rowWriter.writeValue(generator, toResponse(inspection));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
@@ -78,18 +163,34 @@ public class InspectionController {
                              .body(toResponse(saved));
     }
 
+    /**
+     * Create many inspections in one request; items are validated and reported individually.
+     *
+     * @param requests inspections to create
+     * @return HTTP 200 with a {@link BatchResult} holding one result per request item
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public BatchResult createBatch(@RequestBody List<InspectionRequest> requests) {
+        return service.createBatch(requests);
+    }
+
     /**
      * Update an inspection with non-null fields from the request payload.
      *
      * @param id      inspection identifier
      * @param request partial update payload
-     * @return HTTP 200 with updated {@link InspectionResponse}
+     * @param ifMatch optional {@code ETag} the inspection must still have; only its inspection part is compared
+     * @return HTTP 200 with updated {@link InspectionResponse} and its new {@code ETag}; HTTP 412 when the
+     *         inspection has changed since {@code ifMatch} was read
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     public ResponseEntity<InspectionResponse> update(@PathVariable Long id,
-                                                     @Valid @RequestBody InspectionUpdateRequest request) {
+                                                     @Valid @RequestBody InspectionUpdateRequest request,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Inspection patch = new Inspection();
+        patch.setVersion(ETags.expectedVersion(ifMatch));
         if (request.getInspectionDate() != null) {
             patch.setInspectionDate(request.getInspectionDate());
         }
@@ -102,7 +203,20 @@ public class InspectionController {
             patch.setVehicle(v);
         }
         Inspection updated = service.update(id, patch);
-        return ResponseEntity.ok(toResponse(updated));
+        InspectionResponse response = toResponse(updated);
+        return ResponseEntity.ok().eTag(ETags.item(response)).body(response);
+    }
+
+    /**
+     * Apply the same partial update to every inspection matching a filter, as one set-based update.
+     *
+     * @param request filter (at least one criterion) and the values to apply
+     * @return HTTP 200 with the number of inspections updated
+     */
+    @PatchMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public BulkUpdateResult bulkUpdate(@Valid @RequestBody InspectionBulkUpdateRequest request) {
+        return new BulkUpdateResult(service.bulkUpdate(request.getWhere(), request.getSet()));
     }
 
     /**
@@ -134,9 +248,10 @@ public class InspectionController {
                     i.getVehicle().getId(),
                     i.getVehicle().getLicensePlate(),
                     i.getVehicle().getMake(),
-                    i.getVehicle().getModel()
+                    i.getVehicle().getModel(),
+                    i.getVehicle().getVersion()
             );
         }
-        return new InspectionResponse(i.getId(), i.getInspectionDate(), i.getStatus(), v);
+        return new InspectionResponse(i.getId(), i.getInspectionDate(), i.getStatus(), v, i.getVersion());
     }
 }
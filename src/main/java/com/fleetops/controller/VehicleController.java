@@ -2,12 +2,16 @@ package com.fleetops.controller;
 
 import com.fleetops.dto.*;
 import com.fleetops.entity.Vehicle;
+import com.fleetops.service.InspectionService;
 import com.fleetops.service.VehicleService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
@@ -18,6 +22,10 @@ import java.util.List;
  * <p>
  * Provides CRUD endpoints under {@code /api/vehicles}. Payloads are validated where applicable and
  * errors are mapped by {@code GlobalControllerExceptionHandler}. Responses are JSON.
+ * <p>
+ * Single vehicles carry their row version as {@code ETag}, which {@code If-None-Match} revalidates and
+ * {@code If-Match} makes updates conditional on; the list is revalidated against the vehicle table's stamp
+ * before it is read.
  */
 @RestController
 @RequestMapping(value = "/api/vehicles", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -25,31 +33,77 @@ import java.util.List;
 public class VehicleController {
 
     private final VehicleService service;
+    private final InspectionService inspectionService;
 
-    public VehicleController(VehicleService service) {
+    public VehicleController(VehicleService service, InspectionService inspectionService) {
         this.service = service;
+        this.inspectionService = inspectionService;
     }
 
     /**
      * Retrieve a vehicle by its id.
      *
      * @param id vehicle identifier
-     * @return HTTP 200 with {@link VehicleResponse} when found, otherwise mapped to HTTP 404
+     * @return HTTP 200 with {@link VehicleResponse} and its {@code ETag} when found, HTTP 304 when the
+     *         {@code If-None-Match} tag is current, otherwise mapped to HTTP 404
      */
     @GetMapping("/{id}")
     public ResponseEntity<VehicleResponse> getById(@PathVariable Long id) {
-        Vehicle vehicle = service.getById(id);
-        return ResponseEntity.ok(toResponse(vehicle));
+        VehicleResponse vehicle = service.getResponseById(id);
+        // a 304 for a matching If-None-Match is answered from the ETag by Spring
+        return ResponseEntity.ok().eTag(ETags.item(vehicle.getVersion())).body(vehicle);
     }
 
     /**
-     * List all vehicles.
+     * Retrieve many vehicles by id in one call.
      *
-     * @return a JSON array of {@link VehicleResponse}
+     * @param ids comma-separated vehicle identifiers, e.g. {@code ?ids=1,2,3}; at most
+     *            {@value LookupResult#MAX_IDS}
+     * @return HTTP 200 with one {@link LookupResult} per requested id, in request order; HTTP 400 for
+     *         more ids
+     */
+    @GetMapping(params = "ids")
+    public List<LookupResult<VehicleResponse>> getByIds(
+            @RequestParam @Size(max = LookupResult.MAX_IDS, message = LookupResult.TOO_MANY_IDS) List<Long> ids) {
+        return service.getResponsesByIds(ids);
+    }
+
+    /**
+     * List vehicles one keyset page at a time, ordered by id.
+     *
+     * @param after opaque cursor returned as {@code nextCursor} by the previous page; omit for the first page
+     * @param limit maximum number of items to return (clamped to 1..{@value CursorPage#MAX_LIMIT})
+     * @param count {@code none} (default), {@code estimate} for a total from planner statistics,
+     *              or {@code exact} for a {@code COUNT(*)}
+     * @return a {@link CursorPage} of {@link VehicleResponse}, or HTTP 304 without reading the page when the
+     *         {@code If-None-Match} header matches the vehicle table's stamp
      */
     @GetMapping("/list")
-    public List<VehicleResponse> list() {
-        return service.getAll().stream().map(this::toResponse).toList();
+    public CursorPage<VehicleResponse> list(@RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                            @RequestParam(required = false) String count,
+                                            WebRequest request) {
+        if (ETags.listNotModified(request, service.getListStamp())) {
+            return null;
+        }
+        return service.getPage(after, limit, CountMode.parse(count));
+    }
+
+    /**
+     * List the inspections of a vehicle one keyset page at a time, newest first.
+     *
+     * @param id    vehicle identifier
+     * @param after opaque cursor returned as {@code nextCursor} by the previous page; omit for the first page
+     * @param limit maximum number of items to return (clamped to 1..{@value CursorPage#MAX_LIMIT})
+     * @param count {@code none} (default); {@code estimate} or {@code exact} add the vehicle's inspection total
+     * @return a {@link CursorPage} of {@link InspectionResponse}; HTTP 404 when the vehicle does not exist
+     */
+    @GetMapping("/{id}/inspections")
+    public CursorPage<InspectionResponse> listInspections(@PathVariable Long id,
+                                                         @RequestParam(required = false) String after,
+                                                         @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                                         @RequestParam(required = false) String count) {
+        return inspectionService.getVehicleHistory(id, after, limit, CountMode.parse(count));
     }
 
     /**
@@ -77,17 +131,59 @@ public class VehicleController {
                 .body(toResponse(saved));
     }
 
+    /**
+     * Create many vehicles in one request; items are validated and reported individually.
+     *
+     * @param requests vehicles to create
+     * @return HTTP 200 with a {@link BatchResult} holding one result per request item
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BatchResult createBatch(@RequestBody List<VehicleRequest> requests) {
+        return service.createBatch(requests);
+    }
+
+    /**
+     * Create or replace the vehicle with the given license plate in a single upsert.
+     *
+     * @param plate   license plate (normalized the same way as on create)
+     * @param request make and model to store
+     * @return HTTP 200 with the stored {@link VehicleResponse}
+     */
+    @PutMapping(value = "/by-plate/{plate}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public VehicleResponse upsertByPlate(@PathVariable String plate, @Valid @RequestBody VehicleUpsertRequest request) {
+        VehicleRequest vehicle = new VehicleRequest();
+        vehicle.setLicensePlate(plate);
+        vehicle.setMake(request.getMake());
+        vehicle.setModel(request.getModel());
+        return toResponse(service.upsert(vehicle));
+    }
+
+    /**
+     * Create or replace many vehicles by license plate; the whole batch is rejected if any item is invalid.
+     *
+     * @param requests vehicles to store
+     * @return HTTP 200 with the stored {@link VehicleResponse} for each request item, in request order
+     */
+    @PutMapping(value = "/by-plate", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<VehicleResponse> upsertBatch(@RequestBody List<VehicleRequest> requests) {
+        return service.upsertBatch(requests).stream().map(this::toResponse).toList();
+    }
+
     /**
      * Update a vehicle by applying non-null fields from the request payload.
      *
      * @param id      identifier of the vehicle to update
      * @param request partial update payload
-     * @return HTTP 200 with updated {@link VehicleResponse}
+     * @param ifMatch optional {@code ETag} the vehicle must still have
+     * @return HTTP 200 with updated {@link VehicleResponse} and its new {@code ETag}; HTTP 412 when the
+     *         vehicle has changed since {@code ifMatch} was read
      */
     @PutMapping("/{id}")
     public ResponseEntity<VehicleResponse> update(@PathVariable Long id,
-                                                  @Valid @RequestBody VehicleUpdateRequest request) {
+                                                  @Valid @RequestBody VehicleUpdateRequest request,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Vehicle patch = new Vehicle();
+        patch.setVersion(ETags.expectedVersion(ifMatch));
         // Allow partial update: only set fields that are not null in request
         if (request.getLicensePlate() != null) {
             patch.setLicensePlate(request.getLicensePlate());
@@ -99,7 +195,7 @@ public class VehicleController {
             patch.setModel(request.getModel());
         }
         Vehicle updated = service.update(id, patch);
-        return ResponseEntity.ok(toResponse(updated));
+        return ResponseEntity.ok().eTag(ETags.item(updated.getVersion())).body(toResponse(updated));
     }
 
     /**
@@ -124,6 +220,6 @@ public class VehicleController {
         if (v == null) {
             return null;
         }
-        return new VehicleResponse(v.getId(), v.getLicensePlate(), v.getMake(), v.getModel());
+        return new VehicleResponse(v.getId(), v.getLicensePlate(), v.getMake(), v.getModel(), v.getVersion());
     }
 }
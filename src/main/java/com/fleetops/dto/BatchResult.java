@@ -0,0 +1,25 @@
+package com.fleetops.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response model for batch create endpoints: per-item results in request order plus totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+    private int created;
+    private int rejected;
+    private List<BatchItemResult> items;
+
+    /**
+     * Build a result from per-item outcomes, counting created and rejected items.
+     */
+    public static BatchResult of(List<BatchItemResult> items) {
+        int created = (int) items.stream().filter(i -> i.getStatus() == BatchItemResult.Status.CREATED).count();
+        return new BatchResult(created, items.size() - created, items);
+    }
+}
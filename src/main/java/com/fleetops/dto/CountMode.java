@@ -0,0 +1,37 @@
+package com.fleetops.dto;
+
+import com.fleetops.exception.InvalidCountModeException;
+
+import java.util.Locale;
+
+/**
+ * How a paginated listing reports its total number of items.
+ */
+public enum CountMode {
+
+    /** No total; the cheapest option and the default. */
+    NONE,
+
+    /** Approximate total from database statistics, cached briefly. */
+    ESTIMATE,
+
+    /** Exact {@code COUNT(*)} on every request. */
+    EXACT;
+
+    /**
+     * Parse the {@code count} query parameter, ignoring case.
+     *
+     * @param value parameter value, or null for {@link #NONE}
+     * @throws InvalidCountModeException when the value names no mode (mapped to HTTP 400)
+     */
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCountModeException("count must be one of exact|estimate|none, got '" + value + "'");
+        }
+    }
+}
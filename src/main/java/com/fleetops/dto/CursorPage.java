@@ -0,0 +1,80 @@
+package com.fleetops.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) paginated listing.
+ * <p>
+ * {@link #nextCursor} is an opaque token to pass back as {@code after} to fetch the following page;
+ * it is {@code null} when the current page is the last one.
+ * <p>
+ * {@link #totalCount} is only present when the client asked for a count (see {@link CountMode});
+ * {@link #totalCountEstimated} then tells whether it came from database statistics rather than
+ * an exact {@code COUNT(*)}.
+ *
+ * @param <T> item type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /** Page size applied when the client does not request one. */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /** Upper bound for the page size to keep individual responses small. */
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean totalCountEstimated;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this(items, nextCursor, null, null);
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code limit + 1}. The extra row, when present,
+     * only signals that another page exists and is not returned to the client.
+     *
+     * @param rows     rows in seek order, at most {@code limit + 1}
+     * @param limit    requested page size
+     * @param cursorOf derives the cursor token from the last item of the page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<? super T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Attach a total count to this page.
+     *
+     * @param count     total number of items in the listing
+     * @param estimated whether {@code count} is an estimate
+     * @return this page
+     */
+    public CursorPage<T> withTotalCount(long count, boolean estimated) {
+        this.totalCount = count;
+        this.totalCountEstimated = estimated;
+        return this;
+    }
+
+    /**
+     * Clamp a client supplied page size into {@code [1, MAX_LIMIT]}.
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
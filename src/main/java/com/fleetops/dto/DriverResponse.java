@@ -1,5 +1,6 @@
 package com.fleetops.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 /**
@@ -14,4 +15,11 @@ public class DriverResponse {
     private Long id;
     private String name;
     private String licenseNumber;
+    /** Row version, sent as the {@code ETag} header rather than in the body; null where not read. */
+    @JsonIgnore
+    private Long version;
+
+    public DriverResponse(Long id, String name, String licenseNumber) {
+        this(id, name, licenseNumber, null);
+    }
 }
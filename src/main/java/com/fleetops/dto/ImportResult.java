@@ -0,0 +1,27 @@
+package com.fleetops.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Response model for CSV imports.
+ * <p>
+ * {@link #rows} counts the data rows read, {@link #imported} the rows stored and {@link #rejected} the rows
+ * skipped as invalid. {@link #errors} details at most {@value #MAX_REPORTED_ERRORS} rejected rows, in line order.
+ * For vehicles, rows repeating a license plate collapse into one stored vehicle, so {@code imported} may be
+ * lower than {@code rows - rejected}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+
+    /** Maximum number of rejected rows described in {@link #errors}. */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long rows;
+    private long imported;
+    private long rejected;
+    private List<ImportRowError> errors;
+}
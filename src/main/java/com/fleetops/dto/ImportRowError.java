@@ -0,0 +1,14 @@
+package com.fleetops.dto;
+
+import lombok.*;
+
+/**
+ * A CSV row rejected by an import, identified by the line it starts on (the header is line 1).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private long line;
+    private String error;
+}
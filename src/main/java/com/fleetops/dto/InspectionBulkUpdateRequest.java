@@ -0,0 +1,25 @@
+package com.fleetops.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload for a set-based inspection update: which inspections to change and the values to apply.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InspectionBulkUpdateRequest {
+
+    @Valid
+    @NotNull
+    private InspectionFilter where;
+
+    /** Values to apply; {@link InspectionUpdateRequest} requires at least one of them. */
+    @Valid
+    @NotNull
+    private InspectionUpdateRequest set;
+}
@@ -0,0 +1,31 @@
+package com.fleetops.dto;
+
+import com.fleetops.validation.annotation.AtLeastOneFieldNotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Selects the inspections a bulk update applies to.
+ * <p>
+ * All criteria are optional and combined with AND, but at least one must be given so a request can never
+ * touch the whole table by accident. Date bounds are inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@AtLeastOneFieldNotNull
+public class InspectionFilter {
+
+    @Size(min = 1, max = 1000)
+    private List<Long> ids;
+    @Size(max = 32)
+    private String status;
+    private Long vehicleId;
+    private LocalDate inspectedFrom;
+    private LocalDate inspectedTo;
+}
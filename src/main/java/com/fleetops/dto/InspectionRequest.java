@@ -2,6 +2,7 @@ package com.fleetops.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -17,6 +18,7 @@ public class InspectionRequest {
     private LocalDate inspectionDate;
 
     @NotBlank
+    @Size(max = 32)
     private String status;
 
     @NotNull
@@ -1,5 +1,6 @@
 package com.fleetops.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -16,4 +17,29 @@ public class InspectionResponse {
     private LocalDate inspectionDate;
     private String status;
     private VehicleResponse vehicle;
+    /** Row version, sent within the {@code ETag} header rather than in the body; null where not read. */
+    @JsonIgnore
+    private Long version;
+
+    public InspectionResponse(Long id, LocalDate inspectionDate, String status, VehicleResponse vehicle) {
+        this(id, inspectionDate, status, vehicle, null);
+    }
+
+    /**
+     * Flat constructor used by JPQL constructor expressions that left-join the vehicle; the
+     * nested summary is only built when the inspection has a vehicle.
+     */
+    public InspectionResponse(Long id, LocalDate inspectionDate, String status,
+                              Long vehicleId, String licensePlate, String make, String model) {
+        this(id, inspectionDate, status,
+             vehicleId == null ? null : new VehicleResponse(vehicleId, licensePlate, make, model));
+    }
+
+    /** Flat constructor for by-id reads, which also carry the row versions of the inspection and its vehicle. */
+    public InspectionResponse(Long id, LocalDate inspectionDate, String status, Long version,
+                              Long vehicleId, String licensePlate, String make, String model, Long vehicleVersion) {
+        this(id, inspectionDate, status,
+             vehicleId == null ? null : new VehicleResponse(vehicleId, licensePlate, make, model, vehicleVersion),
+             version);
+    }
 }
@@ -1,6 +1,7 @@
 package com.fleetops.dto;
 
 import com.fleetops.validation.annotation.AtLeastOneFieldNotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -15,6 +16,7 @@ import java.time.LocalDate;
 public class InspectionUpdateRequest {
 
     private LocalDate inspectionDate;
+    @Size(max = 32)
     private String status;
     private Long vehicleId;
 }
@@ -0,0 +1,36 @@
+package com.fleetops.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Outcome of looking up one id of a multi-get request.
+ * <p>
+ * Found ids carry the resource in {@link #item}; unknown ids are reported as {@link Status#NOT_FOUND}
+ * instead of failing the whole call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LookupResult<T> {
+
+    /** Most ids one multi-get request may ask for. */
+    public static final int MAX_IDS = 1000;
+    /** Validation message for requests over {@link #MAX_IDS}. */
+    public static final String TOO_MANY_IDS = "must not list more than " + MAX_IDS + " ids";
+
+    public enum Status { FOUND, NOT_FOUND }
+
+    private Long id;
+    private Status status;
+    private T item;
+
+    public static <T> LookupResult<T> found(Long id, T item) {
+        return new LookupResult<>(id, Status.FOUND, item);
+    }
+
+    public static <T> LookupResult<T> notFound(Long id) {
+        return new LookupResult<>(id, Status.NOT_FOUND, null);
+    }
+}
@@ -1,5 +1,6 @@
 package com.fleetops.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 /**
@@ -13,4 +14,11 @@ public class VehicleResponse {
     private String licensePlate;
     private String make;
     private String model;
+    /** Row version, sent as the {@code ETag} header rather than in the body; null where not read. */
+    @JsonIgnore
+    private Long version;
+
+    public VehicleResponse(Long id, String licensePlate, String make, String model) {
+        this(id, licensePlate, make, model, null);
+    }
 }
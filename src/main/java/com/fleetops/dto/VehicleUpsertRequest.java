@@ -0,0 +1,20 @@
+package com.fleetops.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Request model for creating or replacing a vehicle addressed by its license plate.
+ * The plate comes from the request path.
+ */
+@Data
+public class VehicleUpsertRequest {
+    @NotBlank
+    @Size(max = 50)
+    private String make;
+
+    @NotBlank
+    @Size(max = 50)
+    private String model;
+}
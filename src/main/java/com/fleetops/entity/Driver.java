@@ -1,21 +1,45 @@
 package com.fleetops.entity;
 
+import com.fleetops.cache.CacheRegions;
+import com.fleetops.id.FleetId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * JPA entity representing a driver in the fleet domain.
+ * <p>
+ * Cached in the second-level cache when {@code fleetops.cache.second-level.enabled} is set, by id and by
+ * license number.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DRIVER)
+@NaturalIdCache(region = CacheRegions.DRIVER_NATURAL_ID)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_driver_license_number", columnNames = "license_number"))
 public class Driver {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // surrogate primary key
+    @FleetId(sequence = "driver_seq")
+    private Long id; // surrogate primary key; pooled sequence or time-ordered id, either way no insert round trip
 
     private String name; // driver full name
+    @NaturalId(mutable = true)
     private String licenseNumber; // external license identifier
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version; // row version, incremented by every write; the driver's ETag
+
+    public Driver(Long id, String name, String licenseNumber) {
+        this(id, name, licenseNumber, null);
+    }
 }
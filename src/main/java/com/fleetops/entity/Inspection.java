@@ -1,25 +1,46 @@
 package com.fleetops.entity;
 
+import com.fleetops.id.FleetId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 /**
  * JPA entity representing an inspection performed on a vehicle.
+ * <p>
+ * On PostgreSQL the Liquibase changelog also adds {@code status} as an {@code INCLUDE} column of
+ * {@code idx_inspection_vehicle_date_id}, which JPA index metadata cannot express, and partitions the
+ * table by year of {@code inspection_date}.
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_inspection_vehicle_date_id", columnList = "vehicle_id, inspection_date desc, id desc"),
+        @Index(name = "idx_inspection_status_vehicle", columnList = "status, vehicle_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Inspection {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // surrogate primary key
+    @FleetId(sequence = "inspection_seq")
+    private Long id; // surrogate primary key; pooled sequence or time-ordered id, either way no insert round trip
 
-    private LocalDate inspectionDate; // date the inspection occurred
-    private String status;            // normalized status value (e.g., PASSED/FAILED)
+    @Column(nullable = false)
+    private LocalDate inspectionDate; // date the inspection occurred; part of the partitioned table's unique key
+    @Column(length = 32)
+    private String status;            // normalized (trimmed, uppercase) status code (e.g., PASSED/FAILED)
 
-    @ManyToOne
-    private Vehicle vehicle;          // owning vehicle
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Vehicle vehicle;          // owning vehicle; read paths fetch it explicitly via entity graphs
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;             // row version, incremented by every write; part of the inspection's ETag
+
+    public Inspection(Long id, LocalDate inspectionDate, String status, Vehicle vehicle) {
+        this(id, inspectionDate, status, vehicle, null);
+    }
 }
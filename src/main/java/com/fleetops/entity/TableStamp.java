@@ -0,0 +1,27 @@
+package com.fleetops.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for the modification stamp of a table; maintained and read with plain SQL by
+ * {@link com.fleetops.repository.TableStamps}, mapped so the schema generated for tests has the table.
+ */
+@Entity
+@Table(name = "table_stamp")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableStamp {
+    @Id
+    @Column(length = 64)
+    private String tableName; // name of the stamped table
+
+    @Column(nullable = false)
+    private long version;       // incremented by every committed write to the table
+
+    @Column(nullable = false)
+    private Instant modifiedAt; // time of the last committed write
+}
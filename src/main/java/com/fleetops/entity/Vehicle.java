@@ -1,22 +1,46 @@
 package com.fleetops.entity;
 
+import com.fleetops.cache.CacheRegions;
+import com.fleetops.id.FleetId;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * JPA entity representing a vehicle in the fleet.
+ * <p>
+ * Cached in the second-level cache when {@code fleetops.cache.second-level.enabled} is set, by id and by
+ * license plate; writes that bypass Hibernate evict the cached copies themselves.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.VEHICLE)
+@NaturalIdCache(region = CacheRegions.VEHICLE_NATURAL_ID)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_vehicle_license_plate", columnNames = "license_plate"))
 public class Vehicle {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // surrogate primary key
+    @FleetId(sequence = "vehicle_seq")
+    private Long id; // surrogate primary key; pooled sequence or time-ordered id, either way no insert round trip
 
+    @NaturalId(mutable = true)
     private String licensePlate; // normalized uppercase string
     private String make;         // manufacturer
     private String model;        // product model
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;        // row version, incremented by every write; the vehicle's ETag
+
+    public Vehicle(Long id, String licensePlate, String make, String model) {
+        this(id, licensePlate, make, model, null);
+    }
 }
@@ -0,0 +1,15 @@
+package com.fleetops.exception;
+
+/**
+ * Exception indicating an update would move a vehicle or inspection to another shard, which rows never do.
+ * <p>
+ * Mapped to HTTP 409 by the global controller exception handler.
+ */
+public class CrossShardMoveException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CrossShardMoveException(String message) {
+        super(message);
+    }
+}
@@ -7,6 +7,8 @@ package com.fleetops.exception;
  */
 public class DriverNotFoundException extends NotFoundExceptionBase {
 
+    private static final long serialVersionUID = 1L;
+
     public DriverNotFoundException(String message) {
         super(message);
     }
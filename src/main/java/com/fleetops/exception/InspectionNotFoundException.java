@@ -7,6 +7,8 @@ package com.fleetops.exception;
  */
 public class InspectionNotFoundException extends NotFoundExceptionBase {
 
+    private static final long serialVersionUID = 1L;
+
     public InspectionNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,15 @@
+package com.fleetops.exception;
+
+/**
+ * Exception indicating the {@code count} query parameter of a listing names no known count mode.
+ * <p>
+ * Mapped to HTTP 400 by the global controller exception handler.
+ */
+public class InvalidCountModeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCountModeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.fleetops.exception;
+
+/**
+ * Exception indicating an uploaded CSV document is empty, lacks a required column or is malformed.
+ * <p>
+ * Mapped to HTTP 400 by the global controller exception handler.
+ */
+public class InvalidCsvException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCsvException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.fleetops.exception;
+
+/**
+ * Exception indicating a pagination cursor supplied by the client could not be decoded.
+ * <p>
+ * Mapped to HTTP 400 by the global controller exception handler.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
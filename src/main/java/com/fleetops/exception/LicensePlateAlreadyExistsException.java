@@ -9,6 +9,8 @@ import org.springframework.dao.DataIntegrityViolationException;
  */
 public class LicensePlateAlreadyExistsException extends DataIntegrityViolationException {
 
+    private static final long serialVersionUID = 1L;
+
     public LicensePlateAlreadyExistsException(String message) {
         super(message);
     }
@@ -7,6 +7,8 @@ package com.fleetops.exception;
  */
 public abstract class NotFoundExceptionBase extends RuntimeException implements NotFoundException {
 
+    private static final long serialVersionUID = 1L;
+
     public NotFoundExceptionBase(String message) {
         super(message);
     }
@@ -0,0 +1,15 @@
+package com.fleetops.exception;
+
+/**
+ * Exception indicating a conditional request ({@code If-Match}) names a version the resource no longer has.
+ * <p>
+ * Mapped to HTTP 412 by the global controller exception handler.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
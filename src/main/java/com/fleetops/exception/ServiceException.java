@@ -6,6 +6,9 @@ package com.fleetops.exception;
  * Typically mapped to HTTP 500 by the global exception handler.
  */
 public class ServiceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
     public ServiceException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -7,6 +7,8 @@ package com.fleetops.exception;
  */
 public class VehicleNotFoundException extends NotFoundExceptionBase {
 
+    private static final long serialVersionUID = 1L;
+
     public VehicleNotFoundException(String message) {
         super(message);
     }
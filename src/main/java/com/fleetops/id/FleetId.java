@@ -0,0 +1,26 @@
+package com.fleetops.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the annotated id with {@link FleetIdGenerator}: from the pooled {@link #sequence()}, or as a
+ * time-ordered id with {@code fleetops.ids.generator=snowflake}.
+ */
+@IdGeneratorType(FleetIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface FleetId {
+
+    /** Name of the database sequence. */
+    String sequence();
+
+    /** Sequence increment, which is also the number of ids one {@code nextval} reserves. */
+    int increment() default 50;
+}
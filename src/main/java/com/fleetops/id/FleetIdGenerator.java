@@ -0,0 +1,72 @@
+package com.fleetops.id;
+
+import com.fleetops.shard.ShardContext;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Id generator of the entities' {@link FleetId} ids: draws from the pooled sequence the annotation names, or, with
+ * {@code fleetops.ids.generator=snowflake}, builds {@link TimeOrderedIds} without a database round trip.
+ * <p>
+ * The choice is passed in by {@link IdConfig} through the Hibernate settings {@link #GENERATOR_SETTING} and
+ * {@link #NODE_SETTING}. The sequence stays mapped either way, so a deployment can switch to time-ordered ids
+ * at any time: they start far above every sequence value.
+ * <p>
+ * With sharding every shard draws from its own stripe of the sequence (see
+ * {@code ShardIdStripes}), so a thread bound to a shard gets ids from a pooled optimizer
+ * of that shard; a block fetched on one shard is never handed out on another.
+ */
+public class FleetIdGenerator extends SequenceStyleGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    static final String GENERATOR_SETTING = "fleetops.ids.generator";
+    static final String NODE_SETTING = "fleetops.ids.node";
+
+    private final FleetId config;
+    private TimeOrderedIds timeOrdered;
+    private final Map<Integer, Optimizer> shardOptimizers = new ConcurrentHashMap<>();
+
+    /** Called by Hibernate for every {@link FleetId} id, before {@link #configure}. */
+    public FleetIdGenerator(FleetId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.setProperty(SEQUENCE_PARAM, config.sequence());
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(config.increment()));
+        super.configure(type, parameters, serviceRegistry);
+        Map<String, Object> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+        if (IdProperties.Generator.SNOWFLAKE.name().equals(settings.get(GENERATOR_SETTING))) {
+            timeOrdered = new TimeOrderedIds(Integer.parseInt(String.valueOf(settings.get(NODE_SETTING))),
+                                             Clock.systemUTC());
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (timeOrdered != null) {
+            return timeOrdered.next();
+        }
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            return super.generate(session, object);
+        }
+        return shardOptimizers.computeIfAbsent(shard, s -> new PooledOptimizer(Long.class, getDatabaseStructure().getIncrementSize()))
+                              .generate(getDatabaseStructure().buildCallback(session));
+    }
+}
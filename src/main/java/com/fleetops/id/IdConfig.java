@@ -0,0 +1,31 @@
+package com.fleetops.id;
+
+import com.fleetops.shard.ShardingProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hands the {@code fleetops.ids} choice to {@link FleetIdGenerator}, which Hibernate instantiates itself.
+ */
+@Configuration
+public class IdConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer fleetIdGenerator(IdProperties ids, ShardingProperties sharding) {
+        if (ids.getGenerator() == IdProperties.Generator.SNOWFLAKE) {
+            if (sharding.isEnabled()) {
+                // shards are told apart by the sequence stripes their ids come from, see ShardIdStripes
+                throw new IllegalStateException("fleetops.ids.generator=snowflake cannot be combined with fleetops.sharding");
+            }
+            if (ids.getNode() < 0 || ids.getNode() > TimeOrderedIds.MAX_NODE) {
+                throw new IllegalStateException("fleetops.ids.node must be set to a number between 0 and "
+                                                + TimeOrderedIds.MAX_NODE + " that is unique per instance");
+            }
+        }
+        return properties -> {
+            properties.put(FleetIdGenerator.GENERATOR_SETTING, ids.getGenerator().name());
+            properties.put(FleetIdGenerator.NODE_SETTING, String.valueOf(ids.getNode()));
+        };
+    }
+}
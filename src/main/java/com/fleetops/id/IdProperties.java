@@ -0,0 +1,27 @@
+package com.fleetops.id;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "fleetops.ids")
+public class IdProperties {
+    /**
+     * How new vehicles, drivers and inspections get their ids, for JPA saves and JDBC inserts alike (the latter
+     * draw them from the same generator).
+     */
+    private Generator generator = Generator.SEQUENCE;
+    /** This instance's node number (0-1023) for {@link Generator#SNOWFLAKE}; must differ between instances. */
+    private int node = -1;
+
+    public enum Generator {
+        /** Blocks of 50 ids from the pooled database sequences. */
+        SEQUENCE,
+        /** Time-ordered ids built in the application, see {@link TimeOrderedIds}. */
+        SNOWFLAKE
+    }
+}
@@ -0,0 +1,75 @@
+package com.fleetops.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style 64-bit ids: {@value #TIMESTAMP_BITS} bits of milliseconds since {@link #EPOCH}, then
+ * {@value #NODE_BITS} bits of node and {@value #SEQUENCE_BITS} bits of per-millisecond sequence.
+ * <p>
+ * Ids of one node strictly increase, and ids of all nodes sort by creation time to the millisecond, so new rows
+ * land at the right-hand edge of the primary key index. Generation is lock-free: the last timestamp and
+ * sequence live in one {@link AtomicLong} updated by compare-and-set. When a millisecond runs out of sequence
+ * numbers, or the clock steps back, the generator keeps counting on the latest timestamp it used instead of
+ * waiting, borrowing from the following milliseconds until the clock catches up.
+ */
+public final class TimeOrderedIds {
+
+    /** Start of the timestamp field, 2025-01-01T00:00:00Z; 41 bits reach into 2094. */
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    static final int TIMESTAMP_BITS = 41;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    /** Highest node number, 1023. */
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final Clock clock;
+    private final long epochMillis = EPOCH.toEpochMilli();
+    /** Timestamp (relative to the epoch) and sequence of the last id, laid out as in the id itself. */
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedIds(int node, Clock clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node must be between 0 and " + MAX_NODE + ", was " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    /** The next id of this node. */
+    public long next() {
+        while (true) {
+            long now = clock.millis() - epochMillis;
+            long previous = last.get();
+            long previousTime = previous >>> SEQUENCE_BITS;
+            long candidate;
+            if (now > previousTime) {
+                candidate = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                candidate = previous + 1;
+            } else {
+                candidate = (previousTime + 1) << SEQUENCE_BITS;
+            }
+            if (last.compareAndSet(previous, candidate)) {
+                long time = candidate >>> SEQUENCE_BITS;
+                return time << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | (candidate & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /** When an id was generated, to the millisecond. */
+    public static Instant timestampOf(long id) {
+        return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+
+    /** The node that generated an id. */
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE;
+    }
+}
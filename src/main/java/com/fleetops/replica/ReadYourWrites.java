@@ -0,0 +1,55 @@
+package com.fleetops.replica;
+
+/**
+ * Read consistency of the HTTP request handled by the current thread.
+ * <p>
+ * A request is pinned to the primary when the client asked for it, and from the moment it opens a
+ * read-write connection, so that it reads its own writes even before the replicas have replayed them.
+ * Threads outside a request are never pinned.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /** Whether read-only transactions of the current thread must use the primary. */
+    public static boolean isPinned() {
+        State state = CURRENT.get();
+        return state != null && (state.pinned || state.wrote);
+    }
+
+    /** Start tracking a request; {@code pinned} keeps all its reads on the primary. */
+    static void begin(boolean pinned) {
+        CURRENT.set(new State(pinned));
+    }
+
+    /** Note that the current request has written to the primary. */
+    static void recordWrite() {
+        State state = CURRENT.get();
+        if (state != null) {
+            state.wrote = true;
+        }
+    }
+
+    /**
+     * Stop tracking the current request.
+     *
+     * @return whether it wrote to the primary
+     */
+    static boolean end() {
+        State state = CURRENT.get();
+        CURRENT.remove();
+        return state != null && state.wrote;
+    }
+
+    private static final class State {
+        private final boolean pinned;
+        private boolean wrote;
+
+        State(boolean pinned) {
+            this.pinned = pinned;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.fleetops.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Keeps the reads of a request on the primary when the client sends the read-your-writes header.
+ * <p>
+ * The API is stateless, so nothing carries a write over to the client's next request: a client that must see
+ * its own write on the following read sends the header on that read.
+ */
+class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final String header;
+
+    ReadYourWritesFilter(String header) {
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadYourWrites.begin(Boolean.parseBoolean(request.getHeader(header)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.fleetops.replica;
+
+import com.fleetops.shard.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datasource and request handling for {@code fleetops.replicas.enabled=true}.
+ * <p>
+ * Builds a pool for the {@code spring.datasource} primary and one per configured replica behind a
+ * {@link ReplicaRoutingDataSource}, which takes the place of the auto-configured application datasource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "fleetops.replicas", name = "enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties primary, ReplicaProperties properties,
+                                               ShardingProperties sharding) {
+        if (sharding.isEnabled()) {
+            throw new IllegalStateException("fleetops.replicas cannot be combined with fleetops.sharding");
+        }
+        if (properties.getNodes().isEmpty()) {
+            throw new IllegalStateException("fleetops.replicas.enabled requires at least one fleetops.replicas.nodes entry");
+        }
+        HikariDataSource primaryPool = primary.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaryPool.setPoolName("primary");
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            ReplicaProperties.Node node = properties.getNodes().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                                                     .type(HikariDataSource.class)
+                                                     .url(node.getUrl())
+                                                     .username(node.getUsername())
+                                                     .password(node.getPassword())
+                                                     .build();
+            pool.setPoolName("replica-" + i);
+            pool.setReadOnly(true);
+            replicaPools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryPool, replicaPools, properties.getSelection(),
+                                           properties.getMaxLag());
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource dataSource) {
+        return new ReplicaLagMonitor(dataSource.replicas());
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(ReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesHeader());
+    }
+}
@@ -0,0 +1,28 @@
+package com.fleetops.replica;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Re-checks the lag of the replicas on startup and then every {@code fleetops.replicas.lag-check-interval}
+ * (two seconds by default). Until the first check every read goes to the primary.
+ */
+class ReplicaLagMonitor {
+
+    private final ReplicaSet replicas;
+
+    ReplicaLagMonitor(ReplicaSet replicas) {
+        this.replicas = replicas;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        check();
+    }
+
+    @Scheduled(fixedDelayString = "${fleetops.replicas.lag-check-interval:PT2S}")
+    public void check() {
+        replicas.checkLag();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fleetops.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "fleetops.replicas")
+public class ReplicaProperties {
+    /** Send read-only transactions to {@link #nodes}; when false every transaction uses the primary. */
+    private boolean enabled = false;
+    /** Streaming replicas of the {@code spring.datasource} primary. */
+    private List<Node> nodes = new ArrayList<>();
+    /** How a read-only transaction picks among the replicas that are in sync. */
+    private Selection selection = Selection.ROUND_ROBIN;
+    /** Replicas lagging further behind the primary than this are skipped until they catch up. */
+    private Duration maxLag = Duration.ofSeconds(5);
+    /** Request header that, set to {@code true}, keeps all reads of the request on the primary. */
+    private String readYourWritesHeader = "X-Read-Your-Writes";
+
+    public enum Selection {
+        /** Take the replicas in turn. */
+        ROUND_ROBIN,
+        /** Take the replica with the fewest connections in use. */
+        LEAST_LOADED
+    }
+
+    @Setter
+    @Getter
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
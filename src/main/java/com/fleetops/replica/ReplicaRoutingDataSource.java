@@ -0,0 +1,72 @@
+package com.fleetops.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Application datasource when read replicas are configured: read-only transactions connect to a
+ * {@link ReplicaSet}, everything else to the primary.
+ * <p>
+ * Connections are handed out lazily, so the choice is made when the first statement runs, after the
+ * transaction manager has marked the connection read-only for {@code @Transactional(readOnly = true)}.
+ * Opening a read-write connection pins the rest of the current request to the primary (see
+ * {@link ReadYourWrites}).
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final List<HikariDataSource> pools;
+    private final ReplicaSet replicas;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                    ReplicaProperties.Selection selection, Duration maxLag) {
+        this(primary, new ReplicaSet(primary, replicas(replicaPools), selection, maxLag));
+        this.pools.add(primary);
+        this.pools.addAll(replicaPools);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas) {
+        super(new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                ReadYourWrites.recordWrite();
+                return super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                ReadYourWrites.recordWrite();
+                return super.getConnection(username, password);
+            }
+        });
+        setReadOnlyDataSource(replicas);
+        this.pools = new ArrayList<>();
+        this.replicas = replicas;
+    }
+
+    private static List<ReplicaSet.Replica> replicas(List<HikariDataSource> pools) {
+        return pools.stream().map(pool -> new ReplicaSet.Replica(pool.getPoolName(), pool, () -> {
+            HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+            return stats == null ? 0 : stats.getActiveConnections();
+        })).toList();
+    }
+
+    /** The replicas behind read-only transactions. */
+    public ReplicaSet replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
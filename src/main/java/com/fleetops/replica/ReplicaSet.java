@@ -0,0 +1,140 @@
+package com.fleetops.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * The read-only side of a {@link ReplicaRoutingDataSource}: hands out connections to a replica that is in
+ * sync with the primary, or to the primary itself.
+ * <p>
+ * A replica is only used after {@link #checkLag()} has found it at most {@code maxLag} behind the primary;
+ * one that lags further or cannot be reached is skipped until a later check finds it caught up. Reads of a
+ * thread pinned by {@link ReadYourWrites}, and all reads while no replica is in sync, go to the primary.
+ */
+@Slf4j
+public class ReplicaSet extends AbstractDataSource {
+
+    /**
+     * Replay lag in milliseconds; 0 on a primary and on a replica that has replayed everything it received,
+     * which otherwise would look further behind the longer the primary sits idle.
+     */
+    private static final String POSTGRES_LAG = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END::bigint
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties.Selection selection;
+    private final long maxLagMillis;
+    private final LagProbe probe;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaSet(DataSource primary, List<Replica> replicas, ReplicaProperties.Selection selection, Duration maxLag,
+               LagProbe probe) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.maxLagMillis = maxLag.toMillis();
+        this.probe = probe;
+    }
+
+    ReplicaSet(DataSource primary, List<Replica> replicas, ReplicaProperties.Selection selection, Duration maxLag) {
+        this(primary, replicas, selection, maxLag, ReplicaSet::postgresLag);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    /** The datasource the next read-only transaction of the calling thread connects to. */
+    DataSource select() {
+        if (ReadYourWrites.isPinned()) {
+            return primary;
+        }
+        List<Replica> inSync = replicas.stream().filter(r -> r.inSync).toList();
+        if (inSync.isEmpty()) {
+            return primary;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> inSync.get(Math.floorMod(next.getAndIncrement(), inSync.size())).dataSource;
+            case LEAST_LOADED -> inSync.stream().min(Comparator.comparingInt(r -> r.load.getAsInt())).orElseThrow().dataSource;
+        };
+    }
+
+    /**
+     * Measure the lag of every replica and take replicas in or out of rotation accordingly.
+     */
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean inSync;
+            try {
+                long lag = probe.lagMillis(replica.dataSource);
+                inSync = lag <= maxLagMillis;
+                if (!inSync && replica.inSync) {
+                    log.warn("Replica {} is {} ms behind the primary; reading from the others", replica.name, lag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                inSync = false;
+                if (replica.inSync) {
+                    log.warn("Replica {} is unreachable; reading from the others", replica.name, e);
+                }
+            }
+            if (inSync && !replica.inSync) {
+                log.info("Replica {} is in sync; reading from it", replica.name);
+            }
+            replica.inSync = inSync;
+        }
+    }
+
+    private static long postgresLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return 0;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(POSTGRES_LAG)) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /** Measures how far, in milliseconds, a replica is behind its primary. */
+    @FunctionalInterface
+    interface LagProbe {
+        long lagMillis(DataSource replica) throws SQLException;
+    }
+
+    /** One replica; {@code load} reports its connections in use. */
+    static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final IntSupplier load;
+        private volatile boolean inSync;
+
+        Replica(String name, DataSource dataSource, IntSupplier load) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.load = load;
+        }
+    }
+}
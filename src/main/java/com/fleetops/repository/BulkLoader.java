@@ -0,0 +1,290 @@
+package com.fleetops.repository;
+
+import com.fleetops.cache.CacheRegions;
+import com.fleetops.entity.Inspection;
+import com.fleetops.entity.Vehicle;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Loads large, already normalized row sets into the {@code vehicle} and {@code inspection} tables.
+ * <p>
+ * On PostgreSQL rows are streamed with {@code COPY ... FROM STDIN} into a temporary staging table that is
+ * dropped at commit, then merged into the real table with one set-based statement. Other databases (H2 in
+ * tests) get the same outcome from JDBC batches of {@value #BATCH_SIZE} rows. Either way vehicles are
+ * upserted by license plate, the last occurrence of a plate winning, and inspections are only inserted when
+ * their vehicle exists.
+ * <p>
+ * Ids are drawn from the entities' own generators through {@link IdAllocator}, one per source row, and bound
+ * or staged with the row; rows that update an existing plate or are skipped leave theirs unused.
+ * <p>
+ * Like {@link ReturningUpdate}, statements run on the transaction's connection with pending JPA changes
+ * flushed before and the persistence context cleared after.
+ */
+@Slf4j
+@Component
+public class BulkLoader {
+
+    /** A vehicle to upsert; {@code line} is its position in the source, used to resolve repeated plates. */
+    public record VehicleRow(long line, String licensePlate, String make, String model) {
+    }
+
+    /** An inspection to insert; {@code line} is its position in the source. */
+    public record InspectionRow(long line, LocalDate inspectionDate, String status, long vehicleId) {
+    }
+
+    /**
+     * Outcome of {@link #loadInspections}.
+     *
+     * @param inserted       inspections inserted
+     * @param missingVehicle rows skipped because their vehicle does not exist
+     * @param firstMissing   the first of the skipped rows in line order, at most as many as requested
+     */
+    public record InspectionLoad(long inserted, long missingVehicle, List<InspectionRow> firstMissing) {
+    }
+
+    /** Rows per JDBC batch when COPY is not available. */
+    static final int BATCH_SIZE = 1000;
+
+    /** Bytes buffered before they are sent to the server as one COPY data message. */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final RowMapper<InspectionRow> STAGED_INSPECTION = (rs, rowNum) -> new InspectionRow(
+            rs.getLong("line"), rs.getObject("inspection_date", LocalDate.class), rs.getString("status"),
+            rs.getLong("vehicle_id"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final SqlDialect dialect;
+    private final ReturningUpdate returningUpdate;
+    private final InspectionPartitions partitions;
+    private final IdAllocator ids;
+
+    public BulkLoader(NamedParameterJdbcTemplate jdbc, SqlDialect dialect, ReturningUpdate returningUpdate,
+                      InspectionPartitions partitions, IdAllocator ids) {
+        this.jdbc = jdbc;
+        this.dialect = dialect;
+        this.returningUpdate = returningUpdate;
+        this.partitions = partitions;
+        this.ids = ids;
+    }
+
+    /**
+     * Create or update a vehicle per distinct license plate. Must run inside a transaction.
+     *
+     * @param rows normalized vehicles in source order; consumed once
+     * @return number of distinct plates stored, including those already stored with the same make and model
+     */
+    public long loadVehicles(Iterator<VehicleRow> rows) {
+        LongSupplier newIds = ids.idsFor(Vehicle.class);
+        long stored = returningUpdate.inFlushedContext(
+                () -> dialect.isPostgres() ? copyVehicles(rows, newIds) : batchVehicles(rows, newIds));
+        returningUpdate.evictCached(Vehicle.class, null, CacheRegions.VEHICLE_QUERIES);
+        return stored;
+    }
+
+    /**
+     * Insert the inspections whose vehicle exists. Must run inside a transaction.
+     *
+     * @param rows          normalized inspections in source order; consumed once
+     * @param reportMissing how many of the rows skipped for a missing vehicle to return
+     */
+    public InspectionLoad loadInspections(Iterator<InspectionRow> rows, int reportMissing) {
+        LongSupplier newIds = ids.idsFor(Inspection.class);
+        return returningUpdate.inFlushedContext(() -> dialect.isPostgres()
+                                                      ? copyInspections(rows, reportMissing, newIds)
+                                                      : batchInspections(rows, reportMissing, newIds));
+    }
+
+    private long copyVehicles(Iterator<VehicleRow> rows, LongSupplier newIds) {
+        JdbcOperations ops = jdbc.getJdbcOperations();
+        ops.execute("CREATE TEMP TABLE import_vehicle (line BIGINT NOT NULL, id BIGINT NOT NULL, "
+                    + "license_plate VARCHAR(100) NOT NULL, make VARCHAR(150), model VARCHAR(150)) ON COMMIT DROP");
+        copy("COPY import_vehicle (line, id, license_plate, make, model) FROM STDIN WITH (FORMAT csv)",
+             rows, r -> csvLine(r.line(), newIds.getAsLong(), r.licensePlate(), r.make(), r.model()));
+        // unchanged vehicles are skipped by the update, so count the plates rather than the rows written
+        ops.update("""
+                INSERT INTO vehicle (id, license_plate, make, model)
+                SELECT s.id, s.license_plate, s.make, s.model
+                FROM (SELECT DISTINCT ON (license_plate) id, license_plate, make, model
+                      FROM import_vehicle
+                      ORDER BY license_plate, line DESC) s
+                ON CONFLICT (license_plate) DO UPDATE SET make = EXCLUDED.make, model = EXCLUDED.model,
+                                                          version = vehicle.version + 1
+                WHERE (vehicle.make, vehicle.model) IS DISTINCT FROM (EXCLUDED.make, EXCLUDED.model)
+                """);
+        Long plates = ops.queryForObject("SELECT COUNT(DISTINCT license_plate) FROM import_vehicle", Long.class);
+        return plates == null ? 0 : plates;
+    }
+
+    private InspectionLoad copyInspections(Iterator<InspectionRow> rows, int reportMissing, LongSupplier newIds) {
+        JdbcOperations ops = jdbc.getJdbcOperations();
+        ops.execute("CREATE TEMP TABLE import_inspection (line BIGINT NOT NULL, id BIGINT NOT NULL, "
+                    + "inspection_date DATE NOT NULL, status VARCHAR(32), vehicle_id BIGINT NOT NULL) ON COMMIT DROP");
+        long staged = copy("COPY import_inspection (line, id, inspection_date, status, vehicle_id) FROM STDIN WITH (FORMAT csv)",
+                           rows, r -> csvLine(r.line(), newIds.getAsLong(), r.inspectionDate(), r.status(), r.vehicleId()));
+        createMissingPartitions();
+        long inserted = ops.update("""
+                INSERT INTO inspection (id, inspection_date, status, vehicle_id)
+                SELECT s.id, s.inspection_date, s.status, s.vehicle_id
+                FROM import_inspection s JOIN vehicle v ON v.id = s.vehicle_id
+                ORDER BY s.line
+                """);
+        long missing = staged - inserted;
+        List<InspectionRow> firstMissing = missing == 0 || reportMissing <= 0 ? List.of() : jdbc.query("""
+                SELECT s.line, s.inspection_date, s.status, s.vehicle_id FROM import_inspection s
+                WHERE NOT EXISTS (SELECT 1 FROM vehicle v WHERE v.id = s.vehicle_id)
+                ORDER BY s.line LIMIT :limit
+                """, new MapSqlParameterSource("limit", reportMissing), STAGED_INSPECTION);
+        return new InspectionLoad(inserted, missing, firstMissing);
+    }
+
+    /**
+     * Give every year in the staged inspections its own partition before the insert, so legacy years do not
+     * pile up in the default partition. Each partition is created in its own short transaction; a year whose
+     * partition cannot be created now is loaded into the default partition, which the partition maintenance
+     * empties into the year's partition once it exists.
+     */
+    private void createMissingPartitions() {
+        if (!partitions.isPartitioned()) {
+            return;
+        }
+        List<Integer> attached = partitions.attachedYears();
+        List<Integer> years = jdbc.getJdbcOperations().queryForList(
+                "SELECT DISTINCT CAST(EXTRACT(YEAR FROM inspection_date) AS INT) FROM import_inspection", Integer.class);
+        for (int year : years) {
+            if (attached.contains(year)) {
+                continue;
+            }
+            try {
+                partitions.create(year);
+            } catch (DataAccessException e) {
+                log.warn("Could not create inspection partition {}; its rows go to the default partition",
+                         InspectionPartitions.partitionName(year), e);
+            }
+        }
+    }
+
+    /**
+     * Stream {@code rows} into a {@code COPY ... FROM STDIN} statement as CSV.
+     *
+     * @return number of rows copied
+     */
+    private <R> long copy(String sql, Iterator<R> rows, Function<R, String> toCsv) {
+        Long copied = jdbc.getJdbcOperations().execute((ConnectionCallback<Long>) connection -> {
+            PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, COPY_BUFFER_SIZE);
+            try {
+                Writer out = new OutputStreamWriter(copy, StandardCharsets.UTF_8);
+                while (rows.hasNext()) {
+                    out.write(toCsv.apply(rows.next()));
+                }
+                out.flush();
+                return copy.endCopy();
+            } catch (IOException | RuntimeException e) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                if (e instanceof IOException io) {
+                    throw new DataAccessResourceFailureException("COPY failed: " + sql, io);
+                }
+                throw (RuntimeException) e;
+            }
+        });
+        return copied == null ? 0 : copied;
+    }
+
+    /**
+     * One line of PostgreSQL COPY CSV: strings are always quoted so that an unquoted empty field can only
+     * mean null.
+     */
+    static String csvLine(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String s) {
+                line.append('"').append(s.replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                line.append(value);
+            }
+        }
+        return line.append('\n').toString();
+    }
+
+    private long batchVehicles(Iterator<VehicleRow> rows, LongSupplier newIds) {
+        String merge = "MERGE INTO vehicle t USING (SELECT CAST(? AS BIGINT) AS id, CAST(? AS VARCHAR) AS license_plate,"
+                       + " CAST(? AS VARCHAR) AS make, CAST(? AS VARCHAR) AS model) s"
+                       + " ON t.license_plate = s.license_plate"
+                       + " WHEN MATCHED AND (t.make IS DISTINCT FROM s.make OR t.model IS DISTINCT FROM s.model)"
+                       + " THEN UPDATE SET make = s.make, model = s.model, version = t.version + 1"
+                       + " WHEN NOT MATCHED THEN INSERT (id, license_plate, make, model)"
+                       + " VALUES (s.id, s.license_plate, s.make, s.model)";
+        Set<String> plates = new HashSet<>();
+        while (rows.hasNext()) {
+            // a plate may only be merged once per batch; the later row of the source wins
+            Map<String, Object[]> batch = new LinkedHashMap<>();
+            while (rows.hasNext() && batch.size() < BATCH_SIZE) {
+                VehicleRow row = rows.next();
+                batch.put(row.licensePlate(), new Object[]{newIds.getAsLong(), row.licensePlate(), row.make(), row.model()});
+            }
+            jdbc.getJdbcOperations().batchUpdate(merge, new ArrayList<>(batch.values()));
+            plates.addAll(batch.keySet());
+        }
+        return plates.size();
+    }
+
+    private InspectionLoad batchInspections(Iterator<InspectionRow> rows, int reportMissing, LongSupplier newIds) {
+        String insert = "INSERT INTO inspection (id, inspection_date, status, vehicle_id) VALUES (?, ?, ?, ?)";
+        long inserted = 0;
+        long missing = 0;
+        List<InspectionRow> firstMissing = new ArrayList<>();
+        while (rows.hasNext()) {
+            List<InspectionRow> batch = new ArrayList<>(BATCH_SIZE);
+            while (rows.hasNext() && batch.size() < BATCH_SIZE) {
+                batch.add(rows.next());
+            }
+            Set<Long> vehicles = new HashSet<>(jdbc.queryForList("SELECT id FROM vehicle WHERE id IN (:ids)",
+                    new MapSqlParameterSource("ids", batch.stream().map(InspectionRow::vehicleId).distinct().toList()),
+                    Long.class));
+            List<Object[]> args = new ArrayList<>(batch.size());
+            for (InspectionRow row : batch) {
+                if (vehicles.contains(row.vehicleId())) {
+                    args.add(new Object[]{newIds.getAsLong(), row.inspectionDate(), row.status(), row.vehicleId()});
+                } else {
+                    missing++;
+                    if (firstMissing.size() < reportMissing) {
+                        firstMissing.add(row);
+                    }
+                }
+            }
+            jdbc.getJdbcOperations().batchUpdate(insert, args);
+            inserted += args.size();
+        }
+        return new InspectionLoad(inserted, missing, firstMissing);
+    }
+}
@@ -1,25 +1,70 @@
 package com.fleetops.repository;
 
+import com.fleetops.cache.CacheRegions;
+import com.fleetops.dto.DriverResponse;
 import com.fleetops.entity.Driver;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Spring Data repository for {@link Driver} aggregates.
  * <p>
  * Extends {@link JpaRepository} to inherit standard CRUD operations and declares
- * simple finder methods used by the service layer.
+ * simple finder methods used by the service layer. The lookup by license number comes from
+ * {@link DriverRepositoryCustom}.
+ * <p>
+ * Finders keep their results in the {@value CacheRegions#DRIVER_QUERIES} query cache region when the
+ * second-level cache is enabled.
  */
-public interface DriverRepository extends JpaRepository<Driver, Long> {
+public interface DriverRepository extends JpaRepository<Driver, Long>, DriverRepositoryCustom {
 
     /** Find a driver by id. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.DRIVER_QUERIES)})
     Optional<Driver> findById(long id);
 
     /** Find a driver by exact name. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.DRIVER_QUERIES)})
     Optional<Driver> findByName(String name);
 
-    /** Find a driver by license number. */
-    Optional<Driver> findByLicenseNumber(String licenseNumber);
-}
+    /** Return those of the given license numbers that are already in use. */
+    @Query("select d.licenseNumber from Driver d where d.licenseNumber in :numbers")
+    List<String> findLicenseNumbersIn(@Param("numbers") Collection<String> numbers);
+
+    /** Find a driver by id, selected straight into its API response model with its row version. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.DRIVER_QUERIES)})
+    @Query("select new com.fleetops.dto.DriverResponse(d.id, d.name, d.licenseNumber, d.version) from Driver d where d.id = :id")
+    Optional<DriverResponse> findResponseById(@Param("id") Long id);
 
+    /** Response models of the drivers among the given ids, in no particular order. */
+    @Query("select new com.fleetops.dto.DriverResponse(d.id, d.name, d.licenseNumber) from Driver d where d.id in :ids")
+    List<DriverResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Keyset page of response models: drivers with an id greater than {@code id}, in ascending id order. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.DRIVER_QUERIES)})
+    @Query("select new com.fleetops.dto.DriverResponse(d.id, d.name, d.licenseNumber) from Driver d where d.id > :id order by d.id")
+    List<DriverResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    /**
+     * Delete a driver with a single {@code DELETE ... WHERE id = ?}, without loading it first.
+     * Pending changes are flushed before and the persistence context is cleared after.
+     *
+     * @return number of rows deleted (0 when no driver has the id)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Driver d where d.id = :id")
+    int removeById(@Param("id") Long id);
+}
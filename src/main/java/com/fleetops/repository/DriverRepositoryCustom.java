@@ -0,0 +1,41 @@
+package com.fleetops.repository;
+
+import com.fleetops.entity.Driver;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hand-written {@link DriverRepository} operations that Spring Data cannot derive.
+ */
+public interface DriverRepositoryCustom {
+
+    String NAME = "name";
+    String LICENSE_NUMBER = "license_number";
+
+    /**
+     * Find a driver by license number. Loads by natural id, so with the second-level cache enabled a
+     * repeated lookup is answered from the cache without a query.
+     */
+    Optional<Driver> findByLicenseNumber(String licenseNumber);
+
+    /**
+     * Set only the given columns of one driver in a single {@code UPDATE ... RETURNING} round trip,
+     * without loading it first.
+     *
+     * @param id      driver id
+     * @param columns non-empty map of column name ({@link #NAME}, {@link #LICENSE_NUMBER}) to value
+     * @return the driver as stored after the update, or empty when no driver has the id
+     */
+    default Optional<Driver> updateColumns(Long id, Map<String, Object> columns) {
+        return updateColumns(id, columns, null);
+    }
+
+    /**
+     * {@link #updateColumns(Long, Map)}, applied only while the driver still has the version the caller read.
+     *
+     * @param expectedVersion version the driver must have, or {@code null} to update any version
+     * @throws com.fleetops.exception.PreconditionFailedException when the driver has another version
+     */
+    Optional<Driver> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion);
+}
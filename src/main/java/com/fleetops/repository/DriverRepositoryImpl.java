@@ -0,0 +1,42 @@
+package com.fleetops.repository;
+
+import com.fleetops.cache.CacheRegions;
+import com.fleetops.entity.Driver;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC implementation of {@link DriverRepositoryCustom}; the license number lookup goes through
+ * Hibernate's natural-id loading instead.
+ */
+class DriverRepositoryImpl implements DriverRepositoryCustom {
+
+    private static final RowMapper<Driver> ROW = (rs, rowNum) -> new Driver(
+            rs.getLong("id"), rs.getString("name"), rs.getString("license_number"), rs.getLong("version"));
+
+    private final ReturningUpdate returningUpdate;
+    private final EntityManager entityManager;
+
+    DriverRepositoryImpl(ReturningUpdate returningUpdate, EntityManager entityManager) {
+        this.returningUpdate = returningUpdate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Driver> findByLicenseNumber(String licenseNumber) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Driver.class).loadOptional(licenseNumber);
+    }
+
+    @Override
+    public Optional<Driver> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion) {
+        Optional<Driver> updated = returningUpdate.execute("driver", id, expectedVersion, columns,
+                                                           "u.id, u.name, u.license_number, u.version", "", ROW);
+        returningUpdate.evictCached(Driver.class, List.of(id), CacheRegions.DRIVER_QUERIES);
+        return updated;
+    }
+}
@@ -0,0 +1,40 @@
+package com.fleetops.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.Generator;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out ids for rows inserted over JDBC from the entity's own Hibernate id generator, so they come from
+ * the same source as the ids of persisted entities: the pooled sequence, one {@code nextval} per block of 50
+ * ids (of the bound shard's stripe with sharding), or time-ordered ids with
+ * {@code fleetops.ids.generator=snowflake}. Calling {@code nextval} per row instead would burn a whole block
+ * per row.
+ */
+@Component
+class IdAllocator {
+
+    private final EntityManager entityManager;
+
+    IdAllocator(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * A source of new ids for {@code entity}, valid for the current transaction.
+     *
+     * @param entity entity class whose table the ids are for
+     */
+    LongSupplier idsFor(Class<?> entity) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        Generator generator = session.getFactory().getMappingMetamodel().getEntityDescriptor(entity).getGenerator();
+        if (!(generator instanceof IdentifierGenerator ids)) {
+            throw new IllegalStateException(entity.getSimpleName() + " has no application-side id generator");
+        }
+        return () -> ((Number) ids.generate(session, null)).longValue();
+    }
+}
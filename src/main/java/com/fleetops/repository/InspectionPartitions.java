@@ -0,0 +1,125 @@
+package com.fleetops.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DDL for the yearly range partitions of the {@code inspection} table on PostgreSQL.
+ * <p>
+ * Liquibase changeset 8 turns {@code inspection} into a table partitioned by {@code inspection_date}
+ * with one partition per calendar year, named {@code inspection_y<year>}, and a default partition for
+ * dates outside them. Every method is a no-op or empty result when the table is not partitioned, e.g. on H2.
+ * <p>
+ * Partitions are created in a short transaction of their own, so a caller's long transaction, such as a bulk
+ * import, does not hold the DDL locks until it commits.
+ */
+@Component
+public class InspectionPartitions {
+
+    static final String TABLE = "inspection";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+    /** How long partition DDL waits for its lock on {@code inspection}. */
+    private static final String LOCK_TIMEOUT = "5s";
+    private static final Pattern YEARLY = Pattern.compile(TABLE + "_y(\\d{4})");
+
+    private final JdbcTemplate jdbc;
+    private final SqlDialect dialect;
+    private final TransactionOperations ddl;
+
+    public InspectionPartitions(JdbcTemplate jdbc, SqlDialect dialect) {
+        this.jdbc = jdbc;
+        this.dialect = dialect;
+        TransactionTemplate ddl = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        ddl.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ddl = ddl;
+    }
+
+    /** Whether {@code inspection} is a partitioned table in the connected database. */
+    public boolean isPartitioned() {
+        if (!dialect.isPostgres()) {
+            return false;
+        }
+        Boolean partitioned = jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, TABLE);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    /** Years that currently have an attached partition, in ascending order. */
+    public List<Integer> attachedYears() {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        return jdbc.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                                 + "WHERE i.inhparent = to_regclass(?)", String.class, TABLE)
+                   .stream()
+                   .map(YEARLY::matcher)
+                   .filter(Matcher::matches)
+                   .map(m -> Integer.valueOf(m.group(1)))
+                   .sorted()
+                   .toList();
+    }
+
+    /** Years of the rows sitting in the default partition, in ascending order. */
+    public List<Integer> defaultYears() {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        return jdbc.queryForList("SELECT DISTINCT CAST(EXTRACT(YEAR FROM inspection_date) AS INT) FROM "
+                                 + DEFAULT_PARTITION + " ORDER BY 1", Integer.class);
+    }
+
+    /**
+     * Create the partition holding {@code year} unless it exists, in a transaction of its own. Rows of that year
+     * already in the default partition, which PostgreSQL would refuse to leave behind, are moved into the new
+     * partition before it is attached.
+     */
+    public void create(int year) {
+        String name = partitionName(year);
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = from.plusYears(1);
+        String bounds = " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        ddl.executeWithoutResult(status -> {
+            // give up rather than queue behind long transactions on the table; the caller retries or moves on
+            jdbc.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+            Boolean stranded = jdbc.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE inspection_date >= ? AND inspection_date < ?)",
+                    Boolean.class, from, to);
+            if (!Boolean.TRUE.equals(stranded)) {
+                jdbc.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE + bounds);
+                return;
+            }
+            jdbc.execute("CREATE TABLE " + name + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbc.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                        + " WHERE inspection_date >= ? AND inspection_date < ? RETURNING *) INSERT INTO " + name
+                        + " SELECT * FROM moved", from, to);
+            jdbc.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + name + bounds);
+        });
+    }
+
+    /**
+     * Detach the partition of {@code year}. Its rows leave {@code inspection} at once, without the
+     * row-by-row work and bloat of a {@code DELETE}; the detached table stays in place as
+     * {@code inspection_y<year>} until it is archived or dropped.
+     */
+    public void detach(int year) {
+        jdbc.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partitionName(year));
+    }
+
+    /** Name of the partition holding {@code year}. */
+    public static String partitionName(int year) {
+        if (year < 1000 || year > 9999) {
+            throw new IllegalArgumentException("Year out of range: " + year);
+        }
+        return TABLE + "_y" + year;
+    }
+}
@@ -1,32 +1,181 @@
 package com.fleetops.repository;
 
+import com.fleetops.dto.InspectionResponse;
 import com.fleetops.entity.Inspection;
 import com.fleetops.entity.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data repository for {@link Inspection} aggregates.
  * <p>
  * Provides finders by vehicle, latest-by-vehicle, and simple counts for reporting.
+ * <p>
+ * {@link Inspection#getVehicle()} is lazy; every read method whose results are rendered with their
+ * vehicle summary fetches it through the {@value #WITH_VEHICLE} entity graph so a result set costs one
+ * statement instead of one extra select per distinct vehicle. The {@code find*Response*} methods go
+ * further and select straight into {@link InspectionResponse}, skipping entity hydration entirely.
  */
-public interface InspectionRepository extends JpaRepository<Inspection, Long> {
+public interface InspectionRepository extends JpaRepository<Inspection, Long>, InspectionRepositoryCustom {
+
+    /** Attribute path fetched together with inspections on read paths. */
+    String WITH_VEHICLE = "vehicle";
+
+    /** Constructor expression shared by the response projections; expects aliases {@code i} and {@code v}. */
+    String RESPONSE_COLUMNS = "new com.fleetops.dto.InspectionResponse(i.id, i.inspectionDate, i.status, "
+                              + "v.id, v.licensePlate, v.make, v.model)";
+
+    @Override
+    @EntityGraph(attributePaths = WITH_VEHICLE)
+    List<Inspection> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = WITH_VEHICLE)
+    Optional<Inspection> findById(Long id);
 
     /** Find all inspections for a given vehicle entity. */
+    @EntityGraph(attributePaths = WITH_VEHICLE)
     List<Inspection> findByVehicle(Vehicle vehicle);
 
+    @EntityGraph(attributePaths = WITH_VEHICLE)
     @Query("select i from Inspection i where i.vehicle.id = :vehicleId order by i.inspectionDate desc")
     Page<Inspection> findByVehicleIdOrderByDateDesciption(@Param("vehicleId") Long vehicleId, Pageable pageable);
 
-    @Query("select i from Inspection i where i.inspectionDate = (select max(i2.inspectionDate) from Inspection i2 where i2.vehicle = i.vehicle) and i.vehicle.id = :vehicleId")
-    Optional<Inspection> findLatestByVehicleId(@Param("vehicleId") Long vehicleId);
+    /**
+     * Newest inspections of one vehicle, newest first; ties on the same date order by id.
+     * Served as a top-N read of {@code idx_inspection_vehicle_date_id}.
+     */
+    @EntityGraph(attributePaths = WITH_VEHICLE)
+    @Query("select i from Inspection i where i.vehicle.id = :vehicleId order by i.inspectionDate desc, i.id desc")
+    List<Inspection> findNewestByVehicleId(@Param("vehicleId") Long vehicleId, Limit limit);
+
+    /** Latest inspection of a vehicle; several inspections on the latest date resolve to the highest id. */
+    default Optional<Inspection> findLatestByVehicleId(Long vehicleId) {
+        return findNewestByVehicleId(vehicleId, Limit.of(1)).stream().findFirst();
+    }
+
+    /**
+     * Latest inspection of every vehicle in one pass, ordered by vehicle id. Uses a window function so
+     * each vehicle's rows are ranked once instead of being probed per vehicle.
+     */
+    @Query(nativeQuery = true, value = """
+            select r.id as "id", r.inspection_date as "inspectionDate", r.status as "status",
+                   v.id as "vehicleId", v.license_plate as "licensePlate", v.make as "make", v.model as "model"
+            from (select i.id, i.inspection_date, i.status, i.vehicle_id,
+                         row_number() over (partition by i.vehicle_id
+                                            order by i.inspection_date desc, i.id desc) as rn
+                  from inspection i) r
+            join vehicle v on v.id = r.vehicle_id
+            where r.rn = 1
+            order by v.id
+            """)
+    List<LatestInspectionRow> findLatestPerVehicle();
+
+    /** Row shape of {@link #findLatestPerVehicle()}. */
+    interface LatestInspectionRow {
+        Long getId();
+
+        LocalDate getInspectionDate();
+
+        String getStatus();
+
+        Long getVehicleId();
+
+        String getLicensePlate();
+
+        String getMake();
+
+        String getModel();
+    }
 
     /** Count inspections by vehicle id. */
     long countByVehicleId(Long vehicleId);
+
+    /**
+     * First page of a vehicle's inspection history, newest first.
+     * <p>
+     * Reads only columns held by {@code idx_inspection_vehicle_date_id} (status is an included column on
+     * PostgreSQL), so the page is served by an index-only scan.
+     */
+    @Query("select i.id as id, i.inspectionDate as inspectionDate, i.status as status from Inspection i "
+           + "where i.vehicle.id = :vehicleId order by i.inspectionDate desc, i.id desc")
+    List<HistoryRow> findHistoryByVehicleId(@Param("vehicleId") Long vehicleId, Limit limit);
+
+    /**
+     * Following page of a vehicle's inspection history: rows sorting after ({@code date}, {@code id}) in
+     * {@link #findHistoryByVehicleId} order. The redundant {@code inspectionDate <= :date} bounds the index
+     * range so the scan starts at the cursor instead of filtering from the newest row.
+     */
+    @Query("select i.id as id, i.inspectionDate as inspectionDate, i.status as status from Inspection i "
+           + "where i.vehicle.id = :vehicleId and i.inspectionDate <= :date "
+           + "and (i.inspectionDate < :date or i.id < :id) "
+           + "order by i.inspectionDate desc, i.id desc")
+    List<HistoryRow> findHistoryByVehicleIdBefore(@Param("vehicleId") Long vehicleId, @Param("date") LocalDate date,
+                                                  @Param("id") Long id, Limit limit);
+
+    /** Row shape of the inspection history queries; the vehicle is known to the caller. */
+    interface HistoryRow {
+        Long getId();
+
+        LocalDate getInspectionDate();
+
+        String getStatus();
+    }
+
+    /**
+     * Find an inspection by id, selected straight into its API response model with the vehicle summary and the
+     * row versions of both.
+     */
+    @Query("select new com.fleetops.dto.InspectionResponse(i.id, i.inspectionDate, i.status, i.version, "
+           + "v.id, v.licensePlate, v.make, v.model, v.version) from Inspection i left join i.vehicle v where i.id = :id")
+    Optional<InspectionResponse> findResponseById(@Param("id") Long id);
+
+    /** Response models of the inspections among the given ids, in no particular order. */
+    @Query("select " + RESPONSE_COLUMNS + " from Inspection i left join i.vehicle v where i.id in :ids")
+    List<InspectionResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Keyset page of response models: inspections with an id greater than {@code id}, in ascending id order. */
+    @Query("select " + RESPONSE_COLUMNS + " from Inspection i left join i.vehicle v where i.id > :id order by i.id")
+    List<InspectionResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    /**
+     * Stream every inspection with its vehicle, in id order, over a server-side cursor.
+     * <p>
+     * Must be consumed inside a transaction and closed by the caller. Rows are fetched from the
+     * driver {@value #STREAM_FETCH_SIZE} at a time and loaded read-only (no dirty-check snapshots).
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select i from Inspection i left join fetch i.vehicle order by i.id")
+    Stream<Inspection> streamAllOrderById();
+
+    /** JDBC fetch size used by {@link #streamAllOrderById()}. */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Delete an inspection with a single {@code DELETE ... WHERE id = ?}, without loading it first.
+     * Pending changes are flushed before and the persistence context is cleared after.
+     *
+     * @return number of rows deleted (0 when no inspection has the id)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Inspection i where i.id = :id")
+    int removeById(@Param("id") Long id);
 }
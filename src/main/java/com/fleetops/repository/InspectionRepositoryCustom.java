@@ -0,0 +1,72 @@
+package com.fleetops.repository;
+
+import com.fleetops.archive.ArchivedInspection;
+import com.fleetops.dto.InspectionFilter;
+import com.fleetops.entity.Inspection;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hand-written {@link InspectionRepository} operations that Spring Data cannot derive.
+ */
+public interface InspectionRepositoryCustom {
+
+    String INSPECTION_DATE = "inspection_date";
+    String STATUS = "status";
+    String VEHICLE_ID = "vehicle_id";
+
+    /**
+     * Set only the given columns of one inspection in a single {@code UPDATE ... RETURNING} round trip,
+     * without loading it first. The returned inspection carries its vehicle, joined in the same statement.
+     * Pointing {@link #VEHICLE_ID} at a missing vehicle surfaces as a
+     * {@link org.springframework.dao.DataIntegrityViolationException} from the foreign key.
+     *
+     * @param id      inspection id
+     * @param columns non-empty map of column name ({@link #INSPECTION_DATE}, {@link #STATUS}, {@link #VEHICLE_ID}) to value
+     * @return the inspection as stored after the update, or empty when no inspection has the id
+     */
+    default Optional<Inspection> updateColumns(Long id, Map<String, Object> columns) {
+        return updateColumns(id, columns, null);
+    }
+
+    /**
+     * {@link #updateColumns(Long, Map)}, applied only while the inspection still has the version the caller read.
+     *
+     * @param expectedVersion version the inspection must have, or {@code null} to update any version
+     * @throws com.fleetops.exception.PreconditionFailedException when the inspection has another version
+     */
+    Optional<Inspection> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion);
+
+    /**
+     * Set the given columns on every inspection matching {@code where} with one set-based {@code UPDATE}.
+     * Criteria are compared as given, so pass the status already normalized.
+     *
+     * @param where   filter with at least one criterion
+     * @param columns non-empty map of column name to value, as for {@link #updateColumns}
+     * @return number of inspections updated
+     */
+    int updateMatching(InspectionFilter where, Map<String, Object> columns);
+
+    /**
+     * Read up to {@code limit} of the lowest-id inspections dated before {@code cutoff}, locking them until the
+     * surrounding transaction ends.
+     *
+     * @param cutoff exclusive upper bound of {@code inspection_date}
+     * @param limit  maximum number of rows to read
+     * @return the rows in ascending id order
+     */
+    List<ArchivedInspection> lockDatedBefore(LocalDate cutoff, int limit);
+
+    /**
+     * Delete the inspections with the given ids that are dated before {@code cutoff}.
+     *
+     * @param cutoff exclusive upper bound of {@code inspection_date}, so the delete only visits old partitions
+     * @param ids    ids of the rows to delete
+     * @return number of rows deleted
+     */
+    int deleteDatedBefore(LocalDate cutoff, Collection<Long> ids);
+}
@@ -0,0 +1,113 @@
+package com.fleetops.repository;
+
+import com.fleetops.archive.ArchivedInspection;
+import com.fleetops.dto.InspectionFilter;
+import com.fleetops.entity.Inspection;
+import com.fleetops.entity.Vehicle;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * JDBC implementation of {@link InspectionRepositoryCustom}.
+ */
+class InspectionRepositoryImpl implements InspectionRepositoryCustom {
+
+    private static final String SELECT = "u.id, u.inspection_date, u.status, u.version, "
+                                         + "u.vehicle_id, v.license_plate, v.make, v.model, v.version AS vehicle_version";
+    private static final String JOINS = " LEFT JOIN vehicle v ON v.id = u.vehicle_id";
+
+    private static final RowMapper<Inspection> ROW = (rs, rowNum) -> {
+        Inspection inspection = new Inspection();
+        inspection.setId(rs.getLong("id"));
+        inspection.setInspectionDate(rs.getObject("inspection_date", LocalDate.class));
+        inspection.setStatus(rs.getString("status"));
+        inspection.setVersion(rs.getLong("version"));
+        Long vehicleId = rs.getObject("vehicle_id", Long.class);
+        if (vehicleId != null) {
+            inspection.setVehicle(new Vehicle(vehicleId, rs.getString("license_plate"),
+                    rs.getString("make"), rs.getString("model"), rs.getObject("vehicle_version", Long.class)));
+        }
+        return inspection;
+    };
+
+    /** Ids bound per {@code DELETE ... IN (...)}, well below PostgreSQL's limit of bind parameters. */
+    private static final int DELETE_CHUNK_SIZE = 10_000;
+
+    private static final RowMapper<ArchivedInspection> ARCHIVED = (rs, rowNum) -> new ArchivedInspection(
+            rs.getLong("id"), rs.getObject("inspection_date", LocalDate.class), rs.getString("status"),
+            rs.getLong("vehicle_id"));
+
+    private final ReturningUpdate returningUpdate;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final SqlDialect dialect;
+
+    InspectionRepositoryImpl(ReturningUpdate returningUpdate, NamedParameterJdbcTemplate jdbc, SqlDialect dialect) {
+        this.returningUpdate = returningUpdate;
+        this.jdbc = jdbc;
+        this.dialect = dialect;
+    }
+
+    @Override
+    public Optional<Inspection> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion) {
+        return returningUpdate.execute("inspection", id, expectedVersion, columns, SELECT, JOINS, ROW);
+    }
+
+    @Override
+    public int updateMatching(InspectionFilter where, Map<String, Object> columns) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringJoiner predicate = new StringJoiner(" AND ");
+        if (where.getIds() != null) {
+            predicate.add("id IN (:where_ids)");
+            params.addValue("where_ids", where.getIds());
+        }
+        if (where.getStatus() != null) {
+            predicate.add("status = :where_status");
+            params.addValue("where_status", where.getStatus());
+        }
+        if (where.getVehicleId() != null) {
+            predicate.add("vehicle_id = :where_vehicle_id");
+            params.addValue("where_vehicle_id", where.getVehicleId());
+        }
+        if (where.getInspectedFrom() != null) {
+            predicate.add("inspection_date >= :where_from");
+            params.addValue("where_from", where.getInspectedFrom());
+        }
+        if (where.getInspectedTo() != null) {
+            predicate.add("inspection_date <= :where_to");
+            params.addValue("where_to", where.getInspectedTo());
+        }
+        return returningUpdate.updateWhere("inspection", columns, predicate.toString(), params);
+    }
+
+    @Override
+    public List<ArchivedInspection> lockDatedBefore(LocalDate cutoff, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("cutoff", cutoff).addValue("limit", limit);
+        return returningUpdate.inFlushedContext(() -> jdbc.query(
+                "SELECT id, inspection_date, status, vehicle_id FROM inspection WHERE inspection_date < :cutoff "
+                + "ORDER BY id LIMIT :limit FOR UPDATE", params, ARCHIVED));
+    }
+
+    @Override
+    public int deleteDatedBefore(LocalDate cutoff, Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        // The date bound lets PostgreSQL prune the delete to the partitions holding old years
+        String delete = "DELETE FROM inspection WHERE inspection_date < :cutoff AND id IN (:ids)";
+        return returningUpdate.inFlushedContext(() -> {
+            int deleted = 0;
+            for (int from = 0; from < all.size(); from += DELETE_CHUNK_SIZE) {
+                List<Long> chunk = all.subList(from, Math.min(from + DELETE_CHUNK_SIZE, all.size()));
+                deleted += jdbc.update(delete, new MapSqlParameterSource("cutoff", cutoff).addValue("ids", chunk));
+            }
+            return deleted;
+        });
+    }
+}
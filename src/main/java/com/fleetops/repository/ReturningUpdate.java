@@ -0,0 +1,179 @@
+package com.fleetops.repository;
+
+import com.fleetops.exception.PreconditionFailedException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Executes partial {@code UPDATE} statements over JDBC that set only the supplied columns.
+ * <p>
+ * Single-row updates read the updated row back in the same statement: PostgreSQL runs
+ * {@code WITH u AS (UPDATE ... RETURNING *) SELECT ... FROM u}; H2 runs the equivalent
+ * {@code SELECT ... FROM FINAL TABLE (UPDATE ...) u}. Other databases fall back to an update followed by
+ * a select. Set-based updates run as one {@code UPDATE ... WHERE} and report the row count. Every update
+ * also increments the row's {@code version}, the column Hibernate uses for {@code @Version}.
+ * <p>
+ * Statements run on the transaction's connection; like the repositories' {@code @Modifying} deletes,
+ * pending JPA changes are flushed before and the persistence context is cleared after, so no stale
+ * managed copy of a row survives. Statements on tables of second-level cached entities are followed by
+ * {@link #evictCached}, which does the same for the shared cache.
+ */
+@Component
+class ReturningUpdate {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final SqlDialect dialect;
+    private final EntityManager entityManager;
+
+    ReturningUpdate(NamedParameterJdbcTemplate jdbc, SqlDialect dialect, EntityManager entityManager) {
+        this.jdbc = jdbc;
+        this.dialect = dialect;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Update the row of {@code table} with the given id and return it.
+     *
+     * @param table   table name
+     * @param id      primary key of the row
+     * @param columns column name to new value; names are code constants, values are bound as parameters
+     * @param select  select list over the updated row aliased {@code u} (and any joined tables)
+     * @param joins   join clauses appended after the updated row, or an empty string
+     * @param mapper  maps the selected row
+     * @return the updated row, or empty when no row has the id
+     */
+    <T> Optional<T> execute(String table, Long id, Map<String, ?> columns,
+                            String select, String joins, RowMapper<T> mapper) {
+        return execute(table, id, null, columns, select, joins, mapper);
+    }
+
+    /**
+     * Update the row of {@code table} with the given id and return it, provided it still has the version the
+     * caller read.
+     *
+     * @param expectedVersion version the row must have, or {@code null} to update any version
+     * @return the updated row, or empty when no row has the id
+     * @throws PreconditionFailedException when the row exists with another version
+     * @see #execute(String, Long, Map, String, String, RowMapper)
+     */
+    <T> Optional<T> execute(String table, Long id, Long expectedVersion, Map<String, ?> columns,
+                            String select, String joins, RowMapper<T> mapper) {
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        String update = updateStatement(table, columns, params) + " WHERE id = :id"
+                        + (expectedVersion == null ? "" : " AND version = :expected_version");
+        params.addValue("expected_version", expectedVersion);
+        Optional<T> updated = inFlushedContext(() -> {
+            String sql = switch (dialect.kind()) {
+                case POSTGRESQL -> "WITH u AS (" + update + " RETURNING *) SELECT " + select + " FROM u" + joins;
+                case H2 -> "SELECT " + select + " FROM FINAL TABLE (" + update + ") u" + joins;
+                case OTHER -> null;
+            };
+            if (sql == null) {
+                if (jdbc.update(update, params) == 0) {
+                    return Optional.empty();
+                }
+                sql = "SELECT " + select + " FROM " + table + " u" + joins + " WHERE u.id = :id";
+            }
+            return jdbc.query(sql, params, mapper).stream().findFirst();
+        });
+        if (updated.isEmpty() && expectedVersion != null
+            && jdbc.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = :id", params, Long.class) > 0) {
+            throw new PreconditionFailedException(table + " " + id + " is no longer at version " + expectedVersion);
+        }
+        return updated;
+    }
+
+    /**
+     * Update every row of {@code table} matching {@code where} in one statement.
+     *
+     * @param table   table name
+     * @param columns column name to new value, as for {@link #execute}
+     * @param where   non-blank predicate; its parameters must not reuse column names
+     * @param params  parameters referenced by {@code where}; the column values are added to it
+     * @return number of rows updated
+     */
+    int updateWhere(String table, Map<String, ?> columns, String where, MapSqlParameterSource params) {
+        if (where == null || where.isBlank()) {
+            throw new IllegalArgumentException("A predicate is required for set-based updates");
+        }
+        String update = updateStatement(table, columns, params) + " WHERE " + where;
+        return inFlushedContext(() -> jdbc.update(update, params));
+    }
+
+    private static String updateStatement(String table, Map<String, ?> columns, MapSqlParameterSource params) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column must be updated");
+        }
+        StringJoiner assignments = new StringJoiner(", ");
+        columns.forEach((column, value) -> {
+            assignments.add(column + " = :" + column);
+            params.addValue(column, value);
+        });
+        assignments.add("version = version + 1");
+        return "UPDATE " + table + " SET " + assignments;
+    }
+
+    /**
+     * Drop the second-level cache entries a JDBC write to {@code entity}'s table may have made stale: the
+     * written rows, every natural-id mapping of the entity and the query results in {@code queryRegion}.
+     * Runs now, so later reads in this transaction miss, and again after the transaction completes, so a
+     * row that a concurrent reader cached from its pre-commit state does not outlive the commit. Does
+     * nothing when the cache is disabled.
+     *
+     * @param entity      second-level cached entity class
+     * @param ids         ids of the written rows, or {@code null} when they are not known
+     * @param queryRegion query cache region of the entity's finders
+     */
+    void evictCached(Class<?> entity, Collection<Long> ids, String queryRegion) {
+        Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        Runnable evict = () -> {
+            if (ids == null) {
+                cache.evictEntityData(entity);
+            } else {
+                ids.forEach(id -> cache.evictEntityData(entity, id));
+            }
+            cache.evictNaturalIdData(entity);
+            cache.evictQueryRegion(queryRegion);
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Run a JDBC statement with pending JPA changes flushed before it and the persistence context cleared
+     * after, when a transaction is active.
+     */
+    <T> T inFlushedContext(Supplier<T> statement) {
+        boolean inTransaction = entityManager.isJoinedToTransaction();
+        if (inTransaction) {
+            entityManager.flush();
+        }
+        try {
+            return statement.get();
+        } finally {
+            if (inTransaction) {
+                entityManager.clear();
+            }
+        }
+    }
+}
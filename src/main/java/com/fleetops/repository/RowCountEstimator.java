@@ -0,0 +1,88 @@
+package com.fleetops.repository;
+
+import com.fleetops.shard.ShardContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate row counts of whole tables, read from planner statistics instead of a {@code COUNT(*)}.
+ * <p>
+ * PostgreSQL reports {@code pg_class.reltuples}, maintained by {@code ANALYZE} and autovacuum and summed over
+ * the partitions of a partitioned table; H2 reports
+ * {@code INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE}. Estimates are cached per shard and table for
+ * {@code fleetops.count.estimate-ttl} (30 seconds by default) so a burst of listing requests costs at most
+ * one catalog lookup.
+ */
+@Component
+public class RowCountEstimator {
+
+    private final JdbcTemplate jdbc;
+    private final SqlDialect dialect;
+    private final Duration ttl;
+    private final Clock clock = Clock.systemUTC();
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    public RowCountEstimator(JdbcTemplate jdbc, SqlDialect dialect,
+                             @Value("${fleetops.count.estimate-ttl:PT30S}") Duration ttl) {
+        this.jdbc = jdbc;
+        this.dialect = dialect;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Estimated number of rows in {@code table} on the shard the calling thread is bound to.
+     *
+     * @param table unquoted table name
+     * @return the estimate, or empty when the database has no statistics for the table (never analyzed,
+     * or an unsupported database) and the caller should count exactly
+     */
+    public OptionalLong estimate(String table) {
+        Instant now = clock.instant();
+        String key = ShardContext.current() + ":" + table;
+        Cached cached = cache.get(key);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            return cached.rows();
+        }
+        OptionalLong rows = query(table);
+        cache.put(key, new Cached(rows, now.plus(ttl)));
+        return rows;
+    }
+
+    private OptionalLong query(String table) {
+        List<Long> rows = switch (dialect.kind()) {
+            // reltuples is -1 until a table has been analyzed or vacuumed for the first time; a partitioned
+            // table keeps no statistics of its own, so its estimate is the sum over its analyzed partitions
+            case POSTGRESQL -> jdbc.queryForList("""
+                    SELECT CASE WHEN c.relkind = 'p' THEN
+                                    (SELECT CASE WHEN bool_and(p.reltuples < 0) THEN -1
+                                                 ELSE sum(greatest(p.reltuples, 0)) END
+                                     FROM pg_inherits i JOIN pg_class p ON p.oid = i.inhrelid
+                                     WHERE i.inhparent = c.oid)
+                                ELSE c.reltuples END::bigint
+                    FROM pg_class c WHERE c.oid = to_regclass(?)
+                    """, Long.class, table);
+            case H2 -> jdbc.queryForList(
+                    "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES"
+                            + " WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = ?",
+                    Long.class, table.toUpperCase(Locale.ROOT));
+            case OTHER -> List.of();
+        };
+        return rows.stream()
+                .filter(r -> r != null && r >= 0)
+                .mapToLong(Long::longValue)
+                .findFirst();
+    }
+
+    private record Cached(OptionalLong rows, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.fleetops.repository;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Identifies the database behind the application {@link DataSource} so hand-written SQL can pick
+ * PostgreSQL syntax in production and an H2-compatible form in tests.
+ * <p>
+ * The product name is read from the JDBC metadata on first use and cached.
+ */
+@Component
+public class SqlDialect {
+
+    /** Database products with dialect-specific SQL paths. */
+    public enum Kind { POSTGRESQL, H2, OTHER }
+
+    private final DataSource dataSource;
+    private volatile Kind kind;
+
+    public SqlDialect(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /** The detected database product. */
+    public Kind kind() {
+        Kind current = kind;
+        if (current == null) {
+            current = detect();
+            kind = current;
+        }
+        return current;
+    }
+
+    public boolean isPostgres() {
+        return kind() == Kind.POSTGRESQL;
+    }
+
+    private Kind detect() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if ("PostgreSQL".equalsIgnoreCase(product)) {
+                return Kind.POSTGRESQL;
+            }
+            return "H2".equalsIgnoreCase(product) ? Kind.H2 : Kind.OTHER;
+        } catch (MetaDataAccessException e) {
+            return Kind.OTHER;
+        }
+    }
+}
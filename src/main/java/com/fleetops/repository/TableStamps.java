@@ -0,0 +1,131 @@
+package com.fleetops.repository;
+
+import com.fleetops.shard.ShardedDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Modification stamps of whole tables, kept in {@code table_stamp}: a version and timestamp per table that
+ * change whenever rows of the table are written, so list endpoints can answer conditional requests without
+ * running their query.
+ * <p>
+ * Writers call {@link #touchAfterCommit} and the stamp is bumped once the transaction commits, in a short
+ * transaction of its own so concurrent writers do not contend on the stamp row while they run. A read between
+ * the commit and the bump can see the new rows with the old stamp; the next write, or the next bump, corrects
+ * that. With sharding the stamps live on the home shard and cover the table on every shard.
+ * <p>
+ * Listeners registered with {@link #onChange} run when the write commits, just before the bump, on the
+ * writing thread.
+ */
+@Slf4j
+@Component
+public class TableStamps {
+
+    public static final String VEHICLE = "vehicle";
+    public static final String INSPECTION = "inspection";
+
+    /** Version and time of the last write to a table. */
+    public record Stamp(long version, Instant modifiedAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionOperations touches;
+    private final Map<String, List<Runnable>> listeners = new ConcurrentHashMap<>();
+
+    public TableStamps(DataSource dataSource) {
+        DataSource home = dataSource instanceof ShardedDataSource sharded ? sharded.shards().get(0) : dataSource;
+        this.jdbc = new JdbcTemplate(home);
+        TransactionTemplate touches = new TransactionTemplate(new DataSourceTransactionManager(home));
+        touches.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.touches = touches;
+    }
+
+    /** Run {@code listener} whenever a write to {@code table} commits, e.g. to drop what was read before it. */
+    public void onChange(String table, Runnable listener) {
+        listeners.computeIfAbsent(table, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /** The current stamp of {@code table}, or empty when it has none yet. */
+    public Optional<Stamp> current(String table) {
+        return jdbc.query("SELECT version, modified_at FROM table_stamp WHERE table_name = ?",
+                          (rs, n) -> new Stamp(rs.getLong("version"),
+                                               rs.getObject("modified_at", OffsetDateTime.class).toInstant()),
+                          table).stream().findFirst();
+    }
+
+    /**
+     * Bump the stamps of {@code tables} once the current transaction commits, or now outside a transaction.
+     * Tables touched several times in one transaction are bumped once.
+     */
+    public void touchAfterCommit(String... tables) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            touch(Arrays.asList(tables));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> batch = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    touch(batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TableStamps.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.addAll(Arrays.asList(tables));
+    }
+
+    private void touch(Iterable<String> tables) {
+        for (String table : tables) {
+            for (Runnable listener : listeners.getOrDefault(table, List.of())) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    log.warn("Table change listener for {} failed", table, e);
+                }
+            }
+        }
+        try {
+            touches.executeWithoutResult(status -> {
+                for (String table : tables) {
+                    if (jdbc.update("UPDATE table_stamp SET version = version + 1, modified_at = CURRENT_TIMESTAMP "
+                                    + "WHERE table_name = ?", table) == 0) {
+                        jdbc.update("INSERT INTO table_stamp (table_name, version, modified_at) "
+                                    + "VALUES (?, 1, CURRENT_TIMESTAMP)", table);
+                    }
+                }
+            });
+        } catch (DataAccessException e) {
+            // the data is committed; a missed bump only delays clients noticing it until the next write
+            log.warn("Could not update the modification stamps of {}", tables, e);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.fleetops.repository;
 
+import com.fleetops.cache.CacheRegions;
+import com.fleetops.dto.VehicleResponse;
 import com.fleetops.entity.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,19 +20,57 @@ import java.util.Optional;
  * Spring Data repository for {@link Vehicle} aggregates.
  * <p>
  * Declares finder and existence checks used for business constraints (e.g.,
- * duplicate license plate detection) as well as example query methods.
+ * duplicate license plate detection) as well as example query methods. Partial
+ * updates and the lookup by license plate come from {@link VehicleRepositoryCustom}.
+ * <p>
+ * Finders that read only the {@code vehicle} table keep their results in the
+ * {@value CacheRegions#VEHICLE_QUERIES} query cache region when the second-level cache is enabled.
  */
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
-
-    /** Find a vehicle by its license plate (case-sensitive). */
-    Optional<Vehicle> findByLicensePlate(String licensePlate);
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, VehicleRepositoryCustom {
 
-    @Query("select v from Vehicle v where exists (select i from Inspection i where i.vehicle = v and lower(i.status) = lower(:status))")
+    /**
+     * Vehicles with at least one inspection in the given status. Compares the stored code by equality so the
+     * semi-join is driven by {@code idx_inspection_status_vehicle}; pass the status already normalized.
+     */
+    @Query("select v from Vehicle v where exists (select i from Inspection i where i.vehicle = v and i.status = :status)")
     List<Vehicle> findByInspectionStatus(@Param("status") String status);
 
-    /** Check whether another vehicle (not the one with the given id) has the given license plate. */
-    boolean existsByLicensePlateAndIdNot(String licensePlate, Long id);
-
     /** Check whether any vehicle exists with the given license plate. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.VEHICLE_QUERIES)})
     boolean existsByLicensePlate(String licensePlate);
+
+    /** Return those of the given license plates that are already in use. */
+    @Query("select v.licensePlate from Vehicle v where v.licensePlate in :plates")
+    List<String> findLicensePlatesIn(@Param("plates") Collection<String> plates);
+
+    /** Return those of the given ids that belong to existing vehicles. */
+    @Query("select v.id from Vehicle v where v.id in :ids")
+    List<Long> findIdsIn(@Param("ids") Collection<Long> ids);
+
+    /** Find a vehicle by id, selected straight into its API response model with its row version. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.VEHICLE_QUERIES)})
+    @Query("select new com.fleetops.dto.VehicleResponse(v.id, v.licensePlate, v.make, v.model, v.version) from Vehicle v where v.id = :id")
+    Optional<VehicleResponse> findResponseById(@Param("id") Long id);
+
+    /** Response models of the vehicles among the given ids, in no particular order. */
+    @Query("select new com.fleetops.dto.VehicleResponse(v.id, v.licensePlate, v.make, v.model) from Vehicle v where v.id in :ids")
+    List<VehicleResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Keyset page of response models: vehicles with an id greater than {@code id}, in ascending id order. */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.VEHICLE_QUERIES)})
+    @Query("select new com.fleetops.dto.VehicleResponse(v.id, v.licensePlate, v.make, v.model) from Vehicle v where v.id > :id order by v.id")
+    List<VehicleResponse> findResponsesByIdGreaterThan(@Param("id") Long id, Limit limit);
+
+    /**
+     * Delete a vehicle with a single {@code DELETE ... WHERE id = ?}, without loading it first.
+     * Pending changes are flushed before and the persistence context is cleared after.
+     *
+     * @return number of rows deleted (0 when no vehicle has the id)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Vehicle v where v.id = :id")
+    int removeById(@Param("id") Long id);
 }
@@ -0,0 +1,66 @@
+package com.fleetops.repository;
+
+import com.fleetops.entity.Vehicle;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hand-written {@link VehicleRepository} operations that Spring Data cannot derive.
+ */
+public interface VehicleRepositoryCustom {
+
+    /** Column holding the license plate; covered by the unique constraint {@code uk_vehicle_license_plate}. */
+    String LICENSE_PLATE = "license_plate";
+    String MAKE = "make";
+    String MODEL = "model";
+
+    /**
+     * Find a vehicle by its license plate (case-sensitive). Loads by natural id, so with the second-level
+     * cache enabled a repeated lookup is answered from the plate-to-id and entity regions without a query.
+     */
+    Optional<Vehicle> findByLicensePlate(String licensePlate);
+
+    /**
+     * Set only the given columns of one vehicle in a single {@code UPDATE ... RETURNING} round trip.
+     * Nothing is loaded beforehand; a duplicate plate surfaces as a
+     * {@link org.springframework.dao.DuplicateKeyException} from the unique constraint.
+     *
+     * @param id      vehicle id
+     * @param columns non-empty map of column name ({@link #LICENSE_PLATE}, {@link #MAKE}, {@link #MODEL}) to value
+     * @return the vehicle as stored after the update, or empty when no vehicle has the id
+     */
+    default Optional<Vehicle> updateColumns(Long id, Map<String, Object> columns) {
+        return updateColumns(id, columns, null);
+    }
+
+    /**
+     * {@link #updateColumns(Long, Map)}, applied only while the vehicle still has the version the caller read.
+     *
+     * @param expectedVersion version the vehicle must have, or {@code null} to update any version
+     * @throws com.fleetops.exception.PreconditionFailedException when the vehicle has another version
+     */
+    Optional<Vehicle> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion);
+
+    /**
+     * Insert each vehicle, or update make and model of the vehicle that already has its plate, as one
+     * {@code INSERT ... ON CONFLICT (license_plate) DO UPDATE} per chunk of rows (a {@code MERGE} on H2).
+     * The unique constraint arbitrates concurrent writers, so there is no check-then-insert race. A vehicle
+     * whose make and model already match is left alone, version included, so resending an unchanged roster
+     * writes nothing. New ids come from the entity's id generator, one per row.
+     *
+     * @param vehicles vehicles with normalized, pairwise distinct plates; ids are ignored
+     * @return the stored vehicles, split by whether they were written
+     */
+    Upserted upsertByLicensePlate(List<Vehicle> vehicles);
+
+    /**
+     * Outcome of {@link #upsertByLicensePlate}, each list in no particular order.
+     *
+     * @param written   vehicles inserted or changed
+     * @param unchanged vehicles that already had the given make and model
+     */
+    record Upserted(List<Vehicle> written, List<Vehicle> unchanged) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.fleetops.repository;
+
+import com.fleetops.cache.CacheRegions;
+import com.fleetops.entity.Vehicle;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.LongSupplier;
+
+/**
+ * JDBC implementation of {@link VehicleRepositoryCustom}; the plate lookup goes through Hibernate's
+ * natural-id loading instead.
+ */
+class VehicleRepositoryImpl implements VehicleRepositoryCustom {
+
+    /** Rows per upsert statement; keeps bind parameters well below driver limits. */
+    static final int UPSERT_CHUNK_SIZE = 500;
+
+    private static final String COLUMNS = "id, license_plate, make, model";
+    /** {@link #COLUMNS} and the row version, which inserts leave to its default of 0. */
+    private static final String STORED = COLUMNS + ", version";
+
+    private static final RowMapper<Vehicle> ROW = (rs, rowNum) -> new Vehicle(
+            rs.getLong("id"), rs.getString("license_plate"), rs.getString("make"), rs.getString("model"),
+            rs.getLong("version"));
+
+    private final ReturningUpdate returningUpdate;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final SqlDialect dialect;
+    private final EntityManager entityManager;
+    private final IdAllocator ids;
+
+    VehicleRepositoryImpl(ReturningUpdate returningUpdate, NamedParameterJdbcTemplate jdbc, SqlDialect dialect,
+                          EntityManager entityManager, IdAllocator ids) {
+        this.returningUpdate = returningUpdate;
+        this.jdbc = jdbc;
+        this.dialect = dialect;
+        this.entityManager = entityManager;
+        this.ids = ids;
+    }
+
+    @Override
+    public Optional<Vehicle> findByLicensePlate(String licensePlate) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Vehicle.class).loadOptional(licensePlate);
+    }
+
+    @Override
+    public Optional<Vehicle> updateColumns(Long id, Map<String, Object> columns, Long expectedVersion) {
+        Optional<Vehicle> updated = returningUpdate.execute("vehicle", id, expectedVersion, columns,
+                                                            "u.id, u.license_plate, u.make, u.model, u.version",
+                                                            "", ROW);
+        returningUpdate.evictCached(Vehicle.class, List.of(id), CacheRegions.VEHICLE_QUERIES);
+        return updated;
+    }
+
+    @Override
+    public Upserted upsertByLicensePlate(List<Vehicle> vehicles) {
+        List<Vehicle> written = new ArrayList<>(vehicles.size());
+        List<Vehicle> unchanged = new ArrayList<>();
+        LongSupplier newIds = ids.idsFor(Vehicle.class);
+        for (int from = 0; from < vehicles.size(); from += UPSERT_CHUNK_SIZE) {
+            List<Vehicle> chunk = vehicles.subList(from, Math.min(from + UPSERT_CHUNK_SIZE, vehicles.size()));
+            List<Vehicle> writtenInChunk = returningUpdate.inFlushedContext(() -> upsertChunk(chunk, newIds));
+            written.addAll(writtenInChunk);
+            if (writtenInChunk.size() < chunk.size()) {
+                Set<String> writtenPlates = new HashSet<>();
+                writtenInChunk.forEach(v -> writtenPlates.add(v.getLicensePlate()));
+                List<String> others = chunk.stream().map(Vehicle::getLicensePlate)
+                                           .filter(plate -> !writtenPlates.contains(plate)).toList();
+                unchanged.addAll(jdbc.query("SELECT " + STORED + " FROM vehicle WHERE license_plate IN (:plates)",
+                                            new MapSqlParameterSource("plates", others), ROW));
+            }
+        }
+        if (!written.isEmpty()) {
+            returningUpdate.evictCached(Vehicle.class, written.stream().map(Vehicle::getId).toList(), CacheRegions.VEHICLE_QUERIES);
+        }
+        return new Upserted(written, unchanged);
+    }
+
+    /**
+     * Upsert one chunk; ids are taken for every row, though rows that hit an existing plate leave theirs unused.
+     *
+     * @return the vehicles inserted or changed
+     */
+    private List<Vehicle> upsertChunk(List<Vehicle> chunk, LongSupplier newIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringJoiner rows = new StringJoiner(", ");
+        for (int i = 0; i < chunk.size(); i++) {
+            Vehicle v = chunk.get(i);
+            params.addValue("id" + i, newIds.getAsLong())
+                  .addValue("plate" + i, v.getLicensePlate())
+                  .addValue("make" + i, v.getMake())
+                  .addValue("model" + i, v.getModel());
+            rows.add(switch (dialect.kind()) {
+                case POSTGRESQL -> "(:id" + i + ", :plate" + i + ", :make" + i + ", :model" + i + ")";
+                default -> "(CAST(:id" + i + " AS BIGINT), CAST(:plate" + i + " AS VARCHAR),"
+                           + " CAST(:make" + i + " AS VARCHAR), CAST(:model" + i + " AS VARCHAR))";
+            });
+        }
+        if (dialect.isPostgres()) {
+            return jdbc.query("INSERT INTO vehicle (" + COLUMNS + ") VALUES " + rows
+                    + " ON CONFLICT (license_plate) DO UPDATE SET make = EXCLUDED.make, model = EXCLUDED.model,"
+                    + " version = vehicle.version + 1"
+                    + " WHERE (vehicle.make, vehicle.model) IS DISTINCT FROM (EXCLUDED.make, EXCLUDED.model)"
+                    + " RETURNING " + STORED, params, ROW);
+        }
+        String merge = "MERGE INTO vehicle t USING (VALUES " + rows + ") AS s(id, license_plate, make, model)"
+                + " ON t.license_plate = s.license_plate"
+                + " WHEN MATCHED AND (t.make IS DISTINCT FROM s.make OR t.model IS DISTINCT FROM s.model)"
+                + " THEN UPDATE SET make = s.make, model = s.model, version = t.version + 1"
+                + " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (s.id, s.license_plate, s.make, s.model)";
+        if (dialect.kind() == SqlDialect.Kind.H2) {
+            return jdbc.query("SELECT " + STORED + " FROM FINAL TABLE (" + merge + ")", params, ROW);
+        }
+        // without a way to read back the merged rows, report every row as written
+        jdbc.update(merge, params);
+        params.addValue("plates", chunk.stream().map(Vehicle::getLicensePlate).toList());
+        return jdbc.query("SELECT " + STORED + " FROM vehicle WHERE license_plate IN (:plates)", params, ROW);
+    }
+}
@@ -29,8 +29,8 @@ public class TokenBucketService {
      */
     public boolean allowRequest(String key) {
         Bucket bucket = buckets.computeIfAbsent(key, k -> {
-            // canonical Bucket4j 8.x construction: classic capacity + greedy refill
-            Bandwidth limit = Bandwidth.classic(capacity, Refill.greedy(capacity, duration));
+            // Bucket4j 8.x builder: full capacity, refilled greedily over the duration
+            Bandwidth limit = Bandwidth.builder().capacity(capacity).refillGreedy(capacity, duration).build();
             return Bucket.builder().addLimit(limit).build();
         });
 
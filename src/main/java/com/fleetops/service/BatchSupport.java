@@ -0,0 +1,97 @@
+package com.fleetops.service;
+
+import com.fleetops.dto.LookupResult;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers shared by the batch operations of the services (batch create, multi-get).
+ */
+final class BatchSupport {
+
+    /** Rows persisted per flush; matches {@code spring.jpa.properties.hibernate.jdbc.batch_size}. */
+    static final int JDBC_BATCH_SIZE = 50;
+
+    /** Maximum number of bind parameters sent in a single {@code IN (...)} lookup. */
+    static final int IN_CHUNK_SIZE = 1000;
+
+    private BatchSupport() {
+    }
+
+    /**
+     * Validate one batch item with Bean Validation.
+     *
+     * @return a message listing the violations, or null when the item is valid
+     */
+    static String violations(Validator validator, Object item) {
+        if (item == null) {
+            return "Item must not be null";
+        }
+        Set<? extends ConstraintViolation<?>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                         .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                         .sorted()
+                         .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Run an {@code IN (...)} lookup over {@code keys} in chunks of {@value #IN_CHUNK_SIZE} and collect the results.
+     */
+    static <K, R> Set<R> lookupInChunks(Collection<K> keys, Function<Collection<K>, Collection<R>> lookup) {
+        Set<R> found = new HashSet<>();
+        List<K> all = new ArrayList<>(keys);
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            found.addAll(lookup.apply(all.subList(from, Math.min(from + IN_CHUNK_SIZE, all.size()))));
+        }
+        return found;
+    }
+
+    /**
+     * Resolve {@code ids} with chunked {@code IN (...)} lookups and answer one result per requested id, in
+     * request order. Repeated ids are looked up once; null ids are skipped.
+     *
+     * @param lookup returns the rows among a chunk of ids
+     * @param idOf   extracts the id of a returned row
+     */
+    static <V> List<LookupResult<V>> inRequestOrder(List<Long> ids, Function<Collection<Long>, Collection<V>> lookup,
+                                                    Function<V, Long> idOf) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        List<Long> all = new ArrayList<>(distinct);
+        Map<Long, V> byId = new HashMap<>();
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            lookup.apply(all.subList(from, Math.min(from + IN_CHUNK_SIZE, all.size())))
+                  .forEach(row -> byId.put(idOf.apply(row), row));
+        }
+        List<LookupResult<V>> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            V row = byId.get(id);
+            results.add(row == null ? LookupResult.notFound(id) : LookupResult.found(id, row));
+        }
+        return results;
+    }
+
+    /**
+     * Persist new entities {@value #JDBC_BATCH_SIZE} at a time, flushing each chunk as one JDBC batch and
+     * clearing the persistence context so memory does not grow with the size of the request.
+     */
+    static <T> void persistInBatches(JpaRepository<T, ?> repository, EntityManager entityManager, List<T> rows) {
+        for (int from = 0; from < rows.size(); from += JDBC_BATCH_SIZE) {
+            repository.saveAll(rows.subList(from, Math.min(from + JDBC_BATCH_SIZE, rows.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
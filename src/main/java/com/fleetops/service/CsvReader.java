@@ -0,0 +1,153 @@
+package com.fleetops.service;
+
+import com.fleetops.exception.InvalidCsvException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming reader for RFC 4180 CSV with a header row.
+ * <p>
+ * Fields may be quoted; quoted fields may contain commas, doubled quotes and line breaks. Blank lines are
+ * skipped. Records are read one at a time, so memory does not depend on the size of the input.
+ */
+final class CsvReader implements Closeable {
+
+    /** No character pushed back; distinct from every {@link Reader#read()} result. */
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = NONE;
+
+    /**
+     * Open a UTF-8 stream and read its header.
+     *
+     * @param required column names that must be present in the header (matched case-insensitively)
+     * @throws InvalidCsvException when the input is empty or a required column is missing
+     */
+    CsvReader(InputStream csv, String... required) {
+        this.in = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        List<String> header = next();
+        if (header == null) {
+            throw new InvalidCsvException("CSV input is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : required) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidCsvException("CSV header is missing column " + column);
+            }
+        }
+    }
+
+    /** Value of {@code column} in {@code record}, or null when the record is too short. */
+    String get(List<String> record, String column) {
+        int index = columns.get(column);
+        return index < record.size() ? record.get(index) : null;
+    }
+
+    /** Line number, starting at 1, on which the last record returned by {@link #next()} started. */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return its fields, or null at end of input
+     * @throws InvalidCsvException when a quoted field is not terminated
+     */
+    List<String> next() {
+        try {
+            int c = read();
+            while (c == '\r' || c == '\n') {
+                endOfLine(c);
+                c = read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new InvalidCsvException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    record.add(field.toString());
+                    if (c != -1) {
+                        endOfLine(c);
+                    }
+                    return record;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Count the line break that started with {@code c}, consuming the LF of a CRLF. */
+    private void endOfLine(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return in.read();
+    }
+
+    @Override
+    public void close() {
+        try {
+            in.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
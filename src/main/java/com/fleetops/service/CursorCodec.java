@@ -0,0 +1,89 @@
+package com.fleetops.service;
+
+import com.fleetops.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used by keyset paginated listings.
+ * <p>
+ * A cursor carries the sort key of the last row of a page. Tokens are URL-safe Base64 so clients
+ * treat them as opaque values and the key layout can change without breaking the API contract.
+ */
+public final class CursorCodec {
+
+    private static final String ID_PREFIX = "id:";
+    private static final String DATE_ID_PREFIX = "date-id:";
+
+    /** Sort key of a listing ordered by a date and then by id. */
+    public record DateIdKey(LocalDate date, long id) {
+    }
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encode a cursor positioned after the row with the given id.
+     */
+    public static String encodeId(long id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encodeId(long)}.
+     *
+     * @throws InvalidCursorException when the token is malformed
+     */
+    public static long decodeId(String cursor) {
+        String raw = decode(cursor);
+        if (!raw.startsWith(ID_PREFIX)) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        try {
+            return Long.parseLong(raw.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encode a cursor positioned after the row with the given date and id.
+     */
+    public static String encodeDateId(LocalDate date, long id) {
+        return encode(DATE_ID_PREFIX + date + ":" + id);
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encodeDateId(LocalDate, long)}.
+     *
+     * @throws InvalidCursorException when the token is malformed
+     */
+    public static DateIdKey decodeDateId(String cursor) {
+        String raw = decode(cursor);
+        int separator = raw.lastIndexOf(':');
+        if (!raw.startsWith(DATE_ID_PREFIX) || separator < DATE_ID_PREFIX.length()) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        try {
+            return new DateIdKey(LocalDate.parse(raw.substring(DATE_ID_PREFIX.length(), separator)),
+                                 Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -1,28 +1,53 @@
 package com.fleetops.service;
 
+import com.fleetops.cache.ReadThroughCache;
+import com.fleetops.cache.ReadThroughCaches;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.DriverRequest;
+import com.fleetops.dto.DriverResponse;
+import com.fleetops.dto.LookupResult;
 import com.fleetops.entity.Driver;
 import com.fleetops.exception.DriverNotFoundException;
+import com.fleetops.exception.PreconditionFailedException;
+import com.fleetops.exception.ServiceException;
 import com.fleetops.repository.DriverRepository;
+import com.fleetops.repository.RowCountEstimator;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 /**
  * Application service for managing {@link com.fleetops.entity.Driver} domain objects.
  * <p>
  * Provides CRUD operations with null-safety and not-found semantics. All read operations
  * run in a read-only transaction; mutating operations declare transactional boundaries.
+ * Reads by id are served from a {@link ReadThroughCache} that writes evict once they commit.
  */
 @Service
 @Transactional(readOnly = true)
 public class DriverService {
 
     private final DriverRepository driverRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final RowCountEstimator rowCountEstimator;
+    private final ReadThroughCache<DriverResponse> responses;
 
-    public DriverService(DriverRepository driverRepository) {
+    public DriverService(DriverRepository driverRepository, EntityManager entityManager, Validator validator,
+                         RowCountEstimator rowCountEstimator, ReadThroughCaches caches) {
         this.driverRepository = driverRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.rowCountEstimator = rowCountEstimator;
+        this.responses = caches.create(ReadThroughCaches.DRIVERS, id -> driverRepository.findResponseById(id).orElse(null));
     }
 
     /**
@@ -46,6 +71,50 @@ public class DriverService {
         return driverRepository.findAll();
     }
 
+    /**
+     * Retrieve one keyset page of drivers ordered by id, projected straight into response models.
+     *
+     * @param after opaque cursor from a previous page, or null for the first page
+     * @param limit requested page size, clamped to {@link CursorPage#MAX_LIMIT}
+     * @param count whether and how to report the total number of drivers
+     * @return the page and the cursor of the next one
+     */
+    public CursorPage<DriverResponse> getPage(String after, int limit, CountMode count) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+        List<DriverResponse> rows = driverRepository.findResponsesByIdGreaterThan(afterId, Limit.of(pageSize + 1));
+        return PageCounts.withCount(CursorPage.of(rows, pageSize, d -> CursorCodec.encodeId(d.getId())),
+                count, rowCountEstimator, "driver", driverRepository::count);
+    }
+
+    /**
+     * Read a driver by id as its response model, without loading the entity into the persistence context.
+     * Served from the read-through cache when enabled.
+     *
+     * @param id driver identifier (must not be null)
+     * @return the projected driver
+     * @throws DriverNotFoundException when not found
+     */
+    public DriverResponse getResponseById(Long id) {
+        Objects.requireNonNull(id, "Driver id must not be null");
+        DriverResponse response = responses.get(id);
+        if (response == null) {
+            throw new DriverNotFoundException("Driver not found");
+        }
+        return response;
+    }
+
+    /**
+     * Read many drivers by id as response models, with one chunked {@code IN} query instead of a call per id.
+     *
+     * @param ids driver identifiers (must not be null)
+     * @return one result per requested id, in request order; unknown ids are marked not found
+     */
+    public List<LookupResult<DriverResponse>> getResponsesByIds(List<Long> ids) {
+        Objects.requireNonNull(ids, "Driver ids must not be null");
+        return BatchSupport.inRequestOrder(ids, driverRepository::findResponsesByIdIn, DriverResponse::getId);
+    }
+
     @Transactional
     /**
      * Create a driver.
@@ -55,28 +124,89 @@ public class DriverService {
      */
     public Driver create(Driver driver) {
         Objects.requireNonNull(driver, "Driver must not be null");
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        // nothing cached here yet, but other instances hold finder results the new driver changes
+        responses.evictAfterCommit(saved.getId());
+        return saved;
     }
 
     @Transactional
     /**
-     * Partially update a driver by applying non-null fields from the provided entity.
+     * Create many drivers in one transaction, inserting them in JDBC batches.
+     * <p>
+     * Invalid payloads, license numbers repeated within the batch and license numbers already in use
+     * are rejected per item without affecting the rest of the batch.
+     *
+     * @param requests drivers to create (must not be null)
+     * @return per-item results in request order
+     */
+    public BatchResult createBatch(List<DriverRequest> requests) {
+        Objects.requireNonNull(requests, "Driver batch must not be null");
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = BatchSupport.violations(validator, requests.get(i));
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+                continue;
+            }
+            String licenseNumber = requests.get(i).getLicenseNumber();
+            if (candidates.putIfAbsent(licenseNumber, i) != null) {
+                results[i] = BatchItemResult.rejected(i, "Duplicate license number " + licenseNumber + " in batch.");
+            }
+        }
+        try {
+            Set<String> taken = BatchSupport.lookupInChunks(candidates.keySet(), driverRepository::findLicenseNumbersIn);
+            List<Driver> toSave = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            candidates.forEach((licenseNumber, i) -> {
+                if (taken.contains(licenseNumber)) {
+                    results[i] = BatchItemResult.rejected(i, "Driver with license number " + licenseNumber + " already exists.");
+                    return;
+                }
+                toSave.add(Driver.builder().name(requests.get(i).getName()).licenseNumber(licenseNumber).build());
+                positions.add(i);
+            });
+            BatchSupport.persistInBatches(driverRepository, entityManager, toSave);
+            responses.evictAfterCommit(toSave.stream().map(Driver::getId).toList());
+            for (int k = 0; k < toSave.size(); k++) {
+                results[positions.get(k)] = BatchItemResult.created(positions.get(k), toSave.get(k).getId());
+            }
+        } catch (DataAccessException dae) {
+            throw new ServiceException("Error creating driver batch", dae);
+        }
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    @Transactional
+    /**
+     * Partially update a driver by applying non-null fields from the provided entity, as a single
+     * {@code UPDATE ... RETURNING} without reading the driver first. When {@code driver} carries a version,
+     * the driver is only updated if it still has that version.
      *
      * @param id     identifier of the driver to update (must not be null)
      * @param driver partial driver with fields to update (must not be null)
      * @return updated driver
+     * @throws PreconditionFailedException when the driver no longer has the version of {@code driver}
      */
     public Driver update(Long id, Driver driver) {
         Objects.requireNonNull(id, "Driver id must not be null");
         Objects.requireNonNull(driver, "Driver must not be null");
-        Driver existing = getById(id);
+        Map<String, Object> columns = new LinkedHashMap<>();
         if (driver.getName() != null) {
-            existing.setName(driver.getName());
+            columns.put(DriverRepository.NAME, driver.getName());
         }
         if (driver.getLicenseNumber() != null) {
-            existing.setLicenseNumber(driver.getLicenseNumber());
+            columns.put(DriverRepository.LICENSE_NUMBER, driver.getLicenseNumber());
+        }
+        if (columns.isEmpty()) {
+            return getById(id);
         }
-        return driverRepository.save(existing);
+        Optional<Driver> stored = driver.getVersion() == null ? driverRepository.updateColumns(id, columns)
+                : driverRepository.updateColumns(id, columns, driver.getVersion());
+        Driver updated = stored.orElseThrow(() -> new DriverNotFoundException("Driver not found"));
+        responses.evictAfterCommit(id);
+        return updated;
     }
 
     @Transactional
@@ -88,9 +218,9 @@ public class DriverService {
      */
     public void delete(Long id) {
         Objects.requireNonNull(id, "Driver id must not be null");
-        if (!driverRepository.existsById(id)) {
+        if (driverRepository.removeById(id) == 0) {
             throw new DriverNotFoundException("Driver not found for deletion");
         }
-        driverRepository.deleteById(id);
+        responses.evictAfterCommit(id);
     }
 }
@@ -0,0 +1,222 @@
+package com.fleetops.service;
+
+import com.fleetops.cache.ReadThroughCaches;
+import com.fleetops.dto.ImportResult;
+import com.fleetops.dto.ImportRowError;
+import com.fleetops.dto.InspectionRequest;
+import com.fleetops.dto.VehicleRequest;
+import com.fleetops.exception.ServiceException;
+import com.fleetops.repository.BulkLoader;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.shard.ShardRouter;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Application service for bulk CSV imports, e.g. migrations from a legacy system.
+ * <p>
+ * Records are read from the upload one at a time, validated against the same request models and normalized
+ * the same way as {@link VehicleService} and {@link InspectionService} do for the create endpoints, and
+ * streamed into {@link BulkLoader} without being collected in memory. Invalid rows are counted and reported
+ * per line; the valid rows of one upload are stored in a single transaction per shard, each shard loading
+ * the rows it owns while the upload is being read.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ImportService {
+
+    static final String LICENSE_PLATE = "license_plate";
+    static final String MAKE = "make";
+    static final String MODEL = "model";
+    static final String INSPECTION_DATE = "inspection_date";
+    static final String STATUS = "status";
+    static final String VEHICLE_ID = "vehicle_id";
+
+    private final BulkLoader bulkLoader;
+    private final Validator validator;
+    private final ShardRouter shards;
+    private final ReadThroughCaches caches;
+    private final TableStamps tableStamps;
+
+    public ImportService(BulkLoader bulkLoader, Validator validator, ShardRouter shards, ReadThroughCaches caches,
+                         TableStamps tableStamps) {
+        this.bulkLoader = bulkLoader;
+        this.validator = validator;
+        this.shards = shards;
+        this.caches = caches;
+        this.tableStamps = tableStamps;
+    }
+
+    @Transactional
+    /**
+     * Create or update vehicles by license plate from CSV with the columns {@code license_plate},
+     * {@code make} and {@code model}. When a plate occurs more than once the last row wins.
+     *
+     * @param csv UTF-8 CSV with a header row (must not be null)
+     * @return row counts and the rejected rows
+     * @throws com.fleetops.exception.InvalidCsvException when the header or the CSV syntax is invalid
+     */
+    public ImportResult importVehicles(InputStream csv) {
+        Objects.requireNonNull(csv, "CSV input must not be null");
+        try (CsvReader reader = new CsvReader(csv, LICENSE_PLATE, MAKE, MODEL)) {
+            ValidRows<BulkLoader.VehicleRow> rows = new ValidRows<>(reader, (record, reject) -> {
+                VehicleRequest request = new VehicleRequest();
+                request.setLicensePlate(reader.get(record, LICENSE_PLATE));
+                request.setMake(reader.get(record, MAKE));
+                request.setModel(reader.get(record, MODEL));
+                String error = BatchSupport.violations(validator, request);
+                if (error != null) {
+                    reject.accept(error);
+                    return null;
+                }
+                return new BulkLoader.VehicleRow(reader.recordLine(),
+                                                 VehicleService.normalizeLicensePlate(request.getLicensePlate()),
+                                                 VehicleService.normalizeGeneralString(request.getMake()),
+                                                 VehicleService.normalizeGeneralString(request.getModel()));
+            });
+            List<Long> imported = shards.scatterFeed(rows, r -> shards.shardOfPlate(r.licensePlate()),
+                                                     (shard, shardRows) -> bulkLoader.loadVehicles(shardRows));
+            // updated plates are not reported back; drop the cached vehicles and the inspections showing them
+            caches.evictAllAfterCommit(ReadThroughCaches.VEHICLES);
+            caches.evictAllAfterCommit(ReadThroughCaches.INSPECTIONS);
+            tableStamps.touchAfterCommit(TableStamps.VEHICLE, TableStamps.INSPECTION);
+            return rows.result(imported.stream().mapToLong(Long::longValue).sum());
+        } catch (DataAccessException dae) {
+            throw new ServiceException("Error importing vehicles", dae);
+        }
+    }
+
+    @Transactional
+    /**
+     * Create inspections from CSV with the columns {@code inspection_date} (ISO {@code yyyy-MM-dd}),
+     * {@code status} and {@code vehicle_id}. Rows referencing a vehicle that does not exist are rejected.
+     *
+     * @param csv UTF-8 CSV with a header row (must not be null)
+     * @return row counts and the rejected rows
+     * @throws com.fleetops.exception.InvalidCsvException when the header or the CSV syntax is invalid
+     */
+    public ImportResult importInspections(InputStream csv) {
+        Objects.requireNonNull(csv, "CSV input must not be null");
+        try (CsvReader reader = new CsvReader(csv, INSPECTION_DATE, STATUS, VEHICLE_ID)) {
+            ValidRows<BulkLoader.InspectionRow> rows = new ValidRows<>(reader, (record, reject) -> {
+                InspectionRequest request = new InspectionRequest();
+                request.setStatus(reader.get(record, STATUS));
+                String date = reader.get(record, INSPECTION_DATE);
+                String vehicleId = reader.get(record, VEHICLE_ID);
+                try {
+                    request.setInspectionDate(isBlank(date) ? null : LocalDate.parse(date.trim()));
+                } catch (DateTimeParseException e) {
+                    reject.accept("inspectionDate: must be an ISO date (yyyy-MM-dd)");
+                    return null;
+                }
+                try {
+                    request.setVehicleId(isBlank(vehicleId) ? null : Long.valueOf(vehicleId.trim()));
+                } catch (NumberFormatException e) {
+                    reject.accept("vehicleId: must be a number");
+                    return null;
+                }
+                String error = BatchSupport.violations(validator, request);
+                if (error != null) {
+                    reject.accept(error);
+                    return null;
+                }
+                return new BulkLoader.InspectionRow(reader.recordLine(), request.getInspectionDate(),
+                                                    InspectionService.normalizeStatus(request.getStatus()),
+                                                    request.getVehicleId());
+            });
+            List<BulkLoader.InspectionLoad> loads = shards.scatterFeed(rows, r -> shards.shardOfId(r.vehicleId()),
+                    (shard, shardRows) -> bulkLoader.loadInspections(shardRows, ImportResult.MAX_REPORTED_ERRORS));
+            List<BulkLoader.InspectionRow> firstMissing = ShardRouter.mergeSorted(
+                    loads.stream().map(BulkLoader.InspectionLoad::firstMissing).toList(),
+                    Comparator.comparingLong(BulkLoader.InspectionRow::line), ImportResult.MAX_REPORTED_ERRORS);
+            firstMissing.forEach(r -> rows.reject(r.line(), "Vehicle " + r.vehicleId() + " not found."));
+            rows.rejectUnreported(loads.stream().mapToLong(BulkLoader.InspectionLoad::missingVehicle).sum()
+                                  - firstMissing.size());
+            tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+            return rows.result(loads.stream().mapToLong(BulkLoader.InspectionLoad::inserted).sum());
+        } catch (DataAccessException dae) {
+            throw new ServiceException("Error importing inspections", dae);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /** Turns one CSV record into a row to load, or passes the reason it is rejected to {@code reject} and returns null. */
+    @FunctionalInterface
+    private interface RecordParser<R> {
+        R parse(List<String> record, Consumer<String> reject);
+    }
+
+    /**
+     * The valid rows of a CSV upload, parsed lazily as the loader pulls them, with a tally of the rest.
+     */
+    private static final class ValidRows<R> implements Iterator<R> {
+        private final CsvReader reader;
+        private final RecordParser<R> parser;
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private long rows;
+        private long rejected;
+        private R next;
+
+        ValidRows(CsvReader reader, RecordParser<R> parser) {
+            this.reader = reader;
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                List<String> record = reader.next();
+                if (record == null) {
+                    return false;
+                }
+                rows++;
+                long line = reader.recordLine();
+                next = parser.parse(record, error -> reject(line, error));
+            }
+            return true;
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            R row = next;
+            next = null;
+            return row;
+        }
+
+        void reject(long line, String error) {
+            rejected++;
+            if (errors.size() < ImportResult.MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(line, error));
+            }
+        }
+
+        /** Count rejected rows that are not described individually. */
+        void rejectUnreported(long count) {
+            rejected += count;
+        }
+
+        ImportResult result(long imported) {
+            errors.sort(Comparator.comparingLong(ImportRowError::getLine));
+            return new ImportResult(rows, imported, rejected, errors);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fleetops.service;
+
+import com.fleetops.archive.ArchivedInspection;
+import com.fleetops.archive.InspectionArchive;
+import com.fleetops.repository.InspectionRepository;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Moves inspections older than {@code fleetops.archive.inspection.older-than} (two years by default) from
+ * the database into the {@link InspectionArchive}.
+ * <p>
+ * Each batch of up to {@code fleetops.archive.inspection.rows-per-segment} rows is read and locked, written to
+ * a new segment that is forced to disk, and only then deleted; a failed write leaves the rows in place. Rows
+ * whose segment was written but whose delete did not commit are found in the archive on the next run and just
+ * deleted again. Runs daily when {@code fleetops.archive.inspection.enabled} is true, draining one shard after
+ * the other into the same archive.
+ * <p>
+ * The archive lives on this instance's local disk and is the only copy of archived rows, which other
+ * instances cannot read. Only enable archiving for a deployment that runs a single instance.
+ */
+@Slf4j
+@Service
+public class InspectionArchiver {
+
+    private final InspectionRepository inspectionRepository;
+    private final InspectionArchive archive;
+    private final TransactionOperations transactions;
+    private final boolean enabled;
+    private final Period olderThan;
+    private final int rowsPerSegment;
+    private final Clock clock;
+    private final ShardRouter shards;
+    private final TableStamps tableStamps;
+
+    @Autowired
+    public InspectionArchiver(InspectionRepository inspectionRepository, InspectionArchive archive,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${fleetops.archive.inspection.enabled:false}") boolean enabled,
+                              @Value("${fleetops.archive.inspection.older-than:P2Y}") Period olderThan,
+                              @Value("${fleetops.archive.inspection.rows-per-segment:1000000}") int rowsPerSegment,
+                              ShardRouter shards, TableStamps tableStamps) {
+        this(inspectionRepository, archive, new TransactionTemplate(transactionManager), enabled, olderThan,
+             rowsPerSegment, Clock.systemDefaultZone(), shards, tableStamps);
+    }
+
+    InspectionArchiver(InspectionRepository inspectionRepository, InspectionArchive archive,
+                       TransactionOperations transactions, boolean enabled, Period olderThan, int rowsPerSegment,
+                       Clock clock, ShardRouter shards, TableStamps tableStamps) {
+        if (rowsPerSegment < 1) {
+            throw new IllegalArgumentException("rows-per-segment must be positive");
+        }
+        this.inspectionRepository = inspectionRepository;
+        this.archive = archive;
+        this.transactions = transactions;
+        this.enabled = enabled;
+        this.olderThan = olderThan;
+        this.rowsPerSegment = rowsPerSegment;
+        this.clock = clock;
+        this.shards = shards;
+        this.tableStamps = tableStamps;
+    }
+
+    /**
+     * Archive every inspection dated before the cutoff, one segment per batch.
+     *
+     * @return number of inspections removed from the database
+     */
+    @Scheduled(cron = "${fleetops.archive.inspection.cron:0 45 3 * * *}")
+    public long archive() {
+        if (!enabled) {
+            return 0;
+        }
+        LocalDate cutoff = LocalDate.now(clock).minus(olderThan);
+        return shards.onEachShard(shard -> archiveShard(cutoff)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private long archiveShard(LocalDate cutoff) {
+        long moved = 0;
+        try {
+            int batch;
+            do {
+                Integer removed = transactions.execute(status -> archiveBatch(cutoff));
+                batch = removed == null ? 0 : removed;
+                moved += batch;
+            } while (batch == rowsPerSegment);
+            if (moved > 0) {
+                // archived inspections drop out of the list
+                tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+                log.info("Archived {} inspections dated before {}", moved, cutoff);
+            }
+        } catch (DataAccessException | UncheckedIOException e) {
+            log.warn("Inspection archiving failed after {} rows; retrying on the next run", moved, e);
+        }
+        return moved;
+    }
+
+    private int archiveBatch(LocalDate cutoff) {
+        List<ArchivedInspection> rows = inspectionRepository.lockDatedBefore(cutoff, rowsPerSegment);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        archive.append(rows.stream().filter(r -> !archive.contains(r.id())).toList());
+        inspectionRepository.deleteDatedBefore(cutoff, rows.stream().map(ArchivedInspection::id).toList());
+        return rows.size();
+    }
+}
@@ -0,0 +1,131 @@
+package com.fleetops.service;
+
+import com.fleetops.repository.InspectionPartitions;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the yearly partitions of the {@code inspection} table in shape.
+ * <p>
+ * On startup and then daily it creates the partitions of the current year and of the next
+ * {@code fleetops.partitions.inspection.years-ahead} years, so new inspections never land in the default
+ * partition, and a partition for every year that has rows in the default partition, moving those rows into it.
+ * When {@code fleetops.partitions.inspection.retention-years} is positive, partitions whose
+ * whole year is older than that many years are detached instead of deleting their rows. Nothing happens
+ * unless the table is partitioned (PostgreSQL after Liquibase changeset 8). Every shard is maintained in turn;
+ * a partition that cannot be created or detached is logged and retried on the next run without holding up
+ * the others.
+ */
+@Slf4j
+@Service
+public class InspectionPartitionMaintenance {
+
+    private final InspectionPartitions partitions;
+    private final int yearsAhead;
+    private final int retentionYears;
+    private final Clock clock;
+    private final ShardRouter shards;
+    private final TableStamps tableStamps;
+
+    @Autowired
+    public InspectionPartitionMaintenance(InspectionPartitions partitions,
+                                          @Value("${fleetops.partitions.inspection.years-ahead:1}") int yearsAhead,
+                                          @Value("${fleetops.partitions.inspection.retention-years:0}") int retentionYears,
+                                          ShardRouter shards, TableStamps tableStamps) {
+        this(partitions, yearsAhead, retentionYears, Clock.systemDefaultZone(), shards, tableStamps);
+    }
+
+    InspectionPartitionMaintenance(InspectionPartitions partitions, int yearsAhead, int retentionYears, Clock clock,
+                                   ShardRouter shards, TableStamps tableStamps) {
+        this.partitions = partitions;
+        this.yearsAhead = yearsAhead;
+        this.retentionYears = retentionYears;
+        this.clock = clock;
+        this.shards = shards;
+        this.tableStamps = tableStamps;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Create missing upcoming partitions and detach expired ones.
+     */
+    @Scheduled(cron = "${fleetops.partitions.inspection.cron:0 15 3 * * *}")
+    public void maintain() {
+        shards.onEachShard(shard -> {
+            maintainShard();
+            return null;
+        });
+    }
+
+    private void maintainShard() {
+        List<Integer> attached;
+        List<Integer> stranded;
+        try {
+            if (!partitions.isPartitioned()) {
+                return;
+            }
+            attached = partitions.attachedYears();
+            stranded = partitions.defaultYears();
+        } catch (DataAccessException e) {
+            log.warn("Inspection partition maintenance failed; retrying on the next run", e);
+            return;
+        }
+        int currentYear = LocalDate.now(clock).getYear();
+        Set<Integer> wanted = new TreeSet<>(stranded);
+        for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+            wanted.add(year);
+        }
+        for (int year : wanted) {
+            if (!attached.contains(year)) {
+                create(year);
+            }
+        }
+        if (retentionYears > 0) {
+            int oldestKept = currentYear - retentionYears;
+            for (int year : attached) {
+                if (year < oldestKept) {
+                    detach(year);
+                }
+            }
+        }
+    }
+
+    private void create(int year) {
+        String name = InspectionPartitions.partitionName(year);
+        try {
+            partitions.create(year);
+            log.info("Created inspection partition {}", name);
+        } catch (DataAccessException e) {
+            log.warn("Could not create inspection partition {}; retrying on the next run", name, e);
+        }
+    }
+
+    private void detach(int year) {
+        String name = InspectionPartitions.partitionName(year);
+        try {
+            partitions.detach(year);
+            tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+            log.info("Detached inspection partition {}", name);
+        } catch (DataAccessException e) {
+            log.warn("Could not detach inspection partition {}; retrying on the next run", name, e);
+        }
+    }
+}
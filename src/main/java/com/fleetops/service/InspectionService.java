@@ -1,25 +1,63 @@
 package com.fleetops.service;
 
+import com.fleetops.archive.ArchivedInspection;
+import com.fleetops.archive.InspectionArchive;
+import com.fleetops.cache.ReadThroughCache;
+import com.fleetops.cache.ReadThroughCaches;
+import com.fleetops.cache.SingleFlight;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.InspectionFilter;
+import com.fleetops.dto.InspectionResponse;
 import com.fleetops.dto.InspectionRequest;
+import com.fleetops.dto.InspectionUpdateRequest;
+import com.fleetops.dto.LookupResult;
+import com.fleetops.dto.VehicleResponse;
 import com.fleetops.entity.Inspection;
 import com.fleetops.entity.Vehicle;
 import com.fleetops.exception.VehicleNotFoundException;
 import com.fleetops.exception.ServiceException;
 import com.fleetops.repository.VehicleRepository;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import com.fleetops.exception.InspectionNotFoundException;
+import com.fleetops.exception.PreconditionFailedException;
+import com.fleetops.exception.CrossShardMoveException;
 import com.fleetops.repository.InspectionRepository;
+import com.fleetops.repository.RowCountEstimator;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.shard.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Objects;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Application service responsible for inspection domain operations.
  * <p>
  * Provides CRUD behaviors, including overloads for creating inspections from
  * API request models. Wraps data-access errors as {@link com.fleetops.exception.ServiceException}.
+ * <p>
+ * Reads by id, per-vehicle history and the export also cover inspections moved to the
+ * {@link InspectionArchive}; archived inspections are read-only and are not listed by {@link #getPage}. Like live
+ * inspections, which are deleted with their vehicle, archived ones are only served while their vehicle exists.
+ * <p>
+ * Inspections are stored on the shard of their vehicle (see {@link ShardRouter}) and take their ids from that
+ * shard, so an inspection id, like a vehicle id, tells which shard to read.
+ * <p>
+ * Reads by id are served from a {@link ReadThroughCache} that writes evict once they commit. Writes also bump
+ * the {@link TableStamps} of the inspection table, which {@link #getListStamp()} reports. Concurrent requests
+ * for the same page share one query through a {@link SingleFlight} that the bump resets.
  */
 @Service
 @Transactional(readOnly = true)
@@ -27,17 +65,264 @@ public class InspectionService {
 
     private final InspectionRepository inspectionRepository;
     private final VehicleRepository vehicleRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final RowCountEstimator rowCountEstimator;
+    private final InspectionArchive archive;
+    private final ShardRouter shards;
+    private final ReadThroughCache<InspectionResponse> responses;
+    private final TableStamps tableStamps;
+    private final SingleFlight<PageKey, CursorPage<InspectionResponse>> pages;
+
+    /** History order of response models: newest date first, ties broken by descending id. */
+    private static final Comparator<InspectionResponse> NEWEST_FIRST =
+            Comparator.comparing(InspectionResponse::getInspectionDate)
+                      .thenComparing(InspectionResponse::getId)
+                      .reversed();
 
-    public InspectionService(InspectionRepository inspectionRepository, VehicleRepository vehicleRepository) {
+    /** Vehicles remembered while exporting archived inspections, so each is looked up about once. */
+    private static final int EXPORT_VEHICLE_CACHE_SIZE = 10_000;
+
+    public InspectionService(InspectionRepository inspectionRepository, VehicleRepository vehicleRepository,
+                             EntityManager entityManager, Validator validator, RowCountEstimator rowCountEstimator,
+                             InspectionArchive archive, ShardRouter shards, ReadThroughCaches caches,
+                             TableStamps tableStamps) {
         this.inspectionRepository = inspectionRepository;
         this.vehicleRepository = vehicleRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.rowCountEstimator = rowCountEstimator;
+        this.archive = archive;
+        this.shards = shards;
+        this.tableStamps = tableStamps;
+        this.responses = caches.create(ReadThroughCaches.INSPECTIONS, id -> shards.onShard(shards.shardOfId(id),
+                () -> inspectionRepository.findResponseById(id)
+                        .or(() -> archive.findById(id).flatMap(a -> vehicleRepository.findResponseById(a.vehicleId())
+                                                                                     .map(v -> toResponse(a, v))))
+                        .orElse(null)));
+        this.pages = caches.singleFlight("inspection-pages");
+        tableStamps.onChange(TableStamps.INSPECTION, pages::forgetAll);
     }
 
     /**
      * Retrieve all inspections.
      */
     public List<Inspection> getAll() {
-        return inspectionRepository.findAll();
+        return ShardRouter.concat(shards.scatter(shard -> inspectionRepository.findAll()));
+    }
+
+    /**
+     * Retrieve one keyset page of inspections ordered by id, projected straight into response models.
+     *
+     * @param after opaque cursor from a previous page, or null for the first page
+     * @param limit requested page size, clamped to {@link CursorPage#MAX_LIMIT}
+     * @param count whether and how to report the total number of inspections
+     * @return the page and the cursor of the next one
+     */
+    public CursorPage<InspectionResponse> getPage(String after, int limit, CountMode count) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+        return pages.load(new PageKey(afterId, pageSize, count), () -> PageCounts.merge(
+                shards.scatter(shard -> PageCounts.withCount(
+                        new CursorPage<>(inspectionRepository.findResponsesByIdGreaterThan(afterId, Limit.of(pageSize + 1)), null),
+                        count, rowCountEstimator, "inspection", inspectionRepository::count)),
+                Comparator.comparing(InspectionResponse::getId), pageSize, i -> CursorCodec.encodeId(i.getId())));
+    }
+
+    /**
+     * The modification stamp of the inspection list, which changes whenever an inspection, or a vehicle the
+     * list shows, is written.
+     *
+     * @return the stamp, or empty when the table has none yet
+     */
+    public Optional<TableStamps.Stamp> getListStamp() {
+        return tableStamps.current(TableStamps.INSPECTION);
+    }
+
+    /**
+     * Page through the inspection history of one vehicle, newest first, ordered by inspection date and
+     * then id.
+     * <p>
+     * Costs one lookup of the vehicle summary and one index-only read of the page; the total is only
+     * counted when requested. Per-vehicle totals are counted exactly for both {@link CountMode#ESTIMATE}
+     * and {@link CountMode#EXACT}, since table statistics say nothing about one vehicle's share.
+     * Archived inspections are merged into the same order, so pages and totals span both tiers.
+     *
+     * @param vehicleId vehicle identifier (must not be null)
+     * @param after     opaque cursor from a previous page, or null for the first page
+     * @param limit     requested page size, clamped to {@link CursorPage#MAX_LIMIT}
+     * @param count     whether to report the total number of inspections of the vehicle
+     * @return the page and the cursor of the next one
+     * @throws VehicleNotFoundException when the vehicle does not exist
+     */
+    public CursorPage<InspectionResponse> getVehicleHistory(Long vehicleId, String after, int limit, CountMode count) {
+        Objects.requireNonNull(vehicleId, "Vehicle id must not be null");
+        int pageSize = CursorPage.clampLimit(limit);
+        CursorCodec.DateIdKey key = after == null ? null : CursorCodec.decodeDateId(after);
+        return onVehicleShard(vehicleId, () -> history(vehicleId, key, pageSize, count));
+    }
+
+    private CursorPage<InspectionResponse> history(Long vehicleId, CursorCodec.DateIdKey key, int pageSize, CountMode count) {
+        VehicleResponse vehicle = vehicleRepository.findResponseById(vehicleId)
+                .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found"));
+        List<InspectionRepository.HistoryRow> rows = key == null
+                ? inspectionRepository.findHistoryByVehicleId(vehicleId, Limit.of(pageSize + 1))
+                : inspectionRepository.findHistoryByVehicleIdBefore(vehicleId, key.date(), key.id(), Limit.of(pageSize + 1));
+        List<InspectionResponse> live = rows.stream()
+                .map(r -> new InspectionResponse(r.getId(), r.getInspectionDate(), r.getStatus(), vehicle))
+                .toList();
+        List<InspectionResponse> archived = archive.findHistory(vehicleId, key == null ? null : key.date(),
+                        key == null ? 0L : key.id(), pageSize + 1).stream()
+                .map(a -> toResponse(a, vehicle))
+                .toList();
+        CursorPage<InspectionResponse> page = CursorPage.of(mergeNewestFirst(live, archived, pageSize + 1), pageSize,
+                i -> CursorCodec.encodeDateId(i.getInspectionDate(), i.getId()));
+        if (count == null || count == CountMode.NONE) {
+            return page;
+        }
+        return page.withTotalCount(inspectionRepository.countByVehicleId(vehicleId)
+                                   + archive.countByVehicleId(vehicleId), false);
+    }
+
+    /**
+     * Merge two newest-first history slices into their first {@code limit} rows. A row present in both - an
+     * inspection whose archiving has not committed yet - is taken from the database.
+     */
+    private static List<InspectionResponse> mergeNewestFirst(List<InspectionResponse> live, List<InspectionResponse> archived,
+                                                             int limit) {
+        if (archived.isEmpty()) {
+            return live.size() > limit ? live.subList(0, limit) : live;
+        }
+        List<InspectionResponse> merged = new ArrayList<>(Math.min(limit, live.size() + archived.size()));
+        int l = 0;
+        int a = 0;
+        while (merged.size() < limit && (l < live.size() || a < archived.size())) {
+            int order = l == live.size() ? 1 : a == archived.size() ? -1
+                    : NEWEST_FIRST.compare(live.get(l), archived.get(a));
+            if (order == 0) {
+                a++;
+            }
+            merged.add(order <= 0 ? live.get(l++) : archived.get(a++));
+        }
+        return merged;
+    }
+
+    /**
+     * Read an inspection by id as its response model, without loading the entity into the persistence context.
+     * Served from the read-through cache when enabled.
+     *
+     * @param id inspection identifier (must not be null)
+     * @return the projected inspection
+     * @throws InspectionNotFoundException when not found
+     */
+    public InspectionResponse getResponseById(Long id) {
+        Objects.requireNonNull(id, "Inspection Id must not be null");
+        InspectionResponse response = responses.get(id);
+        if (response == null) {
+            throw new InspectionNotFoundException("Inspection not found");
+        }
+        return response;
+    }
+
+    /**
+     * Read many inspections by id as response models, with one chunked {@code IN} query instead of a call per id.
+     *
+     * @param ids inspection identifiers (must not be null)
+     * @return one result per requested id, in request order; unknown ids are marked not found
+     */
+    public List<LookupResult<InspectionResponse>> getResponsesByIds(List<Long> ids) {
+        Objects.requireNonNull(ids, "Inspection ids must not be null");
+        return BatchSupport.inRequestOrder(ids, chunk -> shards.lookupByIds(chunk, this::findResponsesByIdIn),
+                                           InspectionResponse::getId);
+    }
+
+    /** Response models of the live and archived inspections among {@code ids}, all owned by the current shard. */
+    private List<InspectionResponse> findResponsesByIdIn(Collection<Long> ids) {
+        List<InspectionResponse> found = inspectionRepository.findResponsesByIdIn(ids);
+        if (archive.isEmpty() || found.size() == ids.size()) {
+            return found;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        found.forEach(i -> missing.remove(i.getId()));
+        List<ArchivedInspection> archived = archive.findAllById(missing);
+        if (archived.isEmpty()) {
+            return found;
+        }
+        Map<Long, VehicleResponse> vehicles = new HashMap<>();
+        vehicleRepository.findResponsesByIdIn(archived.stream().map(ArchivedInspection::vehicleId).distinct().toList())
+                         .forEach(v -> vehicles.put(v.getId(), v));
+        List<InspectionResponse> all = new ArrayList<>(found);
+        archived.stream()
+                .filter(a -> vehicles.containsKey(a.vehicleId()))
+                .forEach(a -> all.add(toResponse(a, vehicles.get(a.vehicleId()))));
+        return all;
+    }
+
+    /**
+     * Latest inspection of every vehicle, ordered by vehicle id, fetched in a single query per shard.
+     *
+     * @return one response per vehicle that has at least one inspection
+     */
+    public List<InspectionResponse> getLatestPerVehicle() {
+        List<List<InspectionResponse>> perShard = shards.scatter(shard -> inspectionRepository.findLatestPerVehicle().stream()
+                .map(r -> new InspectionResponse(r.getId(), r.getInspectionDate(), r.getStatus(),
+                                                 r.getVehicleId(), r.getLicensePlate(), r.getMake(), r.getModel()))
+                .toList());
+        return ShardRouter.mergeSorted(perShard, Comparator.comparing(i -> i.getVehicle().getId()), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Push every inspection, in id order, to {@code sink} without materializing the table.
+     * <p>
+     * Rows are read over a database cursor and the persistence context is cleared every
+     * {@link InspectionRepository#STREAM_FETCH_SIZE} rows so memory stays flat regardless of table size.
+     * Archived inspections are merged in by id from the archive segments. With sharding, every shard streams
+     * its rows in parallel and the streams are merged by id. Entities handed to the sink must not be retained
+     * or modified.
+     *
+     * @param sink receives each inspection (with its vehicle loaded)
+     */
+    public void exportAll(Consumer<Inspection> sink) {
+        Objects.requireNonNull(sink, "sink must not be null");
+        shards.<Inspection>scatterOrdered(this::exportShard, Comparator.comparing(Inspection::getId), sink);
+    }
+
+    /** Push the live and archived inspections of one shard to {@code sink}, in id order. */
+    private void exportShard(int shard, Consumer<? super Inspection> sink) {
+        Map<Long, Optional<VehicleResponse>> vehicles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Optional<VehicleResponse>> eldest) {
+                return size() > EXPORT_VEHICLE_CACHE_SIZE;
+            }
+        };
+        try (Stream<Inspection> rows = inspectionRepository.streamAllOrderById();
+             Stream<ArchivedInspection> archivedRows = shards.isSharded()
+                     ? archive.streamById().filter(a -> shards.shardOfId(a.id()) == shard)
+                     : archive.streamById()) {
+            Iterator<Inspection> it = rows.iterator();
+            Iterator<ArchivedInspection> archived = archivedRows.iterator();
+            Inspection live = it.hasNext() ? it.next() : null;
+            ArchivedInspection old = archived.hasNext() ? archived.next() : null;
+            int inChunk = 0;
+            while (live != null || old != null) {
+                if (old == null || (live != null && live.getId() <= old.id())) {
+                    if (old != null && live.getId() == old.id()) {
+                        old = archived.hasNext() ? archived.next() : null;
+                    }
+                    sink.accept(live);
+                    live = it.hasNext() ? it.next() : null;
+                } else {
+                    ArchivedInspection a = old;
+                    vehicles.computeIfAbsent(a.vehicleId(), vehicleRepository::findResponseById)
+                            .ifPresent(vehicle -> sink.accept(toEntity(a, vehicle)));
+                    old = archived.hasNext() ? archived.next() : null;
+                }
+                if (++inChunk == InspectionRepository.STREAM_FETCH_SIZE) {
+                    entityManager.clear();
+                    inChunk = 0;
+                }
+            }
+        }
     }
 
     /**
@@ -47,7 +332,21 @@ public class InspectionService {
      */
     public Inspection getById(Long id) {
         Objects.requireNonNull(id, "Inspection Id must not be null");
-        return inspectionRepository.findById(id).orElseThrow(() -> new InspectionNotFoundException("Inspection not found"));
+        return shards.onShard(shards.shardOfId(id), () -> inspectionRepository.findById(id)
+                .or(() -> archive.findById(id).flatMap(a -> vehicleRepository.findResponseById(a.vehicleId())
+                                                                             .map(v -> toEntity(a, v))))
+                .orElseThrow(() -> new InspectionNotFoundException("Inspection not found")));
+    }
+
+    /** Response model of an archived inspection of {@code vehicle}. */
+    private static InspectionResponse toResponse(ArchivedInspection a, VehicleResponse vehicle) {
+        return new InspectionResponse(a.id(), a.inspectionDate(), a.status(), vehicle);
+    }
+
+    /** Detached entity for an archived inspection of {@code vehicle}. */
+    private static Inspection toEntity(ArchivedInspection a, VehicleResponse vehicle) {
+        Vehicle v = new Vehicle(vehicle.getId(), vehicle.getLicensePlate(), vehicle.getMake(), vehicle.getModel());
+        return new Inspection(a.id(), a.inspectionDate(), a.status(), v);
     }
 
     @Transactional
@@ -62,7 +361,12 @@ public class InspectionService {
         if (inspection.getId() != null) {
             throw new IllegalArgumentException("Inspection id must be null on create");
         }
-        return inspectionRepository.save(inspection);
+        inspection.setStatus(normalizeStatus(inspection.getStatus()));
+        tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+        if (inspection.getVehicle() == null || inspection.getVehicle().getId() == null) {
+            return inspectionRepository.save(inspection);
+        }
+        return onVehicleShard(inspection.getVehicle().getId(), () -> inspectionRepository.save(inspection));
     }
 
     @Transactional
@@ -78,12 +382,15 @@ public class InspectionService {
             if (request.getVehicleId() == null) {
                 throw new IllegalArgumentException("vehicleId must not be null");
             }
-            Vehicle vehicleRef = vehicleRepository.getReferenceById(request.getVehicleId());
-            Inspection inspection = new Inspection();
-            inspection.setInspectionDate(request.getInspectionDate());
-            inspection.setStatus(normalizeStatus(request.getStatus()));
-            inspection.setVehicle(vehicleRef);
-            return inspectionRepository.save(inspection);
+            return onVehicleShard(request.getVehicleId(), () -> {
+                Vehicle vehicleRef = vehicleRepository.getReferenceById(request.getVehicleId());
+                Inspection inspection = new Inspection();
+                inspection.setInspectionDate(request.getInspectionDate());
+                inspection.setStatus(normalizeStatus(request.getStatus()));
+                inspection.setVehicle(vehicleRef);
+                tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+                return inspectionRepository.save(inspection);
+            });
         } catch (VehicleNotFoundException | IllegalArgumentException e) {
             throw e;
         } catch (DataAccessException dae) {
@@ -93,27 +400,170 @@ public class InspectionService {
 
     @Transactional
     /**
-     * Partially update an inspection by applying non-null fields.
+     * Create many inspections in one transaction, inserting them in JDBC batches.
+     * <p>
+     * Invalid payloads and items referencing a vehicle that does not exist are rejected per item
+     * without affecting the rest of the batch. With sharding, each shard stores its share of the batch in a
+     * transaction of its own.
+     *
+     * @param requests inspections to create (must not be null)
+     * @return per-item results in request order
+     */
+    public BatchResult createBatch(List<InspectionRequest> requests) {
+        Objects.requireNonNull(requests, "Inspection batch must not be null");
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = BatchSupport.violations(validator, requests.get(i));
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+                continue;
+            }
+            candidates.add(i);
+        }
+        List<List<Integer>> byShard = shards.partition(candidates, i -> shards.shardOfId(requests.get(i).getVehicleId()));
+        try {
+            // each shard fills in the results of its own items only
+            shards.scatterWrite(shard -> createOnShard(byShard.get(shard), requests, results));
+        } catch (DataAccessException dae) {
+            throw new ServiceException("Error creating inspection batch", dae);
+        }
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Store the valid items of a batch whose vehicles belong to the current shard.
+     *
+     * @param candidates request indexes of the items
+     * @return number of inspections created
+     */
+    private int createOnShard(List<Integer> candidates, List<InspectionRequest> requests, BatchItemResult[] results) {
+        Set<Long> vehicleIds = new HashSet<>();
+        candidates.forEach(i -> vehicleIds.add(requests.get(i).getVehicleId()));
+        Set<Long> existingVehicles = BatchSupport.lookupInChunks(vehicleIds, vehicleRepository::findIdsIn);
+        List<Inspection> toSave = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i : candidates) {
+            InspectionRequest request = requests.get(i);
+            if (!existingVehicles.contains(request.getVehicleId())) {
+                results[i] = BatchItemResult.rejected(i, "Vehicle " + request.getVehicleId() + " not found.");
+                continue;
+            }
+            toSave.add(Inspection.builder()
+                                 .inspectionDate(request.getInspectionDate())
+                                 .status(normalizeStatus(request.getStatus()))
+                                 .vehicle(vehicleRepository.getReferenceById(request.getVehicleId()))
+                                 .build());
+            positions.add(i);
+        }
+        BatchSupport.persistInBatches(inspectionRepository, entityManager, toSave);
+        if (!toSave.isEmpty()) {
+            tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+        }
+        for (int k = 0; k < toSave.size(); k++) {
+            results[positions.get(k)] = BatchItemResult.created(positions.get(k), toSave.get(k).getId());
+        }
+        return toSave.size();
+    }
+
+    @Transactional
+    /**
+     * Partially update an inspection by applying non-null fields, as a single {@code UPDATE ... RETURNING}
+     * without reading the inspection first. The returned inspection carries its vehicle. With sharding, the
+     * inspection can only be moved to a vehicle on its own shard. When {@code inspection} carries a version,
+     * the inspection is only updated if it still has that version.
      *
      * @param id         identifier of the inspection to update (must not be null)
      * @param inspection partial inspection
      * @return updated inspection
+     * @throws PreconditionFailedException when the inspection no longer has the version of {@code inspection}
+     * @throws CrossShardMoveException when the new vehicle is stored on another shard
      */
     public Inspection update(Long id, Inspection inspection) {
         Objects.requireNonNull(inspection, "Inspection must not be null");
         Objects.requireNonNull(id, "Id must not be null");
-        Inspection existing = getById(id);
         // Only update fields that are explicitly provided (non-null) to preserve existing values
-        if (inspection.getInspectionDate() != null) {
-            existing.setInspectionDate(inspection.getInspectionDate());
+        Map<String, Object> columns = columns(inspection.getInspectionDate(), inspection.getStatus(),
+                inspection.getVehicle() == null ? null : inspection.getVehicle().getId());
+        if (columns.isEmpty()) {
+            return getById(id);
+        }
+        int shard = shards.shardOfId(id);
+        Long vehicleId = (Long) columns.get(InspectionRepository.VEHICLE_ID);
+        if (vehicleId != null && shards.shardOfId(vehicleId) != shard) {
+            throw new CrossShardMoveException("Vehicle " + vehicleId + " is stored on another shard than inspection " + id);
         }
-        if (inspection.getStatus() != null) {
-            existing.setStatus(inspection.getStatus());
+        Inspection updated = shards.onShard(shard, () -> {
+            try {
+                Optional<Inspection> stored = inspection.getVersion() == null
+                        ? inspectionRepository.updateColumns(id, columns)
+                        : inspectionRepository.updateColumns(id, columns, inspection.getVersion());
+                return stored.orElseThrow(() -> new InspectionNotFoundException("Inspection not found"));
+            } catch (DataIntegrityViolationException e) {
+                throw missingVehicleOr(e, columns);
+            }
+        });
+        responses.evictAfterCommit(id);
+        tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+        return updated;
+    }
+
+    @Transactional
+    /**
+     * Apply the same partial update to every inspection matching a filter, as one set-based
+     * {@code UPDATE} in a single transaction. Statuses in both the filter and the new values are normalized.
+     * With sharding, the update runs on every shard, each in its own transaction, and cannot move
+     * inspections to another vehicle.
+     *
+     * @param where filter selecting the inspections (must not be null, at least one criterion)
+     * @param set   values to apply; only non-null fields are written (must not be null, at least one field)
+     * @return number of inspections updated
+     * @throws CrossShardMoveException when sharded and {@code set} names a vehicle
+     */
+    public int bulkUpdate(InspectionFilter where, InspectionUpdateRequest set) {
+        Objects.requireNonNull(where, "Filter must not be null");
+        Objects.requireNonNull(set, "Update values must not be null");
+        Map<String, Object> columns = columns(set.getInspectionDate(), set.getStatus(), set.getVehicleId());
+        if (columns.isEmpty()) {
+            throw new ConstraintViolationException("At least one field to update must be provided", Set.of());
         }
-        if (inspection.getVehicle() != null) {
-            existing.setVehicle(inspection.getVehicle());
+        if (shards.isSharded() && columns.containsKey(InspectionRepository.VEHICLE_ID)) {
+            throw new CrossShardMoveException("vehicleId cannot be bulk updated across shards");
+        }
+        InspectionFilter filter = new InspectionFilter(where.getIds(), normalizeStatus(where.getStatus()),
+                where.getVehicleId(), where.getInspectedFrom(), where.getInspectedTo());
+        try {
+            // the matching ids are not known, so nothing cached may survive the update
+            responses.evictAllAfterCommit();
+            tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+            if (filter.getVehicleId() != null) {
+                return onVehicleShard(filter.getVehicleId(), () -> inspectionRepository.updateMatching(filter, columns));
+            }
+            return shards.scatterWrite(shard -> inspectionRepository.updateMatching(filter, columns))
+                         .stream().mapToInt(Integer::intValue).sum();
+        } catch (DataIntegrityViolationException e) {
+            throw missingVehicleOr(e, columns);
         }
-        return inspectionRepository.save(existing);
+    }
+
+    /** Map the supplied (non-null) values to inspection columns, normalizing the status. */
+    private static Map<String, Object> columns(LocalDate inspectionDate, String status, Long vehicleId) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (inspectionDate != null) {
+            columns.put(InspectionRepository.INSPECTION_DATE, inspectionDate);
+        }
+        if (status != null) {
+            columns.put(InspectionRepository.STATUS, normalizeStatus(status));
+        }
+        if (vehicleId != null) {
+            columns.put(InspectionRepository.VEHICLE_ID, vehicleId);
+        }
+        return columns;
+    }
+
+    /** A constraint violation while repointing inspections means the vehicle does not exist. */
+    private static RuntimeException missingVehicleOr(DataIntegrityViolationException e, Map<String, Object> columns) {
+        return columns.containsKey(InspectionRepository.VEHICLE_ID) ? new VehicleNotFoundException("Vehicle not found") : e;
     }
 
     @Transactional
@@ -124,9 +574,19 @@ public class InspectionService {
      */
     public void delete(Long id) {
         Objects.requireNonNull(id, "Inspection Id must not be null");
-        Inspection existing = inspectionRepository.findById(id)
-                .orElseThrow(() -> new InspectionNotFoundException("Inspection not found for deletion"));
-        inspectionRepository.delete(existing);
+        shards.onShard(shards.shardOfId(id), () -> {
+            if (inspectionRepository.removeById(id) == 0) {
+                throw new InspectionNotFoundException("Inspection not found for deletion");
+            }
+            responses.evictAfterCommit(id);
+            tableStamps.touchAfterCommit(TableStamps.INSPECTION);
+            return null;
+        });
+    }
+
+    /** Run {@code work} on the shard that stores the vehicle and its inspections. */
+    private <T> T onVehicleShard(Long vehicleId, Supplier<T> work) {
+        return shards.onShard(shards.shardOfId(vehicleId), work);
     }
 
     /**
@@ -163,9 +623,10 @@ public class InspectionService {
     }
 
     /**
-     * Normalize status by trimming and uppercasing.
+     * Normalize status by trimming and uppercasing. Every write path stores statuses in this form so
+     * lookups can compare the indexed column by plain equality.
      */
-    private String normalizeStatus(String status) {
-        return status == null ? null : status.trim().toUpperCase();
+    static String normalizeStatus(String status) {
+        return status == null ? null : status.trim().toUpperCase(Locale.ROOT);
     }
 }
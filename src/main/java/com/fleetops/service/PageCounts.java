@@ -0,0 +1,72 @@
+package com.fleetops.service;
+
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.repository.RowCountEstimator;
+import com.fleetops.shard.ShardRouter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Attaches the total count requested through {@link CountMode} to a listing page, and merges the pages
+ * read from several shards.
+ */
+final class PageCounts {
+
+    private PageCounts() {
+    }
+
+    /**
+     * @param page       page to annotate
+     * @param mode       requested count mode
+     * @param estimator  source of statistics-based estimates
+     * @param table      table the listing reads
+     * @param exactCount runs the exact count; used for {@link CountMode#EXACT} and when no estimate exists
+     * @return {@code page}, with a total count unless {@code mode} is {@link CountMode#NONE}
+     */
+    static <T> CursorPage<T> withCount(CursorPage<T> page, CountMode mode, RowCountEstimator estimator,
+                                       String table, LongSupplier exactCount) {
+        if (mode == null || mode == CountMode.NONE) {
+            return page;
+        }
+        if (mode == CountMode.ESTIMATE) {
+            OptionalLong estimate = estimator.estimate(table);
+            if (estimate.isPresent()) {
+                return page.withTotalCount(estimate.getAsLong(), true);
+            }
+        }
+        return page.withTotalCount(exactCount.getAsLong(), false);
+    }
+
+    /**
+     * Combine the pages each shard read for the same request into the page returned to the client.
+     *
+     * @param pages    one page per shard, each holding up to {@code limit + 1} rows in {@code order}
+     * @param order    seek order of the listing
+     * @param limit    requested page size
+     * @param cursorOf derives the cursor token from the last item of the page
+     * @return the first {@code limit} rows across all shards; counts are summed, and estimated if any part is
+     */
+    static <T> CursorPage<T> merge(List<CursorPage<T>> pages, Comparator<? super T> order, int limit,
+                                   Function<? super T, String> cursorOf) {
+        List<List<T>> rows = new ArrayList<>(pages.size());
+        long total = 0;
+        boolean counted = false;
+        boolean estimated = false;
+        for (CursorPage<T> page : pages) {
+            rows.add(page.getItems());
+            if (page.getTotalCount() != null) {
+                counted = true;
+                total += page.getTotalCount();
+                estimated |= Boolean.TRUE.equals(page.getTotalCountEstimated());
+            }
+        }
+        CursorPage<T> merged = CursorPage.of(ShardRouter.mergeSorted(rows, order, limit + 1), limit, cursorOf);
+        return counted ? merged.withTotalCount(total, estimated) : merged;
+    }
+}
@@ -0,0 +1,7 @@
+package com.fleetops.service;
+
+import com.fleetops.dto.CountMode;
+
+/** Identifies a keyset page request, so that concurrent requests for the same page can share one query. */
+record PageKey(long afterId, int pageSize, CountMode count) {
+}
@@ -1,14 +1,33 @@
 package com.fleetops.service;
 
+import com.fleetops.cache.ReadThroughCache;
+import com.fleetops.cache.ReadThroughCaches;
+import com.fleetops.cache.SingleFlight;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.LookupResult;
+import com.fleetops.dto.VehicleRequest;
+import com.fleetops.dto.VehicleResponse;
 import com.fleetops.entity.Vehicle;
 import com.fleetops.exception.*;
 import com.fleetops.repository.VehicleRepository;
+import com.fleetops.repository.VehicleRepositoryCustom;
+import com.fleetops.repository.RowCountEstimator;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.shard.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 /**
  * Application service encapsulating business logic for {@link com.fleetops.entity.Vehicle}.
@@ -16,15 +35,46 @@ import java.util.Objects;
  * Provides CRUD operations with validation, normalization, and conflict detection
  * (e.g., duplicate license plates). Data-access exceptions are wrapped as
  * {@link com.fleetops.exception.ServiceException} where appropriate.
+ * <p>
+ * Work is routed through {@link ShardRouter}: operations on one vehicle run on the shard owning its id (or,
+ * for new vehicles, its plate), listings are gathered from every shard.
+ * <p>
+ * Reads by id are served from a {@link ReadThroughCache}; writes evict the vehicle, and the cached
+ * inspections that show it, once they commit.
+ * <p>
+ * Every write also bumps the {@link TableStamps} of the vehicle table, and of the inspection table where the
+ * inspections listed with a vehicle change, which lets {@link #getListStamp()} answer conditional list requests.
+ * Concurrent requests for the same page share one query through a {@link SingleFlight}, which the stamp bump
+ * resets so a page read after a write never comes from a query started before it.
  */
 @Service
 @Transactional(readOnly = true)
 public class VehicleService {
 
     private final VehicleRepository repo;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final RowCountEstimator rowCountEstimator;
+    private final ShardRouter shards;
+    private final ReadThroughCaches caches;
+    private final ReadThroughCache<VehicleResponse> responses;
+    private final TableStamps tableStamps;
+    private final SingleFlight<PageKey, CursorPage<VehicleResponse>> pages;
 
-    public VehicleService(VehicleRepository repo) {
+    public VehicleService(VehicleRepository repo, EntityManager entityManager, Validator validator,
+                          RowCountEstimator rowCountEstimator, ShardRouter shards, ReadThroughCaches caches,
+                          TableStamps tableStamps) {
         this.repo = repo;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.rowCountEstimator = rowCountEstimator;
+        this.shards = shards;
+        this.caches = caches;
+        this.tableStamps = tableStamps;
+        this.responses = caches.create(ReadThroughCaches.VEHICLES,
+                id -> shards.onShard(shards.shardOfId(id), () -> repo.findResponseById(id).orElse(null)));
+        this.pages = caches.singleFlight("vehicle-pages");
+        tableStamps.onChange(TableStamps.VEHICLE, pages::forgetAll);
     }
 
     /**
@@ -33,7 +83,75 @@ public class VehicleService {
      * @return list of vehicles
      */
     public List<Vehicle> getAll() {
-        return repo.findAll();
+        return ShardRouter.concat(shards.scatter(shard -> repo.findAll()));
+    }
+
+    /**
+     * Retrieve one keyset page of vehicles ordered by id, projected straight into response models.
+     *
+     * @param after opaque cursor from a previous page, or null for the first page
+     * @param limit requested page size, clamped to {@link CursorPage#MAX_LIMIT}
+     * @param count whether and how to report the total number of vehicles
+     * @return the page and the cursor of the next one
+     */
+    public CursorPage<VehicleResponse> getPage(String after, int limit, CountMode count) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+        return pages.load(new PageKey(afterId, pageSize, count), () -> PageCounts.merge(
+                shards.scatter(shard -> PageCounts.withCount(
+                        new CursorPage<>(repo.findResponsesByIdGreaterThan(afterId, Limit.of(pageSize + 1)), null),
+                        count, rowCountEstimator, "vehicle", repo::count)),
+                Comparator.comparing(VehicleResponse::getId), pageSize, v -> CursorCodec.encodeId(v.getId())));
+    }
+
+    /**
+     * The modification stamp of the vehicle list, which changes whenever a vehicle is written.
+     *
+     * @return the stamp, or empty when the table has none yet
+     */
+    public Optional<TableStamps.Stamp> getListStamp() {
+        return tableStamps.current(TableStamps.VEHICLE);
+    }
+
+    /**
+     * Read a vehicle by id as its response model, without loading the entity into the persistence context.
+     * Served from the read-through cache when enabled.
+     *
+     * @param id vehicle identifier (must not be null)
+     * @return the projected vehicle
+     * @throws VehicleNotFoundException when not found
+     */
+    public VehicleResponse getResponseById(Long id) {
+        Objects.requireNonNull(id, "Vehicle id must not be null");
+        VehicleResponse response = responses.get(id);
+        if (response == null) {
+            throw new VehicleNotFoundException("Vehicle not found");
+        }
+        return response;
+    }
+
+    /**
+     * Read many vehicles by id as response models, with one chunked {@code IN} query instead of a call per id.
+     *
+     * @param ids vehicle identifiers (must not be null)
+     * @return one result per requested id, in request order; unknown ids are marked not found
+     */
+    public List<LookupResult<VehicleResponse>> getResponsesByIds(List<Long> ids) {
+        Objects.requireNonNull(ids, "Vehicle ids must not be null");
+        return BatchSupport.inRequestOrder(ids, chunk -> shards.lookupByIds(chunk, repo::findResponsesByIdIn),
+                                           VehicleResponse::getId);
+    }
+
+    /**
+     * Retrieve vehicles having at least one inspection in the given status (case-insensitive).
+     *
+     * @param status inspection status (must not be null)
+     * @return matching vehicles
+     */
+    public List<Vehicle> getByInspectionStatus(String status) {
+        Objects.requireNonNull(status, "Inspection status must not be null");
+        String normalized = InspectionService.normalizeStatus(status);
+        return ShardRouter.concat(shards.scatter(shard -> repo.findByInspectionStatus(normalized)));
     }
 
     /**
@@ -44,7 +162,8 @@ public class VehicleService {
      */
     public Vehicle getById(Long id) {
         Objects.requireNonNull(id, "Vehicle id must not be null");
-        return repo.findById(id).orElseThrow(() -> new VehicleNotFoundException("Vehicle not found"));
+        return shards.onShard(shards.shardOfId(id), () -> repo.findById(id)
+                .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found")));
     }
 
     @Transactional
@@ -58,54 +177,210 @@ public class VehicleService {
      */
     public Vehicle create(Vehicle v) {
         Objects.requireNonNull(v, "Vehicle must not be null");
+        String normalizedPlate = normalizeLicensePlate(v.getLicensePlate());
+        if (normalizedPlate == null || normalizedPlate.isEmpty()) {
+            throw new IllegalArgumentException("License plate must not be null or empty");
+        }
+        return shards.onShard(shards.shardOfPlate(normalizedPlate), () -> {
+            try {
+                if (repo.existsByLicensePlate(normalizedPlate)) {
+                    throw new LicensePlateAlreadyExistsException(
+                            "Vehicle with license plate " + normalizedPlate + " already exists.");
+                }
+                v.setLicensePlate(normalizedPlate);
+                Vehicle saved = repo.save(v);
+                // nothing cached here yet, but other instances hold finder results the new plate changes
+                responses.evictAfterCommit(saved.getId());
+                tableStamps.touchAfterCommit(TableStamps.VEHICLE);
+                return saved;
+            } catch (LicensePlateAlreadyExistsException | VehicleNotFoundException | IllegalArgumentException e) {
+                throw e;
+            } catch (DataAccessException dataAccessException) {
+                throw new ServiceException("Error creating vehicle", dataAccessException);
+            }
+        });
+    }
+
+    @Transactional
+    /**
+     * Create many vehicles in one transaction, inserting them in JDBC batches.
+     * <p>
+     * Each item is validated on its own: invalid payloads, plates repeated within the batch and plates
+     * already in use are rejected without affecting the other items. With sharding, each shard stores its
+     * share of the batch in a transaction of its own.
+     *
+     * @param requests vehicles to create (must not be null)
+     * @return per-item results in request order
+     */
+    public BatchResult createBatch(List<VehicleRequest> requests) {
+        Objects.requireNonNull(requests, "Vehicle batch must not be null");
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = BatchSupport.violations(validator, requests.get(i));
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+                continue;
+            }
+            String plate = normalizeLicensePlate(requests.get(i).getLicensePlate());
+            if (candidates.putIfAbsent(plate, i) != null) {
+                results[i] = BatchItemResult.rejected(i, "Duplicate license plate " + plate + " in batch.");
+            }
+        }
+        List<List<Map.Entry<String, Integer>>> byShard =
+                shards.partition(candidates.entrySet(), e -> shards.shardOfPlate(e.getKey()));
         try {
-            String normalizedPlate = normalizeLicensePlate(v.getLicensePlate());
-            if (normalizedPlate == null || normalizedPlate.isEmpty()) {
-                throw new IllegalArgumentException("License plate must not be null or empty");
+            // each shard fills in the results of its own items only
+            shards.scatterWrite(shard -> createOnShard(byShard.get(shard), requests, results));
+        } catch (DataAccessException dae) {
+            throw new ServiceException("Error creating vehicle batch", dae);
+        }
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Store the valid, distinct-plate items of a batch that belong to the current shard.
+     *
+     * @param candidates normalized plate and request index of each item
+     * @return number of vehicles created
+     */
+    private int createOnShard(List<Map.Entry<String, Integer>> candidates, List<VehicleRequest> requests,
+                              BatchItemResult[] results) {
+        Set<String> taken = BatchSupport.lookupInChunks(candidates.stream().map(Map.Entry::getKey).toList(),
+                                                        repo::findLicensePlatesIn);
+        List<Vehicle> toSave = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (Map.Entry<String, Integer> candidate : candidates) {
+            String plate = candidate.getKey();
+            int i = candidate.getValue();
+            if (taken.contains(plate)) {
+                results[i] = BatchItemResult.rejected(i, "Vehicle with license plate " + plate + " already exists.");
+                continue;
             }
-            if (repo.existsByLicensePlate(normalizedPlate)) {
-                throw new LicensePlateAlreadyExistsException(
-                        "Vehicle with license plate " + normalizedPlate + " already exists.");
+            VehicleRequest request = requests.get(i);
+            toSave.add(Vehicle.builder().licensePlate(plate).make(request.getMake()).model(request.getModel()).build());
+            positions.add(i);
+        }
+        BatchSupport.persistInBatches(repo, entityManager, toSave);
+        responses.evictAfterCommit(toSave.stream().map(Vehicle::getId).toList());
+        if (!toSave.isEmpty()) {
+            tableStamps.touchAfterCommit(TableStamps.VEHICLE);
+        }
+        for (int k = 0; k < toSave.size(); k++) {
+            results[positions.get(k)] = BatchItemResult.created(positions.get(k), toSave.get(k).getId());
+        }
+        return toSave.size();
+    }
+
+    @Transactional
+    /**
+     * Create the vehicle, or update make and model of the vehicle that already has its (normalized) plate,
+     * in a single {@code INSERT ... ON CONFLICT DO UPDATE} round trip.
+     *
+     * @param request vehicle to store (must not be null); invalid payloads raise a constraint violation
+     * @return the stored vehicle
+     */
+    public Vehicle upsert(VehicleRequest request) {
+        Objects.requireNonNull(request, "Vehicle must not be null");
+        return upsertBatch(List.of(request)).get(0);
+    }
+
+    @Transactional
+    /**
+     * Create or update many vehicles by plate in one transaction, one upsert statement per chunk of rows.
+     * <p>
+     * The batch is validated up front and rejected as a whole if any item is invalid. When a plate occurs
+     * more than once the last occurrence wins. With sharding, each shard commits its share on its own.
+     *
+     * @param requests vehicles to store (must not be null)
+     * @return the stored vehicle for each request, in request order
+     */
+    public List<Vehicle> upsertBatch(List<VehicleRequest> requests) {
+        Objects.requireNonNull(requests, "Vehicle batch must not be null");
+        Set<ConstraintViolation<VehicleRequest>> violations = new LinkedHashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i) == null) {
+                throw new ConstraintViolationException("Vehicle at index " + i + " must not be null", Set.of());
             }
-            v.setLicensePlate(normalizedPlate);
-            return repo.save(v);
-        } catch (LicensePlateAlreadyExistsException | VehicleNotFoundException | IllegalArgumentException e) {
-            throw e;
-        } catch (DataAccessException dataAccessException) {
-            throw new ServiceException("Error creating vehicle", dataAccessException);
+            violations.addAll(validator.validate(requests.get(i)));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        Map<String, Vehicle> byPlate = new LinkedHashMap<>();
+        for (VehicleRequest request : requests) {
+            String plate = normalizeLicensePlate(request.getLicensePlate());
+            byPlate.put(plate, normalizedForUpsert(plate, request.getMake(), request.getModel()));
         }
+        List<List<Vehicle>> byShard = shards.partition(byPlate.values(), v -> shards.shardOfPlate(v.getLicensePlate()));
+        List<Long> written = new ArrayList<>();
+        try {
+            for (VehicleRepositoryCustom.Upserted onShard : shards.scatterWrite(shard -> repo.upsertByLicensePlate(byShard.get(shard)))) {
+                onShard.written().forEach(stored -> {
+                    byPlate.put(stored.getLicensePlate(), stored);
+                    written.add(stored.getId());
+                });
+                onShard.unchanged().forEach(stored -> byPlate.put(stored.getLicensePlate(), stored));
+            }
+        } catch (DataAccessException dae) {
+            throw new ServiceException("Error upserting vehicle batch", dae);
+        }
+        // vehicles resent unchanged keep their version, cache entries and list stamps
+        if (!written.isEmpty()) {
+            evictAfterCommit(written);
+        }
+        return requests.stream().map(r -> byPlate.get(normalizeLicensePlate(r.getLicensePlate()))).toList();
     }
 
     @Transactional
     /**
      * Apply a partial update to an existing vehicle. Only non-null fields in {@code patch}
-     * are applied.
+     * are applied, as a single {@code UPDATE ... RETURNING} without reading the vehicle first.
+     * When {@code patch} carries a version, the vehicle is only updated if it still has that version.
+     * A plate already used by another vehicle is reported by the unique constraint. With sharding, the new
+     * plate must belong to the vehicle's shard, since vehicles do not move between shards.
      *
      * @param id    identifier of the vehicle to update (must not be null)
      * @param patch partial vehicle containing fields to update (must not be null)
      * @return the updated vehicle
+     * @throws PreconditionFailedException when the vehicle no longer has the version of {@code patch}
+     * @throws CrossShardMoveException when the new plate belongs to another shard
      */
     public Vehicle update(Long id, Vehicle patch) {
         Objects.requireNonNull(id, "Vehicle id must not be null");
         Objects.requireNonNull(patch, "Vehicle must not be null");
+        int shard = shards.shardOfId(id);
+        if (patch.getLicensePlate() != null && shards.shardOfPlate(normalizeLicensePlate(patch.getLicensePlate())) != shard) {
+            throw new CrossShardMoveException("License plate " + normalizeLicensePlate(patch.getLicensePlate())
+                                              + " belongs to another shard; register the vehicle anew instead.");
+        }
+        Vehicle updated = shards.onShard(shard, () -> updateColumns(id, patch));
+        evictAfterCommit(List.of(id));
+        return updated;
+    }
+
+    private Vehicle updateColumns(Long id, Vehicle patch) {
+        Map<String, Object> columns = new LinkedHashMap<>();
         try {
-            Vehicle existing = repo.findById(id).orElseThrow(() -> new VehicleNotFoundException("Vehicle not found"));
             if (patch.getLicensePlate() != null) {
-                String normalizedPlate = normalizeLicensePlate(patch.getLicensePlate());
-                if (repo.existsByLicensePlateAndIdNot(normalizedPlate, id)) {
-                    throw new LicensePlateAlreadyExistsException(
-                            "Vehicle with license plate " + normalizedPlate + " already exists.");
-                }
-                existing.setLicensePlate(normalizedPlate);
+                columns.put(VehicleRepository.LICENSE_PLATE, normalizeLicensePlate(patch.getLicensePlate()));
             }
             if (patch.getMake() != null) {
-                existing.setMake(normalizeGeneralString(patch.getMake()));
+                columns.put(VehicleRepository.MAKE, normalizeGeneralString(patch.getMake()));
             }
             if (patch.getModel() != null) {
-                existing.setModel(normalizeGeneralString(patch.getModel()));
+                columns.put(VehicleRepository.MODEL, normalizeGeneralString(patch.getModel()));
+            }
+            if (columns.isEmpty()) {
+                return getById(id);
             }
-            return repo.save(existing);
-        } catch (LicensePlateAlreadyExistsException | VehicleNotFoundException | IllegalArgumentException e) {
+            Optional<Vehicle> updated = patch.getVersion() == null ? repo.updateColumns(id, columns)
+                    : repo.updateColumns(id, columns, patch.getVersion());
+            return updated.orElseThrow(() -> new VehicleNotFoundException("Vehicle not found"));
+        } catch (DuplicateKeyException e) {
+            throw new LicensePlateAlreadyExistsException(
+                    "Vehicle with license plate " + columns.get(VehicleRepository.LICENSE_PLATE) + " already exists.");
+        } catch (VehicleNotFoundException | IllegalArgumentException e) {
             throw e; // let intended exceptions proceed
         } catch (DataAccessException dae) {
             throw new ServiceException("Error updating vehicle", dae);
@@ -120,29 +395,53 @@ public class VehicleService {
      */
     public void delete(Long id) {
         Objects.requireNonNull(id, "Vehicle id must not be null");
-        if (!repo.existsById(id)) {
-            throw new VehicleNotFoundException("Vehicle not found for deletion");
-        }
-        try {
-            repo.deleteById(id);
-        } catch (VehicleNotFoundException e) {
-            throw e;
-        } catch (DataAccessException dae) {
-            throw new ServiceException("Error deleting vehicle", dae);
-        }
+        shards.onShard(shards.shardOfId(id), () -> {
+            try {
+                if (repo.removeById(id) == 0) {
+                    throw new VehicleNotFoundException("Vehicle not found for deletion");
+                }
+                evictAfterCommit(List.of(id));
+                return null;
+            } catch (VehicleNotFoundException e) {
+                throw e;
+            } catch (DataAccessException dae) {
+                throw new ServiceException("Error deleting vehicle", dae);
+            }
+        });
+    }
+
+    /**
+     * Evict the cached vehicles and, since inspections embed their vehicle, every cached inspection; bump the
+     * stamps of both lists for the same reason.
+     */
+    private void evictAfterCommit(Collection<Long> ids) {
+        responses.evictAfterCommit(ids);
+        caches.evictAllAfterCommit(ReadThroughCaches.INSPECTIONS);
+        tableStamps.touchAfterCommit(TableStamps.VEHICLE, TableStamps.INSPECTION);
+    }
+
+    /**
+     * Build the row to upsert: plate already normalized, make and model trimmed.
+     */
+    private Vehicle normalizedForUpsert(String normalizedPlate, String make, String model) {
+        return Vehicle.builder()
+                      .licensePlate(normalizedPlate)
+                      .make(normalizeGeneralString(make))
+                      .model(normalizeGeneralString(model))
+                      .build();
     }
 
     /**
      * Normalize license plate by trimming and uppercasing.
      */
-    private String normalizeLicensePlate(String plate) {
+    static String normalizeLicensePlate(String plate) {
         return plate == null ? null : plate.trim().toUpperCase();
     }
 
     /**
      * Normalize string by trimming whitespace.
      */
-    private String normalizeGeneralString(String dataValue) {
+    static String normalizeGeneralString(String dataValue) {
         return dataValue == null ? null : dataValue.trim();
     }
 }
@@ -0,0 +1,44 @@
+package com.fleetops.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread is bound to.
+ * <p>
+ * {@link ShardedDataSource} reads it whenever a transaction opens its physical connection. An unbound
+ * thread uses the first ("home") shard. A thread stays on one shard for as long as it is bound, because a
+ * transaction that has connected to one shard cannot move to another.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /** Index of the shard the calling thread is bound to, or null when it is not bound. */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run {@code work} with the calling thread bound to {@code shard}. Binding again to the same shard is a
+     * no-op.
+     *
+     * @throws IllegalStateException when the thread is already bound to another shard
+     */
+    static <T> T bind(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        if (previous != null && previous != shard) {
+            throw new IllegalStateException("Thread is bound to shard " + previous + " and cannot use shard " + shard);
+        }
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            }
+        }
+    }
+}
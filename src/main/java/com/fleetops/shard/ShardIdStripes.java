@@ -0,0 +1,68 @@
+package com.fleetops.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Gives every shard its own stripe of the {@code vehicle_seq} and {@code inspection_seq} id blocks.
+ * <p>
+ * Hibernate's pooled optimizer turns each sequence value {@code v} into the block of ids
+ * {@code v - 49 .. v}. Block {@code b} covers ids {@code 50 b + 1 .. 50 b + 50}; shard {@code k} of
+ * {@code n} only ever hands out the blocks with {@code b mod n == k}, by starting its sequences at such a
+ * block and incrementing by {@code 50 n}. {@link ShardRouter#shardOfId} reverses this, so an id alone tells
+ * which shard owns the row. New stripes start above the highest id on any shard.
+ * <p>
+ * Sequences whose increment already matches the shard count are left alone, so this runs once when
+ * sharding is first enabled. Changing the number of shards later would need the existing rows to be
+ * redistributed and is not supported.
+ */
+@Slf4j
+final class ShardIdStripes {
+
+    /** Tables whose ids come from a striped {@code <table>_seq}. */
+    static final List<String> TABLES = List.of("vehicle", "inspection");
+
+    private ShardIdStripes() {
+    }
+
+    static void apply(List<DataSource> shards) {
+        int count = shards.size();
+        long stride = (long) ShardRouter.ID_BLOCK_SIZE * count;
+        List<JdbcTemplate> jdbc = shards.stream().map(JdbcTemplate::new).toList();
+        for (String table : TABLES) {
+            String sequence = table + "_seq";
+            long maxId = 0;
+            boolean striped = true;
+            for (int shard = 0; shard < count; shard++) {
+                Long max = jdbc.get(shard).queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+                maxId = Math.max(maxId, max == null ? 0 : max);
+                striped &= increment(jdbc.get(shard), sequence, shard) == stride;
+            }
+            if (striped) {
+                continue;
+            }
+            long firstFreeBlock = Math.floorDiv(maxId + ShardRouter.ID_BLOCK_SIZE - 1, ShardRouter.ID_BLOCK_SIZE);
+            for (int shard = 0; shard < count; shard++) {
+                long block = firstFreeBlock + Math.floorMod(shard - firstFreeBlock, count);
+                jdbc.get(shard).execute("ALTER SEQUENCE " + sequence + " RESTART WITH "
+                                        + (block + 1) * ShardRouter.ID_BLOCK_SIZE + " INCREMENT BY " + stride);
+            }
+            log.info("Striped {} over {} shards above id {}", sequence, count, maxId);
+        }
+    }
+
+    private static long increment(JdbcTemplate jdbc, String sequence, int shard) {
+        List<String> increments = jdbc.queryForList(
+                "SELECT CAST(increment AS VARCHAR(20)) FROM information_schema.sequences"
+                + " WHERE UPPER(sequence_name) = ? AND UPPER(sequence_schema) = UPPER(CURRENT_SCHEMA)",
+                String.class, sequence.toUpperCase(Locale.ROOT));
+        if (increments.isEmpty()) {
+            throw new IllegalStateException("Sequence " + sequence + " is missing on shard " + shard);
+        }
+        return Long.parseLong(increments.get(0).trim());
+    }
+}
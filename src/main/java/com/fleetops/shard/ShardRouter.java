@@ -0,0 +1,476 @@
+package com.fleetops.shard;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.*;
+
+/**
+ * Routes fleet data to the shard that owns it and fans queries out over all shards.
+ * <p>
+ * With {@code fleetops.sharding.enabled}, vehicles and the inspections that belong to them are spread over
+ * the configured shard databases; drivers stay on the first ("home") shard. A new vehicle is placed on the
+ * shard its normalized license plate hashes to, so each plate is only ever stored on one shard and that
+ * shard's unique constraint keeps plates unique overall. Every shard draws ids from its own stripe of the
+ * id sequences (see {@link ShardIdStripes}), so the id of a vehicle or inspection alone names its shard.
+ * <p>
+ * Operations on one vehicle bind the calling thread with {@link #onShard} before their transaction runs its
+ * first statement; since the {@link ShardedDataSource} connects lazily, the transaction then runs on that
+ * shard. Listings, exports and aggregates run once per shard in parallel, each in a transaction of its own,
+ * and are merged by the caller. Writes that span shards commit shard by shard, not atomically.
+ * <p>
+ * With sharding disabled (the default) there is one shard, and every method runs its work on the calling
+ * thread inside the caller's transaction.
+ */
+@Component
+public class ShardRouter {
+
+    /** Ids per sequence value; matches the {@code increment_size} of the entities' id generators. */
+    public static final int ID_BLOCK_SIZE = 50;
+
+    /** Rows buffered per shard while merging ordered streams. */
+    static final int STREAM_BUFFER_SIZE = 1024;
+
+    /** Queue marker for the end of a shard's rows. */
+    private static final Object END = new Object();
+
+    private final int count;
+    private final TransactionTemplate reads;
+    private final TransactionTemplate writes;
+    private final ExecutorService queries;
+    private final ExecutorService streams;
+
+    @Autowired
+    public ShardRouter(ShardingProperties properties, ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.count = properties.shardCount();
+        if (count == 1) {
+            this.reads = null;
+            this.writes = null;
+            this.queries = null;
+            this.streams = null;
+            return;
+        }
+        this.reads = new TransactionTemplate(transactionManager.getObject());
+        this.reads.setReadOnly(true);
+        this.writes = new TransactionTemplate(transactionManager.getObject());
+        int threads = properties.getQueryThreads() > 0 ? properties.getQueryThreads() : 2 * count;
+        this.queries = Executors.newFixedThreadPool(threads, daemonThreads("shard-query-"));
+        // ordered streams hold a thread per shard until the consumer is done; they must never wait for a slot
+        this.streams = Executors.newCachedThreadPool(daemonThreads("shard-stream-"));
+    }
+
+    private ShardRouter() {
+        this.count = 1;
+        this.reads = null;
+        this.writes = null;
+        this.queries = null;
+        this.streams = null;
+    }
+
+    /** A router for an unsharded database, running all work inline. */
+    public static ShardRouter single() {
+        return new ShardRouter();
+    }
+
+    /** Number of shards; 1 when sharding is disabled. */
+    public int count() {
+        return count;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    /** Shard owning the vehicle or inspection with this id. */
+    public int shardOfId(long id) {
+        return count == 1 ? 0 : Math.floorMod(Math.floorDiv(id - 1, ID_BLOCK_SIZE), count);
+    }
+
+    /** Shard a new vehicle with this normalized license plate is stored on. */
+    public int shardOfPlate(String normalizedPlate) {
+        return count == 1 ? 0 : Math.floorMod(normalizedPlate.hashCode(), count);
+    }
+
+    /**
+     * Run {@code work} on the calling thread bound to {@code shard}. Call it at the start of a transactional
+     * method, before the transaction has run a statement.
+     *
+     * @throws IllegalStateException when the thread is already bound to another shard
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        return count == 1 ? work.get() : ShardContext.bind(shard, work);
+    }
+
+    /**
+     * Run {@code work} on one shard after the other, on the calling thread and without a transaction of its
+     * own; for maintenance jobs.
+     *
+     * @return the result for each shard, in shard order
+     */
+    public <T> List<T> onEachShard(IntFunction<T> work) {
+        List<T> results = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int s = shard;
+            results.add(onShard(s, () -> work.apply(s)));
+        }
+        return results;
+    }
+
+    /**
+     * Run {@code work} in a read-only transaction on {@code shard} from a thread that cannot bind to it, e.g.
+     * one already bound to another shard.
+     */
+    public <T> T read(int shard, Supplier<T> work) {
+        if (count == 1 || Objects.equals(ShardContext.current(), shard)) {
+            return work.get();
+        }
+        return await(List.of(queries.submit(() -> inTransaction(shard, reads, work)))).get(0);
+    }
+
+    /**
+     * Run {@code work} once per shard in parallel, each in its own read-only transaction.
+     *
+     * @return the result for each shard, in shard order
+     */
+    public <T> List<T> scatter(IntFunction<T> work) {
+        return fanOut(work, reads);
+    }
+
+    /**
+     * Run {@code work} once per shard in parallel, each in its own read-write transaction. Each shard commits
+     * on its own; a failure on one shard does not roll back the others.
+     *
+     * @return the result for each shard, in shard order
+     */
+    public <T> List<T> scatterWrite(IntFunction<T> work) {
+        return fanOut(work, writes);
+    }
+
+    /**
+     * Split {@code items} by owning shard, keeping their order.
+     *
+     * @return one list per shard, in shard order; empty for shards owning none of the items
+     */
+    public <T> List<List<T>> partition(Collection<T> items, ToIntFunction<? super T> shardOf) {
+        List<List<T>> parts = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            parts.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            parts.get(count == 1 ? 0 : shardOf.applyAsInt(item)).add(item);
+        }
+        return parts;
+    }
+
+    /**
+     * Look up rows by id on the shards owning the ids, in parallel.
+     *
+     * @param lookup finds the rows among ids that all belong to one shard
+     * @return the rows found on any shard
+     */
+    public <V> List<V> lookupByIds(Collection<Long> ids, Function<Collection<Long>, ? extends Collection<V>> lookup) {
+        if (count == 1) {
+            return new ArrayList<>(lookup.apply(ids));
+        }
+        List<List<Long>> parts = partition(ids, this::shardOfId);
+        return concat(scatter(shard -> parts.get(shard).isEmpty()
+                ? List.<V>of() : List.<V>copyOf(lookup.apply(parts.get(shard)))));
+    }
+
+    /**
+     * Stream the rows of every shard to {@code sink} in one global order. Each shard's producer runs in its
+     * own read-only transaction and must emit its rows in {@code order}; at most
+     * {@value #STREAM_BUFFER_SIZE} rows per shard are buffered, so memory stays flat however many rows there
+     * are. Producers are cancelled when the sink fails.
+     */
+    public <T> void scatterOrdered(ShardProducer<T> producer, Comparator<? super T> order, Consumer<? super T> sink) {
+        if (count == 1) {
+            producer.produce(0, sink);
+            return;
+        }
+        checkUnbound();
+        List<BlockingQueue<Object>> queues = new ArrayList<>(count);
+        List<Future<?>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int s = shard;
+            BlockingQueue<Object> queue = new ArrayBlockingQueue<>(STREAM_BUFFER_SIZE);
+            queues.add(queue);
+            futures.add(streams.submit(() -> {
+                try {
+                    inTransaction(s, reads, () -> {
+                        producer.produce(s, row -> put(queue, row));
+                        return null;
+                    });
+                    put(queue, END);
+                } catch (Throwable failure) {
+                    // only this producer writes to the queue, so clearing it makes room for the failure
+                    queue.clear();
+                    queue.offer(new Failure(failure));
+                }
+            }));
+        }
+        try {
+            PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.row(), b.row()));
+            for (int shard = 0; shard < count; shard++) {
+                Head<T> head = take(queues.get(shard), shard);
+                if (head != null) {
+                    heads.add(head);
+                }
+            }
+            while (!heads.isEmpty()) {
+                Head<T> head = heads.poll();
+                sink.accept(head.row());
+                Head<T> next = take(queues.get(head.shard()), head.shard());
+                if (next != null) {
+                    heads.add(next);
+                }
+            }
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * Feed {@code rows} to a loader per shard, each loader running in its own read-write transaction and
+     * receiving, in order, the rows its shard owns. The rows are read once, on the calling thread.
+     *
+     * @return the result of each shard's loader, in shard order
+     */
+    public <T, R> List<R> scatterFeed(Iterator<T> rows, ToIntFunction<? super T> shardOf, ShardLoader<T, R> loader) {
+        if (count == 1) {
+            return Collections.singletonList(loader.load(0, rows));
+        }
+        checkUnbound();
+        List<BlockingQueue<Object>> queues = new ArrayList<>(count);
+        List<Future<R>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int s = shard;
+            BlockingQueue<Object> queue = new ArrayBlockingQueue<>(STREAM_BUFFER_SIZE);
+            queues.add(queue);
+            futures.add(streams.submit(() -> inTransaction(s, writes, () -> loader.load(s, new QueueIterator<>(queue)))));
+        }
+        try {
+            while (rows.hasNext()) {
+                T row = rows.next();
+                int shard = shardOf.applyAsInt(row);
+                offer(queues.get(shard), row, futures.get(shard));
+            }
+            for (int shard = 0; shard < count; shard++) {
+                offer(queues.get(shard), END, futures.get(shard));
+            }
+            return await(futures);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * Merge lists that are each sorted by {@code order} into their first {@code limit} rows.
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> sorted, Comparator<? super T> order, int limit) {
+        if (sorted.size() == 1) {
+            List<T> only = sorted.get(0);
+            return only.size() > limit ? only.subList(0, limit) : only;
+        }
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.row(), b.row()));
+        int[] next = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!sorted.get(i).isEmpty()) {
+                heads.add(new Head<>(i, sorted.get(i).get(0)));
+                next[i] = 1;
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            merged.add(head.row());
+            List<T> source = sorted.get(head.shard());
+            if (next[head.shard()] < source.size()) {
+                heads.add(new Head<>(head.shard(), source.get(next[head.shard()]++)));
+            }
+        }
+        return merged;
+    }
+
+    /** Concatenate per-shard results in shard order. */
+    public static <T> List<T> concat(List<List<T>> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        List<T> all = new ArrayList<>();
+        parts.forEach(all::addAll);
+        return all;
+    }
+
+    /** Emits the rows of one shard, in the merge order, to {@code out}. */
+    @FunctionalInterface
+    public interface ShardProducer<T> {
+        void produce(int shard, Consumer<? super T> out);
+    }
+
+    /** Loads the rows owned by one shard. */
+    @FunctionalInterface
+    public interface ShardLoader<T, R> {
+        R load(int shard, Iterator<T> rows);
+    }
+
+    private <T> List<T> fanOut(IntFunction<T> work, TransactionTemplate transaction) {
+        if (count == 1) {
+            return Collections.singletonList(work.apply(0));
+        }
+        checkUnbound();
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int s = shard;
+            futures.add(queries.submit(() -> inTransaction(s, transaction, () -> work.apply(s))));
+        }
+        return await(futures);
+    }
+
+    private static <T> T inTransaction(int shard, TransactionTemplate transaction, Supplier<T> work) {
+        return ShardContext.bind(shard, () -> transaction.execute(status -> work.get()));
+    }
+
+    /** Fan-out from a bound thread would wait for the pool from inside a transaction; refuse it. */
+    private static void checkUnbound() {
+        Integer bound = ShardContext.current();
+        if (bound != null) {
+            throw new IllegalStateException("Cannot query all shards from a thread bound to shard " + bound);
+        }
+    }
+
+    private static <T> List<T> await(List<Future<T>> futures) {
+        try {
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards", e);
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable failure) {
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(failure);
+    }
+
+    private static void put(BlockingQueue<Object> queue, Object item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Shard stream cancelled");
+        }
+    }
+
+    /** Hand a row to a loader, giving up when the loader has already stopped. */
+    private static void offer(BlockingQueue<Object> queue, Object item, Future<?> loader) {
+        try {
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                if (loader.isDone()) {
+                    loader.get();
+                    throw new IllegalStateException("Shard loader stopped before reading all rows");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while feeding shards", e);
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Head<T> take(BlockingQueue<Object> queue, int shard) {
+        try {
+            Object item = queue.take();
+            if (item == END) {
+                return null;
+            }
+            if (item instanceof Failure failure) {
+                throw unchecked(failure.cause());
+            }
+            return new Head<>(shard, (T) item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading shards", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger next = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + next.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (queries != null) {
+            queries.shutdownNow();
+            streams.shutdownNow();
+        }
+    }
+
+    /** Next row of a shard in a k-way merge. */
+    private record Head<T>(int shard, T row) {
+    }
+
+    private record Failure(Throwable cause) {
+    }
+
+    /** Rows handed over through a queue until {@link #END}. */
+    private static final class QueueIterator<T> implements Iterator<T> {
+        private final BlockingQueue<Object> queue;
+        private Object next;
+
+        QueueIterator(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Shard load cancelled");
+                }
+            }
+            return next != END;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T row = (T) next;
+            next = null;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.fleetops.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application datasource when sharding is enabled: connects each transaction to the shard its thread is
+ * bound to (see {@link ShardContext}), or to the home shard when the thread is not bound.
+ * <p>
+ * Connections are handed out lazily, so a transaction can begin before the service has decided which shard
+ * it works on; the physical connection is only taken from that shard's pool when the first statement runs.
+ */
+public class ShardedDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final List<HikariDataSource> shards;
+
+    public ShardedDataSource(List<HikariDataSource> shards) {
+        super(router(shards));
+        this.shards = List.copyOf(shards);
+    }
+
+    private static DataSource router(List<? extends DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ShardContext.current();
+            }
+        };
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(shards.get(0));
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        return router;
+    }
+
+    /** The datasource of each shard, in shard order. */
+    public List<DataSource> shards() {
+        return List.copyOf(shards);
+    }
+
+    @Override
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fleetops.shard;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the Liquibase changelog against every shard in turn, then stripes the id sequences over the shards
+ * (see {@link ShardIdStripes}). Replaces Spring Boot's single-datasource Liquibase bean when sharding is
+ * enabled.
+ */
+class ShardedLiquibase extends SpringLiquibase {
+
+    private final ShardedDataSource shards;
+
+    ShardedLiquibase(ShardedDataSource shards, String changeLog) {
+        this.shards = shards;
+        setChangeLog(changeLog);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        for (DataSource shard : shards.shards()) {
+            setDataSource(shard);
+            super.afterPropertiesSet();
+        }
+        ShardIdStripes.apply(shards.shards());
+    }
+}
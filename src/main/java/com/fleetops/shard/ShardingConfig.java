@@ -0,0 +1,61 @@
+package com.fleetops.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.id.SequenceMismatchStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datasource, schema migration and Hibernate settings for {@code fleetops.sharding.enabled=true}.
+ * <p>
+ * Builds one connection pool per configured shard behind a {@link ShardedDataSource}, which then takes the
+ * place of the auto-configured application datasource, and migrates every shard with Liquibase.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "fleetops.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardedDataSource dataSource(ShardingProperties properties) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < properties.shardCount(); i++) {
+            ShardingProperties.Shard shard = properties.getShards().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                                                     .type(HikariDataSource.class)
+                                                     .url(shard.getUrl())
+                                                     .username(shard.getUsername())
+                                                     .password(shard.getPassword())
+                                                     .build();
+            pool.setPoolName("shard-" + i);
+            pools.add(pool);
+        }
+        return new ShardedDataSource(pools);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.liquibase", name = "enabled", matchIfMissing = true)
+    ShardedLiquibase liquibase(ShardedDataSource dataSource,
+                               @Value("${spring.liquibase.change-log:classpath:/db/changelog/db.changelog-master.xml}") String changeLog) {
+        return new ShardedLiquibase(dataSource, changeLog);
+    }
+
+    /**
+     * Striped sequences increment by a multiple of the {@code increment_size} of 50; keep Hibernate handing
+     * out blocks of 50 below each value instead of failing on the mismatch.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer stripedSequences() {
+        return properties -> properties.put(AvailableSettings.SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY,
+                                            SequenceMismatchStrategy.NONE);
+    }
+}
@@ -0,0 +1,41 @@
+package com.fleetops.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Configuration
+@ConfigurationProperties(prefix = "fleetops.sharding")
+public class ShardingProperties {
+    /** Spread vehicles and inspections over {@link #shards}; when false the regular datasource is used. */
+    private boolean enabled = false;
+    /** Shard databases; the first one is the home shard that also holds drivers. */
+    private List<Shard> shards = new ArrayList<>();
+    /** Threads running per-shard queries in parallel; 0 means two per shard. */
+    private int queryThreads = 0;
+
+    /** Number of shards in use: the configured ones when enabled, otherwise the single regular database. */
+    public int shardCount() {
+        if (!enabled) {
+            return 1;
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("fleetops.sharding.enabled requires at least one fleetops.sharding.shards entry");
+        }
+        return shards.size();
+    }
+
+    @Setter
+    @Getter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
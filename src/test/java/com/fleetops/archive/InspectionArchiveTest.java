@@ -0,0 +1,82 @@
+package com.fleetops.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InspectionArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private static ArchivedInspection row(long id, String date, String status, long vehicleId) {
+        return new ArchivedInspection(id, LocalDate.parse(date), status, vehicleId);
+    }
+
+    @Test
+    void findById_ShouldReadRowsBackFromEverySegment() {
+        InspectionArchive archive = new InspectionArchive(directory);
+        archive.append(List.of(row(3, "2015-01-10", "PASSED", 7), row(1, "2015-02-01", null, 9)));
+        archive.append(List.of(row(20, "2016-03-03", "FAILED", 7)));
+
+        assertEquals(Optional.of(row(1, "2015-02-01", null, 9)), archive.findById(1));
+        assertEquals(Optional.of(row(20, "2016-03-03", "FAILED", 7)), archive.findById(20));
+        assertTrue(archive.findById(2).isEmpty());
+        assertTrue(archive.contains(3));
+        assertEquals(2, archive.findAllById(List.of(1L, 2L, 20L)).size());
+    }
+
+    @Test
+    void findHistory_ShouldMergeSegmentsNewestFirstAndSeekPastTheCursor() {
+        InspectionArchive archive = new InspectionArchive(directory);
+        archive.append(List.of(row(1, "2015-01-01", "PASSED", 7), row(2, "2015-06-01", "PASSED", 7),
+                               row(5, "2015-06-01", "FAILED", 7), row(3, "2015-03-01", "PASSED", 8)));
+        archive.append(List.of(row(10, "2015-04-01", "PASSED", 7), row(11, "2016-01-01", "PASSED", 7)));
+
+        assertEquals(List.of(11L, 5L, 2L), ids(archive.findHistory(7, null, 0, 3)));
+        assertEquals(List.of(2L, 10L, 1L), ids(archive.findHistory(7, LocalDate.parse("2015-06-01"), 5, 10)));
+        assertEquals(5, archive.countByVehicleId(7));
+        assertEquals(0, archive.countByVehicleId(99));
+        assertTrue(archive.findHistory(99, null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void streamById_ShouldYieldEveryRowInAscendingIdOrder() {
+        InspectionArchive archive = new InspectionArchive(directory);
+        archive.append(List.of(row(4, "2015-01-01", "PASSED", 2), row(1, "2015-01-02", "PASSED", 9)));
+        archive.append(List.of(row(3, "2014-01-01", "PASSED", 5), row(7, "2014-01-02", "PASSED", 1)));
+
+        assertEquals(List.of(1L, 3L, 4L, 7L), ids(archive.streamById().toList()));
+    }
+
+    @Test
+    void constructor_ShouldReopenSegmentsWrittenEarlierAndIgnoreTemporaryFiles() throws Exception {
+        new InspectionArchive(directory).append(List.of(row(42, "2014-05-05", "PASSED", 3)));
+        Files.writeString(directory.resolve("inspection-partial.seg.tmp"), "junk");
+
+        InspectionArchive reopened = new InspectionArchive(directory);
+
+        assertFalse(reopened.isEmpty());
+        assertEquals(Optional.of(row(42, "2014-05-05", "PASSED", 3)), reopened.findById(42));
+    }
+
+    @Test
+    void constructor_WhenDirectoryMissing_ShouldStartEmpty() {
+        InspectionArchive archive = new InspectionArchive(directory.resolve("missing"));
+        assertTrue(archive.isEmpty());
+        assertTrue(archive.findById(1).isEmpty());
+        archive.append(List.of());
+        assertTrue(archive.isEmpty());
+    }
+
+    private static List<Long> ids(List<ArchivedInspection> rows) {
+        return rows.stream().map(ArchivedInspection::id).toList();
+    }
+}
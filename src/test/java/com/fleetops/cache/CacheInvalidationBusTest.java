@@ -0,0 +1,98 @@
+package com.fleetops.cache;
+
+import com.fleetops.shard.ShardingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationBusTest {
+
+    private static CacheInvalidationBus bus(CacheInvalidationProperties properties) {
+        return new CacheInvalidationBus(properties,
+                new StaticListableBeanFactory().getBeanProvider(JdbcTemplate.class),
+                new StaticListableBeanFactory().getBeanProvider(DataSourceProperties.class), new ShardingProperties());
+    }
+
+    @Test
+    void encode_ShouldRoundTripAndLetEvictAllWin() {
+        InvalidationBatch batch = new InvalidationBatch();
+        batch.add("vehicles", List.of(1L, 2L));
+        batch.add("vehicles", List.of(2L, 3L));
+        batch.add("inspections", List.of(7L));
+        batch.add("inspections", null);
+        batch.add("inspections", List.of(8L));
+        batch.add("drivers", List.of());
+
+        String payload = batch.encode("node1");
+
+        assertEquals("node1|vehicles:1,2,3;inspections:*", payload);
+        assertEquals("node1", InvalidationBatch.originOf(payload));
+        assertEquals(payload, InvalidationBatch.decode(payload).encode("node1"));
+    }
+
+    @Test
+    void encode_WhenTooLongForNotify_ShouldEvictWholeCaches() {
+        InvalidationBatch batch = new InvalidationBatch();
+        batch.add("vehicles", LongStream.range(1_000_000, 1_002_000).boxed().toList());
+        batch.add("drivers", List.of(1L));
+
+        assertEquals("node1|vehicles:*;drivers:*", batch.encode("node1"));
+    }
+
+    @Test
+    void receive_ShouldMergeABurstIntoOneEvictionPerCache() {
+        CacheInvalidationBus bus = bus(new CacheInvalidationProperties());
+        List<Collection<Long>> vehicles = new ArrayList<>();
+        List<Collection<Long>> inspections = new ArrayList<>();
+        bus.subscribe("vehicles", vehicles::add);
+        bus.subscribe("inspections", inspections::add);
+
+        bus.receive(List.of("a|vehicles:1,2;inspections:*", "b|vehicles:2,3", "c|inspections:9"));
+
+        assertEquals(List.of(Set.of(1L, 2L, 3L)), vehicles);
+        assertEquals(Arrays.asList((Collection<Long>) null), inspections);
+    }
+
+    @Test
+    void receive_WhenPayloadIsUnreadable_ShouldClearEverySubscribedCache() {
+        CacheInvalidationBus bus = bus(new CacheInvalidationProperties());
+        List<Collection<Long>> vehicles = new ArrayList<>();
+        bus.subscribe("vehicles", vehicles::add);
+
+        bus.receive(List.of("a|vehicles:x"));
+
+        assertEquals(Arrays.asList((Collection<Long>) null), vehicles);
+    }
+
+    @Test
+    void publish_WhenDisabled_ShouldSendNothing() {
+        CacheInvalidationBus bus = bus(new CacheInvalidationProperties());
+
+        assertDoesNotThrow(() -> bus.publish("vehicles", List.of(1L)));
+    }
+
+    @Test
+    void enabled_WithoutPostgres_ShouldBeRefused() {
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setEnabled(true);
+        ShardingProperties sharding = new ShardingProperties();
+        sharding.setEnabled(true);
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setUrl("jdbc:h2:mem:fleetops");
+        sharding.setShards(List.of(shard));
+
+        assertThrows(IllegalStateException.class, () -> new CacheInvalidationBus(properties,
+                new StaticListableBeanFactory().getBeanProvider(JdbcTemplate.class),
+                new StaticListableBeanFactory().getBeanProvider(DataSourceProperties.class), sharding));
+    }
+}
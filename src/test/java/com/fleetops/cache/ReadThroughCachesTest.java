@@ -0,0 +1,133 @@
+package com.fleetops.cache;
+
+import com.fleetops.shard.ShardingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadThroughCachesTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private CacheInvalidationBus invalidations;
+    private ReadThroughCaches caches;
+
+    @BeforeEach
+    void setUp() {
+        ReadThroughCacheProperties properties = new ReadThroughCacheProperties();
+        properties.setEnabled(true);
+        invalidations = new CacheInvalidationBus(new CacheInvalidationProperties(),
+                new StaticListableBeanFactory().getBeanProvider(JdbcTemplate.class),
+                new StaticListableBeanFactory().getBeanProvider(DataSourceProperties.class), new ShardingProperties());
+        caches = new ReadThroughCaches(properties,
+                new StaticListableBeanFactory().getBeanProvider(PlatformTransactionManager.class),
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class),
+                new StaticListableBeanFactory(Map.of("invalidations", invalidations))
+                        .getBeanProvider(CacheInvalidationBus.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ReadThroughCache<String> vehicles() {
+        return caches.create(ReadThroughCaches.VEHICLES, id -> {
+            loads.incrementAndGet();
+            return id > 0 ? "vehicle-" + id + "-v" + loads.get() : null;
+        });
+    }
+
+    @Test
+    void get_ShouldLoadOncePerId() {
+        ReadThroughCache<String> cache = vehicles();
+
+        assertEquals("vehicle-1-v1", cache.get(1L));
+        assertEquals("vehicle-1-v1", cache.get(1L));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenLoaderFindsNothing_ShouldNotRememberTheMiss() {
+        ReadThroughCache<String> cache = vehicles();
+
+        assertNull(cache.get(-1L));
+        assertNull(cache.get(-1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictAfterCommit_ShouldKeepEntryUntilTheTransactionCommits() {
+        ReadThroughCache<String> cache = vehicles();
+        cache.get(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit(1L);
+        assertEquals("vehicle-1-v1", cache.get(1L));
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertEquals("vehicle-1-v2", cache.get(1L));
+    }
+
+    @Test
+    void evictAllAfterCommit_ByName_OutsideTransaction_ShouldEvictNow() {
+        ReadThroughCache<String> cache = vehicles();
+        cache.get(1L);
+        cache.get(2L);
+
+        caches.evictAllAfterCommit(ReadThroughCaches.VEHICLES);
+        caches.evictAllAfterCommit(ReadThroughCaches.DRIVERS);
+
+        assertEquals("vehicle-1-v3", cache.get(1L));
+    }
+
+    @Test
+    void invalidationFromAnotherInstance_ShouldEvictNow() {
+        ReadThroughCache<String> cache = vehicles();
+        cache.get(1L);
+        cache.get(2L);
+
+        invalidations.receive(List.of("other|vehicles:1"));
+
+        assertEquals("vehicle-1-v3", cache.get(1L));
+        assertEquals("vehicle-2-v2", cache.get(2L));
+    }
+
+    @Test
+    void disabled_ShouldAlwaysCallTheLoader() {
+        caches = ReadThroughCaches.disabled();
+        ReadThroughCache<String> cache = vehicles();
+
+        cache.get(1L);
+        cache.get(1L);
+        cache.evictAfterCommit(1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void create_ShouldBindCacheMetrics() {
+        vehicles().get(1L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", ReadThroughCaches.VEHICLES).tag("result", "miss")
+                                  .functionCounter().count());
+        assertNotNull(registry.find("cache.load.duration").tag("cache", ReadThroughCaches.VEHICLES).meter());
+        assertNotNull(registry.find("cache.evictions").tag("cache", ReadThroughCaches.VEHICLES).meter());
+    }
+}
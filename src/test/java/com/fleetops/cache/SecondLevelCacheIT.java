@@ -0,0 +1,93 @@
+package com.fleetops.cache;
+
+import com.fleetops.entity.Driver;
+import com.fleetops.entity.Vehicle;
+import com.fleetops.repository.DriverRepository;
+import com.fleetops.repository.VehicleRepository;
+import com.fleetops.service.DriverService;
+import com.fleetops.service.VehicleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.liquibase.enabled=false", "spring.sql.init.mode=never",
+        "fleetops.cache.second-level.enabled=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+class SecondLevelCacheIT {
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        vehicleRepository.deleteAllInBatch();
+        driverRepository.deleteAllInBatch();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void getById_ShouldCacheVehicle_AndPartialUpdateShouldEvictIt() {
+        Long id = vehicleRepository.save(Vehicle.builder().licensePlate("L2-1").make("Volvo").model("FH").build()).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        vehicleService.getById(id);
+        assertTrue(entityManagerFactory.getCache().contains(Vehicle.class, id));
+
+        Vehicle updated = vehicleService.update(id, new Vehicle(null, null, "Scania", null));
+        assertFalse(entityManagerFactory.getCache().contains(Vehicle.class, id));
+        assertEquals(updated.getMake(), vehicleService.getById(id).getMake());
+    }
+
+    @Test
+    void findByLicensePlate_ShouldFollowPlateChangesMadeOverJdbc() {
+        Long id = vehicleRepository.save(Vehicle.builder().licensePlate("L2-OLD").make("Volvo").model("FH").build()).getId();
+        assertEquals(id, vehicleRepository.findByLicensePlate("L2-OLD").orElseThrow().getId());
+
+        vehicleService.update(id, new Vehicle(null, "L2-NEW", null, null));
+
+        assertTrue(vehicleRepository.findByLicensePlate("L2-OLD").isEmpty());
+        assertEquals(id, vehicleRepository.findByLicensePlate("L2-NEW").orElseThrow().getId());
+    }
+
+    @Test
+    void findResponseById_ShouldNotServeCachedResultAfterUpdate() {
+        Long id = driverRepository.save(Driver.builder().name("Ada").licenseNumber("L2-D1").build()).getId();
+        assertEquals("Ada", driverService.getResponseById(id).getName());
+
+        driverService.update(id, new Driver(null, "Grace", null));
+
+        assertEquals("Grace", driverService.getResponseById(id).getName());
+        assertEquals(id, driverRepository.findByLicenseNumber("L2-D1").orElseThrow().getId());
+    }
+
+    @Test
+    void regions_ShouldBeExposedAsCacheMetrics() {
+        for (String region : CacheRegions.DATA) {
+            assertNotNull(meterRegistry.find("cache.gets").tag("cache", region).tag("result", "hit").meter(), region);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.fleetops.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight<Long, String> flight = new SingleFlight<>("test", registry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private String blockingLoad() {
+        loads.incrementAndGet();
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return "vehicle-" + loads.get();
+    }
+
+    private double calls(String result) {
+        return registry.get("singleflight.calls").tags("name", "test", "result", result).counter().count();
+    }
+
+    private void awaitCalls(String result, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls(result) < expected) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + result + " calls");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void load_ShouldShareInFlightLoadBetweenConcurrentCallers() throws Exception {
+        Future<String> leader = executor.submit(() -> flight.load(1L, this::blockingLoad));
+        awaitCalls("loaded", 1);
+        Future<String> follower = executor.submit(() -> flight.load(1L, this::blockingLoad));
+        awaitCalls("shared", 1);
+
+        release.countDown();
+
+        assertEquals("vehicle-1", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("vehicle-1", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void load_ShouldLoadAgainOnceThePreviousLoadCompleted() {
+        assertEquals("a", flight.load(1L, () -> "a"));
+        assertEquals("b", flight.load(1L, () -> "b"));
+        assertEquals(2.0, calls("loaded"));
+        assertEquals(0.0, calls("shared"));
+    }
+
+    @Test
+    void load_ShouldShareFailureWithFollowers() throws Exception {
+        Future<String> leader = executor.submit(() -> flight.load(1L, () -> {
+            blockingLoad();
+            throw new IllegalStateException("database down");
+        }));
+        awaitCalls("loaded", 1);
+        Future<String> follower = executor.submit(() -> flight.load(1L, this::blockingLoad));
+        awaitCalls("shared", 1);
+
+        release.countDown();
+
+        Exception failure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals("database down", failure.getCause().getMessage());
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void load_ShouldNotShareWithCallerInReadWriteTransaction() throws Exception {
+        Future<String> leader = executor.submit(() -> flight.load(1L, this::blockingLoad));
+        awaitCalls("loaded", 1);
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals("own", flight.load(1L, () -> "own"));
+        Future<String> reader = executor.submit(() -> flight.load(1L, () -> "own"));
+        awaitCalls("shared", 1);
+
+        release.countDown();
+        assertEquals("vehicle-1", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("vehicle-1", reader.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, calls("loaded"));
+    }
+
+    @Test
+    void forget_ShouldStartFreshLoadForLaterCallers() throws Exception {
+        Future<String> stale = executor.submit(() -> flight.load(1L, this::blockingLoad));
+        awaitCalls("loaded", 1);
+
+        flight.forget(1L);
+
+        assertEquals("fresh", flight.load(1L, () -> "fresh"));
+        release.countDown();
+        assertEquals("vehicle-1", stale.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, calls("shared"));
+    }
+}
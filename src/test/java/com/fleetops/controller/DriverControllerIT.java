@@ -98,9 +98,10 @@ class DriverControllerIT {
                     .with(jwt().authorities(() -> "ROLE_USER")))
                     .andExpect(status().isOk())
                     .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_JSON_VALUE)))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].name").value("A"))
-                    .andExpect(jsonPath("$[1].name").value("B"));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].name").value("A"))
+                    .andExpect(jsonPath("$.items[1].name").value("B"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
     }
 
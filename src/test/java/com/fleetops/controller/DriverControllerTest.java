@@ -2,7 +2,10 @@ package com.fleetops.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fleetops.controller.support.ControllerTestConfig;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
 import com.fleetops.dto.DriverRequest;
+import com.fleetops.dto.DriverResponse;
 import com.fleetops.dto.DriverUpdateRequest;
 import com.fleetops.entity.Driver;
 import com.fleetops.exception.DriverNotFoundException;
@@ -57,19 +60,18 @@ class DriverControllerTest {
         @Test
         @DisplayName("GET /api/drivers/{id} returns a driver")
         void getById() throws Exception {
-            Driver d = Driver.builder().id(1L).name("John Doe").licenseNumber("LIC123").build();
-            given(driverService.getById(1L)).willReturn(d);
+            given(driverService.getResponseById(1L)).willReturn(new DriverResponse(1L, "John Doe", "LIC123"));
             mockMvc.perform(get("/api/drivers/1").with(TestAuth.auth())).andExpect(status().isOk())
                    .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_JSON_VALUE)))
                    .andExpect(jsonPath("$.id").value(1)).andExpect(jsonPath("$.name").value("John Doe"))
                    .andExpect(jsonPath("$.licenseNumber").value("LIC123"));
-            verify(driverService).getById(1L);
+            verify(driverService).getResponseById(1L);
         }
 
         @Test
         @DisplayName("GET /api/drivers/{id} not found maps to 404 JSON body")
         void getById_NotFound() throws Exception {
-            given(driverService.getById(404L)).willThrow(new DriverNotFoundException("Driver not found"));
+            given(driverService.getResponseById(404L)).willThrow(new DriverNotFoundException("Driver not found"));
             mockMvc.perform(get("/api/drivers/404").with(TestAuth.auth())).andExpect(status().isNotFound())
                    .andExpect(jsonPath("$.status").value(404)).andExpect(jsonPath("$.error").value("Not Found"))
                    .andExpect(jsonPath("$.message").value(containsString("Driver not found")));
@@ -78,15 +80,15 @@ class DriverControllerTest {
         @Test
         @DisplayName("GET /api/drivers/list returns list of drivers")
         void list() throws Exception {
-            List<Driver> drivers = List.of(
-                    Driver.builder().id(NumberUtils.LONG_ONE).name("A").licenseNumber("L1").build(),
-                    Driver.builder().id(2L).name("B").licenseNumber("L2").build());
-            given(driverService.getAll()).willReturn(drivers);
+            List<DriverResponse> drivers = List.of(
+                    new DriverResponse(NumberUtils.LONG_ONE, "A", "L1"),
+                    new DriverResponse(2L, "B", "L2"));
+            given(driverService.getPage(null, CursorPage.DEFAULT_LIMIT, CountMode.NONE)).willReturn(new CursorPage<>(drivers, null));
             mockMvc.perform(get("/api/drivers/list").with(TestAuth.auth())).andExpect(status().isOk())
                    .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_JSON_VALUE)))
-                   .andExpect(jsonPath("$", hasSize(2))).andExpect(jsonPath("$[0].id").value(1))
-                   .andExpect(jsonPath("$[1].id").value(2));
-            verify(driverService).getAll();
+                   .andExpect(jsonPath("$.items", hasSize(2))).andExpect(jsonPath("$.items[0].id").value(1))
+                   .andExpect(jsonPath("$.items[1].id").value(2)).andExpect(jsonPath("$.nextCursor").doesNotExist());
+            verify(driverService).getPage(null, CursorPage.DEFAULT_LIMIT, CountMode.NONE);
         }
 
         @Test
@@ -184,7 +186,7 @@ class DriverControllerTest {
         @DisplayName("getDriver_shouldReturn403_whenJwtLacksRole")
         void getDriver_shouldReturn403_whenJwtLacksRole() throws Exception {
             // Arrange: make service return something if controller is executed (so we can detect it)
-            given(driverService.getById(1L)).willReturn(Driver.builder().id(1L).name("John").build());
+            given(driverService.getResponseById(1L)).willReturn(new DriverResponse(1L, "John", null));
 
             // Act: perform with a restricted role
             mockMvc.perform(get("/api/drivers/1").with(TestAuth.auth("ROLE_RESTRICTED")))
@@ -192,7 +194,7 @@ class DriverControllerTest {
                    .andExpect(status().isForbidden());
 
             // Ensure service was not invoked when access denied
-            Mockito.verify(driverService, Mockito.never()).getById(1L);
+            Mockito.verify(driverService, Mockito.never()).getResponseById(1L);
         }
 
         @Test
@@ -226,7 +228,7 @@ class DriverControllerTest {
         @DisplayName("getDriver_shouldReturn404_whenDriverNotFound")
         void getDriver_shouldReturn404_whenDriverNotFound() throws Exception {
             // Arrange: Mock service to throw not found
-            given(driverService.getById(999L)).willThrow(
+            given(driverService.getResponseById(999L)).willThrow(
                     new com.fleetops.exception.DriverNotFoundException("Not found"));
             // Act: Perform GET request
             mockMvc.perform(get("/api/drivers/999").with(TestAuth.auth()))
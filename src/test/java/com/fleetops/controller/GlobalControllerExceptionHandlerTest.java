@@ -1,5 +1,6 @@
 package com.fleetops.controller;
 
+import com.fleetops.exception.InvalidCursorException;
 import com.fleetops.exception.LicensePlateAlreadyExistsException;
 import com.fleetops.exception.NotFoundExceptionBase;
 import jakarta.validation.Valid;
@@ -46,6 +47,15 @@ class GlobalControllerExceptionHandlerTest {
                 .andExpect(jsonPath("$.error").value("Conflict"));
     }
 
+    @Test
+    void invalidCursor_IsMappedTo400Json() throws Exception {
+        mockMvc.perform(get("/throw/cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message", containsString("cursor")));
+    }
+
     @Test
     void runtime_IsMappedTo500Json() throws Exception {
         mockMvc.perform(get("/throw/runtime"))
@@ -95,6 +105,9 @@ class GlobalControllerExceptionHandlerTest {
         @GetMapping("/throw/conflict")
         public String conflict() { throw new LicensePlateAlreadyExistsException("exists"); }
 
+        @GetMapping("/throw/cursor")
+        public String cursor() { throw new InvalidCursorException("Invalid cursor"); }
+
         @GetMapping("/throw/runtime")
         public String runtime() { throw new RuntimeException("boom"); }
 
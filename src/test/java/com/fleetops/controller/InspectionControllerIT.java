@@ -13,6 +13,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 
@@ -97,6 +98,151 @@ class InspectionControllerIT {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/vehicles/{id}/inspections")
+    class VehicleHistory {
+        @Test
+        @DisplayName("pages newest first with a date cursor and counts on request")
+        void pagesNewestFirst() throws Exception {
+            Vehicle v = vehicleRepository.save(Vehicle.builder().licensePlate("H1").make("M").model("X").build());
+            Inspection oldest = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 1, 1))
+                                                                    .status("PASSED").vehicle(v).build());
+            Inspection newest = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 6, 1))
+                                                                    .status("FAILED").vehicle(v).build());
+
+            String first = mockMvc.perform(get("/api/vehicles/{id}/inspections", v.getId())
+                            .param("limit", "1").param("count", "exact")
+                            .with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.items[0].id").value(newest.getId()))
+                    .andExpect(jsonPath("$.items[0].status").value("FAILED"))
+                    .andExpect(jsonPath("$.items[0].vehicle.licensePlate").value("H1"))
+                    .andExpect(jsonPath("$.totalCount").value(2))
+                    .andReturn().getResponse().getContentAsString();
+            String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+            mockMvc.perform(get("/api/vehicles/{id}/inspections", v.getId())
+                            .param("limit", "1").param("after", cursor)
+                            .with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(oldest.getId()))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                    .andExpect(jsonPath("$.totalCount").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("unknown vehicle -> 404")
+        void unknownVehicle() throws Exception {
+            mockMvc.perform(get("/api/vehicles/{id}/inspections", Long.MAX_VALUE)
+                            .with(TestAuth.auth()))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/inspections/batch")
+    class CreateBatch {
+        @Test
+        @DisplayName("persists inspections across several JDBC batches and rejects unknown vehicles")
+        void createsAcrossChunks() throws Exception {
+            Vehicle v = vehicleRepository.save(Vehicle.builder().licensePlate("B1").make("M").model("X").build());
+            java.util.List<InspectionRequest> requests = new java.util.ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                InspectionRequest req = new InspectionRequest();
+                req.setInspectionDate(LocalDate.of(2024, 1, 1).plusDays(i));
+                req.setStatus("passed");
+                req.setVehicleId(i == 7 ? v.getId() + 1000 : v.getId());
+                requests.add(req);
+            }
+
+            mockMvc.perform(post("/api/inspections/batch")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(requests)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(119))
+                    .andExpect(jsonPath("$.rejected").value(1))
+                    .andExpect(jsonPath("$.items[7].status").value("REJECTED"))
+                    .andExpect(jsonPath("$.items[8].status").value("CREATED"));
+
+            assertThat(inspectionRepository.countByVehicleId(v.getId())).isEqualTo(119);
+            assertThat(inspectionRepository.findByVehicle(v)).allMatch(i -> "PASSED".equals(i.getStatus()));
+        }
+    }
+
+    @Nested
+    @DisplayName("PATCH /api/inspections/bulk")
+    class BulkUpdate {
+        @Test
+        @DisplayName("re-grades every matching inspection in one statement and leaves the rest alone")
+        void updatesMatchingInspections() throws Exception {
+            Vehicle v = vehicleRepository.save(Vehicle.builder().licensePlate("BU1").make("M").model("X").build());
+            Vehicle other = vehicleRepository.save(Vehicle.builder().licensePlate("BU2").make("M").model("X").build());
+            for (int i = 0; i < 5; i++) {
+                inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 1, 1).plusDays(i)).status("PENDING").vehicle(v).build());
+            }
+            Inspection passed = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 1, 1)).status("PASSED").vehicle(v).build());
+            Inspection otherPending = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 1, 1)).status("PENDING").vehicle(other).build());
+
+            String body = "{\"where\":{\"status\":\" pending\",\"vehicleId\":" + v.getId() + "},\"set\":{\"status\":\"failed\"}}";
+            mockMvc.perform(patch("/api/inspections/bulk")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.updated").value(5));
+
+            assertThat(inspectionRepository.findByVehicle(v))
+                    .filteredOn(i -> !i.getId().equals(passed.getId()))
+                    .hasSize(5)
+                    .allMatch(i -> "FAILED".equals(i.getStatus()));
+            assertThat(inspectionRepository.findById(passed.getId()).orElseThrow().getStatus()).isEqualTo("PASSED");
+            assertThat(inspectionRepository.findById(otherPending.getId()).orElseThrow().getStatus()).isEqualTo("PENDING");
+        }
+
+        @Test
+        @DisplayName("404 when moving inspections to a vehicle that does not exist")
+        void rejectsUnknownVehicle() throws Exception {
+            Vehicle v = vehicleRepository.save(Vehicle.builder().licensePlate("BU3").make("M").model("X").build());
+            Inspection i = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 1, 1)).status("PENDING").vehicle(v).build());
+
+            String body = "{\"where\":{\"ids\":[" + i.getId() + "]},\"set\":{\"vehicleId\":" + (v.getId() + 1000) + "}}";
+            mockMvc.perform(patch("/api/inspections/bulk")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/inspections/export")
+    class Export {
+        @Test
+        @DisplayName("streams every inspection as NDJSON in id order")
+        void streamsNdjson() throws Exception {
+            Vehicle v = vehicleRepository.save(Vehicle.builder().licensePlate("V1").make("M").model("X").build());
+            Inspection first = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 1, 1)).status("PASSED").vehicle(v).build());
+            Inspection second = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.of(2024, 2, 1)).status("FAILED").vehicle(v).build());
+
+            MvcResult started = mockMvc.perform(get("/api/inspections/export")
+                    .with(TestAuth.auth()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_NDJSON_VALUE)))
+                    .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(first.getId());
+            assertThat(objectMapper.readTree(lines[0]).get("vehicle").get("licensePlate").asText()).isEqualTo("V1");
+            assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(second.getId());
+        }
+    }
+
     @Nested
     @DisplayName("PUT /api/inspections/{id}")
     class Update {
@@ -2,7 +2,11 @@ package com.fleetops.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fleetops.controller.support.ControllerTestConfig;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.InspectionFilter;
 import com.fleetops.dto.InspectionRequest;
+import com.fleetops.dto.InspectionResponse;
 import com.fleetops.dto.InspectionUpdateRequest;
 import com.fleetops.entity.Inspection;
 import com.fleetops.entity.Vehicle;
@@ -18,14 +22,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -55,48 +62,89 @@ class InspectionControllerTest {
     @DisplayName("CRUD Operations")
     class CrudTests {
 
+        @Test
+        @DisplayName("GET /api/inspections/export streams one JSON document per line")
+        @SuppressWarnings("unchecked")
+        void export() throws Exception {
+            Vehicle v = Vehicle.builder().id(1L).licensePlate("ABC123").make("Toyota").model("Corolla").build();
+            doAnswer(inv -> {
+                Consumer<Inspection> sink = inv.getArgument(0);
+                sink.accept(Inspection.builder().id(1L).inspectionDate(LocalDate.of(2024, 1, 1)).status("PASS").vehicle(v).build());
+                sink.accept(Inspection.builder().id(2L).inspectionDate(LocalDate.of(2024, 2, 2)).status("FAIL").build());
+                return null;
+            }).when(inspectionService).exportAll(any(Consumer.class));
+
+            MvcResult started = mockMvc.perform(get("/api/inspections/export").with(TestAuth.auth()))
+                                       .andExpect(request().asyncStarted())
+                                       .andReturn();
+            String body = mockMvc.perform(asyncDispatch(started))
+                                 .andExpect(status().isOk())
+                                 .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_NDJSON_VALUE)))
+                                 .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.split("\n");
+            org.assertj.core.api.Assertions.assertThat(lines).hasSize(2);
+            org.assertj.core.api.Assertions.assertThat(objectMapper.readTree(lines[0]).get("vehicle").get("licensePlate").asText())
+                                           .isEqualTo("ABC123");
+            org.assertj.core.api.Assertions.assertThat(objectMapper.readTree(lines[1]).get("status").asText()).isEqualTo("FAIL");
+        }
+
+        @Test
+        @DisplayName("GET /api/inspections/latest returns the latest inspection per vehicle")
+        void latestPerVehicle() throws Exception {
+            given(inspectionService.getLatestPerVehicle()).willReturn(List.of(
+                    new InspectionResponse(4L, LocalDate.of(2024, 3, 1), "PASS", 1L, "ABC123", "Toyota", "Corolla"),
+                    new InspectionResponse(9L, LocalDate.of(2024, 2, 1), "FAIL", 2L, "XYZ789", "Ford", "Focus")));
+
+            mockMvc.perform(get("/api/inspections/latest").with(TestAuth.auth())).andExpect(status().isOk())
+                   .andExpect(jsonPath("$", hasSize(2))).andExpect(jsonPath("$[0].id").value(4))
+                   .andExpect(jsonPath("$[0].vehicle.licensePlate").value("ABC123"))
+                   .andExpect(jsonPath("$[1].vehicle.id").value(2));
+
+            verify(inspectionService).getLatestPerVehicle();
+        }
+
         @Test
         @DisplayName("GET /api/inspections/{id} returns an inspection")
         void getById() throws Exception {
-            Vehicle v = Vehicle.builder().id(1L).licensePlate("ABC123").make("Toyota").model("Corolla").build();
-            Inspection i = Inspection.builder().id(3L).inspectionDate(java.time.LocalDate.of(2024, 1, 1)).status("PASS")
-                                     .vehicle(v).build();
-            given(inspectionService.getById(3L)).willReturn(i);
+            InspectionResponse i = new InspectionResponse(3L, LocalDate.of(2024, 1, 1), "PASS",
+                                                          1L, "ABC123", "Toyota", "Corolla");
+            given(inspectionService.getResponseById(3L)).willReturn(i);
 
             mockMvc.perform(get("/api/inspections/3").with(TestAuth.auth())).andExpect(status().isOk())
                    .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_JSON_VALUE)))
                    .andExpect(jsonPath("$.id").value(3)).andExpect(jsonPath("$.inspectionDate").value("2024-01-01"))
                    .andExpect(jsonPath("$.status").value("PASS")).andExpect(jsonPath("$.vehicle.id").value(1));
 
-            verify(inspectionService).getById(3L);
+            verify(inspectionService).getResponseById(3L);
         }
 
         @Test
         @DisplayName("GET /api/inspections/{id} not found -> 404 JSON body")
         void getById_NotFound() throws Exception {
-            given(inspectionService.getById(3L)).willThrow(new InspectionNotFoundException("Inspection not found"));
+            given(inspectionService.getResponseById(3L)).willThrow(new InspectionNotFoundException("Inspection not found"));
 
             mockMvc.perform(get("/api/inspections/3").with(TestAuth.auth())).andExpect(status().isNotFound())
                    .andExpect(jsonPath("$.status").value(404)).andExpect(jsonPath("$.error").value("Not Found"))
                    .andExpect(jsonPath("$.message").value(containsString("Inspection not found")));
 
-            verify(inspectionService).getById(3L);
+            verify(inspectionService).getResponseById(3L);
         }
 
         @Test
         @DisplayName("GET /api/inspections/list returns list of inspections")
         void list() throws Exception {
-            List<Inspection> inspections = List.of(
-                    Inspection.builder().id(1L).inspectionDate(LocalDate.of(2024, 1, 1)).status("PASS").build(),
-                    Inspection.builder().id(2L).inspectionDate(LocalDate.of(2024, 2, 2)).status("FAIL").build());
-            given(inspectionService.getAll()).willReturn(inspections);
+            List<InspectionResponse> inspections = List.of(
+                    new InspectionResponse(1L, LocalDate.of(2024, 1, 1), "PASS", null),
+                    new InspectionResponse(2L, LocalDate.of(2024, 2, 2), "FAIL", null));
+            given(inspectionService.getPage(null, CursorPage.DEFAULT_LIMIT, CountMode.NONE)).willReturn(new CursorPage<>(inspections, "c2"));
 
             mockMvc.perform(get("/api/inspections/list").with(TestAuth.auth())).andExpect(status().isOk())
                    .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_JSON_VALUE)))
-                   .andExpect(jsonPath("$", hasSize(2))).andExpect(jsonPath("$[0].id").value(1))
-                   .andExpect(jsonPath("$[1].id").value(2));
+                   .andExpect(jsonPath("$.items", hasSize(2))).andExpect(jsonPath("$.items[0].id").value(1))
+                   .andExpect(jsonPath("$.items[1].id").value(2)).andExpect(jsonPath("$.nextCursor").value("c2"));
 
-            verify(inspectionService).getAll();
+            verify(inspectionService).getPage(null, CursorPage.DEFAULT_LIMIT, CountMode.NONE);
         }
 
         @Test
@@ -170,6 +218,42 @@ class InspectionControllerTest {
                                              .content(invalidJson)).andExpect(status().isBadRequest());
         }
 
+        @Test
+        @DisplayName("PATCH /api/inspections/bulk returns the updated count")
+        void bulkUpdate() throws Exception {
+            given(inspectionService.bulkUpdate(any(InspectionFilter.class), any(InspectionUpdateRequest.class))).willReturn(3);
+            String body = "{\"where\":{\"status\":\"pending\",\"vehicleId\":7},\"set\":{\"status\":\"FAILED\"}}";
+
+            mockMvc.perform(patch("/api/inspections/bulk").with(TestAuth.auth()).with(csrf())
+                                                          .contentType(MediaType.APPLICATION_JSON).content(body))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.updated").value(3));
+            ArgumentCaptor<InspectionFilter> whereCaptor = ArgumentCaptor.forClass(InspectionFilter.class);
+            verify(inspectionService).bulkUpdate(whereCaptor.capture(), any(InspectionUpdateRequest.class));
+            org.assertj.core.api.Assertions.assertThat(whereCaptor.getValue().getVehicleId()).isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("PATCH /api/inspections/bulk returns 400 when the filter is empty")
+        void bulkUpdate_EmptyFilter() throws Exception {
+            String body = "{\"where\":{},\"set\":{\"status\":\"FAILED\"}}";
+            mockMvc.perform(patch("/api/inspections/bulk").with(TestAuth.auth()).with(csrf())
+                                                          .contentType(MediaType.APPLICATION_JSON).content(body))
+                   .andExpect(status().isBadRequest());
+            Mockito.verifyNoInteractions(inspectionService);
+        }
+
+        @Test
+        @DisplayName("PATCH /api/inspections/bulk returns 400 when there is nothing to set")
+        void bulkUpdate_EmptySet() throws Exception {
+            String body = "{\"where\":{\"vehicleId\":7},\"set\":{}}";
+            mockMvc.perform(patch("/api/inspections/bulk").with(TestAuth.auth()).with(csrf())
+                                                          .contentType(MediaType.APPLICATION_JSON).content(body))
+                   .andExpect(status().isBadRequest())
+                   .andExpect(jsonPath("$.status").value(400));
+            Mockito.verifyNoInteractions(inspectionService);
+        }
+
         @Test
         @DisplayName("DELETE /api/inspections/{id} deletes an inspection")
         void deleteInspection() throws Exception {
@@ -204,13 +288,13 @@ class InspectionControllerTest {
         @DisplayName("getInspection_shouldReturn403_whenJwtLacksRole")
         void getInspection_shouldReturn403_whenJwtLacksRole() throws Exception {
             // Arrange: make service return something if controller is executed
-            given(inspectionService.getById(1L)).willReturn(Inspection.builder().id(1L).status("PASS").build());
+            given(inspectionService.getResponseById(1L)).willReturn(new InspectionResponse(1L, null, "PASS", null));
 
             mockMvc.perform(get("/api/inspections/1").with(TestAuth.auth("ROLE_RESTRICTED")))
                    .andExpect(status().isForbidden());
 
             // ensure service wasn't called when access denied
-            Mockito.verify(inspectionService, Mockito.never()).getById(1L);
+            Mockito.verify(inspectionService, Mockito.never()).getResponseById(1L);
         }
 
         @Test
@@ -242,7 +326,7 @@ class InspectionControllerTest {
         @DisplayName("getInspection_shouldReturn404_whenInspectionNotFound")
         void getInspection_shouldReturn404_whenInspectionNotFound() throws Exception {
             // Arrange: Mock service to throw not found
-            given(inspectionService.getById(999L)).willThrow(
+            given(inspectionService.getResponseById(999L)).willThrow(
                     new com.fleetops.exception.InspectionNotFoundException("Not found"));
             // Act: Perform GET request
             mockMvc.perform(get("/api/inspections/999").with(TestAuth.auth()))
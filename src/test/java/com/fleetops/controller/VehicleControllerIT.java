@@ -37,6 +37,116 @@ class VehicleControllerIT {
         vehicleRepository.deleteAll();
     }
 
+    @Nested
+    @DisplayName("GET /api/vehicles?ids=")
+    class MultiGet {
+        @Test
+        @DisplayName("answers found and unknown ids in request order")
+        void getsManyById() throws Exception {
+            Vehicle a = vehicleRepository.save(Vehicle.builder().licensePlate("MG-1").make("M").model("X").build());
+            Vehicle b = vehicleRepository.save(Vehicle.builder().licensePlate("MG-2").make("M").model("Y").build());
+            long missing = b.getId() + 1000;
+
+            mockMvc.perform(get("/api/vehicles")
+                            .param("ids", b.getId() + "," + missing + "," + a.getId())
+                            .with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(3)))
+                    .andExpect(jsonPath("$[0].item.licensePlate").value("MG-2"))
+                    .andExpect(jsonPath("$[1].id").value(missing))
+                    .andExpect(jsonPath("$[1].status").value("NOT_FOUND"))
+                    .andExpect(jsonPath("$[2].item.id").value(a.getId()));
+        }
+    }
+
+    @Nested
+    @DisplayName("PUT /api/vehicles/by-plate")
+    class Upsert {
+        @Test
+        @DisplayName("creates, then updates in place, keyed by the normalized plate")
+        void upsertsByPlate() throws Exception {
+            String created = mockMvc.perform(put("/api/vehicles/by-plate/sync-1")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"Volvo\",\"model\":\"V60\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.licensePlate").value("SYNC-1"))
+                    .andReturn().getResponse().getContentAsString();
+            long id = objectMapper.readTree(created).get("id").asLong();
+
+            mockMvc.perform(put("/api/vehicles/by-plate/SYNC-1")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"Volvo\",\"model\":\"V90\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(id))
+                    .andExpect(jsonPath("$.model").value("V90"));
+
+            assertThat(vehicleRepository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("batch answers in request order and rejects the whole roster on an invalid row")
+        void upsertsRoster() throws Exception {
+            vehicleRepository.save(Vehicle.builder().licensePlate("R-1").make("Old").model("Old").build());
+            String body = "[" +
+                    "{\"licensePlate\":\"r-2\",\"make\":\"Kia\",\"model\":\"Rio\"}," +
+                    "{\"licensePlate\":\"R-1\",\"make\":\"Ford\",\"model\":\"Focus\"}]";
+
+            mockMvc.perform(put("/api/vehicles/by-plate")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].licensePlate").value("R-2"))
+                    .andExpect(jsonPath("$[1].make").value("Ford"));
+
+            mockMvc.perform(put("/api/vehicles/by-plate")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"licensePlate\":\"R-3\",\"make\":\"\",\"model\":\"X\"}]"))
+                    .andExpect(status().isBadRequest());
+
+            assertThat(vehicleRepository.count()).isEqualTo(2);
+            assertThat(vehicleRepository.findByLicensePlate("R-1").orElseThrow().getModel()).isEqualTo("Focus");
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/vehicles/batch")
+    class CreateBatch {
+        @Test
+        @DisplayName("200 with per-item results; valid items persisted")
+        void createsValidItemsAndReportsRejects() throws Exception {
+            vehicleRepository.save(Vehicle.builder().licensePlate("TAKEN-1").make("M").model("X").build());
+            String body = "[" +
+                    "{\"licensePlate\":\"b-1\",\"make\":\"Tesla\",\"model\":\"3\"}," +
+                    "{\"licensePlate\":\"taken-1\",\"make\":\"Ford\",\"model\":\"Focus\"}," +
+                    "{\"licensePlate\":\"B-2\",\"make\":\"\",\"model\":\"Ceed\"}," +
+                    "{\"licensePlate\":\"B-3\",\"make\":\"Kia\",\"model\":\"Niro\"}]";
+
+            mockMvc.perform(post("/api/vehicles/batch")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(2))
+                    .andExpect(jsonPath("$.rejected").value(2))
+                    .andExpect(jsonPath("$.items", hasSize(4)))
+                    .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                    .andExpect(jsonPath("$.items[0].id", notNullValue()))
+                    .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                    .andExpect(jsonPath("$.items[1].error", containsString("already exists")))
+                    .andExpect(jsonPath("$.items[2].error", startsWith("make")))
+                    .andExpect(jsonPath("$.items[3].index").value(3));
+
+            assertThat(vehicleRepository.findByLicensePlate("B-1")).isPresent();
+            assertThat(vehicleRepository.findByLicensePlate("B-3")).isPresent();
+            assertThat(vehicleRepository.count()).isEqualTo(3);
+        }
+    }
+
     @Nested
     @DisplayName("POST /api/vehicles")
     class Create {
@@ -90,7 +200,7 @@ class VehicleControllerIT {
     @DisplayName("GET /api/vehicles/list")
     class ListAll {
         @Test
-        @DisplayName("returns array of vehicles")
+        @DisplayName("returns first page of vehicles")
         void returnsArray() throws Exception {
             vehicleRepository.save(Vehicle.builder().licensePlate("A").make("M1").model("X1").build());
             vehicleRepository.save(Vehicle.builder().licensePlate("B").make("M2").model("X2").build());
@@ -99,9 +209,58 @@ class VehicleControllerIT {
                     .with(TestAuth.auth()))
                     .andExpect(status().isOk())
                     .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_JSON_VALUE)))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].licensePlate").value("A"))
-                    .andExpect(jsonPath("$[1].licensePlate").value("B"));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].licensePlate").value("A"))
+                    .andExpect(jsonPath("$.items[1].licensePlate").value("B"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("follows nextCursor until the last page")
+        void pagesWithCursor() throws Exception {
+            vehicleRepository.save(Vehicle.builder().licensePlate("A").make("M1").model("X1").build());
+            vehicleRepository.save(Vehicle.builder().licensePlate("B").make("M2").model("X2").build());
+            vehicleRepository.save(Vehicle.builder().licensePlate("C").make("M3").model("X3").build());
+
+            String first = mockMvc.perform(get("/api/vehicles/list").param("limit", "2")
+                    .with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].licensePlate").value("A"))
+                    .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                    .andReturn().getResponse().getContentAsString();
+            String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+            mockMvc.perform(get("/api/vehicles/list").param("limit", "2").param("after", cursor)
+                    .with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.items[0].licensePlate").value("C"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("count=exact reports the total alongside the first page")
+        void reportsExactTotal() throws Exception {
+            vehicleRepository.save(Vehicle.builder().licensePlate("A").make("M1").model("X1").build());
+            vehicleRepository.save(Vehicle.builder().licensePlate("B").make("M2").model("X2").build());
+            vehicleRepository.save(Vehicle.builder().licensePlate("C").make("M3").model("X3").build());
+
+            mockMvc.perform(get("/api/vehicles/list").param("limit", "1").param("count", "exact")
+                    .with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.totalCount").value(3))
+                    .andExpect(jsonPath("$.totalCountEstimated").value(false));
+        }
+
+        @Test
+        @DisplayName("malformed cursor -> 400")
+        void rejectsMalformedCursor() throws Exception {
+            mockMvc.perform(get("/api/vehicles/list").param("after", "%%%")
+                    .with(TestAuth.auth()))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value(400));
         }
     }
 
@@ -127,6 +286,67 @@ class VehicleControllerIT {
             Vehicle updated = vehicleRepository.findById(existing.getId()).orElseThrow();
             assertThat(updated.getMake()).isEqualTo("New");
         }
+
+        @Test
+        @DisplayName("updates only the version named by If-Match and answers a stale one with 412")
+        void updatesConditionally() throws Exception {
+            Vehicle existing = vehicleRepository.save(Vehicle.builder().licensePlate("IFM-1").make("Old").model("M").build());
+            String etag = mockMvc.perform(get("/api/vehicles/" + existing.getId()).with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader("ETag");
+
+            String next = mockMvc.perform(put("/api/vehicles/" + existing.getId())
+                            .with(TestAuth.auth())
+                            .header("If-Match", etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"New\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.make").value("New"))
+                    .andReturn().getResponse().getHeader("ETag");
+            assertThat(next).isNotEqualTo(etag);
+
+            mockMvc.perform(put("/api/vehicles/" + existing.getId())
+                            .with(TestAuth.auth())
+                            .header("If-Match", etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"Lost\"}"))
+                    .andExpect(status().isPreconditionFailed());
+            mockMvc.perform(get("/api/vehicles/" + existing.getId()).header("If-None-Match", next).with(TestAuth.auth()))
+                    .andExpect(status().isNotModified());
+            assertThat(vehicleRepository.findById(existing.getId()).orElseThrow().getMake()).isEqualTo("New");
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional GET /api/vehicles/list")
+    class ConditionalList {
+
+        @Test
+        @DisplayName("answers 304 until a vehicle is written")
+        void revalidatesAgainstTableStamp() throws Exception {
+            mockMvc.perform(post("/api/vehicles")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"licensePlate\":\"LST-1\",\"make\":\"M\",\"model\":\"X\"}"))
+                    .andExpect(status().isCreated());
+            String etag = mockMvc.perform(get("/api/vehicles/list").with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Last-Modified"))
+                    .andReturn().getResponse().getHeader("ETag");
+            assertThat(etag).startsWith("W/");
+
+            mockMvc.perform(get("/api/vehicles/list").header("If-None-Match", etag).with(TestAuth.auth()))
+                    .andExpect(status().isNotModified());
+
+            mockMvc.perform(post("/api/vehicles")
+                            .with(TestAuth.auth())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"licensePlate\":\"LST-2\",\"make\":\"M\",\"model\":\"Y\"}"))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(get("/api/vehicles/list").header("If-None-Match", etag).with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", not(etag)));
+        }
     }
 
     @Nested
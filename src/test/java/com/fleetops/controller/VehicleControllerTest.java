@@ -2,11 +2,23 @@ package com.fleetops.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fleetops.controller.support.ControllerTestConfig;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.InspectionResponse;
+import com.fleetops.dto.LookupResult;
+import com.fleetops.dto.VehicleRequest;
+import com.fleetops.dto.VehicleResponse;
 import com.fleetops.entity.Vehicle;
 import com.fleetops.exception.LicensePlateAlreadyExistsException;
+import com.fleetops.exception.PreconditionFailedException;
 import com.fleetops.exception.VehicleNotFoundException;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.service.InspectionService;
 import com.fleetops.service.VehicleService;
 import com.fleetops.test.TestAuth;
+import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -17,13 +29,22 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -43,19 +64,51 @@ class VehicleControllerTest {
     @Autowired
     private VehicleService vehicleService;
 
+    @Autowired
+    private InspectionService inspectionService;
+
     @BeforeEach
     void setUp() {
-        Mockito.reset(vehicleService);
+        Mockito.reset(vehicleService, inspectionService);
     }
 
     @Nested
     @DisplayName("CRUD Operations")
     class CrudTests {
+        @Test
+        @DisplayName("GET /api/vehicles?ids= returns per-id results in request order")
+        void getByIds() throws Exception {
+            given(vehicleService.getResponsesByIds(List.of(2L, 1L))).willReturn(List.of(
+                    LookupResult.notFound(2L),
+                    LookupResult.found(1L, new VehicleResponse(1L, "ABC123", "Toyota", "Corolla"))));
+
+            mockMvc.perform(get("/api/vehicles").param("ids", "2,1").with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(2))
+                    .andExpect(jsonPath("$[0].status").value("NOT_FOUND"))
+                    .andExpect(jsonPath("$[0].item").doesNotExist())
+                    .andExpect(jsonPath("$[1].status").value("FOUND"))
+                    .andExpect(jsonPath("$[1].item.licensePlate").value("ABC123"));
+        }
+
+        @Test
+        @DisplayName("GET /api/vehicles?ids= with more than the maximum ids returns 400")
+        void getByIds_TooMany() throws Exception {
+            String ids = LongStream.rangeClosed(1, LookupResult.MAX_IDS + 1)
+                    .mapToObj(Long::toString)
+                    .collect(Collectors.joining(","));
+
+            mockMvc.perform(get("/api/vehicles").param("ids", ids).with(TestAuth.auth()))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.violations.ids").value(LookupResult.TOO_MANY_IDS));
+
+            verify(vehicleService, never()).getResponsesByIds(anyList());
+        }
+
         @Test
         @DisplayName("GET /api/vehicles/{id} returns a vehicle")
         void getById() throws Exception {
-            Vehicle v = Vehicle.builder().id(1L).licensePlate("ABC123").make("Toyota").model("Corolla").build();
-            given(vehicleService.getById(1L)).willReturn(v);
+            given(vehicleService.getResponseById(1L)).willReturn(new VehicleResponse(1L, "ABC123", "Toyota", "Corolla"));
 
             mockMvc.perform(get("/api/vehicles/1").with(TestAuth.auth()))
                     .andExpect(status().isOk())
@@ -65,13 +118,13 @@ class VehicleControllerTest {
                     .andExpect(jsonPath("$.make").value("Toyota"))
                     .andExpect(jsonPath("$.model").value("Corolla"));
 
-            verify(vehicleService).getById(1L);
+            verify(vehicleService).getResponseById(1L);
         }
 
         @Test
         @DisplayName("GET /api/vehicles/{id} not found maps to 404 JSON body")
         void getById_NotFound() throws Exception {
-            given(vehicleService.getById(99L)).willThrow(new VehicleNotFoundException("Vehicle not found"));
+            given(vehicleService.getResponseById(99L)).willThrow(new VehicleNotFoundException("Vehicle not found"));
 
             mockMvc.perform(get("/api/vehicles/99").with(TestAuth.auth()))
                     .andExpect(status().isNotFound())
@@ -83,20 +136,73 @@ class VehicleControllerTest {
         @Test
         @DisplayName("GET /api/vehicles/list returns list of vehicles")
         void list() throws Exception {
-            List<Vehicle> vehicles = List.of(
-                    Vehicle.builder().id(1L).licensePlate("A").make("M1").model("X1").build(),
-                    Vehicle.builder().id(2L).licensePlate("B").make("M2").model("X2").build()
+            List<VehicleResponse> vehicles = List.of(
+                    new VehicleResponse(1L, "A", "M1", "X1"),
+                    new VehicleResponse(2L, "B", "M2", "X2")
             );
-            given(vehicleService.getAll()).willReturn(vehicles);
+            given(vehicleService.getPage("abc", 2, CountMode.NONE)).willReturn(new CursorPage<>(vehicles, "next"));
 
-            mockMvc.perform(get("/api/vehicles/list").with(TestAuth.auth()))
+            mockMvc.perform(get("/api/vehicles/list").param("after", "abc").param("limit", "2").with(TestAuth.auth()))
                     .andExpect(status().isOk())
                     .andExpect(header().string("Content-Type", containsString(MediaType.APPLICATION_JSON_VALUE)))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].id").value(1))
-                    .andExpect(jsonPath("$[1].id").value(2));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.items[1].id").value(2))
+                    .andExpect(jsonPath("$.nextCursor").value("next"))
+                    .andExpect(jsonPath("$.totalCount").doesNotExist());
+
+            verify(vehicleService).getPage("abc", 2, CountMode.NONE);
+        }
+
+        @Test
+        @DisplayName("GET /api/vehicles/list?count=estimate reports an estimated total")
+        void list_WithEstimatedCount() throws Exception {
+            given(vehicleService.getPage(null, CursorPage.DEFAULT_LIMIT, CountMode.ESTIMATE))
+                    .willReturn(new CursorPage<VehicleResponse>(List.of(), null).withTotalCount(1200L, true));
+
+            mockMvc.perform(get("/api/vehicles/list").param("count", "Estimate").with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalCount").value(1200))
+                    .andExpect(jsonPath("$.totalCountEstimated").value(true));
+        }
+
+        @Test
+        @DisplayName("GET /api/vehicles/{id}/inspections returns a page of the vehicle's inspections")
+        void listInspections() throws Exception {
+            VehicleResponse vehicle = new VehicleResponse(7L, "A", "M1", "X1");
+            List<InspectionResponse> inspections = List.of(
+                    new InspectionResponse(9L, LocalDate.of(2024, 5, 1), "PASSED", vehicle));
+            given(inspectionService.getVehicleHistory(7L, "c1", 1, CountMode.EXACT))
+                    .willReturn(new CursorPage<>(inspections, "c2").withTotalCount(3L, false));
+
+            mockMvc.perform(get("/api/vehicles/7/inspections").param("after", "c1").param("limit", "1")
+                            .param("count", "exact").with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.items[0].id").value(9))
+                    .andExpect(jsonPath("$.items[0].vehicle.licensePlate").value("A"))
+                    .andExpect(jsonPath("$.nextCursor").value("c2"))
+                    .andExpect(jsonPath("$.totalCount").value(3));
+        }
+
+        @Test
+        @DisplayName("GET /api/vehicles/{id}/inspections for a missing vehicle returns 404")
+        void listInspections_VehicleNotFound() throws Exception {
+            given(inspectionService.getVehicleHistory(99L, null, CursorPage.DEFAULT_LIMIT, CountMode.NONE))
+                    .willThrow(new VehicleNotFoundException("Vehicle not found"));
+
+            mockMvc.perform(get("/api/vehicles/99/inspections").with(TestAuth.auth()))
+                    .andExpect(status().isNotFound());
+        }
 
-            verify(vehicleService).getAll();
+        @Test
+        @DisplayName("GET /api/vehicles/list with an unknown count mode returns 400")
+        void list_WithUnknownCountMode() throws Exception {
+            mockMvc.perform(get("/api/vehicles/list").param("count", "approx").with(TestAuth.auth()))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(containsString("exact|estimate|none")));
+
+            Mockito.verifyNoInteractions(vehicleService);
         }
 
         @Test
@@ -122,6 +228,77 @@ class VehicleControllerTest {
             org.assertj.core.api.Assertions.assertThat(createCaptor.getValue().getId()).isNull();
         }
 
+        @Test
+        @DisplayName("POST /api/vehicles/batch returns per-item results from the service")
+        @SuppressWarnings("unchecked")
+        void createBatch() throws Exception {
+            given(vehicleService.createBatch(anyList())).willReturn(BatchResult.of(List.of(
+                    BatchItemResult.created(0, 10L), BatchItemResult.rejected(1, "make: must not be blank"))));
+
+            mockMvc.perform(post("/api/vehicles/batch")
+                            .with(TestAuth.auth())
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"licensePlate\":\"A\",\"make\":\"M\",\"model\":\"X\"},{\"licensePlate\":\"B\"}]"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.rejected").value(1))
+                    .andExpect(jsonPath("$.items[0].id").value(10))
+                    .andExpect(jsonPath("$.items[0].error").doesNotExist())
+                    .andExpect(jsonPath("$.items[1].status").value("REJECTED"));
+
+            ArgumentCaptor<List<VehicleRequest>> captor = ArgumentCaptor.forClass(List.class);
+            verify(vehicleService).createBatch(captor.capture());
+            org.assertj.core.api.Assertions.assertThat(captor.getValue()).hasSize(2);
+            org.assertj.core.api.Assertions.assertThat(captor.getValue().get(1).getMake()).isNull();
+        }
+
+        @Test
+        @DisplayName("PUT /api/vehicles/by-plate with a null item returns 400 naming the item")
+        void upsertBatch_NullItem() throws Exception {
+            given(vehicleService.upsertBatch(anyList())).willThrow(
+                    new ConstraintViolationException("Vehicle at index 1 must not be null", Set.of()));
+
+            mockMvc.perform(put("/api/vehicles/by-plate")
+                            .with(TestAuth.auth())
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"licensePlate\":\"A\",\"make\":\"M\",\"model\":\"X\"},null]"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Vehicle at index 1 must not be null"));
+        }
+
+        @Test
+        @DisplayName("PUT /api/vehicles/by-plate/{plate} upserts using the plate from the path")
+        void upsertByPlate() throws Exception {
+            given(vehicleService.upsert(any(VehicleRequest.class))).willReturn(new Vehicle(4L, "ABC-1", "Kia", "Rio"));
+
+            mockMvc.perform(put("/api/vehicles/by-plate/abc-1")
+                            .with(TestAuth.auth())
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"Kia\",\"model\":\"Rio\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(4))
+                    .andExpect(jsonPath("$.licensePlate").value("ABC-1"));
+
+            ArgumentCaptor<VehicleRequest> captor = ArgumentCaptor.forClass(VehicleRequest.class);
+            verify(vehicleService).upsert(captor.capture());
+            org.assertj.core.api.Assertions.assertThat(captor.getValue().getLicensePlate()).isEqualTo("abc-1");
+        }
+
+        @Test
+        @DisplayName("PUT /api/vehicles/by-plate/{plate} returns 400 when make is missing")
+        void upsertByPlate_InvalidPayload() throws Exception {
+            mockMvc.perform(put("/api/vehicles/by-plate/abc-1")
+                            .with(TestAuth.auth())
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"model\":\"Rio\"}"))
+                    .andExpect(status().isBadRequest());
+            Mockito.verifyNoInteractions(vehicleService);
+        }
+
         @Test
         @DisplayName("POST /api/vehicles conflict on duplicate license plate -> 409 JSON body")
         void create_Conflict() throws Exception {
@@ -209,6 +386,104 @@ class VehicleControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Conditional Requests")
+    class ConditionalTests {
+        private final TableStamps.Stamp stamp = new TableStamps.Stamp(7L, Instant.parse("2026-06-15T10:00:00Z"));
+
+        @Test
+        @DisplayName("GET /api/vehicles/{id} tags the vehicle with its version and answers a matching tag with 304")
+        void getById_ETag() throws Exception {
+            given(vehicleService.getResponseById(1L)).willReturn(new VehicleResponse(1L, "ABC123", "Toyota", "Corolla", 3L));
+
+            mockMvc.perform(get("/api/vehicles/1").with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"3\""))
+                    .andExpect(jsonPath("$.version").doesNotExist());
+            mockMvc.perform(get("/api/vehicles/1").header("If-None-Match", "\"3\"").with(TestAuth.auth()))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("GET /api/vehicles/list answers a current tag with 304 without reading the page")
+        void list_NotModified() throws Exception {
+            given(vehicleService.getListStamp()).willReturn(Optional.of(stamp));
+
+            mockMvc.perform(get("/api/vehicles/list").header("If-None-Match", "W/\"7-1781517600000\"")
+                                                      .with(TestAuth.auth()))
+                    .andExpect(status().isNotModified());
+
+            verify(vehicleService, never()).getPage(any(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("GET /api/vehicles/list answers a stale tag with the page and the current validators")
+        void list_Modified() throws Exception {
+            given(vehicleService.getListStamp()).willReturn(Optional.of(stamp));
+            given(vehicleService.getPage(null, CursorPage.DEFAULT_LIMIT, CountMode.NONE))
+                    .willReturn(new CursorPage<>(List.of(new VehicleResponse(1L, "A", "M1", "X1")), null));
+
+            mockMvc.perform(get("/api/vehicles/list").header("If-None-Match", "W/\"6-1781517000000\"")
+                                                      .with(TestAuth.auth()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "W/\"7-1781517600000\""))
+                    .andExpect(header().doesNotExist("Last-Modified"))
+                    .andExpect(jsonPath("$.items", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("PUT /api/vehicles/{id} with If-Match updates only that version and returns the new tag")
+        void update_IfMatch() throws Exception {
+            Vehicle updated = Vehicle.builder().id(5L).licensePlate("X").make("Updated").model("Y").version(4L).build();
+            given(vehicleService.update(eq(5L), any(Vehicle.class))).willReturn(updated);
+
+            mockMvc.perform(put("/api/vehicles/5")
+                            .with(TestAuth.auth())
+                            .with(csrf())
+                            .header("If-Match", "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"Updated\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"4\""));
+
+            ArgumentCaptor<Vehicle> updateCaptor = ArgumentCaptor.forClass(Vehicle.class);
+            verify(vehicleService).update(eq(5L), updateCaptor.capture());
+            org.assertj.core.api.Assertions.assertThat(updateCaptor.getValue().getVersion()).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("PUT /api/vehicles/{id} with a stale If-Match returns 412")
+        void update_StaleIfMatch() throws Exception {
+            given(vehicleService.update(eq(5L), any(Vehicle.class)))
+                    .willThrow(new PreconditionFailedException("vehicle 5 is no longer at version 3"));
+
+            mockMvc.perform(put("/api/vehicles/5")
+                            .with(TestAuth.auth())
+                            .with(csrf())
+                            .header("If-Match", "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"Updated\"}"))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(jsonPath("$.status").value(412))
+                    .andExpect(jsonPath("$.error").value("Precondition Failed"));
+        }
+
+        @Test
+        @DisplayName("PUT /api/vehicles/{id} with a weak If-Match returns 412 without updating")
+        void update_WeakIfMatch() throws Exception {
+            mockMvc.perform(put("/api/vehicles/5")
+                            .with(TestAuth.auth())
+                            .with(csrf())
+                            .header("If-Match", "W/\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"make\":\"Updated\"}"))
+                    .andExpect(status().isPreconditionFailed());
+
+            verify(vehicleService, never()).update(any(), any());
+        }
+    }
+
     @Nested
     @DisplayName("Authentication & Authorization")
     class AuthTests {
@@ -225,7 +500,7 @@ class VehicleControllerTest {
                 .with(TestAuth.auth("ROLE_RESTRICTED")))
                 .andExpect(status().isForbidden());
             // ensure service wasn't called when access denied
-            Mockito.verify(vehicleService, Mockito.never()).getById(1L);
+            Mockito.verify(vehicleService, Mockito.never()).getResponseById(1L);
         }
         @Test
         @DisplayName("getVehicle_shouldReturn200_whenJwtHasUserRole")
@@ -262,7 +537,7 @@ class VehicleControllerTest {
         @DisplayName("getVehicle_shouldReturn404_whenVehicleNotFound")
         void getVehicle_shouldReturn404_whenVehicleNotFound() throws Exception {
             // Arrange: Mock service to throw not found
-            given(vehicleService.getById(999L)).willThrow(new com.fleetops.exception.VehicleNotFoundException("Not found"));
+            given(vehicleService.getResponseById(999L)).willThrow(new com.fleetops.exception.VehicleNotFoundException("Not found"));
             // Act: Perform GET request
             mockMvc.perform(get("/api/vehicles/999").with(TestAuth.auth()))
                 // Assert: Should return 404 Not Found
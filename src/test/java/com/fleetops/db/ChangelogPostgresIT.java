@@ -0,0 +1,115 @@
+package com.fleetops.db;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Liquibase changelog against PostgreSQL, which the H2 tests never do (they build the schema from the
+ * entities). Skipped when no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ChangelogPostgresIT {
+
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.xml";
+
+    /** Changesets that run on PostgreSQL before {@code 8-inspection-date-required}. */
+    private static final int BEFORE_PARTITIONING = 7;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        execute("DROP SCHEMA public CASCADE; CREATE SCHEMA public");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private Liquibase liquibase() throws Exception {
+        Database database = DatabaseFactory.getInstance()
+                                           .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        return new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    @Test
+    void update_ShouldHaltOnUndatedInspections() throws Exception {
+        liquibase().update(BEFORE_PARTITIONING, new Contexts(), new LabelExpression());
+        execute("INSERT INTO vehicle (id, license_plate, make, model) VALUES (1, 'MIG-1', 'Volvo', 'FH')");
+        execute("INSERT INTO inspection (id, inspection_date, status, vehicle_id) VALUES "
+                + "(10, DATE '2023-05-01', 'PASSED', 1), (11, NULL, 'PENDING', 1)");
+
+        assertThrows(Exception.class, () -> liquibase().update(new Contexts(), new LabelExpression()));
+
+        assertEquals("YES", queryString("SELECT is_nullable FROM information_schema.columns "
+                                        + "WHERE table_name = 'inspection' AND column_name = 'inspection_date'"));
+        assertNull(queryString("SELECT inspection_date FROM inspection WHERE id = 11"));
+        assertNull(queryString("SELECT to_regclass('inspection_default')"));
+    }
+
+    @Test
+    void update_ShouldPartitionInspectionsOnceAllAreDated() throws Exception {
+        liquibase().update(BEFORE_PARTITIONING, new Contexts(), new LabelExpression());
+        execute("INSERT INTO vehicle (id, license_plate, make, model) VALUES (1, 'MIG-1', 'Volvo', 'FH')");
+        execute("INSERT INTO inspection (id, inspection_date, status, vehicle_id) VALUES "
+                + "(10, DATE '2023-05-01', 'PASSED', 1), (11, NULL, 'PENDING', 1)");
+        assertThrows(Exception.class, () -> liquibase().update(new Contexts(), new LabelExpression()));
+        execute("UPDATE inspection SET inspection_date = DATE '2024-03-01' WHERE id = 11");
+
+        liquibase().update(new Contexts(), new LabelExpression());
+
+        assertEquals("NO", queryString("SELECT is_nullable FROM information_schema.columns "
+                                       + "WHERE table_name = 'inspection' AND column_name = 'inspection_date'"));
+        assertEquals("inspection_y2023", queryString("SELECT tableoid::regclass FROM inspection WHERE id = 10"));
+        assertEquals("inspection_y2024", queryString("SELECT tableoid::regclass FROM inspection WHERE id = 11"));
+        assertNull(queryString("SELECT to_regclass('inspection_unpartitioned')"));
+    }
+
+    @Test
+    void update_ShouldKeyInspectionsOnIdAndDate() throws Exception {
+        liquibase().update(new Contexts(), new LabelExpression());
+        execute("INSERT INTO vehicle (id, license_plate, make, model) VALUES (1, 'MIG-1', 'Volvo', 'FH')");
+        execute("INSERT INTO inspection (id, inspection_date, status, vehicle_id) VALUES (10, DATE '2024-02-01', 'PASSED', 1)");
+
+        assertThrows(SQLException.class, () -> execute(
+                "INSERT INTO inspection (id, inspection_date, status, vehicle_id) VALUES (10, DATE '2024-02-01', 'FAILED', 1)"));
+        assertThrows(SQLException.class, () -> execute(
+                "INSERT INTO inspection (id, inspection_date, status, vehicle_id) VALUES (12, NULL, 'FAILED', 1)"));
+    }
+}
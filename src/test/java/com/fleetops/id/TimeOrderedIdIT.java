@@ -0,0 +1,99 @@
+package com.fleetops.id;
+
+import com.fleetops.dto.VehicleRequest;
+import com.fleetops.entity.Driver;
+import com.fleetops.entity.Inspection;
+import com.fleetops.entity.Vehicle;
+import com.fleetops.repository.DriverRepository;
+import com.fleetops.repository.InspectionRepository;
+import com.fleetops.repository.VehicleRepository;
+import com.fleetops.service.ImportService;
+import com.fleetops.service.VehicleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.liquibase.enabled=false", "spring.sql.init.mode=never",
+        "fleetops.ids.generator=snowflake", "fleetops.ids.node=7"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+class TimeOrderedIdIT {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private InspectionRepository inspectionRepository;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        inspectionRepository.deleteAll();
+        vehicleRepository.deleteAll();
+        driverRepository.deleteAll();
+    }
+
+    @Test
+    void save_ShouldAssignTimeOrderedIdsFromThisNode() {
+        Instant start = Instant.now();
+        List<Vehicle> vehicles = vehicleRepository.saveAll(List.of(
+                Vehicle.builder().licensePlate("SNOW-1").make("Volvo").model("FH").build(),
+                Vehicle.builder().licensePlate("SNOW-2").make("Volvo").model("FM").build()));
+        Driver driver = driverRepository.save(Driver.builder().name("Ada").licenseNumber("SNOW-D1").build());
+        Inspection inspection = inspectionRepository.save(Inspection.builder().inspectionDate(LocalDate.now())
+                                                                    .status("PASSED").vehicle(vehicles.get(0)).build());
+
+        assertTrue(vehicles.get(1).getId() > vehicles.get(0).getId());
+        for (long id : List.of(vehicles.get(0).getId(), driver.getId(), inspection.getId())) {
+            assertEquals(7, TimeOrderedIds.nodeOf(id));
+            Instant created = TimeOrderedIds.timestampOf(id);
+            assertFalse(created.isBefore(start.minusMillis(1)));
+            assertTrue(created.isBefore(Instant.now().plus(Duration.ofSeconds(1))));
+        }
+    }
+
+    @Test
+    void jdbcInserts_ShouldAssignTimeOrderedIdsFromThisNode() {
+        VehicleRequest request = new VehicleRequest();
+        request.setLicensePlate("SNOW-U1");
+        request.setMake("Scania");
+        request.setModel("R");
+        Vehicle upserted = vehicleService.upsertBatch(List.of(request)).get(0);
+        importService.importVehicles(csv("license_plate,make,model\nSNOW-I1,Scania,S\n"));
+        importService.importInspections(csv("inspection_date,status,vehicle_id\n2025-06-01,PASSED," + upserted.getId() + "\n"));
+
+        List<Long> ids = new ArrayList<>();
+        vehicleRepository.findAll().forEach(v -> ids.add(v.getId()));
+        inspectionRepository.findAll().forEach(i -> ids.add(i.getId()));
+        assertEquals(3, ids.size());
+        for (long id : ids) {
+            assertEquals(7, TimeOrderedIds.nodeOf(id));
+        }
+    }
+
+    private static ByteArrayInputStream csv(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,107 @@
+package com.fleetops.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdsTest {
+
+    private static final Instant NOW = Instant.parse("2026-06-15T08:30:00.123Z");
+
+    /** A clock whose time the test sets. */
+    private static final class ManualClock extends Clock {
+        private final AtomicLong millis = new AtomicLong(NOW.toEpochMilli());
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    }
+
+    @Test
+    void next_ShouldEncodeTimestampAndNode() {
+        long id = new TimeOrderedIds(517, Clock.fixed(NOW, ZoneOffset.UTC)).next();
+
+        assertEquals(NOW, TimeOrderedIds.timestampOf(id));
+        assertEquals(517, TimeOrderedIds.nodeOf(id));
+        assertTrue(id > 0);
+    }
+
+    @Test
+    void next_WithinOneMillisecond_ShouldCountUpAndThenBorrowTheNext() {
+        TimeOrderedIds ids = new TimeOrderedIds(1, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        long[] generated = LongStream.range(0, 5000).map(i -> ids.next()).toArray();
+
+        for (int i = 1; i < generated.length; i++) {
+            assertTrue(generated[i] > generated[i - 1]);
+        }
+        assertEquals(NOW, TimeOrderedIds.timestampOf(generated[4095]));
+        assertEquals(NOW.plusMillis(1), TimeOrderedIds.timestampOf(generated[4096]));
+    }
+
+    @Test
+    void next_WhenClockStepsBack_ShouldStillIncrease() {
+        ManualClock clock = new ManualClock();
+        TimeOrderedIds ids = new TimeOrderedIds(3, clock);
+        long before = ids.next();
+
+        clock.millis.addAndGet(-10_000);
+        long after = ids.next();
+
+        assertTrue(after > before);
+        assertEquals(NOW, TimeOrderedIds.timestampOf(after));
+    }
+
+    @Test
+    void next_FromManyThreads_ShouldNeverRepeat() throws Exception {
+        TimeOrderedIds ids = new TimeOrderedIds(42, Clock.systemUTC());
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8)
+                    .<Future<?>>mapToObj(t -> pool.submit(() -> {
+                        for (int i = 0; i < 20_000; i++) {
+                            assertTrue(seen.add(ids.next()));
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(160_000, seen.size());
+    }
+
+    @Test
+    void constructor_WhenNodeOutOfRange_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(1024, Clock.systemUTC()));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(-1, Clock.systemUTC()));
+    }
+}
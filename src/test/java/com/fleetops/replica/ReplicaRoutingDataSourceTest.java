@@ -0,0 +1,144 @@
+package com.fleetops.replica;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private final Map<DataSource, Long> lag = new HashMap<>();
+    private final Map<DataSource, Integer> load = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = dataSource();
+        replicaA = dataSource();
+        replicaB = dataSource();
+        lag.put(replicaA, 0L);
+        lag.put(replicaB, 0L);
+        load.put(replicaA, 0);
+        load.put(replicaB, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.end();
+    }
+
+    private static DataSource dataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        return dataSource;
+    }
+
+    private ReplicaSet replicas(ReplicaProperties.Selection selection) {
+        ReplicaSet replicas = new ReplicaSet(primary, List.of(replica("a", replicaA), replica("b", replicaB)),
+                                             selection, Duration.ofSeconds(5), replica -> {
+            Long millis = lag.get(replica);
+            if (millis == null) {
+                throw new SQLTransientConnectionException("down");
+            }
+            return millis;
+        });
+        replicas.checkLag();
+        return replicas;
+    }
+
+    private ReplicaSet.Replica replica(String name, DataSource dataSource) {
+        return new ReplicaSet.Replica(name, dataSource, () -> load.get(dataSource));
+    }
+
+    /** Open a connection through the routing datasource and run a statement so the target is chosen. */
+    private static void use(ReplicaRoutingDataSource routing, boolean readOnly) throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.createStatement();
+        }
+    }
+
+    private static ReplicaRoutingDataSource routing(DataSource primary, ReplicaSet replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+        routing.setDefaultAutoCommit(true);
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return routing;
+    }
+
+    @Test
+    void readOnlyConnections_ShouldGoToReplicas_AndWritesToPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(primary, replicas(ReplicaProperties.Selection.ROUND_ROBIN));
+
+        use(routing, true);
+        use(routing, false);
+
+        verify(replicaA).getConnection();
+        verify(primary).getConnection();
+        verify(replicaB, never()).getConnection();
+    }
+
+    @Test
+    void roundRobin_ShouldAlternateAndSkipLaggingReplicas() {
+        ReplicaSet replicas = replicas(ReplicaProperties.Selection.ROUND_ROBIN);
+        assertEquals(List.of(replicaA, replicaB, replicaA), List.of(replicas.select(), replicas.select(), replicas.select()));
+
+        lag.put(replicaB, 60_000L);
+        replicas.checkLag();
+        assertEquals(List.of(replicaA, replicaA), List.of(replicas.select(), replicas.select()));
+
+        lag.remove(replicaA);
+        replicas.checkLag();
+        assertSame(primary, replicas.select());
+
+        lag.put(replicaB, 0L);
+        replicas.checkLag();
+        assertSame(replicaB, replicas.select());
+    }
+
+    @Test
+    void leastLoaded_ShouldPickReplicaWithFewestActiveConnections() {
+        ReplicaSet replicas = replicas(ReplicaProperties.Selection.LEAST_LOADED);
+        load.put(replicaA, 7);
+        load.put(replicaB, 2);
+
+        assertSame(replicaB, replicas.select());
+    }
+
+    @Test
+    void pinnedRequest_ShouldReadFromPrimary() {
+        ReplicaSet replicas = replicas(ReplicaProperties.Selection.ROUND_ROBIN);
+        ReadYourWrites.begin(true);
+
+        assertSame(primary, replicas.select());
+        assertFalse(ReadYourWrites.end());
+        assertSame(replicaA, replicas.select());
+    }
+
+    @Test
+    void requestThatWrote_ShouldReadItsWritesFromPrimary() throws SQLException {
+        ReplicaSet replicas = replicas(ReplicaProperties.Selection.ROUND_ROBIN);
+        ReplicaRoutingDataSource routing = routing(primary, replicas);
+        ReadYourWrites.begin(false);
+
+        use(routing, true);
+        use(routing, false);
+        use(routing, true);
+
+        verify(replicaA, times(1)).getConnection();
+        verify(primary, times(2)).getConnection();
+        assertTrue(ReadYourWrites.end());
+    }
+}
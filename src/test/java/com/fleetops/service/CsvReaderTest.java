@@ -0,0 +1,55 @@
+package com.fleetops.service;
+
+import com.fleetops.exception.InvalidCsvException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    private static CsvReader reader(String csv, String... required) {
+        return new CsvReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), required);
+    }
+
+    @Test
+    void next_ShouldSplitQuotedFieldsAndTrackRecordLines() {
+        CsvReader reader = reader("Make, License_Plate ,model\r\n"
+                                  + "Ford,AB-1,\"Focus, \"\"ST\"\"\"\r\n"
+                                  + "\r\n"
+                                  + "\"Multi\nline\",CD-2,\n", "license_plate", "make", "model");
+
+        List<String> first = reader.next();
+        assertEquals(2, reader.recordLine());
+        assertEquals("AB-1", reader.get(first, "license_plate"));
+        assertEquals("Focus, \"ST\"", reader.get(first, "model"));
+
+        List<String> second = reader.next();
+        assertEquals(4, reader.recordLine());
+        assertEquals("Multi\nline", reader.get(second, "make"));
+        assertEquals("", reader.get(second, "model"));
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void get_WhenRecordIsShort_ShouldReturnNull() {
+        CsvReader reader = reader("a,b\nonly", "a", "b");
+        assertNull(reader.get(reader.next(), "b"));
+    }
+
+    @Test
+    void constructor_WhenRequiredColumnMissing_ShouldThrow() {
+        assertThrows(InvalidCsvException.class, () -> reader("make,model\n", "license_plate"));
+        assertThrows(InvalidCsvException.class, () -> reader("", "license_plate"));
+    }
+
+    @Test
+    void next_WhenQuoteIsNotClosed_ShouldThrow() {
+        CsvReader reader = reader("a\n\"open", "a");
+        assertThrows(InvalidCsvException.class, reader::next);
+    }
+}
@@ -72,7 +72,8 @@ class DriverServiceIT {
             this.failSave = failSave;
         }
 
-        @org.aspectj.lang.annotation.Around("execution(* org.springframework.data.repository.CrudRepository+.save(..))")
+        @org.aspectj.lang.annotation.Around("execution(* org.springframework.data.repository.CrudRepository+.save(..))"
+                + " || execution(* com.fleetops.repository.DriverRepositoryCustom+.updateColumns(..))")
         public Object aroundSave(org.aspectj.lang.ProceedingJoinPoint pjp) throws Throwable {
             if (failSave.get()) {
                 throw new RuntimeException("boom");
@@ -1,15 +1,28 @@
 package com.fleetops.service;
 
+import com.fleetops.cache.ReadThroughCaches;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.DriverRequest;
+import com.fleetops.dto.DriverResponse;
+import com.fleetops.dto.LookupResult;
 import com.fleetops.entity.Driver;
 import com.fleetops.exception.DriverNotFoundException;
 import com.fleetops.repository.DriverRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.*;
 
@@ -23,6 +36,15 @@ class DriverServiceTest {
     @Mock
     private DriverRepository driverRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ReadThroughCaches caches = ReadThroughCaches.disabled();
+
     @InjectMocks
     private DriverService driverService;
 
@@ -97,6 +119,52 @@ class DriverServiceTest {
             verifyNoMoreInteractions(driverRepository);
         }
 
+        @Test
+        void getPage_WhenRowsFitInLimit_ShouldReturnLastPageWithoutCursor() {
+            DriverResponse row = new DriverResponse(1L, "John", "LIC1");
+            when(driverRepository.findResponsesByIdGreaterThan(0L, Limit.of(11))).thenReturn(List.of(row));
+            CursorPage<DriverResponse> page = driverService.getPage(null, 10, CountMode.NONE);
+            assertEquals(List.of(row), page.getItems());
+            assertNull(page.getNextCursor());
+            verify(driverRepository).findResponsesByIdGreaterThan(0L, Limit.of(11));
+            verifyNoMoreInteractions(driverRepository);
+        }
+
+        @Test
+        void getPage_WhenMoreRowsThanLimit_ShouldReturnCursorOfLastItem() {
+            DriverResponse row = new DriverResponse(1L, "John", "LIC1");
+            DriverResponse other = new DriverResponse(5L, "Jane", "LIC5");
+            when(driverRepository.findResponsesByIdGreaterThan(0L, Limit.of(2))).thenReturn(List.of(row, other));
+            CursorPage<DriverResponse> page = driverService.getPage(null, 1, CountMode.NONE);
+            assertEquals(List.of(row), page.getItems());
+            assertEquals(CursorCodec.encodeId(1L), page.getNextCursor());
+        }
+
+        @Test
+        void getResponseById_WhenDriverExists_ShouldReturnProjection() {
+            DriverResponse row = new DriverResponse(1L, "John", "LIC1");
+            when(driverRepository.findResponseById(1L)).thenReturn(Optional.of(row));
+            assertSame(row, driverService.getResponseById(1L));
+            verify(driverRepository).findResponseById(1L);
+            verifyNoMoreInteractions(driverRepository);
+        }
+
+        @Test
+        void getResponseById_WhenDriverMissing_ShouldThrowDriverNotFoundException() {
+            when(driverRepository.findResponseById(9L)).thenReturn(Optional.empty());
+            assertThrows(DriverNotFoundException.class, () -> driverService.getResponseById(9L));
+        }
+
+        @Test
+        void getResponsesByIds_ShouldAnswerInRequestOrderWithNotFoundMarkers() {
+            DriverResponse row = new DriverResponse(1L, "John", "LIC1");
+            when(driverRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(row));
+            List<LookupResult<DriverResponse>> result = driverService.getResponsesByIds(List.of(9L, 1L));
+            assertEquals(List.of(LookupResult.notFound(9L), LookupResult.found(1L, row)), result);
+            verify(driverRepository).findResponsesByIdIn(List.of(9L, 1L));
+            verifyNoMoreInteractions(driverRepository);
+        }
+
         @Test
         void getById_WhenDriverExists_ShouldReturnDriver() {
             when(driverRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(driver));
@@ -129,24 +197,27 @@ class DriverServiceTest {
             Driver update = new Driver();
             update.setName("Jane Smith");
             update.setLicenseNumber("NEW123");
-            when(driverRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(driver));
-            when(driverRepository.save(any(Driver.class))).thenReturn(driver);
+            Map<String, Object> expected = Map.of(
+                    DriverRepository.NAME, "Jane Smith",
+                    DriverRepository.LICENSE_NUMBER, "NEW123");
+            when(driverRepository.updateColumns(Long.valueOf(1L), expected))
+                    .thenReturn(Optional.of(new Driver(Long.valueOf(1L), "Jane Smith", "NEW123")));
             Driver result = driverService.update(Long.valueOf(1L), update);
             assertNotNull(result);
             assertEquals(Long.valueOf(1L), result.getId());
             assertEquals("Jane Smith", result.getName());
             assertEquals("NEW123", result.getLicenseNumber());
-            verify(driverRepository).findById(Long.valueOf(1L));
-            verify(driverRepository).save(driver);
+            verify(driverRepository).updateColumns(Long.valueOf(1L), expected);
             verifyNoMoreInteractions(driverRepository);
         }
 
         @Test
         void update_WhenDriverDoesNotExist_ShouldThrowDriverNotFoundException() {
-            when(driverRepository.findById(Long.valueOf(1L))).thenReturn(Optional.empty());
+            when(driverRepository.updateColumns(eq(Long.valueOf(1L)), anyMap())).thenReturn(Optional.empty());
             Driver update = new Driver();
+            update.setName("Nobody");
             assertThrows(DriverNotFoundException.class, () -> driverService.update(Long.valueOf(1L), update));
-            verify(driverRepository).findById(Long.valueOf(1L));
+            verify(driverRepository).updateColumns(eq(Long.valueOf(1L)), anyMap());
             verifyNoMoreInteractions(driverRepository);
         }
 
@@ -164,21 +235,25 @@ class DriverServiceTest {
         }
 
         @Test
-        void update_WhenSomeFieldsAreNull_ShouldPreserveExistingValues() {
-            Driver existing = new Driver();
-            existing.setId(Long.valueOf(1L));
-            existing.setName("Existing");
-            existing.setLicenseNumber("LIC-OLD");
-            when(driverRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(existing));
-            when(driverRepository.save(any(Driver.class))).thenAnswer(inv -> inv.getArgument(0));
+        void update_WhenSomeFieldsAreNull_ShouldOnlySetSuppliedColumns() {
+            when(driverRepository.updateColumns(Long.valueOf(1L), Map.of(DriverRepository.LICENSE_NUMBER, "LIC-NEW")))
+                    .thenReturn(Optional.of(new Driver(Long.valueOf(1L), "Existing", "LIC-NEW")));
             Driver patch = new Driver();
             patch.setName(null);
             patch.setLicenseNumber("LIC-NEW");
             Driver result = driverService.update(Long.valueOf(1L), patch);
             assertEquals("Existing", result.getName());
             assertEquals("LIC-NEW", result.getLicenseNumber());
+            verify(driverRepository).updateColumns(Long.valueOf(1L), Map.of(DriverRepository.LICENSE_NUMBER, "LIC-NEW"));
+            verifyNoMoreInteractions(driverRepository);
+        }
+
+        @Test
+        void update_WhenNoFieldsSupplied_ShouldReturnCurrentDriverWithoutUpdating() {
+            when(driverRepository.findById(Long.valueOf(1L))).thenReturn(Optional.of(driver));
+            Driver result = driverService.update(Long.valueOf(1L), new Driver());
+            assertEquals(driver, result);
             verify(driverRepository).findById(Long.valueOf(1L));
-            verify(driverRepository).save(any(Driver.class));
             verifyNoMoreInteractions(driverRepository);
         }
     }
@@ -186,11 +261,10 @@ class DriverServiceTest {
     @Nested
     class Delete {
         @Test
-        void delete_WhenCalled_ShouldInvokeRepositoryDeleteById() {
-            when(driverRepository.existsById(Long.valueOf(1L))).thenReturn(true);
+        void delete_WhenCalled_ShouldIssueSingleDelete() {
+            when(driverRepository.removeById(Long.valueOf(1L))).thenReturn(1);
             driverService.delete(Long.valueOf(1L));
-            verify(driverRepository).existsById(Long.valueOf(1L));
-            verify(driverRepository).deleteById(Long.valueOf(1L));
+            verify(driverRepository).removeById(Long.valueOf(1L));
             verifyNoMoreInteractions(driverRepository);
         }
 
@@ -202,20 +276,52 @@ class DriverServiceTest {
 
         @Test
         void delete_WhenMissing_ShouldThrowDriverNotFoundException() {
-            when(driverRepository.existsById(Long.valueOf(999999L))).thenReturn(false);
+            when(driverRepository.removeById(Long.valueOf(999999L))).thenReturn(0);
             assertThrows(DriverNotFoundException.class, () -> driverService.delete(Long.valueOf(999999L)));
-            verify(driverRepository).existsById(Long.valueOf(999999L));
+            verify(driverRepository).removeById(Long.valueOf(999999L));
             verifyNoMoreInteractions(driverRepository);
         }
 
         @Test
         void delete_WhenRepositoryThrows_ShouldPropagateException() {
-            when(driverRepository.existsById(Long.valueOf(1L))).thenReturn(true);
-            doThrow(new RuntimeException("DB error")).when(driverRepository).deleteById(Long.valueOf(1L));
+            when(driverRepository.removeById(Long.valueOf(1L))).thenThrow(new RuntimeException("DB error"));
             assertThrows(RuntimeException.class, () -> driverService.delete(Long.valueOf(1L)));
-            verify(driverRepository).existsById(Long.valueOf(1L));
-            verify(driverRepository).deleteById(Long.valueOf(1L));
+            verify(driverRepository).removeById(Long.valueOf(1L));
             verifyNoMoreInteractions(driverRepository);
         }
     }
+
+    @Nested
+    class CreateBatch {
+        @Test
+        void createBatch_WhenItemsMixed_ShouldPersistValidOnesAndRejectOthersInPlace() {
+            when(driverRepository.findLicenseNumbersIn(anyCollection())).thenReturn(List.of("LIC123"));
+            when(driverRepository.saveAll(anyList())).thenAnswer(inv -> {
+                List<Driver> chunk = inv.getArgument(0);
+                chunk.forEach(d -> d.setId(7L));
+                return chunk;
+            });
+
+            BatchResult result = driverService.createBatch(List.of(
+                    request("Jane", "LIC900"),
+                    request("John", "LIC123"),
+                    request(" ", "LIC901"),
+                    request("Jim", "LIC900")));
+
+            assertEquals(1, result.getCreated());
+            assertEquals(3, result.getRejected());
+            assertEquals(BatchItemResult.created(0, 7L), result.getItems().get(0));
+            assertTrue(result.getItems().get(1).getError().contains("already exists"));
+            assertTrue(result.getItems().get(2).getError().startsWith("name"));
+            assertTrue(result.getItems().get(3).getError().contains("Duplicate"));
+            verify(entityManager).flush();
+        }
+
+        private DriverRequest request(String name, String licenseNumber) {
+            DriverRequest r = new DriverRequest();
+            r.setName(name);
+            r.setLicenseNumber(licenseNumber);
+            return r;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package com.fleetops.service;
+
+import com.fleetops.dto.ImportResult;
+import com.fleetops.dto.ImportRowError;
+import com.fleetops.entity.Inspection;
+import com.fleetops.entity.Vehicle;
+import com.fleetops.exception.InvalidCsvException;
+import com.fleetops.repository.InspectionRepository;
+import com.fleetops.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.liquibase.enabled=false", "spring.sql.init.mode=never"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ActiveProfiles("test")
+class ImportServiceIT {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private InspectionRepository inspectionRepository;
+
+    private Vehicle existing;
+
+    @BeforeEach
+    void setUp() {
+        inspectionRepository.deleteAll();
+        vehicleRepository.deleteAll();
+        Vehicle vehicle = new Vehicle();
+        vehicle.setLicensePlate("ABC-123");
+        vehicle.setMake("Toyota");
+        vehicle.setModel("Corolla");
+        existing = vehicleRepository.save(vehicle);
+    }
+
+    private static InputStream csv(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void importVehicles_ShouldNormalizeUpsertByPlateAndReportInvalidRows() {
+        ImportResult result = importService.importVehicles(csv("""
+                license_plate,make,model
+                 abc-123 , Toyota , Yaris
+                new-1,Ford,Focus
+                ,Ford,Fiesta
+                NEW-1,Ford,Mondeo
+                """));
+
+        assertEquals(4, result.getRows());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals(2, vehicleRepository.count());
+        assertEquals("Yaris", vehicleRepository.findById(existing.getId()).orElseThrow().getModel());
+        assertEquals("Mondeo", vehicleRepository.findAll().stream()
+                                                .filter(v -> v.getLicensePlate().equals("NEW-1"))
+                                                .findFirst().orElseThrow().getModel());
+    }
+
+    @Test
+    void importInspections_ShouldInsertForExistingVehiclesAndRejectTheRest() {
+        long missing = existing.getId() + 1000;
+        ImportResult result = importService.importInspections(csv(
+                "inspection_date,status,vehicle_id\n"
+                + "2024-03-01, passed ," + existing.getId() + "\n"
+                + "01/03/2024,PASSED," + existing.getId() + "\n"
+                + "2024-03-02,FAILED," + missing + "\n"
+                + "2024-03-03,FAILED,abc\n"));
+
+        assertEquals(4, result.getRows());
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(ImportRowError::getLine).toList());
+        assertEquals("Vehicle " + missing + " not found.", result.getErrors().get(1).getError());
+        List<Inspection> stored = inspectionRepository.findAll();
+        assertEquals(1, stored.size());
+        assertEquals("PASSED", stored.get(0).getStatus());
+        assertEquals(LocalDate.of(2024, 3, 1), stored.get(0).getInspectionDate());
+    }
+
+    @Test
+    void importInspections_ShouldUseOneIdPerInsertedRow() {
+        importService.importInspections(csv(
+                "inspection_date,status,vehicle_id\n"
+                + "2024-04-01,PASSED," + existing.getId() + "\n"
+                + "2024-04-02,PASSED," + existing.getId() + "\n"
+                + "2024-04-03,FAILED," + existing.getId() + "\n"));
+
+        List<Long> ids = inspectionRepository.findAll().stream().map(Inspection::getId).sorted().toList();
+        assertEquals(3, ids.size());
+        assertEquals(ids.get(0) + 2, ids.get(2));
+    }
+
+    @Test
+    void importVehicles_WhenColumnMissing_ShouldThrowAndStoreNothing() {
+        assertThrows(InvalidCsvException.class, () -> importService.importVehicles(csv("license_plate,make\nX,Y\n")));
+        assertEquals(1, vehicleRepository.count());
+    }
+}
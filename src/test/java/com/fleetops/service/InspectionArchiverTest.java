@@ -0,0 +1,93 @@
+package com.fleetops.service;
+
+import com.fleetops.archive.ArchivedInspection;
+import com.fleetops.archive.InspectionArchive;
+import com.fleetops.repository.InspectionRepository;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.shard.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InspectionArchiverTest {
+
+    private static final Clock MID_2026 = Clock.fixed(Instant.parse("2026-06-15T00:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 6, 15);
+
+    @Mock
+    private InspectionRepository inspectionRepository;
+
+    @Mock
+    private InspectionArchive archive;
+
+    @Mock
+    private TableStamps tableStamps;
+
+    private InspectionArchiver archiver(boolean enabled, int rowsPerSegment) {
+        return new InspectionArchiver(inspectionRepository, archive, TransactionOperations.withoutTransaction(),
+                                      enabled, Period.ofYears(2), rowsPerSegment, MID_2026, ShardRouter.single(),
+                                      tableStamps);
+    }
+
+    private static ArchivedInspection row(long id) {
+        return new ArchivedInspection(id, LocalDate.of(2020, 1, 1), "PASSED", 7L);
+    }
+
+    @Test
+    void archive_WhenDisabled_ShouldDoNothing() {
+        assertEquals(0, archiver(false, 2).archive());
+        verifyNoInteractions(inspectionRepository, archive);
+    }
+
+    @Test
+    void archive_ShouldWriteOneSegmentPerFullBatchUntilDrained() {
+        when(inspectionRepository.lockDatedBefore(CUTOFF, 2))
+                .thenReturn(List.of(row(1), row(2)), List.of(row(3)));
+
+        assertEquals(3, archiver(true, 2).archive());
+
+        InOrder order = inOrder(archive, inspectionRepository);
+        order.verify(archive).append(List.of(row(1), row(2)));
+        order.verify(inspectionRepository).deleteDatedBefore(CUTOFF, List.of(1L, 2L));
+        order.verify(archive).append(List.of(row(3)));
+        order.verify(inspectionRepository).deleteDatedBefore(CUTOFF, List.of(3L));
+        verify(inspectionRepository, times(2)).lockDatedBefore(CUTOFF, 2);
+    }
+
+    @Test
+    void archive_ShouldNotRewriteRowsAlreadyArchivedByAnEarlierRun() {
+        when(inspectionRepository.lockDatedBefore(CUTOFF, 10)).thenReturn(List.of(row(1), row(2)));
+        when(archive.contains(1L)).thenReturn(true);
+
+        assertEquals(2, archiver(true, 10).archive());
+
+        verify(archive).append(List.of(row(2)));
+        verify(inspectionRepository).deleteDatedBefore(CUTOFF, List.of(1L, 2L));
+    }
+
+    @Test
+    void archive_WhenSegmentWriteFails_ShouldSwallowAndRetryNextRun() {
+        when(inspectionRepository.lockDatedBefore(CUTOFF, 10)).thenReturn(List.of(row(1)));
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(archive).append(any());
+
+        assertEquals(0, archiver(true, 10).archive());
+        verify(inspectionRepository, never()).deleteDatedBefore(any(), any());
+    }
+}
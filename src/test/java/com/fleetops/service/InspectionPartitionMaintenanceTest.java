@@ -0,0 +1,92 @@
+package com.fleetops.service;
+
+import com.fleetops.repository.InspectionPartitions;
+import com.fleetops.repository.TableStamps;
+import com.fleetops.shard.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InspectionPartitionMaintenanceTest {
+
+    private static final Clock MID_2026 = Clock.fixed(Instant.parse("2026-06-15T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private InspectionPartitions partitions;
+
+    @Mock
+    private TableStamps tableStamps;
+
+    @Test
+    void maintain_WhenNotPartitioned_ShouldDoNothing() {
+        when(partitions.isPartitioned()).thenReturn(false);
+        new InspectionPartitionMaintenance(partitions, 1, 10, MID_2026, ShardRouter.single(), tableStamps).maintain();
+        verify(partitions).isPartitioned();
+        verifyNoMoreInteractions(partitions);
+    }
+
+    @Test
+    void maintain_ShouldCreateMissingCurrentAndUpcomingYears() {
+        when(partitions.isPartitioned()).thenReturn(true);
+        when(partitions.attachedYears()).thenReturn(List.of(2025, 2026));
+        new InspectionPartitionMaintenance(partitions, 2, 0, MID_2026, ShardRouter.single(), tableStamps).maintain();
+        verify(partitions).create(2027);
+        verify(partitions).create(2028);
+        verify(partitions, never()).create(2026);
+        verify(partitions, never()).detach(anyInt());
+    }
+
+    @Test
+    void maintain_WhenRetentionSet_ShouldDetachOnlyFullyExpiredYears() {
+        when(partitions.isPartitioned()).thenReturn(true);
+        when(partitions.attachedYears()).thenReturn(List.of(2014, 2015, 2016, 2026, 2027));
+        new InspectionPartitionMaintenance(partitions, 1, 10, MID_2026, ShardRouter.single(), tableStamps).maintain();
+        verify(partitions).detach(2014);
+        verify(partitions).detach(2015);
+        verify(partitions, never()).detach(2016);
+        verify(tableStamps, times(2)).touchAfterCommit(TableStamps.INSPECTION);
+        verify(partitions, never()).create(anyInt());
+    }
+
+    @Test
+    void maintain_WhenDdlFails_ShouldSwallowAndRetryNextRun() {
+        when(partitions.isPartitioned()).thenReturn(true);
+        when(partitions.attachedYears()).thenReturn(List.of());
+        doThrow(new DataAccessResourceFailureException("lock timeout")).when(partitions).create(2026);
+        new InspectionPartitionMaintenance(partitions, 1, 0, MID_2026, ShardRouter.single(), tableStamps).maintain();
+        verify(partitions).create(2026);
+    }
+
+    @Test
+    void maintain_WhenOnePartitionFails_ShouldStillMaintainTheOthers() {
+        when(partitions.isPartitioned()).thenReturn(true);
+        when(partitions.attachedYears()).thenReturn(List.of(2014, 2015, 2016));
+        doThrow(new DataAccessResourceFailureException("lock timeout")).when(partitions).create(2026);
+        doThrow(new DataAccessResourceFailureException("lock timeout")).when(partitions).detach(2014);
+        new InspectionPartitionMaintenance(partitions, 1, 10, MID_2026, ShardRouter.single(), tableStamps).maintain();
+        verify(partitions).create(2027);
+        verify(partitions).detach(2015);
+        verify(tableStamps).touchAfterCommit(TableStamps.INSPECTION);
+    }
+
+    @Test
+    void maintain_WhenDefaultPartitionHoldsRows_ShouldCreateTheirYears() {
+        when(partitions.isPartitioned()).thenReturn(true);
+        when(partitions.attachedYears()).thenReturn(List.of(2026, 2027));
+        when(partitions.defaultYears()).thenReturn(List.of(2019, 2026));
+        new InspectionPartitionMaintenance(partitions, 1, 0, MID_2026, ShardRouter.single(), tableStamps).maintain();
+        verify(partitions).create(2019);
+        verify(partitions, never()).create(2026);
+        verify(partitions, never()).create(2027);
+    }
+}
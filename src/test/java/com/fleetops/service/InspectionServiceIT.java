@@ -1,8 +1,18 @@
 package com.fleetops.service;
 
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.InspectionResponse;
 import com.fleetops.entity.Inspection;
+import com.fleetops.entity.Vehicle;
 import com.fleetops.exception.InspectionNotFoundException;
+import com.fleetops.exception.VehicleNotFoundException;
 import com.fleetops.repository.InspectionRepository;
+import com.fleetops.repository.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -15,15 +25,20 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {"spring.jpa.hibernate" +
                                                                                    ".ddl-auto=create-drop", "spring" +
-                                                                                                            ".liquibase.enabled=false", "spring.sql.init.mode=never"})
+                                                                                                            ".liquibase.enabled=false", "spring.sql.init.mode=never",
+                                                                                   "spring.jpa.properties.hibernate.generate_statistics=true"})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 @ActiveProfiles("test")
 @Import(InspectionServiceIT.SaveFailureAspectConfig.class)
@@ -35,6 +50,15 @@ class InspectionServiceIT {
     @Autowired
     private InspectionRepository inspectionRepository;
 
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Inspection existing;
 
     @BeforeEach
@@ -46,6 +70,23 @@ class InspectionServiceIT {
         existing = inspectionRepository.save(existing);
     }
 
+    private void saveInspectionsForNewVehicles(int count) {
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = vehicleRepository.save(
+                    Vehicle.builder().licensePlate("N1-" + System.nanoTime()).make("Make").model("Model").build());
+            inspectionRepository.save(
+                    Inspection.builder().inspectionDate(LocalDate.of(2024, 3, 1)).status("PASSED").vehicle(vehicle)
+                              .build());
+        }
+    }
+
+    private long statementsFor(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     protected Inspection findFresh(Long id) {
         return inspectionRepository.findById(id).orElseThrow();
@@ -69,7 +110,8 @@ class InspectionServiceIT {
             this.failSave = failSave;
         }
 
-        @org.aspectj.lang.annotation.Around("execution(* org.springframework.data.repository.CrudRepository+.save(..))")
+        @org.aspectj.lang.annotation.Around("execution(* org.springframework.data.repository.CrudRepository+.save(..))"
+                + " || execution(* com.fleetops.repository.InspectionRepositoryCustom+.updateColumns(..))")
         public Object aroundSave(org.aspectj.lang.ProceedingJoinPoint pjp) throws Throwable {
             if (failSave.get()) {
                 throw new RuntimeException("boom");
@@ -119,6 +161,191 @@ class InspectionServiceIT {
             assertFalse(all.isEmpty());
             assertTrue(all.stream().anyMatch(i -> "PASSED".equals(i.getStatus())));
         }
+
+        @Test
+        void getAll_WhenVehiclesGrow_ShouldIssueConstantStatementCount() {
+            saveInspectionsForNewVehicles(2);
+            long small = statementsFor(() -> inspectionService.getAll());
+
+            saveInspectionsForNewVehicles(20);
+            long large = statementsFor(() -> inspectionService.getAll());
+
+            assertEquals(1, small);
+            assertEquals(small, large);
+        }
+
+        @Test
+        void getPage_WhenVehiclesGrow_ShouldIssueConstantStatementCount() {
+            saveInspectionsForNewVehicles(2);
+            long small = statementsFor(() -> inspectionService.getPage(null, 100, CountMode.NONE));
+
+            saveInspectionsForNewVehicles(20);
+            long large = statementsFor(() -> inspectionService.getPage(null, 100, CountMode.NONE));
+
+            assertEquals(1, small);
+            assertEquals(small, large);
+        }
+
+        @Test
+        void getVehicleHistory_ShouldWalkNewestFirstAcrossDateTiesInTwoStatementsPerPage() {
+            Vehicle vehicle = vehicleRepository.save(
+                    Vehicle.builder().licensePlate("HIST-" + System.nanoTime()).make("Make").model("Model").build());
+            List<LocalDate> dates = List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1),
+                                            LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1),
+                                            LocalDate.of(2024, 2, 1));
+            List<Inspection> saved = dates.stream()
+                    .map(d -> inspectionRepository.save(
+                            Inspection.builder().inspectionDate(d).status("PASSED").vehicle(vehicle).build()))
+                    .toList();
+            saveInspectionsForNewVehicles(2);
+            List<Long> expected = saved.stream()
+                    .sorted(Comparator.comparing(Inspection::getInspectionDate)
+                                      .thenComparing(Inspection::getId).reversed())
+                    .map(Inspection::getId)
+                    .toList();
+
+            List<Long> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                AtomicReference<CursorPage<InspectionResponse>> page = new AtomicReference<>();
+                String after = cursor;
+                long statements = statementsFor(
+                        () -> page.set(inspectionService.getVehicleHistory(vehicle.getId(), after, 2, CountMode.NONE)));
+                assertEquals(2, statements);
+                page.get().getItems().forEach(i -> {
+                    assertEquals(vehicle.getLicensePlate(), i.getVehicle().getLicensePlate());
+                    walked.add(i.getId());
+                });
+                cursor = page.get().getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(expected, walked);
+            assertEquals(5L, inspectionService.getVehicleHistory(vehicle.getId(), null, 1, CountMode.EXACT)
+                                              .getTotalCount());
+        }
+
+        @Test
+        void getVehicleHistory_WhenVehicleMissing_ShouldThrowVehicleNotFoundException() {
+            assertThrows(VehicleNotFoundException.class,
+                         () -> inspectionService.getVehicleHistory(Long.MAX_VALUE, null, 10, CountMode.NONE));
+        }
+
+        @Test
+        void getPage_WhenCountExact_ShouldReportRowCount() {
+            saveInspectionsForNewVehicles(3);
+            CursorPage<InspectionResponse> page = inspectionService.getPage(null, 1, CountMode.EXACT);
+            assertEquals(inspectionRepository.count(), page.getTotalCount());
+            assertFalse(page.getTotalCountEstimated());
+        }
+
+        @Test
+        void getPage_WhenCountEstimate_ShouldReportStatisticsEstimate() {
+            saveInspectionsForNewVehicles(3);
+            CursorPage<InspectionResponse> page = inspectionService.getPage(null, 1, CountMode.ESTIMATE);
+            assertNotNull(page.getTotalCount());
+            assertTrue(page.getTotalCount() >= 0);
+            assertTrue(page.getTotalCountEstimated());
+        }
+
+        @Test
+        void getResponseById_WhenVehicleLinked_ShouldProjectVehicleSummaryInOneStatement() {
+            saveInspectionsForNewVehicles(1);
+            Inspection linked = inspectionRepository.findAll().stream()
+                                                    .filter(i -> i.getVehicle() != null)
+                                                    .findFirst().orElseThrow();
+            InspectionResponse[] holder = new InspectionResponse[1];
+            long statements = statementsFor(() -> holder[0] = inspectionService.getResponseById(linked.getId()));
+            assertEquals(1, statements);
+            assertEquals(linked.getId(), holder[0].getId());
+            assertEquals(linked.getVehicle().getLicensePlate(), holder[0].getVehicle().getLicensePlate());
+        }
+
+        @Test
+        void getResponseById_WhenNoVehicle_ShouldLeaveVehicleSummaryNull() {
+            InspectionResponse found = inspectionService.getResponseById(existing.getId());
+            assertEquals("PASSED", found.getStatus());
+            assertNull(found.getVehicle());
+        }
+
+        @Test
+        void getAll_WhenRowsGrow_ShouldFetchVehiclesWithoutExtraStatements() {
+            saveInspectionsForNewVehicles(3);
+            List<Inspection> small = new ArrayList<>();
+            long smallStatements = statementsFor(() -> small.addAll(inspectionService.getAll()));
+
+            saveInspectionsForNewVehicles(30);
+            List<Inspection> large = new ArrayList<>();
+            long largeStatements = statementsFor(() -> large.addAll(inspectionService.getAll()));
+
+            assertEquals(small.size() + 30, large.size());
+            assertEquals(smallStatements, largeStatements);
+            large.stream()
+                 .map(Inspection::getVehicle)
+                 .filter(Objects::nonNull)
+                 .forEach(v -> assertTrue(Hibernate.isInitialized(v)));
+        }
+    }
+
+    @Nested
+    class Latest {
+        @Test
+        void findLatestByVehicleId_WhenSameDayTie_ShouldReturnHighestIdInsteadOfThrowing() {
+            Vehicle vehicle = newVehicle();
+            save(vehicle, LocalDate.of(2024, 1, 1), "PASSED");
+            save(vehicle, LocalDate.of(2024, 5, 1), "FAILED");
+            Inspection last = save(vehicle, LocalDate.of(2024, 5, 1), "PASSED");
+            save(vehicle, null, "PENDING");
+
+            Optional<Inspection> latest = inspectionRepository.findLatestByVehicleId(vehicle.getId());
+
+            assertTrue(latest.isPresent());
+            assertEquals(last.getId(), latest.get().getId());
+        }
+
+        @Test
+        void getLatestPerVehicle_WhenSeveralVehicles_ShouldReturnOneRowPerVehicleInOneStatement() {
+            Vehicle first = newVehicle();
+            Vehicle second = newVehicle();
+            Vehicle uninspected = newVehicle();
+            save(first, LocalDate.of(2024, 1, 1), "PASSED");
+            Inspection firstLatest = save(first, LocalDate.of(2024, 3, 1), "FAILED");
+            Inspection secondLatest = save(second, LocalDate.of(2023, 7, 1), "PASSED");
+            save(second, LocalDate.of(2022, 7, 1), "FAILED");
+
+            AtomicReference<List<InspectionResponse>> holder = new AtomicReference<>();
+            long statements = statementsFor(() -> holder.set(inspectionService.getLatestPerVehicle()));
+            List<InspectionResponse> latest = holder.get();
+
+            assertEquals(1, statements);
+            assertEquals(List.of(firstLatest.getId(), secondLatest.getId()),
+                         latest.stream().map(InspectionResponse::getId).toList());
+            assertEquals(LocalDate.of(2024, 3, 1), latest.get(0).getInspectionDate());
+            assertEquals(first.getLicensePlate(), latest.get(0).getVehicle().getLicensePlate());
+            assertTrue(latest.stream().noneMatch(r -> uninspected.getId().equals(r.getVehicle().getId())));
+        }
+
+        @Test
+        void updateThenFindVehiclesByStatus_ShouldMatchRegardlessOfInputCase() {
+            Vehicle vehicle = newVehicle();
+            Inspection inspection = save(vehicle, LocalDate.of(2024, 6, 1), "PENDING");
+            Inspection patch = new Inspection();
+            patch.setStatus(" Failed ");
+            inspectionService.update(inspection.getId(), patch);
+
+            assertEquals("FAILED", findFresh(inspection.getId()).getStatus());
+            assertEquals(List.of(vehicle.getId()),
+                         vehicleService.getByInspectionStatus("failed").stream().map(Vehicle::getId).toList());
+        }
+
+        private Vehicle newVehicle() {
+            return vehicleRepository.save(
+                    Vehicle.builder().licensePlate("L-" + System.nanoTime()).make("Make").model("Model").build());
+        }
+
+        private Inspection save(Vehicle vehicle, LocalDate date, String status) {
+            return inspectionRepository.save(
+                    Inspection.builder().inspectionDate(date).status(status).vehicle(vehicle).build());
+        }
     }
 
     @Nested
@@ -134,6 +361,37 @@ class InspectionServiceIT {
             assertEquals(LocalDate.of(2024, 1, 10), result.getInspectionDate());
         }
 
+        @Test
+        void update_ShouldReturnRowWithItsVehicleWithoutLoadingTheInspection() {
+            Vehicle other = vehicleRepository.save(new Vehicle(null, "MOV-001", "Volvo", "V70"));
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            Inspection patch = new Inspection();
+            patch.setVehicle(Vehicle.builder().id(other.getId()).build());
+            Inspection result = inspectionService.update(existing.getId(), patch);
+
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals("PASSED", result.getStatus());
+            assertEquals(other.getId(), result.getVehicle().getId());
+            assertEquals("MOV-001", result.getVehicle().getLicensePlate());
+            assertEquals(other.getId(), findFresh(existing.getId()).getVehicle().getId());
+        }
+
+        @Test
+        void update_WhenVehicleMissing_ShouldThrowVehicleNotFoundException() {
+            Inspection patch = new Inspection();
+            patch.setVehicle(Vehicle.builder().id(999_999L).build());
+            assertThrows(VehicleNotFoundException.class, () -> inspectionService.update(existing.getId(), patch));
+        }
+
+        @Test
+        void update_WhenMissing_ShouldThrowInspectionNotFoundException() {
+            Inspection patch = new Inspection();
+            patch.setStatus("FAILED");
+            assertThrows(InspectionNotFoundException.class, () -> inspectionService.update(999_999L, patch));
+        }
+
         @Test
         void update_WhenRepositoryThrows_ShouldRollbackAndPreserveState() {
             SaveFailureAspectConfig.FAIL_SAVE.set(true);
@@ -184,7 +442,8 @@ class InspectionServiceIT {
 
         @Test
         void delete_ShouldNotFetchEntityBeforeDeletion() {
-            inspectionService.delete(existing.getId());
+            long statements = statementsFor(() -> inspectionService.delete(existing.getId()));
+            assertEquals(1, statements);
             assertFalse(inspectionRepository.existsById(existing.getId()));
         }
 
@@ -1,20 +1,47 @@
 package com.fleetops.service;
 
+import com.fleetops.archive.ArchivedInspection;
+import com.fleetops.archive.InspectionArchive;
+import com.fleetops.cache.ReadThroughCaches;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.InspectionFilter;
+import com.fleetops.dto.InspectionRequest;
+import com.fleetops.dto.InspectionResponse;
+import com.fleetops.dto.InspectionUpdateRequest;
+import com.fleetops.dto.LookupResult;
+import com.fleetops.dto.VehicleResponse;
 import com.fleetops.entity.Inspection;
 import com.fleetops.entity.Vehicle;
 import com.fleetops.exception.InspectionNotFoundException;
+import com.fleetops.exception.InvalidCursorException;
+import com.fleetops.exception.VehicleNotFoundException;
 import com.fleetops.repository.InspectionRepository;
+import com.fleetops.repository.TableStamps;
 import com.fleetops.repository.VehicleRepository;
+import com.fleetops.shard.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +53,27 @@ class InspectionServiceTest {
     @Mock
     private InspectionRepository inspectionRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private InspectionArchive archive;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ShardRouter shards = ShardRouter.single();
+
+    @Spy
+    private ReadThroughCaches caches = ReadThroughCaches.disabled();
+
+    @Mock
+    private TableStamps tableStamps;
+
     @InjectMocks
     private InspectionService inspectionService;
 
@@ -65,12 +113,23 @@ class InspectionServiceTest {
             verifyNoInteractions(inspectionRepository);
         }
 
+        @Test
+        void update_WhenStatusGiven_ShouldStoreNormalizedStatus() {
+            when(inspectionRepository.updateColumns(TEST_ID, Map.of(InspectionRepository.STATUS, "FAILED")))
+                    .thenReturn(Optional.of(existingInspection));
+            Inspection patch = new Inspection();
+            patch.setStatus("  failed ");
+            inspectionService.update(TEST_ID, patch);
+            verify(inspectionRepository).updateColumns(TEST_ID, Map.of(InspectionRepository.STATUS, "FAILED"));
+        }
+
         @Test
         void update_WhenInspectionDoesNotExist_ShouldThrowInspectionNotFoundException() {
-            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.empty());
+            when(inspectionRepository.updateColumns(eq(TEST_ID), anyMap())).thenReturn(Optional.empty());
             Inspection updatedInspection = new Inspection();
+            updatedInspection.setStatus("PASSED");
             assertThrows(InspectionNotFoundException.class, () -> inspectionService.update(TEST_ID, updatedInspection));
-            verify(inspectionRepository).findById(TEST_ID);
+            verify(inspectionRepository).updateColumns(eq(TEST_ID), anyMap());
             verifyNoMoreInteractions(inspectionRepository);
         }
 
@@ -79,8 +138,9 @@ class InspectionServiceTest {
             Inspection update = new Inspection();
             update.setStatus("FAILED");
             // Note: inspectionDate is intentionally not set in the update
-            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.of(existingInspection));
-            when(inspectionRepository.save(any(Inspection.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            existingInspection.setStatus("FAILED");
+            when(inspectionRepository.updateColumns(TEST_ID, Map.of(InspectionRepository.STATUS, "FAILED")))
+                    .thenReturn(Optional.of(existingInspection));
             Inspection result = inspectionService.update(TEST_ID, update);
             assertNotNull(result);
             assertEquals("FAILED", result.getStatus());
@@ -91,27 +151,35 @@ class InspectionServiceTest {
         void update_WhenRepositoryThrows_ShouldPropagateException() {
             Inspection update = new Inspection();
             update.setStatus("FAILED");
-            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.of(existingInspection));
-            when(inspectionRepository.save(any(Inspection.class))).thenThrow(new RuntimeException("DB error"));
+            when(inspectionRepository.updateColumns(eq(TEST_ID), anyMap())).thenThrow(new RuntimeException("DB error"));
             assertThrows(RuntimeException.class, () -> inspectionService.update(TEST_ID, update));
-            verify(inspectionRepository).findById(TEST_ID);
-            verify(inspectionRepository).save(any(Inspection.class));
+            verify(inspectionRepository).updateColumns(eq(TEST_ID), anyMap());
             verifyNoMoreInteractions(inspectionRepository);
         }
 
+        @Test
+        void update_WhenVehicleDoesNotExist_ShouldThrowVehicleNotFoundException() {
+            Inspection update = new Inspection();
+            update.setVehicle(Vehicle.builder().id(404L).build());
+            when(inspectionRepository.updateColumns(TEST_ID, Map.of(InspectionRepository.VEHICLE_ID, 404L)))
+                    .thenThrow(new DataIntegrityViolationException("fk_inspection_vehicle"));
+            assertThrows(VehicleNotFoundException.class, () -> inspectionService.update(TEST_ID, update));
+        }
+
         @Test
         void update_WhenInspectionExists_ShouldReturnUpdatedInspection() {
             Inspection update = new Inspection();
             update.setInspectionDate(LocalDate.now().plusDays(1));
             update.setStatus("FAILED");
-            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.of(existingInspection));
-            when(inspectionRepository.save(any(Inspection.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            Inspection stored = new Inspection(TEST_ID, update.getInspectionDate(), "FAILED", null);
+            when(inspectionRepository.updateColumns(TEST_ID, Map.of(
+                    InspectionRepository.INSPECTION_DATE, update.getInspectionDate(),
+                    InspectionRepository.STATUS, "FAILED"))).thenReturn(Optional.of(stored));
             Inspection result = inspectionService.update(TEST_ID, update);
             assertNotNull(result);
             assertEquals(update.getInspectionDate(), result.getInspectionDate());
             assertEquals(update.getStatus(), result.getStatus());
-            verify(inspectionRepository).findById(TEST_ID);
-            verify(inspectionRepository).save(any(Inspection.class));
+            verify(inspectionRepository).updateColumns(eq(TEST_ID), anyMap());
             verifyNoMoreInteractions(inspectionRepository);
         }
 
@@ -131,7 +199,6 @@ class InspectionServiceTest {
             patch.setVehicle(null);
 
             when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.of(existing));
-            when(inspectionRepository.save(any(Inspection.class))).thenAnswer(inv -> inv.getArgument(0));
 
             Inspection result = inspectionService.update(TEST_ID, patch);
 
@@ -141,8 +208,51 @@ class InspectionServiceTest {
             assertEquals(existingVehicle, result.getVehicle());
 
             verify(inspectionRepository).findById(TEST_ID);
-            verify(inspectionRepository).save(any(Inspection.class));
+            verify(inspectionRepository, never()).updateColumns(any(), anyMap());
+            verifyNoMoreInteractions(inspectionRepository);
+        }
+    }
+
+    @Nested
+    class BulkUpdate {
+        @Test
+        void bulkUpdate_ShouldNormalizeStatusesAndIssueOneSetBasedUpdate() {
+            InspectionFilter where = new InspectionFilter(null, " pending ", 7L, null, null);
+            InspectionUpdateRequest set = new InspectionUpdateRequest();
+            set.setStatus("failed");
+            when(inspectionRepository.updateMatching(any(InspectionFilter.class), anyMap())).thenReturn(4);
+
+            assertEquals(4, inspectionService.bulkUpdate(where, set));
+
+            verify(inspectionRepository).updateMatching(
+                    argThat(f -> "PENDING".equals(f.getStatus()) && Long.valueOf(7L).equals(f.getVehicleId())),
+                    eq(Map.of(InspectionRepository.STATUS, "FAILED")));
             verifyNoMoreInteractions(inspectionRepository);
+            assertEquals(" pending ", where.getStatus());
+        }
+
+        @Test
+        void bulkUpdate_WhenNothingToSet_ShouldThrowConstraintViolationException() {
+            InspectionFilter where = new InspectionFilter(List.of(1L), null, null, null, null);
+            assertThrows(ConstraintViolationException.class, () -> inspectionService.bulkUpdate(where, new InspectionUpdateRequest()));
+            verifyNoInteractions(inspectionRepository);
+        }
+
+        @Test
+        void bulkUpdate_WhenVehicleDoesNotExist_ShouldThrowVehicleNotFoundException() {
+            InspectionFilter where = new InspectionFilter(List.of(1L, 2L), null, null, null, null);
+            InspectionUpdateRequest set = new InspectionUpdateRequest();
+            set.setVehicleId(404L);
+            when(inspectionRepository.updateMatching(any(InspectionFilter.class), anyMap()))
+                    .thenThrow(new DataIntegrityViolationException("fk_inspection_vehicle"));
+            assertThrows(VehicleNotFoundException.class, () -> inspectionService.bulkUpdate(where, set));
+        }
+
+        @Test
+        void bulkUpdate_WhenArgumentsAreNull_ShouldThrowNullPointerException() {
+            assertThrows(NullPointerException.class, () -> inspectionService.bulkUpdate(null, new InspectionUpdateRequest()));
+            assertThrows(NullPointerException.class, () -> inspectionService.bulkUpdate(new InspectionFilter(), null));
+            verifyNoInteractions(inspectionRepository);
         }
     }
 
@@ -221,32 +331,25 @@ class InspectionServiceTest {
 
         @Test
         void delete_ShouldNotFetchEntityBeforeDeletion() {
-            Inspection existing = new Inspection();
-            existing.setId(TEST_ID);
-            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.of(existing));
+            when(inspectionRepository.removeById(TEST_ID)).thenReturn(1);
             inspectionService.delete(TEST_ID);
-            verify(inspectionRepository).findById(TEST_ID);
-            verify(inspectionRepository).delete(existing);
+            verify(inspectionRepository).removeById(TEST_ID);
             verifyNoMoreInteractions(inspectionRepository);
         }
 
         @Test
         void delete_WhenEntityDoesNotExist_ShouldThrowInspectionNotFoundException() {
-            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.empty());
+            when(inspectionRepository.removeById(TEST_ID)).thenReturn(0);
             assertThrows(InspectionNotFoundException.class, () -> inspectionService.delete(TEST_ID));
-            verify(inspectionRepository).findById(TEST_ID);
+            verify(inspectionRepository).removeById(TEST_ID);
             verifyNoMoreInteractions(inspectionRepository);
         }
 
         @Test
         void delete_WhenRepositoryThrows_ShouldPropagateException() {
-            Inspection existing = new Inspection();
-            existing.setId(TEST_ID);
-            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.of(existing));
-            doThrow(new RuntimeException("DB error")).when(inspectionRepository).delete(existing);
+            when(inspectionRepository.removeById(TEST_ID)).thenThrow(new RuntimeException("DB error"));
             assertThrows(RuntimeException.class, () -> inspectionService.delete(TEST_ID));
-            verify(inspectionRepository).findById(TEST_ID);
-            verify(inspectionRepository).delete(existing);
+            verify(inspectionRepository).removeById(TEST_ID);
             verifyNoMoreInteractions(inspectionRepository);
         }
     }
@@ -275,6 +378,219 @@ class InspectionServiceTest {
         }
     }
 
+    @Nested
+    class ExportAll {
+        @Test
+        void exportAll_ShouldPushEveryRowInOrderAndClearContextPerChunk() {
+            int rows = InspectionRepository.STREAM_FETCH_SIZE * 2 + 1;
+            List<Inspection> source = IntStream.rangeClosed(1, rows)
+                    .mapToObj(n -> Inspection.builder().id((long) n).status("PASSED").build())
+                    .toList();
+            when(inspectionRepository.streamAllOrderById()).thenReturn(source.stream());
+
+            List<Long> exported = new ArrayList<>();
+            inspectionService.exportAll(i -> exported.add(i.getId()));
+
+            assertEquals(rows, exported.size());
+            assertEquals(1L, exported.get(0));
+            assertEquals((long) rows, exported.get(rows - 1));
+            verify(entityManager, times(2)).clear();
+        }
+
+        @Test
+        void exportAll_ShouldMergeArchivedRowsByIdPreferringLiveDuplicates() {
+            when(inspectionRepository.streamAllOrderById()).thenReturn(Stream.of(
+                    Inspection.builder().id(2L).build(), Inspection.builder().id(5L).build()));
+            when(archive.streamById()).thenReturn(Stream.of(
+                    new ArchivedInspection(1L, LocalDate.of(2015, 1, 1), "PASSED", 7L),
+                    new ArchivedInspection(2L, LocalDate.of(2015, 2, 1), "PASSED", 7L),
+                    new ArchivedInspection(3L, LocalDate.of(2015, 3, 1), "FAILED", 7L)));
+            when(vehicleRepository.findResponseById(7L))
+                    .thenReturn(Optional.of(new VehicleResponse(7L, "ABC-123", "Toyota", "Camry")));
+
+            List<Inspection> exported = new ArrayList<>();
+            inspectionService.exportAll(exported::add);
+
+            assertEquals(List.of(1L, 2L, 3L, 5L), exported.stream().map(Inspection::getId).toList());
+            assertEquals("ABC-123", exported.get(0).getVehicle().getLicensePlate());
+            assertNull(exported.get(1).getInspectionDate());
+            verify(vehicleRepository, times(1)).findResponseById(7L);
+        }
+
+        @Test
+        void exportAll_ShouldSkipArchivedRowsOfDeletedVehicles() {
+            when(inspectionRepository.streamAllOrderById()).thenReturn(Stream.of(Inspection.builder().id(5L).build()));
+            when(archive.streamById()).thenReturn(Stream.of(
+                    new ArchivedInspection(1L, LocalDate.of(2015, 1, 1), "PASSED", 7L),
+                    new ArchivedInspection(2L, LocalDate.of(2015, 2, 1), "PASSED", 8L)));
+            when(vehicleRepository.findResponseById(7L)).thenReturn(Optional.empty());
+            when(vehicleRepository.findResponseById(8L))
+                    .thenReturn(Optional.of(new VehicleResponse(8L, "ABC-123", "Toyota", "Camry")));
+
+            List<Inspection> exported = new ArrayList<>();
+            inspectionService.exportAll(exported::add);
+
+            assertEquals(List.of(2L, 5L), exported.stream().map(Inspection::getId).toList());
+        }
+
+        @Test
+        void exportAll_ShouldCloseStreamWhenSinkFails() {
+            AtomicBoolean closed = new AtomicBoolean(false);
+            Stream<Inspection> source = Stream.of(inspection).onClose(() -> closed.set(true));
+            when(inspectionRepository.streamAllOrderById()).thenReturn(source);
+
+            assertThrows(IllegalStateException.class, () -> inspectionService.exportAll(i -> {
+                throw new IllegalStateException("client went away");
+            }));
+            assertTrue(closed.get());
+        }
+
+        @Test
+        void exportAll_WhenSinkIsNull_ShouldThrowNullPointerException() {
+            assertThrows(NullPointerException.class, () -> inspectionService.exportAll(null));
+            verifyNoInteractions(inspectionRepository);
+        }
+    }
+
+    @Nested
+    class GetPage {
+        @Test
+        void getPage_WhenCursorGiven_ShouldSeekAfterDecodedId() {
+            InspectionResponse row = new InspectionResponse(42L, LocalDate.of(2024, 1, 1), "PASSED", null);
+            when(inspectionRepository.findResponsesByIdGreaterThan(41L, Limit.of(2))).thenReturn(List.of(row));
+            CursorPage<InspectionResponse> page = inspectionService.getPage(CursorCodec.encodeId(41L), 1, CountMode.NONE);
+            assertEquals(List.of(row), page.getItems());
+            assertNull(page.getNextCursor());
+            verify(inspectionRepository).findResponsesByIdGreaterThan(41L, Limit.of(2));
+            verifyNoMoreInteractions(inspectionRepository);
+        }
+    }
+
+    @Nested
+    class GetVehicleHistory {
+        private final VehicleResponse vehicle = new VehicleResponse(7L, "ABC-123", "Toyota", "Camry");
+
+        private InspectionRepository.HistoryRow row(long id, LocalDate date) {
+            InspectionRepository.HistoryRow row = mock(InspectionRepository.HistoryRow.class);
+            when(row.getId()).thenReturn(id);
+            when(row.getInspectionDate()).thenReturn(date);
+            when(row.getStatus()).thenReturn("PASSED");
+            return row;
+        }
+
+        @Test
+        void getVehicleHistory_WhenMoreRowsThanLimit_ShouldAttachVehicleAndReturnDateIdCursor() {
+            LocalDate date = LocalDate.of(2024, 5, 1);
+            List<InspectionRepository.HistoryRow> rows = List.of(row(9L, date), row(3L, date));
+            when(vehicleRepository.findResponseById(7L)).thenReturn(Optional.of(vehicle));
+            when(inspectionRepository.findHistoryByVehicleId(7L, Limit.of(2))).thenReturn(rows);
+
+            CursorPage<InspectionResponse> page = inspectionService.getVehicleHistory(7L, null, 1, CountMode.NONE);
+
+            assertEquals(1, page.getItems().size());
+            assertEquals(9L, page.getItems().get(0).getId());
+            assertSame(vehicle, page.getItems().get(0).getVehicle());
+            assertEquals(new CursorCodec.DateIdKey(date, 9L), CursorCodec.decodeDateId(page.getNextCursor()));
+            assertNull(page.getTotalCount());
+            verify(inspectionRepository, never()).countByVehicleId(any());
+        }
+
+        @Test
+        void getVehicleHistory_WhenCursorGiven_ShouldSeekBeforeKeyAndCountOnRequest() {
+            LocalDate date = LocalDate.of(2024, 5, 1);
+            when(vehicleRepository.findResponseById(7L)).thenReturn(Optional.of(vehicle));
+            when(inspectionRepository.findHistoryByVehicleIdBefore(7L, date, 9L, Limit.of(11))).thenReturn(List.of());
+            when(inspectionRepository.countByVehicleId(7L)).thenReturn(12L);
+
+            CursorPage<InspectionResponse> page = inspectionService.getVehicleHistory(
+                    7L, CursorCodec.encodeDateId(date, 9L), 10, CountMode.EXACT);
+
+            assertTrue(page.getItems().isEmpty());
+            assertNull(page.getNextCursor());
+            assertEquals(12L, page.getTotalCount());
+            assertFalse(page.getTotalCountEstimated());
+        }
+
+        @Test
+        void getVehicleHistory_WhenArchived_ShouldMergeTiersNewestFirstAndCountBoth() {
+            when(vehicleRepository.findResponseById(7L)).thenReturn(Optional.of(vehicle));
+            when(inspectionRepository.findHistoryByVehicleId(7L, Limit.of(3)))
+                    .thenReturn(List.of(row(40L, LocalDate.of(2025, 3, 1)), row(8L, LocalDate.of(2012, 1, 1))));
+            when(archive.findHistory(7L, null, 0L, 3)).thenReturn(List.of(
+                    new ArchivedInspection(12L, LocalDate.of(2016, 6, 1), "FAILED", 7L),
+                    new ArchivedInspection(11L, LocalDate.of(2016, 5, 1), "PASSED", 7L)));
+            when(inspectionRepository.countByVehicleId(7L)).thenReturn(2L);
+            when(archive.countByVehicleId(7L)).thenReturn(2L);
+
+            CursorPage<InspectionResponse> page = inspectionService.getVehicleHistory(7L, null, 2, CountMode.EXACT);
+
+            assertEquals(List.of(40L, 12L), page.getItems().stream().map(InspectionResponse::getId).toList());
+            assertSame(vehicle, page.getItems().get(1).getVehicle());
+            assertEquals(new CursorCodec.DateIdKey(LocalDate.of(2016, 6, 1), 12L),
+                         CursorCodec.decodeDateId(page.getNextCursor()));
+            assertEquals(4L, page.getTotalCount());
+        }
+
+        @Test
+        void getVehicleHistory_WhenVehicleMissing_ShouldThrowVehicleNotFoundException() {
+            when(vehicleRepository.findResponseById(7L)).thenReturn(Optional.empty());
+            assertThrows(VehicleNotFoundException.class,
+                         () -> inspectionService.getVehicleHistory(7L, null, 10, CountMode.NONE));
+            verifyNoInteractions(inspectionRepository);
+        }
+
+        @Test
+        void getVehicleHistory_WhenCursorIsAnIdCursor_ShouldThrowInvalidCursorException() {
+            assertThrows(InvalidCursorException.class,
+                         () -> inspectionService.getVehicleHistory(7L, CursorCodec.encodeId(9L), 10, CountMode.NONE));
+            verifyNoInteractions(vehicleRepository, inspectionRepository);
+        }
+    }
+
+    @Nested
+    class GetResponseById {
+        @Test
+        void getResponseById_WhenExisting_ShouldReturnProjectionWithVehicleSummary() {
+            InspectionResponse row = new InspectionResponse(1L, LocalDate.of(2024, 1, 1), "PASSED",
+                                                            7L, "ABC-123", "Toyota", "Camry");
+            when(inspectionRepository.findResponseById(1L)).thenReturn(Optional.of(row));
+            InspectionResponse result = inspectionService.getResponseById(1L);
+            assertSame(row, result);
+            assertEquals("ABC-123", result.getVehicle().getLicensePlate());
+        }
+
+        @Test
+        void getResponseById_WhenMissing_ShouldThrowInspectionNotFoundException() {
+            when(inspectionRepository.findResponseById(1L)).thenReturn(Optional.empty());
+            assertThrows(InspectionNotFoundException.class, () -> inspectionService.getResponseById(1L));
+        }
+
+        @Test
+        void getResponsesByIds_ShouldAnswerInRequestOrderWithNotFoundMarkers() {
+            InspectionResponse row = new InspectionResponse(4L, LocalDate.of(2024, 1, 1), "PASSED",
+                                                            7L, "ABC-123", "Toyota", "Camry");
+            when(inspectionRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of(row));
+            List<LookupResult<InspectionResponse>> result = inspectionService.getResponsesByIds(List.of(4L, 5L));
+            assertEquals(List.of(LookupResult.found(4L, row), LookupResult.notFound(5L)), result);
+        }
+
+        @Test
+        void getResponsesByIds_WhenArchivedInspectionsVehicleWasDeleted_ShouldReportNotFound() {
+            when(inspectionRepository.findResponsesByIdIn(anyCollection())).thenReturn(List.of());
+            when(archive.findAllById(anyCollection()))
+                    .thenReturn(List.of(new ArchivedInspection(5L, LocalDate.of(2015, 1, 1), "PASSED", 7L)));
+            when(vehicleRepository.findResponsesByIdIn(List.of(7L))).thenReturn(List.of());
+            List<LookupResult<InspectionResponse>> result = inspectionService.getResponsesByIds(List.of(5L));
+            assertEquals(List.of(LookupResult.notFound(5L)), result);
+        }
+
+        @Test
+        void getResponseById_WhenIdIsNull_ShouldThrowNullPointerException() {
+            assertThrows(NullPointerException.class, () -> inspectionService.getResponseById(null));
+            verifyNoInteractions(inspectionRepository);
+        }
+    }
+
     @Nested
     class GetById {
         private final Long TEST_ID = Long.valueOf(1L);
@@ -297,6 +613,30 @@ class InspectionServiceTest {
             verifyNoMoreInteractions(inspectionRepository);
         }
 
+        @Test
+        void getById_WhenArchived_ShouldFallThroughToArchive() {
+            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.empty());
+            when(archive.findById(TEST_ID))
+                    .thenReturn(Optional.of(new ArchivedInspection(TEST_ID, LocalDate.of(2015, 1, 1), "PASSED", 7L)));
+            when(vehicleRepository.findResponseById(7L))
+                    .thenReturn(Optional.of(new VehicleResponse(7L, "ABC-123", "Toyota", "Camry")));
+
+            Inspection result = inspectionService.getById(TEST_ID);
+
+            assertEquals(LocalDate.of(2015, 1, 1), result.getInspectionDate());
+            assertEquals(7L, result.getVehicle().getId());
+        }
+
+        @Test
+        void getById_WhenArchivedInspectionsVehicleWasDeleted_ShouldThrowInspectionNotFoundException() {
+            when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.empty());
+            when(archive.findById(TEST_ID))
+                    .thenReturn(Optional.of(new ArchivedInspection(TEST_ID, LocalDate.of(2015, 1, 1), "PASSED", 7L)));
+            when(vehicleRepository.findResponseById(7L)).thenReturn(Optional.empty());
+
+            assertThrows(InspectionNotFoundException.class, () -> inspectionService.getById(TEST_ID));
+        }
+
         @Test
         void getById_WhenInspectionExists_ShouldReturnInspection() {
             when(inspectionRepository.findById(TEST_ID)).thenReturn(Optional.of(inspection));
@@ -307,4 +647,64 @@ class InspectionServiceTest {
             verifyNoMoreInteractions(inspectionRepository);
         }
     }
+
+    @Nested
+    class CreateBatch {
+        @Test
+        void createBatch_WhenVehicleMissingOrPayloadInvalid_ShouldRejectOnlyThoseItems() {
+            when(vehicleRepository.findIdsIn(anyCollection())).thenReturn(List.of(1L));
+            when(vehicleRepository.getReferenceById(1L)).thenReturn(Vehicle.builder().id(1L).build());
+            when(inspectionRepository.saveAll(anyList())).thenAnswer(inv -> {
+                List<Inspection> chunk = inv.getArgument(0);
+                chunk.forEach(i -> i.setId(9L));
+                return chunk;
+            });
+
+            BatchResult result = inspectionService.createBatch(List.of(
+                    request(LocalDate.of(2024, 1, 1), " passed ", 1L),
+                    request(LocalDate.of(2024, 1, 2), "FAILED", 2L),
+                    request(null, "FAILED", 1L)));
+
+            assertEquals(1, result.getCreated());
+            assertEquals(BatchItemResult.created(0, 9L), result.getItems().get(0));
+            assertEquals("Vehicle 2 not found.", result.getItems().get(1).getError());
+            assertTrue(result.getItems().get(2).getError().startsWith("inspectionDate"));
+            verify(inspectionRepository).saveAll(argThat(chunk -> {
+                Inspection saved = chunk.iterator().next();
+                return "PASSED".equals(saved.getStatus()) && saved.getVehicle().getId() == 1L;
+            }));
+            verify(entityManager).flush();
+        }
+
+        private InspectionRequest request(LocalDate date, String status, Long vehicleId) {
+            InspectionRequest r = new InspectionRequest();
+            r.setInspectionDate(date);
+            r.setStatus(status);
+            r.setVehicleId(vehicleId);
+            return r;
+        }
+    }
+
+    @Nested
+    class LatestPerVehicle {
+        @Test
+        void getLatestPerVehicle_WhenRowsReturned_ShouldMapToResponsesWithVehicleSummary() {
+            InspectionRepository.LatestInspectionRow row = mock(InspectionRepository.LatestInspectionRow.class);
+            when(row.getId()).thenReturn(5L);
+            when(row.getInspectionDate()).thenReturn(LocalDate.of(2024, 3, 1));
+            when(row.getStatus()).thenReturn("PASSED");
+            when(row.getVehicleId()).thenReturn(2L);
+            when(row.getLicensePlate()).thenReturn("ABC-123");
+            when(row.getMake()).thenReturn("Toyota");
+            when(row.getModel()).thenReturn("Camry");
+            when(inspectionRepository.findLatestPerVehicle()).thenReturn(List.of(row));
+
+            List<InspectionResponse> result = inspectionService.getLatestPerVehicle();
+
+            assertEquals(List.of(new InspectionResponse(5L, LocalDate.of(2024, 3, 1), "PASSED",
+                                                        2L, "ABC-123", "Toyota", "Camry")), result);
+            verify(inspectionRepository).findLatestPerVehicle();
+            verifyNoMoreInteractions(inspectionRepository);
+        }
+    }
 }
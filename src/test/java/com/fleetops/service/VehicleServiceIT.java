@@ -3,7 +3,13 @@ package com.fleetops.service;
 import com.fleetops.entity.Vehicle;
 import com.fleetops.exception.*;
 import com.fleetops.repository.VehicleRepository;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.VehicleRequest;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -15,6 +21,7 @@ import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -23,7 +30,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {"spring.jpa.hibernate" +
                                                                                    ".ddl-auto=create-drop", "spring" +
-                                                                                                            ".liquibase.enabled=false", "spring.sql.init.mode=never"})
+                                                                                                            ".liquibase.enabled=false", "spring.sql.init.mode=never",
+                                                                                   "spring.jpa.properties.hibernate.generate_statistics=true"})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
 @ActiveProfiles("test")
 @Import(VehicleServiceIT.SaveFailureAspectConfig.class)
@@ -38,6 +46,9 @@ class VehicleServiceIT {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Vehicle existing;
 
     @BeforeEach
@@ -79,7 +90,8 @@ class VehicleServiceIT {
             this.failSave = failSave;
         }
 
-        @org.aspectj.lang.annotation.Around("execution(* org.springframework.data.repository.CrudRepository+.save(..))")
+        @org.aspectj.lang.annotation.Around("execution(* org.springframework.data.repository.CrudRepository+.save(..))"
+                + " || execution(* com.fleetops.repository.VehicleRepositoryCustom+.updateColumns(..))")
         public Object aroundSave(org.aspectj.lang.ProceedingJoinPoint pjp) throws Throwable {
             if (failSave.get()) {
                 Object[] args = pjp.getArgs();
@@ -187,20 +199,34 @@ class VehicleServiceIT {
         }
 
         @Test
-        void update_WhenRepositoryThrowsDuplicate_ShouldMapToDomainException_AndRollback() {
-            SaveFailureAspectConfig.FAIL_SAVE.set(true);
-            try {
-                Long id = existing.getId();
-                Vehicle patch = vehicle("DUP-111", "Ford", "Focus");
-                assertThrows(LicensePlateAlreadyExistsException.class, () -> vehicleService.update(id, patch));
+        void update_WhenPlateTaken_ShouldMapUniqueViolationToDomainException_AndRollback() {
+            Long id = existing.getId();
+            Vehicle patch = vehicle(" dup-111 ", "Ford", "Focus");
+            assertThrows(LicensePlateAlreadyExistsException.class, () -> vehicleService.update(id, patch));
 
-                Vehicle reloaded = findFresh(id);
-                assertEquals("ABC-123", reloaded.getLicensePlate());
-                assertEquals("Toyota", reloaded.getMake());
-                assertEquals("Corolla", reloaded.getModel());
-            } finally {
-                SaveFailureAspectConfig.FAIL_SAVE.set(false);
-            }
+            Vehicle reloaded = findFresh(id);
+            assertEquals("ABC-123", reloaded.getLicensePlate());
+            assertEquals("Toyota", reloaded.getMake());
+            assertEquals("Corolla", reloaded.getModel());
+        }
+
+        @Test
+        void update_ShouldIssueOneStatementWithoutLoadingTheVehicle() {
+            Long id = existing.getId();
+            entityManager.clear();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            Vehicle patch = new Vehicle();
+            patch.setModel("  Camry ");
+            Vehicle result = vehicleService.update(id, patch);
+
+            // the UPDATE ... RETURNING runs over JDBC; Hibernate neither loads the vehicle nor issues SQL
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(0, statistics.getPrepareStatementCount());
+            assertEquals("ABC-123", result.getLicensePlate());
+            assertEquals("Camry", result.getModel());
+            assertEquals("Camry", findFresh(id).getModel());
         }
 
         @Test
@@ -233,4 +259,105 @@ class VehicleServiceIT {
             assertEquals(before, vehicleRepository.count());
         }
     }
+
+    @Nested
+    class CreateBatch {
+        @Test
+        void createBatch_WhenManyItems_ShouldInsertInJdbcBatches() {
+            List<VehicleRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                VehicleRequest r = new VehicleRequest();
+                r.setLicensePlate("BATCH-" + i);
+                r.setMake("Make");
+                r.setModel("Model");
+                requests.add(r);
+            }
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            BatchResult result = vehicleService.createBatch(requests);
+
+            assertEquals(120, result.getCreated());
+            assertEquals(122, vehicleRepository.count());
+            // one plate lookup, a few sequence calls and one prepared insert per chunk -- not one per row
+            assertTrue(statistics.getPrepareStatementCount() < 20,
+                       "prepared statements: " + statistics.getPrepareStatementCount());
+            assertTrue(result.getItems().stream().allMatch(i -> i.getId() != null));
+        }
+
+        @Test
+        void createBatch_WhenPlateAlreadyStored_ShouldRejectOnlyThatItem() {
+            VehicleRequest taken = new VehicleRequest();
+            taken.setLicensePlate("abc-123");
+            taken.setMake("Toyota");
+            taken.setModel("Corolla");
+            VehicleRequest fresh = new VehicleRequest();
+            fresh.setLicensePlate("NEW-777");
+            fresh.setMake("Kia");
+            fresh.setModel("Ceed");
+
+            BatchResult result = vehicleService.createBatch(List.of(taken, fresh));
+
+            assertEquals(BatchItemResult.Status.REJECTED, result.getItems().get(0).getStatus());
+            assertEquals(BatchItemResult.Status.CREATED, result.getItems().get(1).getStatus());
+            assertTrue(vehicleRepository.findByLicensePlate("NEW-777").isPresent());
+        }
+    }
+
+    @Nested
+    class Upsert {
+        @Test
+        void upsertBatch_ShouldUpdateExistingPlatesAndInsertNewOnesAlongsideJpaIds() {
+            Vehicle viaJpa = vehicleRepository.save(vehicle("JPA-1", "Audi", "A4"));
+
+            List<Vehicle> stored = vehicleService.upsertBatch(List.of(
+                    request("abc-123", "Toyota", "Yaris"),
+                    request("ups-1", "Kia", "Ceed"),
+                    request("UPS-2", "Kia", "Rio")));
+            Vehicle laterViaJpa = vehicleRepository.save(vehicle("JPA-2", "Audi", "A6"));
+
+            assertEquals(existing.getId(), stored.get(0).getId());
+            assertEquals("Yaris", findFresh(existing.getId()).getModel());
+            assertEquals("UPS-1", stored.get(1).getLicensePlate());
+            assertEquals(6, vehicleRepository.count());
+            assertEquals(6, vehicleRepository.findAll().stream().map(Vehicle::getId).distinct().count());
+            assertNotEquals(viaJpa.getId(), stored.get(1).getId());
+            assertNotEquals(laterViaJpa.getId(), stored.get(2).getId());
+        }
+
+        @Test
+        void upsert_WhenRepeated_ShouldBeIdempotent() {
+            Vehicle first = vehicleService.upsert(request("rep-1", "Volvo", "V60"));
+            Vehicle second = vehicleService.upsert(request("REP-1", "Volvo", "V60"));
+            assertEquals(first, second);
+            assertEquals(3, vehicleRepository.count());
+        }
+
+        @Test
+        void upsertBatch_ShouldUseOneIdPerNewVehicle() {
+            List<Vehicle> stored = vehicleService.upsertBatch(List.of(
+                    request("blk-1", "Volvo", "V60"),
+                    request("blk-2", "Volvo", "V70"),
+                    request("blk-3", "Volvo", "V90")));
+            assertEquals(stored.get(0).getId() + 2, stored.get(2).getId());
+        }
+
+        @Test
+        void upsert_WhenUnchanged_ShouldKeepVersion() {
+            Vehicle first = vehicleService.upsert(request("same-1", "Volvo", "V60"));
+            Vehicle again = vehicleService.upsert(request("SAME-1", "Volvo", "V60"));
+            assertEquals(first.getVersion(), again.getVersion());
+
+            Vehicle changed = vehicleService.upsert(request("SAME-1", "Volvo", "V90"));
+            assertEquals(first.getVersion() + 1, changed.getVersion());
+        }
+
+        private VehicleRequest request(String plate, String make, String model) {
+            VehicleRequest r = new VehicleRequest();
+            r.setLicensePlate(plate);
+            r.setMake(make);
+            r.setModel(model);
+            return r;
+        }
+    }
 }
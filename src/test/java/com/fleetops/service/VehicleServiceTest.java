@@ -1,9 +1,28 @@
 package com.fleetops.service;
 
+import com.fleetops.cache.ReadThroughCaches;
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.LookupResult;
+import com.fleetops.dto.VehicleRequest;
+import com.fleetops.dto.VehicleResponse;
 import com.fleetops.entity.Vehicle;
+import com.fleetops.exception.InvalidCursorException;
 import com.fleetops.exception.LicensePlateAlreadyExistsException;
+import com.fleetops.exception.PreconditionFailedException;
+import com.fleetops.exception.ServiceException;
 import com.fleetops.exception.VehicleNotFoundException;
+import com.fleetops.repository.RowCountEstimator;
+import com.fleetops.repository.TableStamps;
 import com.fleetops.repository.VehicleRepository;
+import com.fleetops.repository.VehicleRepositoryCustom.Upserted;
+import com.fleetops.shard.ShardRouter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,10 +30,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +49,24 @@ class VehicleServiceTest {
     @Mock
     private VehicleRepository repo;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private RowCountEstimator rowCountEstimator;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ShardRouter shards = ShardRouter.single();
+
+    @Spy
+    private ReadThroughCaches caches = ReadThroughCaches.disabled();
+
+    @Mock
+    private TableStamps tableStamps;
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -133,6 +174,138 @@ class VehicleServiceTest {
             verifyNoMoreInteractions(repo);
         }
 
+        @Test
+        void getResponsesByIds_ShouldAnswerInRequestOrderWithNotFoundMarkers() {
+            VehicleResponse one = new VehicleResponse(1L, "ABC-123", "Toyota", "Camry");
+            VehicleResponse three = new VehicleResponse(3L, "DEF-456", "Honda", "Civic");
+            when(repo.findResponsesByIdIn(anyCollection())).thenReturn(List.of(one, three));
+
+            List<LookupResult<VehicleResponse>> result = vehicleService.getResponsesByIds(Arrays.asList(3L, 2L, null, 1L, 3L));
+
+            assertEquals(List.of(LookupResult.found(3L, three), LookupResult.notFound(2L),
+                                 LookupResult.found(1L, one), LookupResult.found(3L, three)), result);
+            verify(repo).findResponsesByIdIn(List.of(3L, 2L, 1L));
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void getResponsesByIds_WhenMoreIdsThanInChunk_ShouldQueryPerChunk() {
+            when(repo.findResponsesByIdIn(anyCollection())).thenReturn(List.of());
+            List<Long> ids = new ArrayList<>();
+            for (long id = 1; id <= BatchSupport.IN_CHUNK_SIZE + 1; id++) {
+                ids.add(id);
+            }
+            List<LookupResult<VehicleResponse>> result = vehicleService.getResponsesByIds(ids);
+            assertEquals(ids.size(), result.size());
+            assertTrue(result.stream().allMatch(r -> r.getStatus() == LookupResult.Status.NOT_FOUND));
+            verify(repo, times(2)).findResponsesByIdIn(anyCollection());
+        }
+
+        @Test
+        void getResponsesByIds_WhenNull_ShouldThrowNullPointerException() {
+            assertThrows(NullPointerException.class, () -> vehicleService.getResponsesByIds(null));
+            verifyNoInteractions(repo);
+        }
+
+        @Test
+        void getPage_WhenMoreRowsThanLimit_ShouldTrimAndReturnNextCursor() {
+            VehicleResponse first = new VehicleResponse(1L, "ABC-123", "Toyota", "Camry");
+            VehicleResponse second = new VehicleResponse(2L, "DEF-456", "Honda", "Civic");
+            VehicleResponse third = new VehicleResponse(3L, "GHI-789", "Ford", "Focus");
+            when(repo.findResponsesByIdGreaterThan(0L, Limit.of(3))).thenReturn(List.of(first, second, third));
+            CursorPage<VehicleResponse> page = vehicleService.getPage(null, 2, CountMode.NONE);
+            assertEquals(List.of(first, second), page.getItems());
+            assertEquals(CursorCodec.encodeId(2L), page.getNextCursor());
+            verify(repo).findResponsesByIdGreaterThan(0L, Limit.of(3));
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void getPage_WhenCursorGiven_ShouldSeekPastItAndEndWithoutCursor() {
+            when(repo.findResponsesByIdGreaterThan(1L, Limit.of(3))).thenReturn(List.of());
+            CursorPage<VehicleResponse> page = vehicleService.getPage(CursorCodec.encodeId(1L), 2, CountMode.NONE);
+            assertTrue(page.getItems().isEmpty());
+            assertNull(page.getNextCursor());
+            verify(repo).findResponsesByIdGreaterThan(1L, Limit.of(3));
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void getPage_WhenLimitOutOfRange_ShouldClamp() {
+            when(repo.findResponsesByIdGreaterThan(0L, Limit.of(CursorPage.MAX_LIMIT + 1))).thenReturn(List.of());
+            vehicleService.getPage(null, 100_000, CountMode.NONE);
+            verify(repo).findResponsesByIdGreaterThan(0L, Limit.of(CursorPage.MAX_LIMIT + 1));
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void getPage_WhenCountNone_ShouldNotCount() {
+            when(repo.findResponsesByIdGreaterThan(0L, Limit.of(3))).thenReturn(List.of());
+            CursorPage<VehicleResponse> page = vehicleService.getPage(null, 2, CountMode.NONE);
+            assertNull(page.getTotalCount());
+            assertNull(page.getTotalCountEstimated());
+            verifyNoInteractions(rowCountEstimator);
+        }
+
+        @Test
+        void getPage_WhenCountExact_ShouldCountRows() {
+            when(repo.findResponsesByIdGreaterThan(0L, Limit.of(3))).thenReturn(List.of());
+            when(repo.count()).thenReturn(42L);
+            CursorPage<VehicleResponse> page = vehicleService.getPage(null, 2, CountMode.EXACT);
+            assertEquals(42L, page.getTotalCount());
+            assertFalse(page.getTotalCountEstimated());
+            verifyNoInteractions(rowCountEstimator);
+        }
+
+        @Test
+        void getPage_WhenCountEstimate_ShouldUseStatisticsWithoutCounting() {
+            when(repo.findResponsesByIdGreaterThan(0L, Limit.of(3))).thenReturn(List.of());
+            when(rowCountEstimator.estimate("vehicle")).thenReturn(OptionalLong.of(1000L));
+            CursorPage<VehicleResponse> page = vehicleService.getPage(null, 2, CountMode.ESTIMATE);
+            assertEquals(1000L, page.getTotalCount());
+            assertTrue(page.getTotalCountEstimated());
+            verify(repo, never()).count();
+        }
+
+        @Test
+        void getPage_WhenNoEstimateAvailable_ShouldFallBackToExactCount() {
+            when(repo.findResponsesByIdGreaterThan(0L, Limit.of(3))).thenReturn(List.of());
+            when(rowCountEstimator.estimate("vehicle")).thenReturn(OptionalLong.empty());
+            when(repo.count()).thenReturn(7L);
+            CursorPage<VehicleResponse> page = vehicleService.getPage(null, 2, CountMode.ESTIMATE);
+            assertEquals(7L, page.getTotalCount());
+            assertFalse(page.getTotalCountEstimated());
+        }
+
+        @Test
+        void getByInspectionStatus_ShouldQueryWithNormalizedStatus() {
+            when(repo.findByInspectionStatus("PASSED")).thenReturn(List.of(baseSavedVehicle));
+            assertEquals(List.of(baseSavedVehicle), vehicleService.getByInspectionStatus(" passed "));
+            verify(repo).findByInspectionStatus("PASSED");
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void getResponseById_WhenVehicleExists_ShouldReturnProjection() {
+            VehicleResponse projected = new VehicleResponse(baseSavedVehicleId, "ABC-123", "Toyota", "Camry");
+            when(repo.findResponseById(baseSavedVehicleId)).thenReturn(Optional.of(projected));
+            assertSame(projected, vehicleService.getResponseById(baseSavedVehicleId));
+            verify(repo).findResponseById(baseSavedVehicleId);
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void getResponseById_WhenVehicleDoesNotExist_ShouldThrowVehicleNotFoundException() {
+            when(repo.findResponseById(baseSavedVehicleId)).thenReturn(Optional.empty());
+            assertThrows(VehicleNotFoundException.class, () -> vehicleService.getResponseById(baseSavedVehicleId));
+        }
+
+        @Test
+        void getPage_WhenCursorMalformed_ShouldThrowInvalidCursorException() {
+            assertThrows(InvalidCursorException.class, () -> vehicleService.getPage("not-a-cursor!", 10, CountMode.NONE));
+            verifyNoInteractions(repo);
+        }
+
         @Test
         void getById_WhenVehicleExists_ShouldReturnVehicle() {
             when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.of(baseSavedVehicle));
@@ -161,83 +334,94 @@ class VehicleServiceTest {
     @Nested
     class Update {
         @Test
-        void update_ShouldNormalizeInputsAndUseNormalizedForDuplicateCheck() {
-            Vehicle existing = new Vehicle(baseSavedVehicleId, "ABC-123", "Toyota", "Corolla");
-            when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.of(existing));
-
+        void update_ShouldNormalizeInputsAndIssueSingleUpdate() {
             Vehicle patch = vehicle(" xy-999 ", "  NewMake  ", " NewModel ");
-            // normalization should call existsByLicensePlateAndIdNot with uppercased/trimmed
-            when(repo.existsByLicensePlateAndIdNot("XY-999", baseSavedVehicleId)).thenReturn(false);
-            when(repo.save(any(Vehicle.class))).thenAnswer(inv -> inv.getArgument(0));
+            Map<String, Object> expected = Map.of(
+                    VehicleRepository.LICENSE_PLATE, "XY-999",
+                    VehicleRepository.MAKE, "NewMake",
+                    VehicleRepository.MODEL, "NewModel");
+            when(repo.updateColumns(baseSavedVehicleId, expected))
+                    .thenReturn(Optional.of(new Vehicle(baseSavedVehicleId, "XY-999", "NewMake", "NewModel")));
 
             Vehicle result = vehicleService.update(baseSavedVehicleId, patch);
 
             assertEquals("XY-999", result.getLicensePlate());
             assertEquals("NewMake", result.getMake());
             assertEquals("NewModel", result.getModel());
-            verify(repo).findById(baseSavedVehicleId);
-            verify(repo).existsByLicensePlateAndIdNot("XY-999", baseSavedVehicleId);
-            verify(repo).save(argThat(v ->
-                    "XY-999".equals(v.getLicensePlate()) &&
-                    "NewMake".equals(v.getMake()) &&
-                    "NewModel".equals(v.getModel())));
+            verify(repo).updateColumns(baseSavedVehicleId, expected);
             verifyNoMoreInteractions(repo);
         }
+
         @Test
         void update_WhenVehicleExists_ShouldReturnUpdatedVehicle() {
             Vehicle updateData = vehicle("XYZ-999", "Honda", "Civic");
-            Vehicle updatedVehicle = new Vehicle(baseSavedVehicleId, "XYZ-999", "Honda", "Civic");
-            when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.of(baseSavedVehicle));
-            when(repo.existsByLicensePlateAndIdNot("XYZ-999", baseSavedVehicleId)).thenReturn(false);
-            when(repo.save(any(Vehicle.class))).thenAnswer(inv -> {
-                Vehicle arg = inv.getArgument(0);
-                arg.setId(baseSavedVehicleId);
-                return arg;
-            });
+            when(repo.updateColumns(eq(baseSavedVehicleId), anyMap()))
+                    .thenReturn(Optional.of(new Vehicle(baseSavedVehicleId, "XYZ-999", "Honda", "Civic")));
             Vehicle result = vehicleService.update(baseSavedVehicleId, updateData);
             assertNotNull(result);
             assertEquals(baseSavedVehicleId, result.getId());
             assertEquals("XYZ-999", result.getLicensePlate());
             assertEquals("Honda", result.getMake());
             assertEquals("Civic", result.getModel());
-            verify(repo).findById(baseSavedVehicleId);
-            verify(repo).save(any(Vehicle.class));
+            verify(repo).updateColumns(eq(baseSavedVehicleId), anyMap());
             verifyNoMoreInteractions(repo);
         }
 
         @Test
         void update_WhenLicensePlateAlreadyExists_ShouldThrowDomainException() {
             Vehicle updatedData = vehicle("DUP-111", "Ford", "Focus");
-            when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.of(baseSavedVehicle));
-            when(repo.existsByLicensePlateAndIdNot("DUP-111", baseSavedVehicleId)).thenReturn(true);
-            assertThrows(LicensePlateAlreadyExistsException.class, () -> vehicleService.update(baseSavedVehicleId, updatedData));
-            verify(repo).findById(baseSavedVehicleId);
-            verify(repo).existsByLicensePlateAndIdNot("DUP-111", baseSavedVehicleId);
-            verify(repo, never()).save(any(Vehicle.class));
+            when(repo.updateColumns(eq(baseSavedVehicleId), anyMap()))
+                    .thenThrow(new DuplicateKeyException("uk_vehicle_license_plate"));
+            LicensePlateAlreadyExistsException ex = assertThrows(LicensePlateAlreadyExistsException.class,
+                    () -> vehicleService.update(baseSavedVehicleId, updatedData));
+            assertTrue(ex.getMessage().contains("DUP-111"));
+            verify(repo).updateColumns(eq(baseSavedVehicleId), anyMap());
             verifyNoMoreInteractions(repo);
         }
 
         @Test
         void update_WhenUnexpectedRepositoryError_ShouldWrapAndPropagate() {
             Vehicle updatedData = vehicle("ERR-500", "Err", "Err");
-            when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.of(baseSavedVehicle));
-            when(repo.existsByLicensePlateAndIdNot("ERR-500", baseSavedVehicleId)).thenReturn(false);
-            when(repo.save(any(Vehicle.class))).thenThrow(new DataAccessResourceFailureException("DB down"));
+            when(repo.updateColumns(eq(baseSavedVehicleId), anyMap()))
+                    .thenThrow(new DataAccessResourceFailureException("DB down"));
             RuntimeException ex = assertThrows(RuntimeException.class, () -> vehicleService.update(baseSavedVehicleId, updatedData));
             assertEquals("Error updating vehicle", ex.getMessage());
-            verify(repo).findById(baseSavedVehicleId);
-            verify(repo).existsByLicensePlateAndIdNot("ERR-500", baseSavedVehicleId);
-            verify(repo).save(any(Vehicle.class));
+            verify(repo).updateColumns(eq(baseSavedVehicleId), anyMap());
             verifyNoMoreInteractions(repo);
         }
 
         @Test
         void update_WhenVehicleDoesNotExist_ShouldThrowVehicleNotFound() {
-            when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.empty());
+            when(repo.updateColumns(eq(baseSavedVehicleId), anyMap())).thenReturn(Optional.empty());
             Vehicle updatedData = vehicle("NOP-000", "Nope", "Nope");
             assertThrows(VehicleNotFoundException.class, () -> vehicleService.update(baseSavedVehicleId, updatedData));
-            verify(repo).findById(baseSavedVehicleId);
+            verify(repo).updateColumns(eq(baseSavedVehicleId), anyMap());
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void update_WithVersion_ShouldUpdateOnlyThatVersionAndStampBothLists() {
+            Vehicle patch = vehicle("XYZ-999", "Honda", "Civic");
+            patch.setVersion(3L);
+            when(repo.updateColumns(eq(baseSavedVehicleId), anyMap(), eq(3L)))
+                    .thenReturn(Optional.of(new Vehicle(baseSavedVehicleId, "XYZ-999", "Honda", "Civic", 4L)));
+
+            Vehicle result = vehicleService.update(baseSavedVehicleId, patch);
+
+            assertEquals(4L, result.getVersion());
+            verify(repo).updateColumns(eq(baseSavedVehicleId), anyMap(), eq(3L));
             verifyNoMoreInteractions(repo);
+            verify(tableStamps).touchAfterCommit(TableStamps.VEHICLE, TableStamps.INSPECTION);
+        }
+
+        @Test
+        void update_WhenVersionIsStale_ShouldPropagatePreconditionFailed() {
+            Vehicle patch = vehicle("XYZ-999", "Honda", "Civic");
+            patch.setVersion(3L);
+            when(repo.updateColumns(eq(baseSavedVehicleId), anyMap(), eq(3L)))
+                    .thenThrow(new PreconditionFailedException("vehicle " + baseSavedVehicleId + " is no longer at version 3"));
+
+            assertThrows(PreconditionFailedException.class, () -> vehicleService.update(baseSavedVehicleId, patch));
         }
 
         @Test
@@ -254,17 +438,25 @@ class VehicleServiceTest {
         }
 
         @Test
-        void update_WhenSomeFieldsAreNull_ShouldPreserveExistingValues() {
-            Vehicle existingVehicle = new Vehicle(baseSavedVehicleId, "ABC-123", "Toyota", "Corolla");
-            when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.of(existingVehicle));
-            when(repo.save(any(Vehicle.class))).thenAnswer(inv -> inv.getArgument(0));
+        void update_WhenSomeFieldsAreNull_ShouldOnlySetSuppliedColumns() {
+            when(repo.updateColumns(baseSavedVehicleId, Map.of(VehicleRepository.MODEL, "Supra")))
+                    .thenReturn(Optional.of(new Vehicle(baseSavedVehicleId, "ABC-123", "Toyota", "Supra")));
             Vehicle patch = vehicle(null, null, "Supra");
             Vehicle result = vehicleService.update(baseSavedVehicleId, patch);
             assertEquals("ABC-123", result.getLicensePlate());
             assertEquals("Toyota", result.getMake());
             assertEquals("Supra", result.getModel());
+            verify(repo).updateColumns(baseSavedVehicleId, Map.of(VehicleRepository.MODEL, "Supra"));
+            verifyNoMoreInteractions(repo);
+        }
+
+        @Test
+        void update_WhenNoFieldsSupplied_ShouldReturnCurrentVehicleWithoutUpdating() {
+            Vehicle existingVehicle = new Vehicle(baseSavedVehicleId, "ABC-123", "Toyota", "Corolla");
+            when(repo.findById(baseSavedVehicleId)).thenReturn(Optional.of(existingVehicle));
+            Vehicle result = vehicleService.update(baseSavedVehicleId, vehicle(null, null, null));
+            assertEquals(existingVehicle, result);
             verify(repo).findById(baseSavedVehicleId);
-            verify(repo).save(any(Vehicle.class));
             verifyNoMoreInteractions(repo);
         }
     }
@@ -272,11 +464,10 @@ class VehicleServiceTest {
     @Nested
     class Delete {
         @Test
-        void delete_WhenCalled_ShouldInvokeRepositoryDeleteById() {
-            when(repo.existsById(baseSavedVehicleId)).thenReturn(true);
+        void delete_WhenCalled_ShouldIssueSingleDelete() {
+            when(repo.removeById(baseSavedVehicleId)).thenReturn(1);
             vehicleService.delete(baseSavedVehicleId);
-            verify(repo).existsById(baseSavedVehicleId);
-            verify(repo).deleteById(baseSavedVehicleId);
+            verify(repo).removeById(baseSavedVehicleId);
             verifyNoMoreInteractions(repo);
         }
 
@@ -288,23 +479,91 @@ class VehicleServiceTest {
 
         @Test
         void delete_WhenMissing_ShouldThrowVehicleNotFoundException() {
-            when(repo.existsById(Long.valueOf(999999L))).thenReturn(false);
+            when(repo.removeById(Long.valueOf(999999L))).thenReturn(0);
             assertThrows(VehicleNotFoundException.class, () -> vehicleService.delete(Long.valueOf(999999L)));
-            verify(repo).existsById(Long.valueOf(999999L));
+            verify(repo).removeById(Long.valueOf(999999L));
             verifyNoMoreInteractions(repo);
         }
 
         @Test
         void delete_WhenRepositoryThrows_ShouldPropagateException() {
-            when(repo.existsById(baseSavedVehicleId)).thenReturn(true);
-            doThrow(new RuntimeException("DB error")).when(repo).deleteById(baseSavedVehicleId);
+            when(repo.removeById(baseSavedVehicleId)).thenThrow(new RuntimeException("DB error"));
             assertThrows(RuntimeException.class, () -> vehicleService.delete(baseSavedVehicleId));
-            verify(repo).existsById(baseSavedVehicleId);
-            verify(repo).deleteById(baseSavedVehicleId);
+            verify(repo).removeById(baseSavedVehicleId);
             verifyNoMoreInteractions(repo);
         }
     }
 
+    @Nested
+    class CreateBatch {
+        @Test
+        void createBatch_WhenItemsMixed_ShouldPersistValidOnesAndRejectOthersInPlace() {
+            when(repo.findLicensePlatesIn(anyCollection())).thenReturn(List.of("ABC-123"));
+            AtomicLong ids = new AtomicLong(100);
+            when(repo.saveAll(anyList())).thenAnswer(inv -> {
+                List<Vehicle> chunk = inv.getArgument(0);
+                chunk.forEach(v -> v.setId(ids.incrementAndGet()));
+                return chunk;
+            });
+
+            BatchResult result = vehicleService.createBatch(Arrays.asList(
+                    request(" new-1 ", "Tesla", "3"),
+                    request("abc-123", "Toyota", "Corolla"),
+                    request("", "Ford", "Focus"),
+                    request("NEW-1", "Tesla", "Y"),
+                    null,
+                    request("NEW-2", "Kia", "Ceed")));
+
+            assertEquals(2, result.getCreated());
+            assertEquals(4, result.getRejected());
+            List<BatchItemResult> items = result.getItems();
+            assertEquals(BatchItemResult.created(0, 101L), items.get(0));
+            assertEquals(BatchItemResult.Status.REJECTED, items.get(1).getStatus());
+            assertTrue(items.get(1).getError().contains("already exists"));
+            assertTrue(items.get(2).getError().startsWith("licensePlate"));
+            assertTrue(items.get(3).getError().contains("Duplicate"));
+            assertEquals("Item must not be null", items.get(4).getError());
+            assertEquals(BatchItemResult.created(5, 102L), items.get(5));
+            verify(entityManager).flush();
+            verify(entityManager).clear();
+        }
+
+        @Test
+        void createBatch_WhenLargerThanJdbcBatch_ShouldFlushOncePerChunk() {
+            when(repo.findLicensePlatesIn(anyCollection())).thenReturn(List.of());
+            List<VehicleRequest> requests = new ArrayList<>();
+            for (int i = 0; i < BatchSupport.JDBC_BATCH_SIZE * 2 + 1; i++) {
+                requests.add(request("P-" + i, "Make", "Model"));
+            }
+            BatchResult result = vehicleService.createBatch(requests);
+            assertEquals(requests.size(), result.getCreated());
+            verify(repo, times(3)).saveAll(anyList());
+            verify(entityManager, times(3)).flush();
+        }
+
+        @Test
+        void createBatch_WhenRepositoryFails_ShouldWrapInServiceException() {
+            when(repo.findLicensePlatesIn(anyCollection())).thenReturn(List.of());
+            when(repo.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("DB down"));
+            assertThrows(ServiceException.class,
+                         () -> vehicleService.createBatch(List.of(request("NEW-1", "Tesla", "3"))));
+        }
+
+        @Test
+        void createBatch_WhenNull_ShouldThrowNullPointerException() {
+            assertThrows(NullPointerException.class, () -> vehicleService.createBatch(null));
+            verifyNoInteractions(repo);
+        }
+
+        private VehicleRequest request(String plate, String make, String model) {
+            VehicleRequest r = new VehicleRequest();
+            r.setLicensePlate(plate);
+            r.setMake(make);
+            r.setModel(model);
+            return r;
+        }
+    }
+
     private Vehicle vehicle(String plate, String make, String model) {
         Vehicle v = new Vehicle();
         v.setLicensePlate(plate);
@@ -312,4 +571,75 @@ class VehicleServiceTest {
         v.setModel(model);
         return v;
     }
+
+    @Nested
+    class Upsert {
+        @Test
+        void upsertBatch_ShouldNormalizeCollapseDuplicatesAndAnswerInRequestOrder() {
+            when(repo.upsertByLicensePlate(anyList())).thenAnswer(inv -> {
+                List<Vehicle> rows = inv.getArgument(0);
+                AtomicLong ids = new AtomicLong(10);
+                return new Upserted(rows.stream()
+                                        .map(v -> new Vehicle(ids.incrementAndGet(), v.getLicensePlate(), v.getMake(), v.getModel()))
+                                        .toList(), List.of());
+            });
+
+            List<Vehicle> result = vehicleService.upsertBatch(List.of(
+                    request(" abc-1 ", " Tesla ", "3"),
+                    request("XYZ-9", "Kia", "Ceed"),
+                    request("ABC-1", "Tesla", "Y")));
+
+            verify(repo).upsertByLicensePlate(argThat(rows -> rows.size() == 2
+                    && "ABC-1".equals(rows.get(0).getLicensePlate())
+                    && "Y".equals(rows.get(0).getModel())
+                    && "XYZ-9".equals(rows.get(1).getLicensePlate())));
+            assertEquals(List.of("ABC-1", "XYZ-9", "ABC-1"), result.stream().map(Vehicle::getLicensePlate).toList());
+            assertSame(result.get(0), result.get(2));
+            assertEquals("Tesla", result.get(0).getMake());
+        }
+
+        @Test
+        void upsertBatch_WhenAnyItemInvalid_ShouldRejectWholeBatch() {
+            assertThrows(ConstraintViolationException.class, () -> vehicleService.upsertBatch(List.of(
+                    request("OK-1", "Tesla", "3"),
+                    request("", "Ford", "Focus"))));
+            assertThrows(ConstraintViolationException.class,
+                         () -> vehicleService.upsertBatch(Arrays.asList(request("OK-1", "Tesla", "3"), null)));
+            verifyNoInteractions(repo);
+        }
+
+        @Test
+        void upsert_ShouldIssueSingleUpsertForOneVehicle() {
+            when(repo.upsertByLicensePlate(anyList()))
+                    .thenReturn(new Upserted(List.of(new Vehicle(7L, "ABC-123", "Toyota", "Yaris")), List.of()));
+            Vehicle result = vehicleService.upsert(request("abc-123", "Toyota", "Yaris"));
+            assertEquals(7L, result.getId());
+            verify(repo).upsertByLicensePlate(argThat(rows -> rows.size() == 1 && "ABC-123".equals(rows.get(0).getLicensePlate())));
+            verifyNoMoreInteractions(repo);
+            verify(tableStamps).touchAfterCommit(TableStamps.VEHICLE, TableStamps.INSPECTION);
+        }
+
+        @Test
+        void upsert_WhenVehicleUnchanged_ShouldNotBumpListStamps() {
+            when(repo.upsertByLicensePlate(anyList()))
+                    .thenReturn(new Upserted(List.of(), List.of(new Vehicle(7L, "ABC-123", "Toyota", "Yaris"))));
+            Vehicle result = vehicleService.upsert(request("abc-123", "Toyota", "Yaris"));
+            assertEquals(7L, result.getId());
+            verify(tableStamps, never()).touchAfterCommit(any(String[].class));
+        }
+
+        @Test
+        void upsert_WhenRepositoryFails_ShouldWrapInServiceException() {
+            when(repo.upsertByLicensePlate(anyList())).thenThrow(new DataAccessResourceFailureException("DB down"));
+            assertThrows(ServiceException.class, () -> vehicleService.upsert(request("ABC-123", "Toyota", "Yaris")));
+        }
+
+        private VehicleRequest request(String plate, String make, String model) {
+            VehicleRequest r = new VehicleRequest();
+            r.setLicensePlate(plate);
+            r.setMake(make);
+            r.setModel(model);
+            return r;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package com.fleetops.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ShardRouterTest {
+
+    private PlatformTransactionManager transactionManager;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setShards(List.of(new ShardingProperties.Shard(), new ShardingProperties.Shard(),
+                                     new ShardingProperties.Shard()));
+        router = new ShardRouter(properties, new StaticListableBeanFactory(Map.of("transactionManager", transactionManager))
+                .getBeanProvider(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void shardOfId_ShouldAssignBlocksOfFiftyRoundRobin() {
+        assertEquals(0, router.shardOfId(1));
+        assertEquals(0, router.shardOfId(50));
+        assertEquals(1, router.shardOfId(51));
+        assertEquals(2, router.shardOfId(150));
+        assertEquals(0, router.shardOfId(151));
+    }
+
+    @Test
+    void scatter_ShouldRunOnEveryShardBoundToItAndKeepShardOrder() {
+        List<Integer> bound = router.scatter(shard -> ShardContext.current());
+
+        assertEquals(List.of(0, 1, 2), bound);
+        assertNull(ShardContext.current());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void scatter_FromBoundThread_ShouldBeRefused() {
+        assertThrows(IllegalStateException.class, () -> router.onShard(1, () -> router.scatter(shard -> shard)));
+    }
+
+    @Test
+    void onShard_WhenBoundToAnotherShard_ShouldBeRefused() {
+        assertEquals(1, router.onShard(1, () -> router.onShard(1, ShardContext::current)));
+        assertThrows(IllegalStateException.class, () -> router.onShard(1, () -> router.onShard(2, () -> 0)));
+    }
+
+    @Test
+    void scatterOrdered_ShouldMergeShardStreamsInOrder() {
+        int rows = 3 * ShardRouter.STREAM_BUFFER_SIZE;
+        List<Integer> merged = new ArrayList<>();
+
+        router.scatterOrdered((shard, out) -> IntStream.range(0, rows).map(i -> 3 * i + shard).forEach(out::accept),
+                              Comparator.<Integer>naturalOrder(), merged::add);
+
+        assertEquals(IntStream.range(0, 3 * rows).boxed().toList(), merged);
+    }
+
+    @Test
+    void scatterOrdered_WhenProducerFails_ShouldPropagate() {
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> router.scatterOrdered(
+                (shard, out) -> {
+                    if (shard == 2) {
+                        throw new IllegalStateException("shard down");
+                    }
+                    out.accept(shard);
+                }, Comparator.<Integer>naturalOrder(), row -> {
+                }));
+        assertEquals("shard down", failure.getMessage());
+    }
+
+    @Test
+    void scatterFeed_ShouldHandEachShardItsOwnRowsInOrder() {
+        Iterator<Integer> rows = IntStream.range(0, 10_000).boxed().iterator();
+
+        List<List<Integer>> loaded = router.scatterFeed(rows, row -> row % 3, (shard, shardRows) -> {
+            List<Integer> seen = new ArrayList<>();
+            shardRows.forEachRemaining(seen::add);
+            return seen;
+        });
+
+        for (int shard = 0; shard < 3; shard++) {
+            int s = shard;
+            assertEquals(IntStream.range(0, 10_000).filter(i -> i % 3 == s).boxed().toList(), loaded.get(shard));
+        }
+    }
+
+    @Test
+    void mergeSorted_ShouldStopAtLimit() {
+        List<Integer> merged = ShardRouter.mergeSorted(List.of(List.of(1, 4, 7), List.of(2, 5), List.of(3, 6)),
+                                                       Comparator.naturalOrder(), 5);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), merged);
+    }
+
+    @Test
+    void single_ShouldRunInlineWithoutBinding() {
+        ShardRouter single = ShardRouter.single();
+
+        assertEquals(List.of(0), single.scatter(shard -> shard));
+        assertNull(single.onShard(0, ShardContext::current));
+        assertEquals(0, single.shardOfPlate("ABC-123"));
+        verifyNoInteractions(transactionManager);
+    }
+}
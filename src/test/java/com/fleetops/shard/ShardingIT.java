@@ -0,0 +1,200 @@
+package com.fleetops.shard;
+
+import com.fleetops.dto.BatchItemResult;
+import com.fleetops.dto.BatchResult;
+import com.fleetops.dto.CountMode;
+import com.fleetops.dto.CursorPage;
+import com.fleetops.dto.InspectionRequest;
+import com.fleetops.dto.LookupResult;
+import com.fleetops.dto.VehicleRequest;
+import com.fleetops.dto.VehicleResponse;
+import com.fleetops.entity.Inspection;
+import com.fleetops.entity.Vehicle;
+import com.fleetops.service.InspectionService;
+import com.fleetops.service.VehicleService;
+import com.fleetops.test.TestAuth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "fleetops.sharding.enabled=true",
+        "fleetops.sharding.shards[0].url=jdbc:h2:mem:fleetops_shard0;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "fleetops.sharding.shards[0].username=sa",
+        "fleetops.sharding.shards[1].url=jdbc:h2:mem:fleetops_shard1;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "fleetops.sharding.shards[1].username=sa",
+        "fleetops.sharding.shards[2].url=jdbc:h2:mem:fleetops_shard2;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "fleetops.sharding.shards[2].username=sa",
+        "spring.liquibase.enabled=true", "spring.jpa.hibernate.ddl-auto=none", "spring.sql.init.mode=never"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardingIT {
+
+    private static final int VEHICLES = 30;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private InspectionService inspectionService;
+
+    @Autowired
+    private ShardedDataSource dataSource;
+
+    @Autowired
+    private ShardRouter shards;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private List<Long> vehicleIds;
+
+    @BeforeEach
+    void setUp() {
+        for (DataSource shard : dataSource.shards()) {
+            JdbcTemplate jdbc = new JdbcTemplate(shard);
+            jdbc.update("DELETE FROM inspection");
+            jdbc.update("DELETE FROM vehicle");
+        }
+        List<VehicleRequest> requests = IntStream.range(0, VEHICLES).mapToObj(i -> {
+            VehicleRequest request = new VehicleRequest();
+            request.setLicensePlate("shd-" + i);
+            request.setMake("Volvo");
+            request.setModel("FH" + i);
+            return request;
+        }).toList();
+        BatchResult result = vehicleService.createBatch(requests);
+        assertEquals(VEHICLES, result.getCreated());
+        vehicleIds = result.getItems().stream().map(BatchItemResult::getId).toList();
+    }
+
+    private JdbcTemplate shard(int shard) {
+        return new JdbcTemplate(dataSource.shards().get(shard));
+    }
+
+    @Test
+    void vehicles_ShouldBeStoredOnTheShardOfTheirPlateWithIdsNamingThatShard() {
+        int stored = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            int s = shard;
+            List<Vehicle> rows = shard(shard).query("SELECT id, license_plate FROM vehicle",
+                    (rs, n) -> new Vehicle(rs.getLong("id"), rs.getString("license_plate"), null, null));
+            rows.forEach(v -> {
+                assertEquals(s, shards.shardOfPlate(v.getLicensePlate()), v.getLicensePlate());
+                assertEquals(s, shards.shardOfId(v.getId()), "id " + v.getId());
+            });
+            stored += rows.size();
+        }
+        assertEquals(VEHICLES, stored);
+        assertTrue(shard(0).queryForObject("SELECT COUNT(*) FROM vehicle", Integer.class) < VEHICLES,
+                   "plates should spread over several shards");
+        vehicleIds.forEach(id -> assertEquals(id, vehicleService.getById(id).getId()));
+    }
+
+    @Test
+    void getPage_ShouldMergeShardsInIdOrderWithSummedCount() {
+        List<Long> listed = new ArrayList<>();
+        String after = null;
+        CursorPage<VehicleResponse> page;
+        do {
+            page = vehicleService.getPage(after, 7, CountMode.EXACT);
+            assertEquals(VEHICLES, page.getTotalCount());
+            page.getItems().forEach(v -> listed.add(v.getId()));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertEquals(vehicleIds.stream().sorted().toList(), listed);
+        assertEquals(VEHICLES, vehicleService.getAll().size());
+    }
+
+    @Test
+    void inspections_ShouldFollowTheirVehicleAndExportInIdOrder() {
+        List<Long> inspectionIds = new ArrayList<>();
+        for (Long vehicleId : vehicleIds) {
+            InspectionRequest request = new InspectionRequest();
+            request.setInspectionDate(LocalDate.of(2026, 3, 1));
+            request.setStatus("passed");
+            request.setVehicleId(vehicleId);
+            Inspection created = inspectionService.create(request);
+            assertEquals(shards.shardOfId(vehicleId), shards.shardOfId(created.getId()));
+            inspectionIds.add(created.getId());
+        }
+        for (int shard = 0; shard < shards.count(); shard++) {
+            assertEquals(shard(shard).queryForObject("SELECT COUNT(*) FROM vehicle", Integer.class),
+                         shard(shard).queryForObject("SELECT COUNT(*) FROM inspection", Integer.class));
+        }
+
+        List<Long> exported = new ArrayList<>();
+        inspectionService.exportAll(i -> exported.add(i.getId()));
+        assertEquals(inspectionIds.stream().sorted().toList(), exported);
+
+        assertTrue(inspectionService.getResponsesByIds(inspectionIds).stream()
+                                    .allMatch(r -> r.getStatus() == LookupResult.Status.FOUND));
+        assertEquals(VEHICLES, inspectionService.getLatestPerVehicle().size());
+    }
+
+    @Test
+    void update_WhenNewPlateBelongsToAnotherShard_ShouldAnswerConflict() throws Exception {
+        Long id = vehicleIds.get(0);
+        String otherShardPlate = IntStream.range(0, 100).mapToObj(i -> "MOVE-" + i)
+                                          .filter(p -> shards.shardOfPlate(p) != shards.shardOfId(id))
+                                          .findFirst().orElseThrow();
+
+        mockMvc.perform(put("/api/vehicles/{id}", id)
+                        .with(TestAuth.auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\":\"" + otherShardPlate + "\"}"))
+               .andExpect(status().isConflict())
+               .andExpect(jsonPath("$.status").value(409));
+        assertEquals("SHD-0", vehicleService.getById(id).getLicensePlate());
+    }
+
+    @Test
+    void updateInspection_WhenVehicleIsOnAnotherShard_ShouldAnswerConflict() throws Exception {
+        Long vehicleId = vehicleIds.get(0);
+        Long otherShardVehicle = vehicleIds.stream()
+                                           .filter(v -> shards.shardOfId(v) != shards.shardOfId(vehicleId))
+                                           .findFirst().orElseThrow();
+        InspectionRequest request = new InspectionRequest();
+        request.setInspectionDate(LocalDate.of(2026, 3, 1));
+        request.setStatus("passed");
+        request.setVehicleId(vehicleId);
+        Long id = inspectionService.create(request).getId();
+
+        mockMvc.perform(put("/api/inspections/{id}", id)
+                        .with(TestAuth.auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"vehicleId\":" + otherShardVehicle + "}"))
+               .andExpect(status().isConflict())
+               .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void bulkUpdate_WhenSettingVehicleId_ShouldAnswerConflict() throws Exception {
+        mockMvc.perform(patch("/api/inspections/bulk")
+                        .with(TestAuth.auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"where\":{\"vehicleId\":" + vehicleIds.get(0) + "},"
+                                 + "\"set\":{\"vehicleId\":" + vehicleIds.get(1) + "}}"))
+               .andExpect(status().isConflict())
+               .andExpect(jsonPath("$.status").value(409));
+    }
+}